@@ -0,0 +1,121 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.repository.KolomPeminjaman;
+import com.praktikum.testing.service.KalkulatorDenda;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Membandingkan agregasi analitik di atas List&lt;Peminjaman&gt; (objek dan LocalDate)
+ * dengan operator yang sama di atas KolomPeminjaman.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AnalitikPeminjamanBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int jumlahPeminjaman;
+
+    private final KalkulatorDenda kalkulatorDenda = new KalkulatorDenda();
+    private List<Peminjaman> daftarPeminjaman;
+    private KolomPeminjaman kolom;
+    private Map<String, Anggota> anggotaById;
+    private LocalDate hariIni;
+
+    @Setup
+    public void siapkan() {
+        hariIni = LocalDate.now();
+        anggotaById = new HashMap<>();
+        Anggota.TipeAnggota[] tipe = Anggota.TipeAnggota.values();
+        for (int i = 0; i < 10000; i++) {
+            Anggota anggota = KatalogGenerator.anggota(i);
+            anggota.setTipeAnggota(tipe[i % tipe.length]);
+            anggotaById.put(anggota.getIdAnggota(), anggota);
+        }
+        daftarPeminjaman = new ArrayList<>(jumlahPeminjaman);
+        kolom = new KolomPeminjaman();
+        for (int i = 0; i < jumlahPeminjaman; i++) {
+            LocalDate jatuhTempo = hariIni.minusDays(i % 400 - 14);
+            Peminjaman peminjaman = new Peminjaman("P" + i, KatalogGenerator.anggota(i % 10000).getIdAnggota(),
+                    KatalogGenerator.isbn(i % 100000), jatuhTempo.minusDays(14), jatuhTempo);
+            if (i % 3 != 0) {
+                peminjaman.setTanggalKembali(jatuhTempo.plusDays(i % 5 - 2));
+                peminjaman.setSudahDikembalikan(true);
+            }
+            daftarPeminjaman.add(peminjaman);
+            kolom.tambah(peminjaman);
+        }
+    }
+
+    @Benchmark
+    public double rataRataDurasiObjek() {
+        long total = 0;
+        for (Peminjaman peminjaman : daftarPeminjaman) {
+            total += peminjaman.getDurasiPeminjaman(hariIni);
+        }
+        return (double) total / daftarPeminjaman.size();
+    }
+
+    @Benchmark
+    public double rataRataDurasiKolom() {
+        return kolom.rataRataDurasi(hariIni);
+    }
+
+    @Benchmark
+    public Map<Anggota.TipeAnggota, Double> keterlambatanPerTipeObjek() {
+        Map<Anggota.TipeAnggota, long[]> hitung = new EnumMap<>(Anggota.TipeAnggota.class);
+        for (Peminjaman peminjaman : daftarPeminjaman) {
+            long[] nilai = hitung.computeIfAbsent(anggotaById.get(peminjaman.getIdAnggota()).getTipeAnggota(),
+                    k -> new long[2]);
+            nilai[0]++;
+            nilai[1] += peminjaman.isTerlambat(hariIni) ? 1 : 0;
+        }
+        Map<Anggota.TipeAnggota, Double> hasil = new EnumMap<>(Anggota.TipeAnggota.class);
+        hitung.forEach((tipe, nilai) -> hasil.put(tipe, (double) nilai[1] / nilai[0]));
+        return hasil;
+    }
+
+    @Benchmark
+    public Map<Anggota.TipeAnggota, Double> keterlambatanPerTipeKolom() {
+        return kolom.tingkatKeterlambatanPerTipe(anggotaById, hariIni);
+    }
+
+    @Benchmark
+    public double totalDendaObjek() {
+        double total = 0;
+        for (Peminjaman peminjaman : daftarPeminjaman) {
+            Anggota.TipeAnggota tipe = anggotaById.get(peminjaman.getIdAnggota()).getTipeAnggota();
+            total += Math.min(peminjaman.getHariTerlambat(hariIni) * kalkulatorDenda.getTarifDendaHarian(tipe),
+                    kalkulatorDenda.getDendaMaksimal(tipe));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double totalDendaKolom() {
+        return kolom.totalDenda(anggotaById, kalkulatorDenda, hariIni);
+    }
+}
@@ -0,0 +1,109 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.AdapterAsyncRepositoryBuku;
+import com.praktikum.testing.repository.InMemoryRepositoryPeminjaman;
+import com.praktikum.testing.repository.LatensiRepositoryBuku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import com.praktikum.testing.service.ServicePerpustakaanAsync;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Satu sesi kios di atas penyimpanan dengan round trip tetap (LatensiRepositoryBuku):
+ * 8 pencarian ISBN lalu pinjam dan kembalikan satu buku.
+ *
+ * Versi sinkron membayar 10 round trip berurutan; versi asinkron mengirim 8 pencarian
+ * sekaligus sehingga sesi menjadi sekitar 3 round trip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AsyncRepositoryBenchmark {
+
+    private static final int UKURAN_KATALOG = 10_000;
+    private static final int PENCARIAN_PER_SESI = 8;
+
+    @Param({"200", "1000"})
+    public int latensiMikro;
+
+    private ExecutorService executor;
+    private ServicePerpustakaan sinkron;
+    private ServicePerpustakaanAsync asinkron;
+    private Anggota anggota;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void siapkan() {
+        MockRepositoryBuku katalog = new MockRepositoryBuku();
+        KatalogGenerator.isi(katalog, UKURAN_KATALOG);
+        LatensiRepositoryBuku lambat = new LatensiRepositoryBuku(katalog, TimeUnit.MICROSECONDS.toNanos(latensiMikro));
+        executor = Executors.newFixedThreadPool(16);
+
+        sinkron = new ServicePerpustakaan(lambat, new InMemoryRepositoryPeminjaman(), new KalkulatorDenda());
+        asinkron = new ServicePerpustakaanAsync(new AdapterAsyncRepositoryBuku(lambat, executor),
+                new InMemoryRepositoryPeminjaman(), Clock.systemDefaultZone());
+        anggota = KatalogGenerator.anggota(1);
+        random = new SplittableRandom(11);
+    }
+
+    @TearDown(Level.Trial)
+    public void tutup() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean sesiSinkron(Blackhole bh) {
+        for (int i = 0; i < PENCARIAN_PER_SESI; i++) {
+            bh.consume(sinkron.cariBukuByIsbn(isbnAcak()));
+        }
+        String isbn = isbnAcak();
+        boolean dipinjam = sinkron.pinjamBuku(isbn, anggota);
+        return sinkron.kembalikanBuku(isbn, anggota) & dipinjam;
+    }
+
+    @Benchmark
+    public boolean sesiAsinkron(Blackhole bh) {
+        List<String> daftar = new ArrayList<>(PENCARIAN_PER_SESI);
+        for (int i = 0; i < PENCARIAN_PER_SESI; i++) {
+            daftar.add(isbnAcak());
+        }
+        List<Optional<Buku>> hasil = asinkron.cariBanyakBukuByIsbn(daftar).join();
+        bh.consume(hasil);
+        String isbn = isbnAcak();
+        return asinkron.pinjamBuku(isbn, anggota)
+                .thenCompose(dipinjam -> asinkron.kembalikanBuku(isbn, anggota).thenApply(k -> k & dipinjam))
+                .join();
+    }
+
+    private String isbnAcak() {
+        return KatalogGenerator.isbn(random.nextInt(UKURAN_KATALOG));
+    }
+}
@@ -0,0 +1,104 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.repository.IndeksAutocomplete;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete di atas katalog jutaan judul, mode SampleTime agar p99 terlihat:
+ * - sarankanJudul: satu ketikan; kueri jumlahKata kata berurutan dari judul katalog dengan
+ *   kata terakhir terpotong 1-4 huruf ("da", "basis da", "data jilid 12");
+ *   sampai tiga kata dilayani cache simpul, empat kata menyaring kandidat token utuh
+ * - catatPinjam: kenaikan popularitas satu ISBN (cache K teratas di sepanjang jalur token)
+ * Popularitas awal mengikuti sebaran Zipf agar urutan saran tidak semuanya seri.
+ * Kosakata KatalogGenerator hanya 28 kata, jadi token tiga kata pun dimiliki banyak judul;
+ * ini kasus terberat untuk kueri empat kata.
+ * Bandingkan dengan PencarianBenchmark.cariBukuByJudul yang dipanggil per ketikan sebelumnya.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AutocompleteBenchmark {
+
+    private static final int K = 10;
+
+    @State(Scope.Benchmark)
+    public static class IndeksState {
+        @Param({"1000000", "2000000"})
+        public int ukuranKatalog;
+
+        IndeksAutocomplete indeks;
+        String[] isbn;
+
+        @Setup(Level.Trial)
+        public void siapkan() {
+            indeks = new IndeksAutocomplete(K);
+            isbn = new String[ukuranKatalog];
+            for (int i = 0; i < ukuranKatalog; i++) {
+                isbn[i] = KatalogGenerator.isbn(i);
+                indeks.tambahBuku(KatalogGenerator.buku(i));
+            }
+            SplittableRandom random = new SplittableRandom(21);
+            for (int peringkat = 1; peringkat <= ukuranKatalog / 10; peringkat++) {
+                indeks.tambahPopularitas(isbn[random.nextInt(ukuranKatalog)], 1_000_000 / peringkat);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class KueriState {
+        @Param({"1", "2", "3", "4"})
+        public int jumlahKata;
+
+        String[] kueri;
+        SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void siapkan(IndeksState katalog) {
+            random = new SplittableRandom(23);
+            kueri = new String[1000];
+            for (int i = 0; i < kueri.length; i++) {
+                String[] kata = KatalogGenerator.buku(random.nextInt(katalog.ukuranKatalog)).getJudul()
+                        .toLowerCase(Locale.ROOT).split(" ");
+                int mulai = random.nextInt(kata.length - jumlahKata + 1);
+                StringBuilder sb = new StringBuilder();
+                for (int j = mulai; j < mulai + jumlahKata - 1; j++) {
+                    sb.append(kata[j]).append(' ');
+                }
+                String terakhir = kata[mulai + jumlahKata - 1];
+                kueri[i] = sb.append(terakhir, 0, Math.min(terakhir.length(), 1 + random.nextInt(4))).toString();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PinjamState {
+        SplittableRandom random = new SplittableRandom(29);
+    }
+
+    @Benchmark
+    public Object sarankanJudul(IndeksState katalog, KueriState kueri) {
+        return katalog.indeks.sarankanJudul(kueri.kueri[kueri.random.nextInt(kueri.kueri.length)], K);
+    }
+
+    @Benchmark
+    public void catatPinjam(IndeksState katalog, PinjamState pinjam) {
+        katalog.indeks.catatPinjam(katalog.isbn[pinjam.random.nextInt(katalog.ukuranKatalog)]);
+    }
+}
@@ -0,0 +1,130 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.CachingRepositoryBuku;
+import com.praktikum.testing.repository.MappedRepositoryBuku;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * cariByIsbn langsung ke MappedRepositoryBuku (setiap baca men-decode salinan Buku
+ * dari file) dibanding lewat CachingRepositoryBuku. Pola akses: 80% ke 1000 judul
+ * populer dengan distribusi miring, 20% pemindaian acak di seluruh katalog 100k.
+ * Satu cache dipakai bersama semua thread; jalankan dengan -t 1 dan -t 4 untuk melihat
+ * apakah hit masih berebut kunci. Baris denganCache juga melaporkan hit, miss dan eviksi
+ * cache selama tiap iterasi.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheBenchmark {
+
+    private static final int UKURAN_KATALOG = 100_000;
+    private static final int PANJANG_POLA = 1 << 16;
+
+    @State(Scope.Benchmark)
+    public static class KatalogState {
+        MappedRepositoryBuku mapped;
+        CachingRepositoryBuku cache;
+        String[] pola;
+
+        @Setup(Level.Trial)
+        public void siapkan() throws IOException {
+            mapped = new MappedRepositoryBuku(Files.createTempDirectory("katalog-cache"));
+            KatalogGenerator.isi(mapped, UKURAN_KATALOG);
+            cache = new CachingRepositoryBuku(mapped, 2000);
+
+            Random random = new Random(5);
+            pola = new String[PANJANG_POLA];
+            for (int i = 0; i < PANJANG_POLA; i++) {
+                int indeks = random.nextInt(10) < 8
+                        ? (int) (1000 * Math.pow(random.nextDouble(), 3))
+                        : random.nextInt(UKURAN_KATALOG);
+                pola[i] = KatalogGenerator.isbn(indeks);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tutup() throws IOException {
+            mapped.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PosisiState {
+        int posisi;
+
+        @Setup(Level.Trial)
+        public void siapkan(ThreadParams thread) {
+            // Tiap thread mulai di bagian pola yang berbeda
+            posisi = thread.getThreadIndex() * (PANJANG_POLA / 16);
+        }
+    }
+
+    /**
+     * Hit, miss dan eviksi cache bersama selama satu iterasi. Cache dipakai semua thread,
+     * jadi hanya thread 0 yang mengisi selisihnya; thread lain melapor 0.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PenghitungCache {
+        public long hit;
+        public long miss;
+        public long eviksi;
+
+        private boolean pelapor;
+        private long hitAwal;
+        private long missAwal;
+        private long eviksiAwal;
+
+        @Setup(Level.Iteration)
+        public void mulai(KatalogState katalog, ThreadParams thread) {
+            pelapor = thread.getThreadIndex() == 0;
+            hit = 0;
+            miss = 0;
+            eviksi = 0;
+            hitAwal = katalog.cache.getJumlahHit();
+            missAwal = katalog.cache.getJumlahMiss();
+            eviksiAwal = katalog.cache.getJumlahEviksi();
+        }
+
+        @TearDown(Level.Iteration)
+        public void selesai(KatalogState katalog) {
+            if (pelapor) {
+                hit = katalog.cache.getJumlahHit() - hitAwal;
+                miss = katalog.cache.getJumlahMiss() - missAwal;
+                eviksi = katalog.cache.getJumlahEviksi() - eviksiAwal;
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<Buku> tanpaCache(KatalogState katalog, PosisiState posisi) {
+        return katalog.mapped.cariByIsbn(katalog.pola[posisi.posisi++ & (PANJANG_POLA - 1)]);
+    }
+
+    @Benchmark
+    public Optional<Buku> denganCache(KatalogState katalog, PosisiState posisi, PenghitungCache penghitung) {
+        return katalog.cache.cariByIsbn(katalog.pola[posisi.posisi++ & (PANJANG_POLA - 1)]);
+    }
+}
@@ -0,0 +1,77 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.service.HasilDendaMassal;
+import com.praktikum.testing.service.KalkulatorDenda;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Membandingkan perhitungan denda seluruh peminjaman satu per satu (hitungDenda
+ * dalam loop, seperti laporan akhir bulan saat ini) dengan hitungDendaMassal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DendaMassalBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int jumlahPeminjaman;
+
+    private final KalkulatorDenda kalkulatorDenda = new KalkulatorDenda();
+    private List<Peminjaman> daftarPeminjaman;
+    private Map<String, Anggota> anggotaById;
+    private LocalDate hariIni;
+
+    @Setup
+    public void siapkan() {
+        hariIni = LocalDate.now();
+        anggotaById = new HashMap<>();
+        daftarPeminjaman = new ArrayList<>(jumlahPeminjaman);
+        Anggota.TipeAnggota[] tipe = Anggota.TipeAnggota.values();
+        for (int i = 0; i < 1000; i++) {
+            Anggota anggota = KatalogGenerator.anggota(i);
+            anggota.setTipeAnggota(tipe[i % tipe.length]);
+            anggotaById.put(anggota.getIdAnggota(), anggota);
+        }
+        for (int i = 0; i < jumlahPeminjaman; i++) {
+            LocalDate jatuhTempo = hariIni.minusDays(i % 60 - 14);
+            daftarPeminjaman.add(new Peminjaman("P" + i, KatalogGenerator.anggota(i % 1000).getIdAnggota(),
+                    KatalogGenerator.isbn(i), jatuhTempo.minusDays(14), jatuhTempo));
+        }
+    }
+
+    @Benchmark
+    public double perItem() {
+        double total = 0;
+        for (Peminjaman peminjaman : daftarPeminjaman) {
+            total += kalkulatorDenda.hitungDenda(peminjaman, anggotaById.get(peminjaman.getIdAnggota()));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public HasilDendaMassal massal() {
+        return kalkulatorDenda.hitungDendaMassal(daftarPeminjaman, anggotaById, hariIni);
+    }
+}
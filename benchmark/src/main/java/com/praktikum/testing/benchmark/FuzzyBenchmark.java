@@ -0,0 +1,112 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.IndeksFuzzy;
+import com.praktikum.testing.util.TrieLevenshtein;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pencarian pengarang yang toleran salah ketik terhadap ukuran kosakata:
+ * - cariPengarang: IndeksFuzzy (TrieLevenshtein), kueri nama dari kosakata dengan satu salah ketik
+ * - pindaiLevenshtein: acuan, jarak Levenshtein ke setiap kata kosakata
+ * Kosakata berisi nama satu kata dari 3-5 suku kata ("wirasuta"), satu nama per buku.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class FuzzyBenchmark {
+
+    private static final String[] SUKU_KATA = {
+            "ba", "di", "ka", "ra", "su", "wi", "ti", "ya", "ha", "ma",
+            "na", "sa", "to", "pu", "ri", "lu", "de", "ko", "gu", "ja"
+    };
+
+    @State(Scope.Benchmark)
+    public static class KosakataState {
+        @Param({"10000", "100000", "1000000"})
+        public int ukuranKosakata;
+
+        @Param({"1", "2"})
+        public int jarakMaks;
+
+        IndeksFuzzy indeks;
+        String[] kosakata;
+        String[] kueri;
+
+        @Setup(Level.Trial)
+        public void siapkan() {
+            SplittableRandom random = new SplittableRandom(22);
+            Set<String> unik = new HashSet<>();
+            while (unik.size() < ukuranKosakata) {
+                StringBuilder sb = new StringBuilder();
+                for (int i = 3 + random.nextInt(3); i > 0; i--) {
+                    sb.append(SUKU_KATA[random.nextInt(SUKU_KATA.length)]);
+                }
+                unik.add(sb.toString());
+            }
+            kosakata = unik.toArray(new String[0]);
+            indeks = new IndeksFuzzy();
+            for (int i = 0; i < kosakata.length; i++) {
+                indeks.tambahBuku(new Buku(KatalogGenerator.isbn(i), "Katalog", kosakata[i], 1, 1.0));
+            }
+            kueri = new String[1000];
+            for (int i = 0; i < kueri.length; i++) {
+                kueri[i] = salahKetik(kosakata[random.nextInt(kosakata.length)], random);
+            }
+        }
+
+        /** Satu sisip, hapus, atau ganti huruf di posisi acak. */
+        private static String salahKetik(String kata, SplittableRandom random) {
+            int posisi = random.nextInt(kata.length());
+            char huruf = (char) ('a' + random.nextInt(26));
+            switch (random.nextInt(3)) {
+                case 0:
+                    return kata.substring(0, posisi) + huruf + kata.substring(posisi);
+                case 1:
+                    return kata.substring(0, posisi) + kata.substring(posisi + 1);
+                default:
+                    return kata.substring(0, posisi) + huruf + kata.substring(posisi + 1);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class KueriState {
+        SplittableRandom random = new SplittableRandom(23);
+    }
+
+    @Benchmark
+    public Object cariPengarang(KosakataState state, KueriState kueri) {
+        return state.indeks.cariPengarang(state.kueri[kueri.random.nextInt(state.kueri.length)], state.jarakMaks, 10);
+    }
+
+    @Benchmark
+    public int pindaiLevenshtein(KosakataState state, KueriState kueri) {
+        String kata = state.kueri[kueri.random.nextInt(state.kueri.length)];
+        int cocok = 0;
+        for (String k : state.kosakata) {
+            if (TrieLevenshtein.jarak(kata, k) <= state.jarakMaks) {
+                cocok++;
+            }
+        }
+        return cocok;
+    }
+}
@@ -0,0 +1,105 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.repository.RepositoryBuku;
+import com.praktikum.testing.repository.TrigramRepositoryBuku;
+import com.praktikum.testing.service.HasilImpor;
+import com.praktikum.testing.service.ImportirKatalog;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Membandingkan impor CSV lewat ImportirKatalog dengan membaca baris yang sama
+ * lalu memanggil ServicePerpustakaan.tambahBuku satu per satu.
+ * Waktu per operasi adalah waktu impor seluruh file (jumlahBaris baris).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ImporKatalogBenchmark {
+
+    @Param({"1000000"})
+    public int jumlahBaris;
+
+    @Param({"mock", "trigram"})
+    public String implementasi;
+
+    private Path file;
+    private RepositoryBuku repository;
+
+    @Setup(Level.Trial)
+    public void tulisFile() throws IOException {
+        file = Files.createTempFile("katalog", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("isbn,judul,pengarang,jumlahTotal,harga\n");
+            for (int i = 0; i < jumlahBaris; i++) {
+                Buku buku = KatalogGenerator.buku(i);
+                writer.write(buku.getIsbn() + ",\"" + buku.getJudul() + "\"," + buku.getPengarang()
+                        + "," + buku.getJumlahTotal() + "," + buku.getHarga() + "\n");
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void repositoryBaru() {
+        repository = "trigram".equals(implementasi) ? new TrigramRepositoryBuku() : new MockRepositoryBuku();
+    }
+
+    @TearDown(Level.Trial)
+    public void hapusFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public HasilImpor importir() throws IOException {
+        return new ImportirKatalog(repository).impor(file);
+    }
+
+    @Benchmark
+    public int tambahBukuPerBaris() throws IOException {
+        ServicePerpustakaan service = new ServicePerpustakaan(repository, new KalkulatorDenda());
+        int diterima = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String baris;
+            while ((baris = reader.readLine()) != null) {
+                int k1 = baris.indexOf(",\"");
+                int k2 = baris.indexOf("\",", k1 + 2);
+                int k3 = baris.indexOf(',', k2 + 2);
+                int k4 = baris.indexOf(',', k3 + 1);
+                Buku buku = new Buku(baris.substring(0, k1), baris.substring(k1 + 2, k2),
+                        baris.substring(k2 + 2, k3), Integer.parseInt(baris.substring(k3 + 1, k4)),
+                        Double.parseDouble(baris.substring(k4 + 1)));
+                if (service.tambahBuku(buku)) {
+                    diterima++;
+                }
+            }
+        }
+        return diterima;
+    }
+}
@@ -0,0 +1,146 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.InMemoryRepositoryPeminjaman;
+import com.praktikum.testing.repository.InstrumentedRepositoryBuku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.service.InstrumentedServicePerpustakaan;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import com.praktikum.testing.util.HistogramLatensi;
+import com.praktikum.testing.util.Instrumentasi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Biaya lapisan instrumentasi: jalur sirkulasi dan pencarian yang sama dengan
+ * SirkulasiBenchmark, langsung ke ServicePerpustakaan dibanding lewat
+ * InstrumentedServicePerpustakaan + InstrumentedRepositoryBuku (dua lapis pengukuran).
+ * Repository in-memory dipakai agar biaya pengukuran tidak tertutup I/O.
+ * - Terukur: setiap panggilan diukur
+ * - Tersampel: latensi disampel 1 dari PERIODE_SAMPEL, penghitung hasil tetap lengkap
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class InstrumentasiBenchmark {
+
+    private static final int UKURAN_KATALOG = 100_000;
+    private static final int JUMLAH_ANGGOTA = 100_000;
+    private static final int PERIODE_SAMPEL = 16;
+
+    private MockRepositoryBuku katalogPolos;
+    private MockRepositoryBuku katalogTerukur;
+    private MockRepositoryBuku katalogTersampel;
+    private Anggota[] anggota;
+    private String[] isbn;
+    private ServicePerpustakaan polos;
+    private InstrumentedServicePerpustakaan terukur;
+    private InstrumentedServicePerpustakaan tersampel;
+    private HistogramLatensi histogram;
+    private HistogramLatensi histogramTersampel;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void siapkan() {
+        katalogPolos = new MockRepositoryBuku();
+        KatalogGenerator.isi(katalogPolos, UKURAN_KATALOG);
+        katalogTerukur = new MockRepositoryBuku();
+        KatalogGenerator.isi(katalogTerukur, UKURAN_KATALOG);
+        katalogTersampel = new MockRepositoryBuku();
+        KatalogGenerator.isi(katalogTersampel, UKURAN_KATALOG);
+        anggota = new Anggota[JUMLAH_ANGGOTA];
+        for (int i = 0; i < JUMLAH_ANGGOTA; i++) {
+            anggota[i] = KatalogGenerator.anggota(i);
+        }
+        isbn = new String[UKURAN_KATALOG];
+        for (int i = 0; i < UKURAN_KATALOG; i++) {
+            isbn[i] = KatalogGenerator.isbn(i);
+        }
+        random = new SplittableRandom(21);
+    }
+
+    // Riwayat peminjaman per anggota ikut dipindai oleh kembalikanBuku; service dibuat ulang
+    // per iterasi dan peminjam disebar agar riwayat itu tidak tumbuh dan menutupi yang diukur
+    @Setup(Level.Iteration)
+    public void serviceBaru() {
+        polos = new ServicePerpustakaan(katalogPolos, new InMemoryRepositoryPeminjaman(), new KalkulatorDenda());
+        Instrumentasi instrumentasi = new Instrumentasi("perpustakaan");
+        terukur = new InstrumentedServicePerpustakaan(new ServicePerpustakaan(
+                new InstrumentedRepositoryBuku(katalogTerukur, instrumentasi), new InMemoryRepositoryPeminjaman(),
+                new KalkulatorDenda()), instrumentasi);
+        histogram = instrumentasi.histogram("benchmark.catat");
+        Instrumentasi instrumentasiTersampel = new Instrumentasi("perpustakaan", PERIODE_SAMPEL);
+        tersampel = new InstrumentedServicePerpustakaan(new ServicePerpustakaan(
+                new InstrumentedRepositoryBuku(katalogTersampel, instrumentasiTersampel),
+                new InMemoryRepositoryPeminjaman(), new KalkulatorDenda()), instrumentasiTersampel);
+        histogramTersampel = instrumentasiTersampel.histogram("benchmark.catat");
+    }
+
+    @Benchmark
+    public boolean pinjamDanKembalikanPolos() {
+        String dipilih = isbn[random.nextInt(UKURAN_KATALOG)];
+        Anggota peminjam = anggota[random.nextInt(JUMLAH_ANGGOTA)];
+        boolean dipinjam = polos.pinjamBuku(dipilih, peminjam);
+        return polos.kembalikanBuku(dipilih, peminjam) & dipinjam;
+    }
+
+    @Benchmark
+    public boolean pinjamDanKembalikanTerukur() {
+        String dipilih = isbn[random.nextInt(UKURAN_KATALOG)];
+        Anggota peminjam = anggota[random.nextInt(JUMLAH_ANGGOTA)];
+        boolean dipinjam = terukur.pinjamBuku(dipilih, peminjam);
+        return terukur.kembalikanBuku(dipilih, peminjam) & dipinjam;
+    }
+
+    @Benchmark
+    public boolean pinjamDanKembalikanTersampel() {
+        String dipilih = isbn[random.nextInt(UKURAN_KATALOG)];
+        Anggota peminjam = anggota[random.nextInt(JUMLAH_ANGGOTA)];
+        boolean dipinjam = tersampel.pinjamBuku(dipilih, peminjam);
+        return tersampel.kembalikanBuku(dipilih, peminjam) & dipinjam;
+    }
+
+    @Benchmark
+    public Optional<Buku> cariBukuByIsbnPolos() {
+        return polos.cariBukuByIsbn(isbn[random.nextInt(UKURAN_KATALOG)]);
+    }
+
+    @Benchmark
+    public Optional<Buku> cariBukuByIsbnTerukur() {
+        return terukur.cariBukuByIsbn(isbn[random.nextInt(UKURAN_KATALOG)]);
+    }
+
+    @Benchmark
+    public Optional<Buku> cariBukuByIsbnTersampel() {
+        return tersampel.cariBukuByIsbn(isbn[random.nextInt(UKURAN_KATALOG)]);
+    }
+
+    // Biaya satu pengukuran saja: dua System.nanoTime() dan satu catat ke histogram
+    @Benchmark
+    public void catatHistogram() {
+        histogram.catatSejak(System.nanoTime());
+    }
+
+    @Benchmark
+    public void catatHistogramTersampel() {
+        histogramTersampel.selesai(histogramTersampel.mulai());
+    }
+}
@@ -0,0 +1,58 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.RepositoryBuku;
+
+/**
+ * Pembangkit data katalog yang deterministik untuk benchmark.
+ * Data yang sama dihasilkan setiap kali dijalankan sehingga hasil antar commit
+ * bisa dibandingkan dengan baseline.
+ */
+public final class KatalogGenerator {
+
+    static final String[] KATA_JUDUL = {
+            "Pemrograman", "Java", "Algoritma", "Struktur", "Data", "Basis", "Jaringan",
+            "Komputer", "Sistem", "Operasi", "Kecerdasan", "Buatan", "Statistika", "Dasar",
+            "Lanjut", "Pengantar", "Analisis", "Desain", "Perangkat", "Lunak", "Matematika",
+            "Diskrit", "Keamanan", "Informasi", "Manajemen", "Proyek", "Arsitektur", "Web"
+    };
+
+    static final String[] NAMA_PENGARANG = {
+            "Budi Santoso", "Siti Rahayu", "Andi Wijaya", "Dewi Lestari", "Rudi Hartono",
+            "Sri Wahyuni", "Agus Salim", "Rina Marlina", "Joko Susilo", "Tuti Handayani",
+            "Bambang Pamungkas", "Ratna Sari", "Hendra Gunawan", "Maya Putri", "Eko Prasetyo",
+            "Lina Marlina", "Yusuf Habibi", "Nur Aini", "Fajar Nugroho", "Intan Permata"
+    };
+
+    /** Jumlah salinan per judul dibuat besar agar benchmark konkuren tidak kehabisan stok. */
+    public static final int JUMLAH_SALINAN = 1_000_000;
+
+    private KatalogGenerator() {
+    }
+
+    public static String isbn(int indeks) {
+        // 13 digit, selalu lolos ValidationUtils.isValidISBN
+        return String.format("978%010d", indeks);
+    }
+
+    public static Buku buku(int indeks) {
+        String judul = KATA_JUDUL[indeks % KATA_JUDUL.length] + " "
+                + KATA_JUDUL[(indeks / KATA_JUDUL.length) % KATA_JUDUL.length] + " "
+                + KATA_JUDUL[(indeks / 7) % KATA_JUDUL.length] + " Jilid " + indeks;
+        String pengarang = NAMA_PENGARANG[(indeks * 31) % NAMA_PENGARANG.length];
+        return new Buku(isbn(indeks), judul, pengarang, JUMLAH_SALINAN, 100_000.0);
+    }
+
+    public static void isi(RepositoryBuku repository, int ukuran) {
+        for (int i = 0; i < ukuran; i++) {
+            repository.simpan(buku(i));
+        }
+    }
+
+    public static Anggota anggota(int indeks) {
+        return new Anggota(String.format("A%07d", indeks), "Anggota " + indeks,
+                "anggota" + indeks + "@univ.ac.id", String.format("0812%08d", indeks),
+                Anggota.TipeAnggota.DOSEN);
+    }
+}
@@ -0,0 +1,71 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.repository.MappedRepositoryBuku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.repository.PrimitiveRepositoryBuku;
+import com.praktikum.testing.repository.RepositoryBuku;
+import com.praktikum.testing.repository.TrigramRepositoryBuku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+/**
+ * Katalog bersama untuk satu trial benchmark.
+ * Katalog dibangun sekali per trial lalu dipakai oleh semua thread.
+ */
+@State(Scope.Benchmark)
+public class KatalogState {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int ukuranKatalog;
+
+    /** Implementasi RepositoryBuku yang diukur; "mock" adalah acuan baseline. */
+    @Param({"mock", "trigram", "mapped", "primitif"})
+    public String implementasi;
+
+    public RepositoryBuku repository;
+    public ServicePerpustakaan service;
+
+    @Setup(Level.Trial)
+    public void bangunKatalog() {
+        repository = buatRepository(implementasi);
+        KatalogGenerator.isi(repository, ukuranKatalog);
+        service = new ServicePerpustakaan(repository, new KalkulatorDenda());
+    }
+
+    @TearDown(Level.Trial)
+    public void tutup() throws IOException {
+        if (repository instanceof Closeable) {
+            ((Closeable) repository).close();
+        }
+    }
+
+    static RepositoryBuku buatRepository(String implementasi) {
+        switch (implementasi) {
+            case "mock":
+                return new MockRepositoryBuku();
+            case "trigram":
+                return new TrigramRepositoryBuku();
+            case "primitif":
+                return new PrimitiveRepositoryBuku();
+            case "mapped":
+                try {
+                    return new MappedRepositoryBuku(Files.createTempDirectory("katalog-bench"));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            default:
+                throw new IllegalArgumentException("Implementasi tidak dikenal: " + implementasi);
+        }
+    }
+}
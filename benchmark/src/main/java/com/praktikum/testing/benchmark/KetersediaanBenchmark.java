@@ -0,0 +1,107 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.PemberitahuKetersediaan;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Langganan ketersediaan dibanding polling:
+ * - pinjamDanKembalikan: jalur pengembalian saat ada jumlahLangganan langganan yang masih
+ *   menunggu ISBN lain (di luar katalog, jadi tidak pernah terpicu)
+ * - langganiLaluDikabari: satu siklus langganan lengkap (daftar, kabar, panggil pendengar)
+ *   dengan executor langsung, agar biaya pengantaran ikut terukur
+ * - pollingBukuTersedia: satu kali polling yang digantikan langganan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class KetersediaanBenchmark {
+
+    private static final int UKURAN_KATALOG = 100_000;
+    private static final int JUMLAH_ANGGOTA = 100_000;
+    private static final int ISBN_DITUNGGU = 100_000;
+
+    @Param({"0", "300000"})
+    public int jumlahLangganan;
+
+    private MockRepositoryBuku katalog;
+    private Anggota[] anggota;
+    private String[] isbn;
+    private String[] isbnDitunggu;
+    private PemberitahuKetersediaan pemberitahu;
+    private ServicePerpustakaan service;
+    private SplittableRandom random;
+    private long dikabari;
+
+    @Setup(Level.Trial)
+    public void siapkan() {
+        katalog = new MockRepositoryBuku();
+        KatalogGenerator.isi(katalog, UKURAN_KATALOG);
+        anggota = new Anggota[JUMLAH_ANGGOTA];
+        for (int i = 0; i < JUMLAH_ANGGOTA; i++) {
+            anggota[i] = KatalogGenerator.anggota(i);
+        }
+        isbn = new String[UKURAN_KATALOG];
+        for (int i = 0; i < UKURAN_KATALOG; i++) {
+            isbn[i] = KatalogGenerator.isbn(i);
+        }
+        isbnDitunggu = new String[ISBN_DITUNGGU];
+        for (int i = 0; i < ISBN_DITUNGGU; i++) {
+            isbnDitunggu[i] = KatalogGenerator.isbn(UKURAN_KATALOG + i);
+        }
+        // Executor langsung: pendengar jalan di thread benchmark sehingga biayanya terlihat
+        pemberitahu = new PemberitahuKetersediaan(Runnable::run);
+        for (int i = 0; i < jumlahLangganan; i++) {
+            pemberitahu.langgani(isbnDitunggu[i % ISBN_DITUNGGU], (x, jumlah) -> dikabari++);
+        }
+        random = new SplittableRandom(19);
+    }
+
+    // Riwayat peminjaman per anggota ikut dipindai oleh kembalikanBuku; service dibuat ulang per iterasi
+    @Setup(Level.Iteration)
+    public void serviceBaru() {
+        service = ServicePerpustakaan.builder(katalog, new KalkulatorDenda())
+                .pemberitahuKetersediaan(pemberitahu)
+                .build();
+    }
+
+    @Benchmark
+    public boolean pinjamDanKembalikan() {
+        String dipilih = isbn[random.nextInt(UKURAN_KATALOG)];
+        Anggota peminjam = anggota[random.nextInt(JUMLAH_ANGGOTA)];
+        boolean dipinjam = service.pinjamBuku(dipilih, peminjam);
+        return service.kembalikanBuku(dipilih, peminjam) & dipinjam;
+    }
+
+    @Benchmark
+    public long langganiLaluDikabari() {
+        // ISBN katalog: buku tersedia, jadi langganiKetersediaan langsung mengabari
+        service.langganiKetersediaan(isbn[random.nextInt(UKURAN_KATALOG)], (x, jumlah) -> dikabari++);
+        return dikabari;
+    }
+
+    @Benchmark
+    public boolean pollingBukuTersedia() {
+        return service.bukuTersedia(isbn[random.nextInt(UKURAN_KATALOG)]);
+    }
+}
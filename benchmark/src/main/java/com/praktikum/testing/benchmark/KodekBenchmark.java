@@ -0,0 +1,190 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.util.KodekBiner;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Serialisasi model untuk snapshot/replikasi, per objek dalam batch 1000:
+ * - kodekTulis / kodekBaca: KodekBiner ke/dari satu ByteBuffer heap
+ * - objectStreamTulis / objectStreamBaca: acuan, ObjectOutputStream/ObjectInputStream satu
+ *   stream per batch (deskriptor kelas ditulis sekali per batch, bukan per objek)
+ * Ukuran per objek kedua format dilaporkan di kolom byteKodek dan byteObjectStream pada
+ * baris kodekTulis dan objectStreamTulis.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class KodekBenchmark {
+
+    private static final int BATCH = 1000;
+
+    @State(Scope.Thread)
+    public static class DataState {
+        @Param({"buku", "anggota", "peminjaman"})
+        public String jenis;
+
+        Object[] objek;
+        BiConsumer<ByteBuffer, Object> tulis;
+        Function<ByteBuffer, Object> baca;
+        ByteBuffer buffer;
+        int ukuranKodek;
+        byte[] hasilObjectStream;
+
+        @Setup(Level.Trial)
+        public void siapkan() throws IOException {
+            objek = new Object[BATCH];
+            for (int i = 0; i < BATCH; i++) {
+                objek[i] = buat(i);
+            }
+            switch (jenis) {
+                case "buku":
+                    tulis = (buf, o) -> KodekBiner.tulisBuku(buf, (Buku) o);
+                    baca = KodekBiner::bacaBuku;
+                    break;
+                case "anggota":
+                    tulis = (buf, o) -> KodekBiner.tulisAnggota(buf, (Anggota) o);
+                    baca = KodekBiner::bacaAnggota;
+                    break;
+                default:
+                    tulis = (buf, o) -> KodekBiner.tulisPeminjaman(buf, (Peminjaman) o);
+                    baca = KodekBiner::bacaPeminjaman;
+            }
+            buffer = ByteBuffer.allocate(1 << 20);
+            for (Object o : objek) {
+                tulis.accept(buffer, o);
+            }
+            ukuranKodek = buffer.position();
+            hasilObjectStream = tulisObjectStream(objek);
+        }
+
+        private Object buat(int i) {
+            switch (jenis) {
+                case "buku":
+                    return KatalogGenerator.buku(i);
+                case "anggota":
+                    Anggota anggota = KatalogGenerator.anggota(i);
+                    for (int j = 0; j < 3; j++) {
+                        anggota.tambahBukuDipinjam(KatalogGenerator.isbn(i * 3 + j));
+                    }
+                    return anggota;
+                default:
+                    LocalDate pinjam = LocalDate.of(2024, 1, 1).plusDays(i % 365);
+                    Peminjaman peminjaman = new Peminjaman(UUID.nameUUIDFromBytes(new byte[]{(byte) i, (byte) (i >> 8)})
+                            .toString(), KatalogGenerator.anggota(i).getIdAnggota(), KatalogGenerator.isbn(i),
+                            pinjam, pinjam.plusDays(14));
+                    if (i % 2 == 0) {
+                        peminjaman.setTanggalKembali(pinjam.plusDays(i % 20));
+                        peminjaman.setSudahDikembalikan(true);
+                    }
+                    return peminjaman;
+            }
+        }
+    }
+
+    /**
+     * Ukuran per objek kedua format sebagai kolom hasil JMH. JMH mengosongkan penghitung di
+     * awal iterasi, jadi nilainya diisi di akhir iterasi, dan hanya oleh thread 0 supaya
+     * jumlah antar thread tetap ukuran satu objek.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class UkuranPerObjek {
+        public double byteKodek;
+        public double byteObjectStream;
+
+        private boolean pelapor;
+
+        @Setup(Level.Iteration)
+        public void mulai(ThreadParams thread) {
+            pelapor = thread.getThreadIndex() == 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void selesai(DataState state) {
+            if (pelapor) {
+                byteKodek = state.ukuranKodek / (double) BATCH;
+                byteObjectStream = state.hasilObjectStream.length / (double) BATCH;
+            }
+        }
+    }
+
+    static byte[] tulisObjectStream(Object[] objek) throws IOException {
+        ByteArrayOutputStream keluaran = new ByteArrayOutputStream(256 * 1024);
+        try (ObjectOutputStream out = new ObjectOutputStream(keluaran)) {
+            for (Object o : objek) {
+                out.writeObject(o);
+            }
+        }
+        return keluaran.toByteArray();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int kodekTulis(DataState state, UkuranPerObjek ukuran) {
+        ByteBuffer buffer = state.buffer;
+        buffer.clear();
+        for (Object o : state.objek) {
+            state.tulis.accept(buffer, o);
+        }
+        return buffer.position();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void kodekBaca(DataState state, Blackhole bh) {
+        ByteBuffer buffer = state.buffer;
+        buffer.position(0);
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(state.baca.apply(buffer));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public byte[] objectStreamTulis(DataState state, UkuranPerObjek ukuran) throws IOException {
+        return tulisObjectStream(state.objek);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void objectStreamBaca(DataState state, Blackhole bh) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(state.hasilObjectStream))) {
+            for (int i = 0; i < BATCH; i++) {
+                bh.consume(in.readObject());
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.repository.TrigramRepositoryBuku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import com.praktikum.testing.util.KunciBergaris;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * pinjamBuku + kembalikanBuku dengan KunciBergaris dari banyak thread yang berbagi objek Anggota.
+ *
+ * - pola=panas    : 8 anggota dan 16 buku, semua thread berebut kunci yang sama
+ * - pola=tersebar : 10k anggota dan 10k buku, tabrakan hanya karena hash ke garis yang sama
+ * - jumlahGaris=1 : satu kunci global (setara synchronized di seluruh sirkulasi)
+ * Mode tanpa kunci tidak diukur karena objek Anggota dibagi antar thread dan ArrayList-nya
+ * bisa rusak.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx2g"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class KontensiSirkulasiBenchmark {
+
+    @Param({"panas", "tersebar"})
+    public String pola;
+
+    @Param({"1", "1024"})
+    public int jumlahGaris;
+
+    private ServicePerpustakaan service;
+    private Anggota[] anggota;
+    private String[] isbn;
+
+    @Setup(Level.Trial)
+    public void siapkan() {
+        boolean panas = "panas".equals(pola);
+        int jumlahAnggota = panas ? 8 : 10_000;
+        int jumlahBuku = panas ? 16 : 10_000;
+
+        TrigramRepositoryBuku repository = new TrigramRepositoryBuku();
+        KatalogGenerator.isi(repository, jumlahBuku);
+        // Peminjaman selalu ditutup lagi, jadi repository peminjaman tetap kecil
+        service = ServicePerpustakaan.builder(repository, new KalkulatorDenda())
+                .kunciSirkulasi(new KunciBergaris(jumlahGaris))
+                .build();
+
+        anggota = new Anggota[jumlahAnggota];
+        for (int i = 0; i < jumlahAnggota; i++) {
+            anggota[i] = KatalogGenerator.anggota(i);
+        }
+        isbn = new String[jumlahBuku];
+        for (int i = 0; i < jumlahBuku; i++) {
+            isbn[i] = KatalogGenerator.isbn(i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Acak {
+        private static final AtomicInteger NOMOR = new AtomicInteger();
+        SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void siapkan() {
+            random = new SplittableRandom(NOMOR.incrementAndGet());
+        }
+    }
+
+    @Benchmark
+    public boolean pinjamDanKembalikan(Acak acak) {
+        Anggota peminjam = anggota[acak.random.nextInt(anggota.length)];
+        String dipilih = isbn[acak.random.nextInt(isbn.length)];
+        boolean dipinjam = service.pinjamBuku(dipilih, peminjam);
+        return service.kembalikanBuku(dipilih, peminjam) & dipinjam;
+    }
+}
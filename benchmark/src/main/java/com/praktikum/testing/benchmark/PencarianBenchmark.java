@@ -0,0 +1,68 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.HalamanBuku;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mengukur pencarian substring pada judul dan pengarang.
+ * Kueri "selektif" hanya cocok dengan sedikit buku, kueri "lebar" cocok dengan sebagian besar katalog.
+ * Varian halaman/stream mengambil 20 baris pertama (ukuran satu layar kios); bandingkan
+ * gc.alloc.rate.norm-nya dengan daftar lengkap lewat -prof gc.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PencarianBenchmark {
+
+    private static final int UKURAN_HALAMAN = 20;
+
+    @State(Scope.Benchmark)
+    public static class KueriState {
+        @Param({"selektif", "lebar"})
+        public String jenisKueri;
+
+        String judul() {
+            return "selektif".equals(jenisKueri) ? "jilid 777" : "a";
+        }
+
+        String pengarang() {
+            return "selektif".equals(jenisKueri) ? "yusuf habibi" : "a";
+        }
+    }
+
+    @Benchmark
+    public List<Buku> cariBukuByJudul(KatalogState katalog, KueriState kueri) {
+        return katalog.service.cariBukuByJudul(kueri.judul());
+    }
+
+    @Benchmark
+    public List<Buku> cariBukuByPengarang(KatalogState katalog, KueriState kueri) {
+        return katalog.service.cariBukuByPengarang(kueri.pengarang());
+    }
+
+    @Benchmark
+    public HalamanBuku cariBukuByJudulHalaman(KatalogState katalog, KueriState kueri) {
+        return katalog.service.cariBukuByJudul(kueri.judul(), null, UKURAN_HALAMAN);
+    }
+
+    @Benchmark
+    public List<Buku> streamBukuByJudulLimit(KatalogState katalog, KueriState kueri) {
+        return katalog.service.streamBukuByJudul(kueri.judul()).limit(UKURAN_HALAMAN).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,120 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.util.BufferCincin;
+import com.praktikum.testing.util.StrategiTunggu;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Biaya di thread penerbit untuk menyerahkan satu peristiwa sirkulasi ke konsumen di thread lain:
+ * - terbitkanCincin: BufferCincin (klaim, isi empat field slot, terbitkan) per StrategiTunggu;
+ *   slot setara PeristiwaSirkulasi
+ * - antreanBlocking: acuan, satu objek peristiwa baru per kejadian lewat ArrayBlockingQueue.put
+ * Konsumen hanya menjumlahkan field supaya yang terukur jalur penyerahannya.
+ * Jalankan dengan -prof gc untuk membandingkan alokasi per operasi.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class PeristiwaBenchmark {
+
+    static final class Peristiwa {
+        int jenis;
+        String isbn;
+        String idAnggota;
+        int jumlahTersedia;
+
+        Peristiwa() {
+        }
+
+        Peristiwa(int jenis, String isbn, String idAnggota, int jumlahTersedia) {
+            this.jenis = jenis;
+            this.isbn = isbn;
+            this.idAnggota = idAnggota;
+            this.jumlahTersedia = jumlahTersedia;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CincinState {
+        @Param({"mengalah", "blokir", "sibuk"})
+        public String strategi;
+
+        BufferCincin<Peristiwa> cincin;
+        volatile long jumlah;
+
+        @Setup(Level.Trial)
+        public void siapkan() {
+            StrategiTunggu tunggu = "sibuk".equals(strategi) ? StrategiTunggu.sibuk()
+                    : "blokir".equals(strategi) ? StrategiTunggu.blokir() : StrategiTunggu.mengalah();
+            cincin = new BufferCincin<>(4096, Peristiwa::new, tunggu);
+            cincin.tambahKonsumen("konsumen-bench", (p, urutan, akhirBatch) -> jumlah += p.jumlahTersedia);
+            cincin.mulai();
+        }
+
+        @TearDown(Level.Trial)
+        public void tutup() {
+            cincin.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class AntreanState {
+        ArrayBlockingQueue<Peristiwa> antrean;
+        Thread konsumen;
+        volatile long jumlah;
+
+        @Setup(Level.Trial)
+        public void siapkan() {
+            antrean = new ArrayBlockingQueue<>(4096);
+            konsumen = new Thread(() -> {
+                try {
+                    while (true) {
+                        jumlah += antrean.take().jumlahTersedia;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "konsumen-bench");
+            konsumen.setDaemon(true);
+            konsumen.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tutup() {
+            konsumen.interrupt();
+        }
+    }
+
+    @Benchmark
+    public void terbitkanCincin(CincinState state) {
+        long urutan = state.cincin.klaim();
+        Peristiwa p = state.cincin.dapatkan(urutan);
+        p.jenis = 1;
+        p.isbn = "9780000000001";
+        p.idAnggota = "A001";
+        p.jumlahTersedia = (int) urutan;
+        state.cincin.terbitkan(urutan);
+    }
+
+    @Benchmark
+    public void antreanBlocking(AntreanState state) throws InterruptedException {
+        state.antrean.put(new Peristiwa(1, "9780000000001", "A001", 1));
+    }
+}
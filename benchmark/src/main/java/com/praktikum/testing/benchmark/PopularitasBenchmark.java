@@ -0,0 +1,87 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.service.PelacakPopularitas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Biaya mencatat satu peminjaman untuk daftar buku terpopuler:
+ * - catatPinjam: PelacakPopularitas (sketsa per hari + kandidat terbatas), memori tetap
+ * - hitungTepat: acuan, ConcurrentHashMap ISBN -> LongAdder tanpa jendela, memori tumbuh
+ *   sebanyak ISBN yang pernah dipinjam
+ * - teratas: menghitung ulang 10 teratas dari kandidat
+ * ISBN yang dipinjam condong ke sebagian kecil katalog (indeks = n * u^3), mirip pola pinjam nyata.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class PopularitasBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class PelacakState {
+        @Param({"100000", "1000000"})
+        public int ukuranKatalog;
+
+        PelacakPopularitas pelacak;
+        ConcurrentHashMap<String, LongAdder> tepat;
+        String[] pinjaman;
+
+        @Setup(Level.Trial)
+        public void siapkan() {
+            pelacak = new PelacakPopularitas(Clock.systemUTC());
+            tepat = new ConcurrentHashMap<>();
+            SplittableRandom random = new SplittableRandom(23);
+            pinjaman = new String[1 << 16];
+            for (int i = 0; i < pinjaman.length; i++) {
+                double u = random.nextDouble();
+                pinjaman[i] = KatalogGenerator.isbn((int) (ukuranKatalog * u * u * u));
+            }
+            for (String isbn : pinjaman) {
+                pelacak.catatPinjam(isbn);
+                tepat.computeIfAbsent(isbn, kunci -> new LongAdder()).increment();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PinjamState {
+        int posisi;
+
+        String berikut(PelacakState state) {
+            return state.pinjaman[posisi++ & (state.pinjaman.length - 1)];
+        }
+    }
+
+    @Benchmark
+    public void catatPinjam(PelacakState state, PinjamState pinjam) {
+        state.pelacak.catatPinjam(pinjam.berikut(state));
+    }
+
+    @Benchmark
+    public void hitungTepat(PelacakState state, PinjamState pinjam) {
+        state.tepat.computeIfAbsent(pinjam.berikut(state), kunci -> new LongAdder()).increment();
+    }
+
+    @Benchmark
+    public Object teratas(PelacakState state) {
+        return state.pelacak.teratas();
+    }
+}
@@ -0,0 +1,73 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mengukur jalur peminjaman: pinjamBuku, kembalikanBuku dan cariBukuByIsbn.
+ *
+ * pinjamBuku diukur berpasangan dengan kembalikanBuku karena batas pinjam anggota
+ * akan cepat tercapai jika hanya meminjam terus-menerus.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SirkulasiBenchmark {
+
+    @State(Scope.Thread)
+    public static class AnggotaState {
+        private static final AtomicInteger NOMOR = new AtomicInteger();
+
+        Anggota anggota;
+        SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void siapkan() {
+            int nomor = NOMOR.incrementAndGet();
+            anggota = KatalogGenerator.anggota(nomor);
+            random = new SplittableRandom(nomor);
+        }
+
+        String isbnAcak(int ukuranKatalog) {
+            return KatalogGenerator.isbn(random.nextInt(ukuranKatalog));
+        }
+    }
+
+    @Benchmark
+    public boolean pinjamDanKembalikan(KatalogState katalog, AnggotaState state) {
+        String isbn = state.isbnAcak(katalog.ukuranKatalog);
+        boolean dipinjam = katalog.service.pinjamBuku(isbn, state.anggota);
+        return katalog.service.kembalikanBuku(isbn, state.anggota) & dipinjam;
+    }
+
+    @Benchmark
+    public Optional<Buku> cariBukuByIsbn(KatalogState katalog, AnggotaState state) {
+        return katalog.service.cariBukuByIsbn(state.isbnAcak(katalog.ukuranKatalog));
+    }
+
+    @Benchmark
+    public void bukuTersediaLaluJumlah(KatalogState katalog, AnggotaState state, Blackhole bh) {
+        String isbn = state.isbnAcak(katalog.ukuranKatalog);
+        bh.consume(katalog.service.bukuTersedia(isbn));
+        bh.consume(katalog.service.getJumlahTersedia(isbn));
+    }
+}
@@ -0,0 +1,110 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.util.ValidationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mengukur ValidationUtils.isValidAnggota yang dipanggil pada setiap pinjamBuku,
+ * validasi ISBN, dan validasi massal. Metode *Regex adalah implementasi lama
+ * berbasis String.matches/replaceAll sebagai pembanding.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidasiBenchmark {
+
+    private Anggota anggotaValid;
+    private Anggota anggotaTeleponTidakValid;
+    private Buku[] daftarBuku;
+
+    @Setup
+    public void siapkan() {
+        anggotaValid = new Anggota("A001", "John Student", "john@student.ac.id",
+                "0812-3456-7890", Anggota.TipeAnggota.MAHASISWA);
+        anggotaTeleponTidakValid = new Anggota("A002", "Jane Student", "jane@student.ac.id",
+                "07123456789", Anggota.TipeAnggota.MAHASISWA);
+        daftarBuku = new Buku[1000];
+        for (int i = 0; i < daftarBuku.length; i++) {
+            daftarBuku[i] = KatalogGenerator.buku(i);
+        }
+    }
+
+    @Benchmark
+    public boolean isValidAnggota() {
+        return ValidationUtils.isValidAnggota(anggotaValid);
+    }
+
+    @Benchmark
+    public boolean isValidAnggotaDitolak() {
+        return ValidationUtils.isValidAnggota(anggotaTeleponTidakValid);
+    }
+
+    @Benchmark
+    public boolean isValidAnggotaRegex() {
+        return isValidAnggotaLama(anggotaValid);
+    }
+
+    @Benchmark
+    public boolean isValidISBN() {
+        return ValidationUtils.isValidISBN("978-0-306-40615-7");
+    }
+
+    @Benchmark
+    public boolean isValidISBNKetat() {
+        return ValidationUtils.isValidISBN("978-0-306-40615-7", true);
+    }
+
+    @Benchmark
+    public boolean isValidISBNRegex() {
+        return isValidISBNLama("978-0-306-40615-7");
+    }
+
+    @Benchmark
+    public BitSet validasiBukuMassal() {
+        return ValidationUtils.validasiBuku(daftarBuku);
+    }
+
+    @Benchmark
+    public BitSet validasiBukuMassalRegex() {
+        BitSet hasil = new BitSet(daftarBuku.length);
+        for (int i = 0; i < daftarBuku.length; i++) {
+            Buku buku = daftarBuku[i];
+            if (isValidISBNLama(buku.getIsbn()) && !buku.getJudul().trim().isEmpty()
+                    && !buku.getPengarang().trim().isEmpty() && buku.getJumlahTotal() > 0
+                    && buku.getJumlahTersedia() >= 0 && buku.getJumlahTersedia() <= buku.getJumlahTotal()) {
+                hasil.set(i);
+            }
+        }
+        return hasil;
+    }
+
+    private static boolean isValidAnggotaLama(Anggota anggota) {
+        return !anggota.getIdAnggota().trim().isEmpty()
+                && !anggota.getNama().trim().isEmpty()
+                && !anggota.getEmail().trim().isEmpty()
+                && anggota.getEmail().matches("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")
+                && !anggota.getTelepon().trim().isEmpty()
+                && anggota.getTelepon().replaceAll("[\\s-]", "").matches("^(08\\d{8,11}|\\+628\\d{8,11})$");
+    }
+
+    private static boolean isValidISBNLama(String isbn) {
+        return !isbn.trim().isEmpty() && isbn.replaceAll("[-\\s]", "").matches("\\d{10}|\\d{13}");
+    }
+}
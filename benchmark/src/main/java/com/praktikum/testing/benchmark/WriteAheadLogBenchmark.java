@@ -0,0 +1,104 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.repository.WriteAheadLog;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput WriteAheadLog dengan fsync sungguhan. Jalankan dengan beberapa nilai -t
+ * (misal 1, 8, 64) untuk melihat group commit: throughput harus naik seiring jumlah
+ * penulis, sementara jumlah fsync per detik (kolom fsync) kurang lebih tetap.
+ * - catatJumlahTersedia: satu entri stok, tiap thread pada ISBN sendiri
+ * - catatPinjam: satu entri peminjaman lengkap (catatan + stok), seperti pinjamBuku
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class WriteAheadLogBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class LogState {
+        WriteAheadLog wal;
+
+        @Setup(Level.Trial)
+        public void buka() throws IOException {
+            wal = new WriteAheadLog(Files.createTempDirectory("wal-bench"));
+        }
+
+        @TearDown(Level.Trial)
+        public void tutup() throws IOException {
+            wal.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PenulisState {
+        String isbn;
+        Peminjaman peminjaman;
+
+        @Setup(Level.Trial)
+        public void siapkan(ThreadParams thread) {
+            isbn = KatalogGenerator.isbn(thread.getThreadIndex());
+            LocalDate hariIni = LocalDate.of(2024, 1, 1);
+            peminjaman = new Peminjaman("P" + thread.getThreadIndex(), KatalogGenerator.anggota(thread.getThreadIndex())
+                    .getIdAnggota(), isbn, hariIni, hariIni.plusDays(14));
+        }
+    }
+
+    /**
+     * Jumlah fsync per iterasi sebagai kolom tambahan. Counter log berlaku untuk semua
+     * thread, jadi hanya thread 0 yang melaporkan selisihnya supaya tidak terhitung ganda.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PenghitungFsync {
+        public long fsync;
+
+        private boolean pelapor;
+        private long awal;
+
+        @Setup(Level.Iteration)
+        public void mulai(LogState log, ThreadParams thread) {
+            pelapor = thread.getThreadIndex() == 0;
+            fsync = 0;
+            awal = log.wal.getJumlahFsync();
+        }
+
+        @TearDown(Level.Iteration)
+        public void selesai(LogState log) {
+            if (pelapor) {
+                fsync = log.wal.getJumlahFsync() - awal;
+            }
+        }
+    }
+
+    @Benchmark
+    public int catatJumlahTersedia(LogState log, PenulisState penulis, PenghitungFsync penghitung) {
+        return log.wal.catatJumlahTersedia(penulis.isbn, () -> 1);
+    }
+
+    @Benchmark
+    public int catatPinjam(LogState log, PenulisState penulis, PenghitungFsync penghitung) {
+        return log.wal.catatPinjam(penulis.peminjaman, () -> 1, hasil -> { });
+    }
+}
@@ -0,0 +1,124 @@
+package com.praktikum.testing.http;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.HalamanBuku;
+import com.praktikum.testing.repository.IndeksAutocomplete;
+
+import java.util.List;
+
+/**
+ * Penulis JSON kecil untuk respons API; cukup untuk objek datar tanpa pustaka tambahan.
+ */
+final class FormatJson {
+
+    private FormatJson() {
+    }
+
+    static String buku(Buku buku) {
+        StringBuilder sb = new StringBuilder(160);
+        tulisBuku(sb, buku);
+        return sb.toString();
+    }
+
+    static String daftarBuku(List<Buku> daftar) {
+        StringBuilder sb = new StringBuilder(2 + daftar.size() * 160);
+        sb.append('[');
+        for (int i = 0; i < daftar.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            tulisBuku(sb, daftar.get(i));
+        }
+        return sb.append(']').toString();
+    }
+
+    static String halamanBuku(HalamanBuku halaman) {
+        StringBuilder sb = new StringBuilder(32);
+        sb.append("{\"buku\":").append(daftarBuku(halaman.getIsi()));
+        sb.append(",\"berikutnya\":");
+        teks(sb, halaman.getKursorBerikutnya());
+        return sb.append('}').toString();
+    }
+
+    static String daftarSaran(List<IndeksAutocomplete.Saran> daftar) {
+        StringBuilder sb = new StringBuilder(2 + daftar.size() * 64);
+        sb.append('[');
+        for (int i = 0; i < daftar.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"teks\":");
+            teks(sb, daftar.get(i).getTeks());
+            sb.append(",\"skor\":").append(daftar.get(i).getSkor()).append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    static String ketersediaan(String isbn, int jumlahTersedia) {
+        StringBuilder sb = new StringBuilder(64);
+        sb.append("{\"isbn\":");
+        teks(sb, isbn);
+        sb.append(",\"tersedia\":").append(jumlahTersedia > 0);
+        sb.append(",\"jumlahTersedia\":").append(jumlahTersedia);
+        return sb.append('}').toString();
+    }
+
+    static String hasil(boolean berhasil) {
+        return berhasil ? "{\"berhasil\":true}" : "{\"berhasil\":false}";
+    }
+
+    static String galat(String pesan) {
+        StringBuilder sb = new StringBuilder(32 + pesan.length());
+        sb.append("{\"galat\":");
+        teks(sb, pesan);
+        return sb.append('}').toString();
+    }
+
+    private static void tulisBuku(StringBuilder sb, Buku buku) {
+        sb.append("{\"isbn\":");
+        teks(sb, buku.getIsbn());
+        sb.append(",\"judul\":");
+        teks(sb, buku.getJudul());
+        sb.append(",\"pengarang\":");
+        teks(sb, buku.getPengarang());
+        sb.append(",\"jumlahTotal\":").append(buku.getJumlahTotal());
+        sb.append(",\"jumlahTersedia\":").append(buku.getJumlahTersedia());
+        sb.append(",\"harga\":").append(buku.getHarga());
+        sb.append('}');
+    }
+
+    private static void teks(StringBuilder sb, String s) {
+        if (s == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,379 @@
+package com.praktikum.testing.http;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.AutocompleteRepositoryBuku;
+import com.praktikum.testing.repository.HalamanBuku;
+import com.praktikum.testing.repository.IndeksAutocomplete;
+import com.praktikum.testing.repository.RepositoryBuku;
+import com.praktikum.testing.repository.TrigramRepositoryBuku;
+import com.praktikum.testing.service.HasilImpor;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import com.praktikum.testing.util.KunciBergaris;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * API HTTP tertanam untuk ServicePerpustakaan di atas com.sun.net.httpserver.HttpServer.
+ *
+ * - GET  /buku?judul=...  atau  /buku?pengarang=...   pencarian, array JSON
+ * - GET  /buku?batas=20[&setelah=isbn][&judul=..|&pengarang=..]
+ *                                                     satu halaman terurut ISBN: {"buku":[..],"berikutnya":..}
+ * - GET  /buku/{isbn}                                 detail buku, 404 jika tidak ada
+ * - GET  /buku/{isbn}/tersedia                        jumlah tersedia
+ * - GET  /saran?judul=..  atau  /saran?pengarang=..[&k=10]
+ *                                                     saran autocomplete, [{"teks":..,"skor":..}]
+ * - POST /anggota  idAnggota, nama, email, telepon, tipe
+ * - POST /pinjam   isbn, idAnggota                    409 jika ditolak
+ * - POST /kembalikan isbn, idAnggota                  409 jika ditolak
+ * Parameter POST boleh di query string atau body application/x-www-form-urlencoded.
+ *
+ * Setiap permintaan dijalankan di virtual thread jika JVM menyediakannya (Java 21+),
+ * dicari lewat refleksi karena modul ini tetap dikompilasi untuk Java 11. Di JVM lama
+ * permintaan jatuh ke pool thread biasa berukuran tetap. Koneksi yang diam tidak memakai
+ * thread apa pun: HttpServer menyimpannya di selector sampai ada permintaan berikutnya.
+ *
+ * Body POST lebih dari MAKS_BODY byte ditolak dengan 413, escape % yang rusak dengan 400.
+ *
+ * Batas koneksi keep-alive yang diam (bawaan 200 koneksi, 30 detik) diatur JDK lewat
+ * properti sistem sun.net.httpserver.maxIdleConnections dan idleInterval yang dibaca
+ * sekali per JVM. Kelas ini tidak mengubahnya; untuk kios yang terus terhubung naikkan
+ * lewat -D saat menjalankan proses server (lihat README).
+ */
+public class ServerPerpustakaan {
+
+    static final int UKURAN_POOL_CADANGAN = 256;
+    private static final int BACKLOG = 4096;
+    private static final int MAKS_BODY = 8192;
+    static final int BATAS_HALAMAN_MAKS = 1000;
+
+    private final ServicePerpustakaan service;
+    private final HttpServer server;
+    private final ExecutorService eksekutor;
+    private final boolean virtualThread;
+
+    public ServerPerpustakaan(ServicePerpustakaan service, InetSocketAddress alamat) throws IOException {
+        this.service = service;
+        this.server = HttpServer.create(alamat, BACKLOG);
+        ExecutorService virtual = buatEksekutorVirtual();
+        this.virtualThread = virtual != null;
+        this.eksekutor = virtual != null ? virtual : buatPoolCadangan();
+        server.setExecutor(eksekutor);
+        server.createContext("/buku", this::tanganiBuku);
+        server.createContext("/saran", this::tanganiSaran);
+        server.createContext("/anggota", this::tanganiAnggota);
+        server.createContext("/pinjam", exchange -> tanganiSirkulasi(exchange, true));
+        server.createContext("/kembalikan", exchange -> tanganiSirkulasi(exchange, false));
+    }
+
+    public void mulai() {
+        server.start();
+    }
+
+    public void berhenti() {
+        server.stop(0);
+        eksekutor.shutdown();
+        try {
+            eksekutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public boolean isMemakaiVirtualThread() {
+        return virtualThread;
+    }
+
+    private void tanganiBuku(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                kirim(exchange, 405, FormatJson.galat("Hanya GET"));
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            if (!path.equals("/buku") && !path.startsWith("/buku/")) {
+                kirim(exchange, 404, FormatJson.galat("Tidak ditemukan"));
+                return;
+            }
+            String sisa = path.length() > "/buku".length() ? path.substring("/buku/".length()) : "";
+            if (sisa.isEmpty()) {
+                Map<String, String> param = parseParameter(exchange.getRequestURI().getRawQuery());
+                if (param.containsKey("batas")) {
+                    cariPerHalaman(exchange, param);
+                } else if (param.containsKey("judul")) {
+                    kirim(exchange, 200, FormatJson.daftarBuku(service.cariBukuByJudul(param.get("judul"))));
+                } else if (param.containsKey("pengarang")) {
+                    kirim(exchange, 200, FormatJson.daftarBuku(service.cariBukuByPengarang(param.get("pengarang"))));
+                } else {
+                    kirim(exchange, 400, FormatJson.galat("Parameter judul atau pengarang wajib"));
+                }
+            } else if (sisa.endsWith("/tersedia")) {
+                String isbn = sisa.substring(0, sisa.length() - "/tersedia".length());
+                Optional<Buku> buku = service.cariBukuByIsbn(isbn);
+                if (buku.isPresent()) {
+                    kirim(exchange, 200, FormatJson.ketersediaan(isbn, buku.get().getJumlahTersedia()));
+                } else {
+                    kirim(exchange, 404, FormatJson.galat("Buku tidak ditemukan"));
+                }
+            } else {
+                Optional<Buku> buku = service.cariBukuByIsbn(sisa);
+                if (buku.isPresent()) {
+                    kirim(exchange, 200, FormatJson.buku(buku.get()));
+                } else {
+                    kirim(exchange, 404, FormatJson.galat("Buku tidak ditemukan"));
+                }
+            }
+        } catch (PermintaanDitolak e) {
+            kirim(exchange, e.status, FormatJson.galat(e.getMessage()));
+        } catch (RuntimeException e) {
+            kirim(exchange, 500, FormatJson.galat("Kesalahan server"));
+        }
+    }
+
+    private void cariPerHalaman(HttpExchange exchange, Map<String, String> param) throws IOException {
+        int batas;
+        try {
+            batas = Integer.parseInt(param.get("batas"));
+        } catch (NumberFormatException e) {
+            batas = 0;
+        }
+        if (batas < 1 || batas > BATAS_HALAMAN_MAKS) {
+            kirim(exchange, 400, FormatJson.galat("Parameter batas harus 1 sampai " + BATAS_HALAMAN_MAKS));
+            return;
+        }
+        String setelah = param.get("setelah");
+        HalamanBuku halaman;
+        if (param.containsKey("judul")) {
+            halaman = service.cariBukuByJudul(param.get("judul"), setelah, batas);
+        } else if (param.containsKey("pengarang")) {
+            halaman = service.cariBukuByPengarang(param.get("pengarang"), setelah, batas);
+        } else {
+            halaman = service.cariSemuaBuku(setelah, batas);
+        }
+        kirim(exchange, 200, FormatJson.halamanBuku(halaman));
+    }
+
+    private void tanganiSaran(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                kirim(exchange, 405, FormatJson.galat("Hanya GET"));
+                return;
+            }
+            Map<String, String> param = parseParameter(exchange.getRequestURI().getRawQuery());
+            int k;
+            try {
+                k = Integer.parseInt(param.getOrDefault("k", String.valueOf(IndeksAutocomplete.K_BAWAAN)));
+            } catch (NumberFormatException e) {
+                k = 0;
+            }
+            if (k < 1 || k > IndeksAutocomplete.K_BAWAAN) {
+                kirim(exchange, 400, FormatJson.galat("Parameter k harus 1 sampai " + IndeksAutocomplete.K_BAWAAN));
+            } else if (param.containsKey("judul")) {
+                kirim(exchange, 200, FormatJson.daftarSaran(service.sarankanJudul(param.get("judul"), k)));
+            } else if (param.containsKey("pengarang")) {
+                kirim(exchange, 200, FormatJson.daftarSaran(service.sarankanPengarang(param.get("pengarang"), k)));
+            } else {
+                kirim(exchange, 400, FormatJson.galat("Parameter judul atau pengarang wajib"));
+            }
+        } catch (PermintaanDitolak e) {
+            kirim(exchange, e.status, FormatJson.galat(e.getMessage()));
+        } catch (RuntimeException e) {
+            kirim(exchange, 500, FormatJson.galat("Kesalahan server"));
+        }
+    }
+
+    private void tanganiAnggota(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                kirim(exchange, 405, FormatJson.galat("Hanya POST"));
+                return;
+            }
+            Map<String, String> param = parameterPost(exchange);
+            Anggota.TipeAnggota tipe;
+            try {
+                tipe = Anggota.TipeAnggota.valueOf(param.getOrDefault("tipe", "UMUM"));
+            } catch (IllegalArgumentException e) {
+                kirim(exchange, 400, FormatJson.galat("Tipe anggota tidak dikenal"));
+                return;
+            }
+            Anggota anggota = new Anggota(param.get("idAnggota"), param.get("nama"), param.get("email"),
+                    param.get("telepon"), tipe);
+            boolean berhasil = service.tambahAnggota(anggota);
+            kirim(exchange, berhasil ? 201 : 409, FormatJson.hasil(berhasil));
+        } catch (PermintaanDitolak e) {
+            kirim(exchange, e.status, FormatJson.galat(e.getMessage()));
+        } catch (RuntimeException e) {
+            kirim(exchange, 500, FormatJson.galat("Kesalahan server"));
+        }
+    }
+
+    private void tanganiSirkulasi(HttpExchange exchange, boolean pinjam) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                kirim(exchange, 405, FormatJson.galat("Hanya POST"));
+                return;
+            }
+            Map<String, String> param = parameterPost(exchange);
+            String isbn = param.get("isbn");
+            String idAnggota = param.get("idAnggota");
+            if (isbn == null || idAnggota == null) {
+                kirim(exchange, 400, FormatJson.galat("Parameter isbn dan idAnggota wajib"));
+                return;
+            }
+            boolean berhasil = pinjam ? service.pinjamBuku(isbn, idAnggota) : service.kembalikanBuku(isbn, idAnggota);
+            kirim(exchange, berhasil ? 200 : 409, FormatJson.hasil(berhasil));
+        } catch (PermintaanDitolak e) {
+            kirim(exchange, e.status, FormatJson.galat(e.getMessage()));
+        } catch (RuntimeException e) {
+            kirim(exchange, 500, FormatJson.galat("Kesalahan server"));
+        }
+    }
+
+    private static Map<String, String> parameterPost(HttpExchange exchange) throws IOException {
+        Map<String, String> param = parseParameter(exchange.getRequestURI().getRawQuery());
+        try (InputStream body = exchange.getRequestBody()) {
+            ByteArrayOutputStream isi = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int n;
+            while ((n = body.read(buffer)) > 0) {
+                if (isi.size() + n > MAKS_BODY) {
+                    throw new PermintaanDitolak(413, "Body melebihi " + MAKS_BODY + " byte");
+                }
+                isi.write(buffer, 0, n);
+            }
+            param.putAll(parseParameter(new String(isi.toByteArray(), StandardCharsets.UTF_8)));
+        }
+        return param;
+    }
+
+    static Map<String, String> parseParameter(String query) throws UnsupportedEncodingException {
+        Map<String, String> hasil = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return hasil;
+        }
+        int awal = 0;
+        while (awal <= query.length()) {
+            int akhir = query.indexOf('&', awal);
+            if (akhir < 0) {
+                akhir = query.length();
+            }
+            int sama = query.indexOf('=', awal);
+            if (sama > awal && sama < akhir) {
+                hasil.put(decode(query.substring(awal, sama)), decode(query.substring(sama + 1, akhir)));
+            }
+            awal = akhir + 1;
+        }
+        return hasil;
+    }
+
+    private static String decode(String teks) throws UnsupportedEncodingException {
+        try {
+            return URLDecoder.decode(teks, "UTF-8");
+        } catch (IllegalArgumentException e) {
+            // escape % yang tidak lengkap atau bukan heksadesimal
+            throw new PermintaanDitolak(400, "Parameter tidak ter-encode dengan benar");
+        }
+    }
+
+    private static void kirim(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] isi = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, isi.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(isi);
+        }
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor hanya ada di Java 21+ (atau 19/20 dengan preview)
+    private static ExecutorService buatEksekutorVirtual() {
+        try {
+            Method pabrik = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) pabrik.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService buatPoolCadangan() {
+        AtomicInteger nomor = new AtomicInteger();
+        ThreadFactory pabrik = r -> {
+            Thread thread = new Thread(r, "http-perpustakaan-" + nomor.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(UKURAN_POOL_CADANGAN, pabrik);
+    }
+
+    /**
+     * Jalankan server: {@code java -jar server-perpustakaan.jar [port] [katalog.csv | --contoh jumlah]}.
+     * --contoh mengisi katalog dengan ISBN 978 + 10 digit indeks, dipakai oleh UjiBeban.
+     * Untuk banyak koneksi keep-alive tambahkan -Dsun.net.httpserver.maxIdleConnections=100000
+     * -Dsun.net.httpserver.idleInterval=600.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        IndeksAutocomplete indeksAutocomplete = new IndeksAutocomplete();
+        RepositoryBuku repositoryBuku = new AutocompleteRepositoryBuku(new TrigramRepositoryBuku(), indeksAutocomplete);
+        ServicePerpustakaan service = ServicePerpustakaan.builder(repositoryBuku, new KalkulatorDenda())
+                .kunciSirkulasi(new KunciBergaris(1024))
+                .indeksAutocomplete(indeksAutocomplete)
+                .build();
+
+        if (args.length > 2 && "--contoh".equals(args[1])) {
+            int jumlah = Integer.parseInt(args[2]);
+            for (int i = 0; i < jumlah; i++) {
+                repositoryBuku.simpan(new Buku(isbnContoh(i), "Judul Buku " + i, "Pengarang " + (i % 1000),
+                        1 + i % 5, 50000.0 + i % 100 * 1000));
+            }
+        } else if (args.length > 1) {
+            HasilImpor hasil = service.imporKatalog(Paths.get(args[1]));
+            System.out.printf("Impor katalog: %d diterima, %d ditolak%n", hasil.getJumlahDiterima(),
+                    hasil.getJumlahDitolak());
+        }
+
+        ServerPerpustakaan server = new ServerPerpustakaan(service, new InetSocketAddress(port));
+        server.mulai();
+        System.out.printf("Server perpustakaan di port %d (%s)%n", server.getPort(),
+                server.isMemakaiVirtualThread() ? "virtual thread" : "pool " + UKURAN_POOL_CADANGAN + " thread");
+    }
+
+    static String isbnContoh(int indeks) {
+        return String.format("978%010d", indeks);
+    }
+
+    /** Permintaan ditolak karena isinya, dijawab dengan status 4xx alih-alih 500. */
+    static final class PermintaanDitolak extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        PermintaanDitolak(int status, String pesan) {
+            super(pesan);
+            this.status = status;
+        }
+    }
+}
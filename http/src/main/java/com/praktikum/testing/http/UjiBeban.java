@@ -0,0 +1,264 @@
+package com.praktikum.testing.http;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uji beban koneksi bersamaan untuk ServerPerpustakaan.
+ *
+ * Satu thread dengan Selector membuka semua koneksi keep-alive, lalu setiap koneksi
+ * mengirim beberapa GET /buku/{isbn}/tersedia berturut-turut. Koneksi yang selesai
+ * tidak ditutup sampai akhir, jadi di puncaknya semua koneksi terbuka bersamaan
+ * terhadap server. Koneksi baru dibuka bertahap agar backlog accept tidak meluap.
+ *
+ * <pre>
+ * java -jar server-perpustakaan.jar 8080 --contoh 10000
+ * java -cp server-perpustakaan.jar com.praktikum.testing.http.UjiBeban 127.0.0.1 8080 15000 5 10000
+ * </pre>
+ * Argumen: host, port, jumlah koneksi, permintaan per koneksi, jumlah buku contoh di server.
+ * Klien dan server sebaiknya proses terpisah; tiap koneksi memakai satu file descriptor
+ * di masing-masing sisi, jadi ulimit -n membatasi jumlah koneksi per proses.
+ */
+public class UjiBeban {
+
+    private static final int MAKS_CONNECT_BERSAMAAN = 512;
+    private static final long BATAS_WAKTU_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final InetSocketAddress alamat;
+    private final int jumlahKoneksi;
+    private final int permintaanPerKoneksi;
+    private final int jumlahBuku;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private final long[] latensi;
+    private int jumlahLatensi;
+    private int sedangConnect;
+    private int terbuka;
+    private int maksTerbuka;
+    private int selesai;
+    private int gagal;
+    private int statusBukan200;
+
+    public UjiBeban(InetSocketAddress alamat, int jumlahKoneksi, int permintaanPerKoneksi, int jumlahBuku) {
+        this.alamat = alamat;
+        this.jumlahKoneksi = jumlahKoneksi;
+        this.permintaanPerKoneksi = permintaanPerKoneksi;
+        this.jumlahBuku = jumlahBuku;
+        this.latensi = new long[jumlahKoneksi * permintaanPerKoneksi];
+    }
+
+    public static void main(String[] args) throws IOException {
+        String host = args.length > 0 ? args[0] : "127.0.0.1";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+        int jumlahKoneksi = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        int permintaan = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        int jumlahBuku = args.length > 4 ? Integer.parseInt(args[4]) : 10_000;
+        new UjiBeban(new InetSocketAddress(host, port), jumlahKoneksi, permintaan, jumlahBuku).jalankan();
+    }
+
+    public void jalankan() throws IOException {
+        long mulai = System.nanoTime();
+        int dimulai = 0;
+        try (Selector selector = Selector.open()) {
+            while (selesai < jumlahKoneksi && System.nanoTime() - mulai < BATAS_WAKTU_NANOS) {
+                while (dimulai < jumlahKoneksi && sedangConnect < MAKS_CONNECT_BERSAMAAN) {
+                    buka(selector);
+                    dimulai++;
+                }
+                selector.select(100);
+                Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+                while (iterator.hasNext()) {
+                    SelectionKey key = iterator.next();
+                    iterator.remove();
+                    proses(key);
+                }
+            }
+            long durasi = System.nanoTime() - mulai;
+            laporkan(durasi, jumlahKoneksi - selesai);
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+        }
+    }
+
+    private void buka(Selector selector) throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Koneksi koneksi = new Koneksi(channel, permintaanPerKoneksi);
+        sedangConnect++;
+        try {
+            channel.connect(alamat);
+            channel.register(selector, SelectionKey.OP_CONNECT, koneksi);
+        } catch (IOException e) {
+            sedangConnect--;
+            gagalkan(koneksi);
+        }
+    }
+
+    private void proses(SelectionKey key) {
+        Koneksi koneksi = (Koneksi) key.attachment();
+        try {
+            if (key.isConnectable()) {
+                if (!koneksi.channel.finishConnect()) {
+                    return;
+                }
+                koneksi.terhubung = true;
+                sedangConnect--;
+                terbuka++;
+                maksTerbuka = Math.max(maksTerbuka, terbuka);
+                kirimPermintaan(key, koneksi);
+            } else if (key.isWritable()) {
+                tulis(key, koneksi);
+            } else if (key.isReadable()) {
+                baca(key, koneksi);
+            }
+        } catch (IOException e) {
+            if (koneksi.terhubung) {
+                terbuka--;
+            } else {
+                sedangConnect--;
+            }
+            key.cancel();
+            gagalkan(koneksi);
+        }
+    }
+
+    private void kirimPermintaan(SelectionKey key, Koneksi koneksi) throws IOException {
+        String isbn = ServerPerpustakaan.isbnContoh(random.nextInt(jumlahBuku));
+        String permintaan = "GET /buku/" + isbn + "/tersedia HTTP/1.1\r\nHost: "
+                + alamat.getHostString() + "\r\n\r\n";
+        koneksi.kirim = ByteBuffer.wrap(permintaan.getBytes(StandardCharsets.US_ASCII));
+        koneksi.terima.clear();
+        koneksi.mulaiNanos = System.nanoTime();
+        tulis(key, koneksi);
+    }
+
+    private void tulis(SelectionKey key, Koneksi koneksi) throws IOException {
+        koneksi.channel.write(koneksi.kirim);
+        key.interestOps(koneksi.kirim.hasRemaining() ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    private void baca(SelectionKey key, Koneksi koneksi) throws IOException {
+        if (koneksi.channel.read(koneksi.terima) < 0) {
+            throw new IOException("Koneksi ditutup server");
+        }
+        int status = responsLengkap(koneksi.terima);
+        if (status < 0) {
+            if (!koneksi.terima.hasRemaining()) {
+                throw new IOException("Respons terlalu besar");
+            }
+            return;
+        }
+
+        latensi[jumlahLatensi++] = System.nanoTime() - koneksi.mulaiNanos;
+        if (status != 200) {
+            statusBukan200++;
+        }
+        if (--koneksi.sisaPermintaan > 0) {
+            kirimPermintaan(key, koneksi);
+        } else {
+            // Koneksi tetap dibiarkan terbuka agar jumlah koneksi bersamaan terjaga
+            key.interestOps(0);
+            selesai++;
+        }
+    }
+
+    // Kode status jika header dan body (Content-Length) sudah lengkap diterima, -1 jika belum
+    private static int responsLengkap(ByteBuffer buffer) {
+        byte[] data = buffer.array();
+        int panjang = buffer.position();
+        int akhirHeader = -1;
+        for (int i = 3; i < panjang; i++) {
+            if (data[i] == '\n' && data[i - 1] == '\r' && data[i - 2] == '\n' && data[i - 3] == '\r') {
+                akhirHeader = i + 1;
+                break;
+            }
+        }
+        if (akhirHeader < 0) {
+            return -1;
+        }
+        String header = new String(data, 0, akhirHeader, StandardCharsets.ISO_8859_1).toLowerCase(Locale.ROOT);
+        int posisi = header.indexOf("content-length:");
+        int panjangBody = 0;
+        if (posisi >= 0) {
+            int akhirBaris = header.indexOf('\r', posisi);
+            panjangBody = Integer.parseInt(header.substring(posisi + "content-length:".length(), akhirBaris).trim());
+        }
+        if (panjang < akhirHeader + panjangBody) {
+            return -1;
+        }
+        return Integer.parseInt(header.substring(9, 12));
+    }
+
+    private void gagalkan(Koneksi koneksi) {
+        gagal++;
+        selesai++;
+        try {
+            koneksi.channel.close();
+        } catch (IOException e) {
+            // sudah gagal, tidak ada yang perlu dilakukan
+        }
+    }
+
+    private void laporkan(long durasiNanos, int belumSelesai) {
+        long[] terurut = Arrays.copyOf(latensi, jumlahLatensi);
+        Arrays.sort(terurut);
+        double detik = durasiNanos / 1e9;
+        System.out.printf("koneksi diminta      : %d%n", jumlahKoneksi);
+        System.out.printf("koneksi terbuka maks : %d%n", maksTerbuka);
+        System.out.printf("koneksi gagal        : %d%n", gagal);
+        System.out.printf("koneksi belum selesai: %d%n", belumSelesai);
+        System.out.printf("permintaan selesai   : %d (status bukan 200: %d)%n", jumlahLatensi, statusBukan200);
+        System.out.printf("durasi               : %.2f s, %.0f permintaan/s%n", detik, jumlahLatensi / detik);
+        if (jumlahLatensi > 0) {
+            System.out.printf("latensi p50/p99/maks : %.2f / %.2f / %.2f ms%n", persentil(terurut, 0.50) / 1e6,
+                    persentil(terurut, 0.99) / 1e6, terurut[terurut.length - 1] / 1e6);
+        }
+    }
+
+    int getMaksTerbuka() {
+        return maksTerbuka;
+    }
+
+    int getGagal() {
+        return gagal;
+    }
+
+    int getJumlahPermintaanSelesai() {
+        return jumlahLatensi;
+    }
+
+    int getStatusBukan200() {
+        return statusBukan200;
+    }
+
+    private static long persentil(long[] terurut, double p) {
+        return terurut[Math.min(terurut.length - 1, (int) (terurut.length * p))];
+    }
+
+    private static final class Koneksi {
+        final SocketChannel channel;
+        final ByteBuffer terima = ByteBuffer.allocate(1024);
+        ByteBuffer kirim;
+        boolean terhubung;
+        int sisaPermintaan;
+        long mulaiNanos;
+
+        Koneksi(SocketChannel channel, int sisaPermintaan) {
+            this.channel = channel;
+            this.sisaPermintaan = sisaPermintaan;
+        }
+    }
+}
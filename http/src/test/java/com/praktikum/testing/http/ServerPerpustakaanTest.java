@@ -0,0 +1,186 @@
+package com.praktikum.testing.http;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.AutocompleteRepositoryBuku;
+import com.praktikum.testing.repository.IndeksAutocomplete;
+import com.praktikum.testing.repository.TrigramRepositoryBuku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import com.praktikum.testing.util.KunciBergaris;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Server HTTP Perpustakaan")
+class ServerPerpustakaanTest {
+
+    private ServerPerpustakaan server;
+    private HttpClient client;
+    private String dasar;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        TrigramRepositoryBuku repositoryBuku = new TrigramRepositoryBuku();
+        for (int i = 0; i < 100; i++) {
+            repositoryBuku.simpan(new Buku(ServerPerpustakaan.isbnContoh(i), "Judul Buku " + i, "Pengarang " + i,
+                    1, 50000.0));
+        }
+        repositoryBuku.simpan(new Buku("1234567890", "Pemrograman \"Java\"", "John Doe", 2, 150000.0));
+        IndeksAutocomplete indeksAutocomplete = new IndeksAutocomplete();
+        ServicePerpustakaan service = ServicePerpustakaan.builder(
+                        new AutocompleteRepositoryBuku(repositoryBuku, indeksAutocomplete), new KalkulatorDenda())
+                .kunciSirkulasi(new KunciBergaris(64))
+                .indeksAutocomplete(indeksAutocomplete)
+                .build();
+
+        server = new ServerPerpustakaan(service, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.mulai();
+        client = HttpClient.newHttpClient();
+        dasar = "http://127.0.0.1:" + server.getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.berhenti();
+    }
+
+    @Test
+    @DisplayName("Cari buku, detail, dan ketersediaan")
+    void testCariBuku() throws Exception {
+        HttpResponse<String> cari = get("/buku?judul=pemrograman");
+        assertEquals(200, cari.statusCode());
+        assertTrue(cari.body().startsWith("[{\"isbn\":\"1234567890\",\"judul\":\"Pemrograman \\\"Java\\\"\""),
+                cari.body());
+
+        assertEquals(200, get("/buku/1234567890").statusCode());
+        assertEquals(404, get("/buku/9999999999").statusCode());
+        assertEquals("{\"isbn\":\"1234567890\",\"tersedia\":true,\"jumlahTersedia\":2}",
+                get("/buku/1234567890/tersedia").body());
+        assertEquals(400, get("/buku").statusCode());
+        assertEquals(404, get("/bukuku").statusCode());
+    }
+
+    @Test
+    @DisplayName("Pencarian per halaman mengikuti kursor sampai habis")
+    void testCariPerHalaman() throws Exception {
+        Set<String> terlihat = new HashSet<>();
+        String kursor = null;
+        int jumlahHalaman = 0;
+        do {
+            HttpResponse<String> halaman = get("/buku?judul=judul+buku&batas=40"
+                    + (kursor == null ? "" : "&setelah=" + kursor));
+            assertEquals(200, halaman.statusCode());
+            Matcher isbn = Pattern.compile("\"isbn\":\"([0-9]+)\"").matcher(halaman.body());
+            while (isbn.find()) {
+                assertTrue(terlihat.add(isbn.group(1)), "ISBN terulang: " + isbn.group(1));
+            }
+            Matcher berikutnya = Pattern.compile("\"berikutnya\":\"([0-9]+)\"").matcher(halaman.body());
+            kursor = berikutnya.find() ? berikutnya.group(1) : null;
+            jumlahHalaman++;
+        } while (kursor != null);
+
+        assertEquals(100, terlihat.size());
+        assertEquals(3, jumlahHalaman);
+        assertEquals(400, get("/buku?batas=0").statusCode());
+        assertEquals(400, get("/buku?batas=abc").statusCode());
+        assertTrue(get("/buku?batas=1").body().endsWith("\"berikutnya\":\"1234567890\"}"));
+    }
+
+    @Test
+    @DisplayName("Saran autocomplete naik setelah buku dipinjam")
+    void testSaran() throws Exception {
+        assertEquals("[{\"teks\":\"Judul Buku 0\",\"skor\":0},{\"teks\":\"Judul Buku 1\",\"skor\":0}]",
+                get("/saran?judul=judul+b&k=2").body());
+        assertEquals(201, post("/anggota",
+                "idAnggota=A001&nama=John+Student&email=john%40student.ac.id&telepon=081234567890&tipe=MAHASISWA")
+                .statusCode());
+        assertEquals(200, post("/pinjam", "isbn=" + ServerPerpustakaan.isbnContoh(42) + "&idAnggota=A001").statusCode());
+
+        assertEquals("[{\"teks\":\"Judul Buku 42\",\"skor\":1}]", get("/saran?judul=judul&k=1").body());
+        assertEquals("[{\"teks\":\"John Doe\",\"skor\":0}]", get("/saran?pengarang=jo").body());
+        assertEquals(400, get("/saran?judul=ju&k=11").statusCode());
+        assertEquals(400, get("/saran").statusCode());
+    }
+
+    @Test
+    @DisplayName("Daftar anggota lalu pinjam dan kembalikan lewat HTTP")
+    void testSirkulasi() throws Exception {
+        assertEquals(409, post("/pinjam", "isbn=1234567890&idAnggota=A001").statusCode(), "Anggota belum ada");
+
+        assertEquals(201, post("/anggota",
+                "idAnggota=A001&nama=John+Student&email=john%40student.ac.id&telepon=081234567890&tipe=MAHASISWA")
+                .statusCode());
+        assertEquals(409, post("/anggota",
+                "idAnggota=A002&nama=Jane&email=JOHN%40student.ac.id&telepon=081111111111").statusCode(),
+                "Email sudah dipakai");
+
+        assertEquals(200, post("/pinjam", "isbn=1234567890&idAnggota=A001").statusCode());
+        assertEquals("{\"isbn\":\"1234567890\",\"tersedia\":true,\"jumlahTersedia\":1}",
+                get("/buku/1234567890/tersedia").body());
+        assertEquals(200, post("/kembalikan?isbn=1234567890", "idAnggota=A001").statusCode());
+        assertEquals(409, post("/kembalikan", "isbn=1234567890&idAnggota=A001").statusCode());
+        assertEquals(400, post("/pinjam", "isbn=1234567890").statusCode());
+        assertEquals(405, get("/pinjam").statusCode());
+    }
+
+    @Test
+    @DisplayName("Uji beban kecil: semua koneksi keep-alive dilayani bersamaan")
+    void testUjiBebanKecil() throws IOException {
+        UjiBeban uji = new UjiBeban(new InetSocketAddress("127.0.0.1", server.getPort()), 300, 3, 100);
+        uji.jalankan();
+
+        assertEquals(0, uji.getGagal());
+        assertEquals(300, uji.getMaksTerbuka());
+        assertEquals(900, uji.getJumlahPermintaanSelesai());
+        assertEquals(0, uji.getStatusBukan200());
+    }
+
+    @Test
+    @DisplayName("Body terlalu besar ditolak 413, escape rusak ditolak 400")
+    void testPermintaanRusak() throws Exception {
+        StringBuilder panjang = new StringBuilder("isbn=1234567890&idAnggota=A001&isi=");
+        while (panjang.length() <= 8192) {
+            panjang.append('x');
+        }
+        assertEquals(413, post("/pinjam", panjang.toString()).statusCode());
+        assertEquals(400, post("/pinjam", "isbn=%zz&idAnggota=A001").statusCode());
+        assertEquals("{\"isbn\":\"1234567890\",\"tersedia\":true,\"jumlahTersedia\":2}",
+                get("/buku/1234567890/tersedia").body(), "Permintaan yang ditolak tidak meminjam buku");
+    }
+
+    @Test
+    @DisplayName("Parameter form di-decode")
+    void testParseParameter() throws Exception {
+        assertEquals("a b&c", ServerPerpustakaan.parseParameter("x=a+b%26c&kosong=&=tanpa").get("x"));
+        assertEquals("", ServerPerpustakaan.parseParameter("kosong=").get("kosong"));
+        assertTrue(ServerPerpustakaan.parseParameter(null).isEmpty());
+        assertThrows(ServerPerpustakaan.PermintaanDitolak.class, () -> ServerPerpustakaan.parseParameter("x=%4"));
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(dasar + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String form) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(dasar + path))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
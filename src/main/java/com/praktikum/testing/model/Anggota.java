@@ -1,10 +1,14 @@
 package com.praktikum.testing.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
-public class Anggota {
+public class Anggota implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     private String idAnggota;
     private String nama;
     private String email;
@@ -1,13 +1,22 @@
 package com.praktikum.testing.model;
 
+import java.io.Serializable;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+public class Buku implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // CAS langsung pada field, tanpa objek counter tambahan per buku
+    private static final AtomicIntegerFieldUpdater<Buku> JUMLAH_TERSEDIA =
+            AtomicIntegerFieldUpdater.newUpdater(Buku.class, "jumlahTersedia");
 
-public class Buku {
     private String isbn;
     private String judul;
     private String pengarang;
     private int jumlahTotal;
-    private int jumlahTersedia;
+    private volatile int jumlahTersedia;
     private double harga;
 
     public Buku() {
@@ -75,6 +84,40 @@ public class Buku {
         return jumlahTersedia > 0;
     }
 
+    /**
+     * Kurangi jumlah tersedia satu secara atomik jika masih ada salinan.
+     *
+     * @return jumlah tersedia yang baru, atau -1 jika tidak ada salinan tersedia
+     */
+    public int kurangiTersediaJikaAda() {
+        while (true) {
+            int sekarang = jumlahTersedia;
+            if (sekarang <= 0) {
+                return -1;
+            }
+            if (JUMLAH_TERSEDIA.compareAndSet(this, sekarang, sekarang - 1)) {
+                return sekarang - 1;
+            }
+        }
+    }
+
+    /**
+     * Tambah jumlah tersedia satu secara atomik jika masih di bawah jumlah total.
+     *
+     * @return jumlah tersedia yang baru, atau -1 jika semua salinan sudah tersedia
+     */
+    public int tambahTersediaJikaDibawahTotal() {
+        while (true) {
+            int sekarang = jumlahTersedia;
+            if (sekarang >= jumlahTotal) {
+                return -1;
+            }
+            if (JUMLAH_TERSEDIA.compareAndSet(this, sekarang, sekarang + 1)) {
+                return sekarang + 1;
+            }
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
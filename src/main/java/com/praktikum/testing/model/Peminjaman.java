@@ -1,9 +1,13 @@
 package com.praktikum.testing.model;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 
-public class Peminjaman {
+public class Peminjaman implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     private String idPeminjaman;
     private String idAnggota;
     private String isbnBuku;
@@ -82,24 +86,36 @@ public class Peminjaman {
     }
 
     public boolean isTerlambat() {
+        return isTerlambat(LocalDate.now());
+    }
+
+    /**
+     * Sama dengan isTerlambat(), tetapi memakai tanggal acuan yang diberikan.
+     * Dipakai saat banyak peminjaman diperiksa dengan satu snapshot tanggal.
+     */
+    public boolean isTerlambat(LocalDate tanggalAcuan) {
         if (sudahDikembalikan) {
             return tanggalKembali.isAfter(tanggalJatuhTempo);
         }
-        return LocalDate.now().isAfter(tanggalJatuhTempo);
+        return tanggalAcuan.isAfter(tanggalJatuhTempo);
     }
 
     public long getHariTerlambat() {
-        if (sudahDikembalikan) {
-            return tanggalKembali.isAfter(tanggalJatuhTempo)
-                    ? ChronoUnit.DAYS.between(tanggalJatuhTempo, tanggalKembali) : 0;
-        }
-        LocalDate hariIni = LocalDate.now();
-        return hariIni.isAfter(tanggalJatuhTempo)
-                ? ChronoUnit.DAYS.between(tanggalJatuhTempo, hariIni) : 0;
+        return getHariTerlambat(LocalDate.now());
+    }
+
+    public long getHariTerlambat(LocalDate tanggalAcuan) {
+        LocalDate tanggalAkhir = sudahDikembalikan ? tanggalKembali : tanggalAcuan;
+        return tanggalAkhir.isAfter(tanggalJatuhTempo)
+                ? ChronoUnit.DAYS.between(tanggalJatuhTempo, tanggalAkhir) : 0;
     }
 
     public long getDurasiPeminjaman() {
-        LocalDate tanggalAkhir = sudahDikembalikan ? tanggalKembali : LocalDate.now();
+        return getDurasiPeminjaman(LocalDate.now());
+    }
+
+    public long getDurasiPeminjaman(LocalDate tanggalAcuan) {
+        LocalDate tanggalAkhir = sudahDikembalikan ? tanggalKembali : tanggalAcuan;
         return ChronoUnit.DAYS.between(tanggalPinjam, tanggalAkhir);
     }
 }
@@ -0,0 +1,72 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Membungkus RepositoryBuku sinkron apa pun menjadi AsyncRepositoryBuku.
+ *
+ * Setiap panggilan dijalankan di executor yang diberikan, jadi jumlah operasi yang bisa
+ * berjalan bersamaan sama dengan jumlah thread executor. Untuk delegate yang memblokir
+ * (disk, jaringan) executor sebaiknya berukuran sebesar jumlah permintaan yang ingin
+ * dijalankan bersamaan, bukan sebesar jumlah CPU.
+ */
+public class AdapterAsyncRepositoryBuku implements AsyncRepositoryBuku {
+
+    private final RepositoryBuku delegate;
+    private final Executor executor;
+
+    public AdapterAsyncRepositoryBuku(RepositoryBuku delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> simpan(Buku buku) {
+        return CompletableFuture.supplyAsync(() -> delegate.simpan(buku), executor);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Buku>> cariByIsbn(String isbn) {
+        return CompletableFuture.supplyAsync(() -> delegate.cariByIsbn(isbn), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Buku>> cariByJudul(String judul) {
+        return CompletableFuture.supplyAsync(() -> delegate.cariByJudul(judul), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Buku>> cariByPengarang(String pengarang) {
+        return CompletableFuture.supplyAsync(() -> delegate.cariByPengarang(pengarang), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hapus(String isbn) {
+        return CompletableFuture.supplyAsync(() -> delegate.hapus(isbn), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        return CompletableFuture.supplyAsync(() -> delegate.updateJumlahTersedia(isbn, jumlahTersediaBaru), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Buku>> cariSemua() {
+        return CompletableFuture.supplyAsync(delegate::cariSemua, executor);
+    }
+
+    @Override
+    public CompletableFuture<Integer> kurangiJumlahTersedia(String isbn) {
+        return CompletableFuture.supplyAsync(() -> delegate.kurangiJumlahTersedia(isbn), executor);
+    }
+
+    @Override
+    public CompletableFuture<Integer> tambahJumlahTersedia(String isbn) {
+        return CompletableFuture.supplyAsync(() -> delegate.tambahJumlahTersedia(isbn), executor);
+    }
+}
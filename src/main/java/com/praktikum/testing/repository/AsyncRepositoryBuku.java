@@ -0,0 +1,45 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Varian asinkron RepositoryBuku. Semantik setiap operasi sama dengan versi sinkronnya;
+ * bedanya pemanggil tidak menunggu, sehingga beberapa pencarian atau rangkaian
+ * baca-lalu-ubah bisa berjalan bersamaan terhadap penyimpanan yang lambat.
+ */
+public interface AsyncRepositoryBuku {
+    CompletableFuture<Boolean> simpan(Buku buku);
+    CompletableFuture<Optional<Buku>> cariByIsbn(String isbn);
+    CompletableFuture<List<Buku>> cariByJudul(String judul);
+    CompletableFuture<List<Buku>> cariByPengarang(String pengarang);
+    CompletableFuture<Boolean> hapus(String isbn);
+    CompletableFuture<Boolean> updateJumlahTersedia(String isbn, int jumlahTersediaBaru);
+    CompletableFuture<List<Buku>> cariSemua();
+
+    /** @see RepositoryBuku#kurangiJumlahTersedia(String) */
+    CompletableFuture<Integer> kurangiJumlahTersedia(String isbn);
+
+    /** @see RepositoryBuku#tambahJumlahTersedia(String) */
+    CompletableFuture<Integer> tambahJumlahTersedia(String isbn);
+
+    /**
+     * Kirim semua pencarian sekaligus lalu tunggu semuanya; hasil mengikuti urutan daftarIsbn.
+     */
+    default CompletableFuture<List<Optional<Buku>>> cariBanyakByIsbn(List<String> daftarIsbn) {
+        List<CompletableFuture<Optional<Buku>>> semua = new ArrayList<>(daftarIsbn.size());
+        for (String isbn : daftarIsbn) {
+            semua.add(cariByIsbn(isbn));
+        }
+        return CompletableFuture.allOf(semua.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            List<Optional<Buku>> hasil = new ArrayList<>(semua.size());
+            for (CompletableFuture<Optional<Buku>> future : semua) {
+                hasil.add(future.join());
+            }
+            return hasil;
+        });
+    }
+}
@@ -0,0 +1,142 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Dekorator RepositoryBuku yang menjaga IndeksAutocomplete tetap sama dengan katalog:
+ * buku yang disimpan (baru atau diperbarui) dimasukkan, buku yang dihapus dikeluarkan.
+ * Popularitas tidak dicatat di sini; ServicePerpustakaan mencatatnya saat pinjamBuku berhasil.
+ *
+ * Perubahan katalog (simpan, simpanSemua, hapus) memegang satu kunci selama delegate dan
+ * indeks diubah, jadi dua penulis pada ISBN yang sama tidak bisa menyisakan judul dari
+ * penulis yang satu di katalog dan dari penulis lain di indeks. Pembacaan dan perubahan
+ * stok tidak memakai kunci itu.
+ */
+public class AutocompleteRepositoryBuku implements RepositoryBuku {
+
+    private final RepositoryBuku delegate;
+    private final IndeksAutocomplete indeks;
+    private final ReentrantLock kunciTulis = new ReentrantLock();
+
+    /**
+     * Buku yang sudah ada di delegate langsung dimasukkan ke indeks.
+     */
+    public AutocompleteRepositoryBuku(RepositoryBuku delegate, IndeksAutocomplete indeks) {
+        this.delegate = delegate;
+        this.indeks = indeks;
+        delegate.streamSemua().forEach(indeks::tambahBuku);
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        kunciTulis.lock();
+        try {
+            if (!delegate.simpan(buku)) {
+                return false;
+            }
+            indeks.tambahBuku(buku);
+            return true;
+        } finally {
+            kunciTulis.unlock();
+        }
+    }
+
+    @Override
+    public BitSet simpanSemua(List<Buku> daftarBuku) {
+        kunciTulis.lock();
+        try {
+            BitSet disimpan = delegate.simpanSemua(daftarBuku);
+            for (int i = disimpan.nextSetBit(0); i >= 0; i = disimpan.nextSetBit(i + 1)) {
+                indeks.tambahBuku(daftarBuku.get(i));
+            }
+            return disimpan;
+        } finally {
+            kunciTulis.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        return delegate.cariByIsbn(isbn);
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return delegate.cariByJudul(judul);
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return delegate.cariByPengarang(pengarang);
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        kunciTulis.lock();
+        try {
+            if (!delegate.hapus(isbn)) {
+                return false;
+            }
+            indeks.hapusBuku(isbn);
+            return true;
+        } finally {
+            kunciTulis.unlock();
+        }
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        return delegate.updateJumlahTersedia(isbn, jumlahTersediaBaru);
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        return delegate.cariSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return delegate.streamSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        return delegate.streamByJudul(judul);
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        return delegate.streamByPengarang(pengarang);
+    }
+
+    @Override
+    public HalamanBuku cariSemua(String setelahIsbn, int batas) {
+        return delegate.cariSemua(setelahIsbn, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByJudul(String judul, String setelahIsbn, int batas) {
+        return delegate.cariByJudul(judul, setelahIsbn, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByPengarang(String pengarang, String setelahIsbn, int batas) {
+        return delegate.cariByPengarang(pengarang, setelahIsbn, batas);
+    }
+
+    @Override
+    public int kurangiJumlahTersedia(String isbn) {
+        return delegate.kurangiJumlahTersedia(isbn);
+    }
+
+    @Override
+    public int tambahJumlahTersedia(String isbn) {
+        return delegate.tambahJumlahTersedia(isbn);
+    }
+}
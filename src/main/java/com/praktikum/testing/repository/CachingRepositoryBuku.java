@@ -0,0 +1,431 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.util.SketsaFrekuensi;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Dekorator RepositoryBuku dengan cache read-through untuk cariByIsbn.
+ *
+ * Eviksi memakai W-TinyLFU:
+ * - window   : LRU kecil (1% kapasitas) untuk entri baru, agar lonjakan singkat tetap bisa hit
+ * - probation: bagian utama untuk entri yang baru lolos dari window
+ * - protected: bagian utama (80%) untuk entri yang pernah hit lagi saat di probation
+ * Entri yang keluar dari window hanya masuk ke bagian utama jika frekuensinya (dari
+ * SketsaFrekuensi) lebih tinggi dari korban di ujung probation. Pemindaian katalog
+ * yang menyentuh banyak ISBN sekali saja tidak mengusir judul yang sering dipinjam.
+ *
+ * Hit tidak mengambil kunci: entri dibaca dari ConcurrentHashMap lalu aksesnya dititipkan
+ * ke buffer baca bergaris yang lossy. Buffer dikuras di bawah kunci (tryLock, atau saat
+ * miss) untuk menambah frekuensi di sketsa dan memindah entri di daftar LRU. Jika buffer
+ * penuh, akses lama ditimpa; frekuensi dan urutan LRU menjadi sampel, bukan hitungan persis,
+ * yang cukup untuk keputusan eviksi.
+ *
+ * ISBN yang tidak ditemukan juga di-cache (negatif). Entri dibuang saat simpan, hapus,
+ * updateJumlahTersedia, dan kurangi/tambah jumlah tersedia yang berhasil, karena
+ * delegate seperti MappedRepositoryBuku mengembalikan salinan Buku.
+ * Kunci cache adalah string ISBN apa adanya, jadi untuk delegate yang menormalisasi
+ * ISBN (PrimitiveRepositoryBuku) perubahan sebaiknya memakai bentuk yang sama dengan pencarian.
+ */
+public class CachingRepositoryBuku implements RepositoryBuku {
+
+    private static final int SEGMEN_WINDOW = 0;
+    private static final int SEGMEN_PROBATION = 1;
+    private static final int SEGMEN_PROTECTED = 2;
+
+    // Buffer baca: GARIS_BACA garis x SLOT_PER_GARIS slot, dipilih dari id thread
+    private static final int GARIS_BACA = 8;
+    private static final int SLOT_PER_GARIS = 32;
+    // Posisi tiap garis dipisah 16 long (128 byte) agar tidak berbagi cache line
+    private static final int JARAK_POSISI = 16;
+
+    private final RepositoryBuku delegate;
+    private final ReentrantLock kunci = new ReentrantLock();
+    private final Map<String, Entri> entriByIsbn = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<Entri> bufferBaca = new AtomicReferenceArray<>(GARIS_BACA * SLOT_PER_GARIS);
+    private final AtomicLongArray posisiBaca = new AtomicLongArray(GARIS_BACA * JARAK_POSISI);
+    private final LongAdder jumlahHit = new LongAdder();
+    private final SketsaFrekuensi sketsa;
+    private final Daftar window = new Daftar();
+    private final Daftar probation = new Daftar();
+    private final Daftar terlindungi = new Daftar();
+    private final int maksWindow;
+    private final int maksUtama;
+    private final int maksTerlindungi;
+
+    // Dijaga oleh kunci. generasi naik setiap kali ada invalidasi; hasil baca delegate yang
+    // dimulai sebelum invalidasi tidak boleh masuk cache karena mungkin sudah basi
+    private long generasi;
+    private long jumlahMiss;
+    private long jumlahEviksi;
+
+    public CachingRepositoryBuku(RepositoryBuku delegate, int kapasitas) {
+        if (kapasitas < 2) {
+            throw new IllegalArgumentException("Kapasitas cache minimal 2");
+        }
+        this.delegate = delegate;
+        this.sketsa = new SketsaFrekuensi(kapasitas);
+        this.maksWindow = Math.max(1, kapasitas / 100);
+        this.maksUtama = kapasitas - maksWindow;
+        this.maksTerlindungi = maksUtama * 8 / 10;
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        if (isbn == null) {
+            return Optional.empty();
+        }
+
+        Entri entri = entriByIsbn.get(isbn);
+        if (entri != null) {
+            jumlahHit.increment();
+            catatAkses(entri);
+            return Optional.ofNullable(entri.buku);
+        }
+
+        long generasiAwal;
+        kunci.lock();
+        try {
+            kurasBufferBaca();
+            sketsa.tambah(isbn);
+            entri = entriByIsbn.get(isbn);
+            if (entri != null) {
+                // Disisipkan thread lain sejak pembacaan tanpa kunci di atas
+                jumlahHit.increment();
+                sentuh(entri);
+                return Optional.ofNullable(entri.buku);
+            }
+            jumlahMiss++;
+            generasiAwal = generasi;
+        } finally {
+            kunci.unlock();
+        }
+
+        Optional<Buku> hasil = delegate.cariByIsbn(isbn);
+        kunci.lock();
+        try {
+            if (generasi == generasiAwal && !entriByIsbn.containsKey(isbn)) {
+                sisipkan(new Entri(isbn, hasil.orElse(null)));
+            }
+        } finally {
+            kunci.unlock();
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        try {
+            return delegate.simpan(buku);
+        } finally {
+            if (buku != null) {
+                invalidasi(buku.getIsbn());
+            }
+        }
+    }
+
+    @Override
+    public BitSet simpanSemua(List<Buku> daftarBuku) {
+        try {
+            return delegate.simpanSemua(daftarBuku);
+        } finally {
+            kunci.lock();
+            try {
+                for (Buku buku : daftarBuku) {
+                    if (buku != null) {
+                        buang(buku.getIsbn());
+                    }
+                }
+                generasi++;
+            } finally {
+                kunci.unlock();
+            }
+        }
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return delegate.cariByJudul(judul);
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return delegate.cariByPengarang(pengarang);
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        try {
+            return delegate.hapus(isbn);
+        } finally {
+            invalidasi(isbn);
+        }
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        try {
+            return delegate.updateJumlahTersedia(isbn, jumlahTersediaBaru);
+        } finally {
+            invalidasi(isbn);
+        }
+    }
+
+    @Override
+    public int kurangiJumlahTersedia(String isbn) {
+        int hasil = delegate.kurangiJumlahTersedia(isbn);
+        if (hasil >= 0) {
+            invalidasi(isbn);
+        }
+        return hasil;
+    }
+
+    @Override
+    public int tambahJumlahTersedia(String isbn) {
+        int hasil = delegate.tambahJumlahTersedia(isbn);
+        if (hasil >= 0) {
+            invalidasi(isbn);
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        return delegate.cariSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return delegate.streamSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        return delegate.streamByJudul(judul);
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        return delegate.streamByPengarang(pengarang);
+    }
+
+    @Override
+    public HalamanBuku cariSemua(String setelahIsbn, int batas) {
+        return delegate.cariSemua(setelahIsbn, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByJudul(String judul, String setelahIsbn, int batas) {
+        return delegate.cariByJudul(judul, setelahIsbn, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByPengarang(String pengarang, String setelahIsbn, int batas) {
+        return delegate.cariByPengarang(pengarang, setelahIsbn, batas);
+    }
+
+    public long getJumlahHit() {
+        return jumlahHit.sum();
+    }
+
+    public long getJumlahMiss() {
+        kunci.lock();
+        try {
+            return jumlahMiss;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    public long getJumlahEviksi() {
+        kunci.lock();
+        try {
+            return jumlahEviksi;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    public int ukuran() {
+        return entriByIsbn.size();
+    }
+
+    private void invalidasi(String isbn) {
+        if (isbn == null) {
+            return;
+        }
+        kunci.lock();
+        try {
+            buang(isbn);
+            generasi++;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    /**
+     * Titipkan akses hit ke buffer baca; slot yang belum dikuras ditimpa. Setiap kali satu
+     * garis penuh, coba kuras tanpa menunggu jika kunci sedang dipegang thread lain.
+     */
+    private void catatAkses(Entri entri) {
+        int garis = (int) Thread.currentThread().getId() & (GARIS_BACA - 1);
+        long posisi = posisiBaca.getAndIncrement(garis * JARAK_POSISI);
+        bufferBaca.lazySet(garis * SLOT_PER_GARIS + (int) (posisi & (SLOT_PER_GARIS - 1)), entri);
+        if ((posisi & (SLOT_PER_GARIS - 1)) == SLOT_PER_GARIS - 1 && kunci.tryLock()) {
+            try {
+                kurasBufferBaca();
+            } finally {
+                kunci.unlock();
+            }
+        }
+    }
+
+    /** Harus dipanggil dengan kunci dipegang. */
+    private void kurasBufferBaca() {
+        for (int i = 0; i < bufferBaca.length(); i++) {
+            Entri entri = bufferBaca.get(i);
+            if (entri == null) {
+                continue;
+            }
+            bufferBaca.set(i, null);
+            sketsa.tambah(entri.isbn);
+            // Entri yang sudah dibuang atau terusir sejak dibaca tidak lagi ada di daftar
+            if (entriByIsbn.get(entri.isbn) == entri) {
+                sentuh(entri);
+            }
+        }
+    }
+
+    private void buang(String isbn) {
+        Entri entri = entriByIsbn.remove(isbn);
+        if (entri != null) {
+            daftar(entri.segmen).lepas(entri);
+        }
+    }
+
+    // Hit: window dan protected cukup pindah ke depan, probation naik ke protected
+    private void sentuh(Entri entri) {
+        if (entri.segmen == SEGMEN_PROBATION) {
+            probation.lepas(entri);
+            entri.segmen = SEGMEN_PROTECTED;
+            terlindungi.tambahDepan(entri);
+            if (terlindungi.ukuran > maksTerlindungi) {
+                Entri turun = terlindungi.lepasBelakang();
+                turun.segmen = SEGMEN_PROBATION;
+                probation.tambahDepan(turun);
+            }
+        } else {
+            Daftar asal = daftar(entri.segmen);
+            asal.lepas(entri);
+            asal.tambahDepan(entri);
+        }
+    }
+
+    private void sisipkan(Entri entri) {
+        entriByIsbn.put(entri.isbn, entri);
+        entri.segmen = SEGMEN_WINDOW;
+        window.tambahDepan(entri);
+        if (window.ukuran <= maksWindow) {
+            return;
+        }
+
+        Entri kandidat = window.lepasBelakang();
+        if (probation.ukuran + terlindungi.ukuran < maksUtama) {
+            kandidat.segmen = SEGMEN_PROBATION;
+            probation.tambahDepan(kandidat);
+            return;
+        }
+
+        Daftar asalKorban = probation.ukuran > 0 ? probation : terlindungi;
+        Entri korban = asalKorban.belakang;
+        if (sketsa.frekuensi(kandidat.isbn) > sketsa.frekuensi(korban.isbn)) {
+            asalKorban.lepas(korban);
+            entriByIsbn.remove(korban.isbn);
+            kandidat.segmen = SEGMEN_PROBATION;
+            probation.tambahDepan(kandidat);
+        } else {
+            entriByIsbn.remove(kandidat.isbn);
+        }
+        jumlahEviksi++;
+    }
+
+    private Daftar daftar(int segmen) {
+        switch (segmen) {
+            case SEGMEN_WINDOW:
+                return window;
+            case SEGMEN_PROBATION:
+                return probation;
+            default:
+                return terlindungi;
+        }
+    }
+
+    /**
+     * Entri cache; buku null berarti ISBN diketahui tidak ada (cache negatif).
+     */
+    private static final class Entri {
+        final String isbn;
+        final Buku buku;
+        int segmen;
+        Entri sebelum;
+        Entri sesudah;
+
+        Entri(String isbn, Buku buku) {
+            this.isbn = isbn;
+            this.buku = buku;
+        }
+    }
+
+    /**
+     * Daftar berantai ganda intrusif; depan = paling baru dipakai.
+     */
+    private static final class Daftar {
+        Entri depan;
+        Entri belakang;
+        int ukuran;
+
+        void tambahDepan(Entri entri) {
+            entri.sebelum = null;
+            entri.sesudah = depan;
+            if (depan != null) {
+                depan.sebelum = entri;
+            } else {
+                belakang = entri;
+            }
+            depan = entri;
+            ukuran++;
+        }
+
+        void lepas(Entri entri) {
+            if (entri.sebelum != null) {
+                entri.sebelum.sesudah = entri.sesudah;
+            } else {
+                depan = entri.sesudah;
+            }
+            if (entri.sesudah != null) {
+                entri.sesudah.sebelum = entri.sebelum;
+            } else {
+                belakang = entri.sebelum;
+            }
+            entri.sebelum = null;
+            entri.sesudah = null;
+            ukuran--;
+        }
+
+        Entri lepasBelakang() {
+            Entri entri = belakang;
+            lepas(entri);
+            return entri;
+        }
+    }
+}
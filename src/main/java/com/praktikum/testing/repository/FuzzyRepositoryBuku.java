@@ -0,0 +1,120 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Dekorator RepositoryBuku yang menjaga IndeksFuzzy tetap sama dengan katalog:
+ * buku yang disimpan (baru atau diperbarui) dimasukkan, buku yang dihapus dikeluarkan.
+ * Bisa ditumpuk dengan AutocompleteRepositoryBuku di atas repository yang sama.
+ */
+public class FuzzyRepositoryBuku implements RepositoryBuku {
+
+    private final RepositoryBuku delegate;
+    private final IndeksFuzzy indeks;
+
+    /**
+     * Buku yang sudah ada di delegate langsung dimasukkan ke indeks.
+     */
+    public FuzzyRepositoryBuku(RepositoryBuku delegate, IndeksFuzzy indeks) {
+        this.delegate = delegate;
+        this.indeks = indeks;
+        delegate.streamSemua().forEach(indeks::tambahBuku);
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (!delegate.simpan(buku)) {
+            return false;
+        }
+        indeks.tambahBuku(buku);
+        return true;
+    }
+
+    @Override
+    public BitSet simpanSemua(List<Buku> daftarBuku) {
+        BitSet disimpan = delegate.simpanSemua(daftarBuku);
+        for (int i = disimpan.nextSetBit(0); i >= 0; i = disimpan.nextSetBit(i + 1)) {
+            indeks.tambahBuku(daftarBuku.get(i));
+        }
+        return disimpan;
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        return delegate.cariByIsbn(isbn);
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return delegate.cariByJudul(judul);
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return delegate.cariByPengarang(pengarang);
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        if (!delegate.hapus(isbn)) {
+            return false;
+        }
+        indeks.hapusBuku(isbn);
+        return true;
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        return delegate.updateJumlahTersedia(isbn, jumlahTersediaBaru);
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        return delegate.cariSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return delegate.streamSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        return delegate.streamByJudul(judul);
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        return delegate.streamByPengarang(pengarang);
+    }
+
+    @Override
+    public HalamanBuku cariSemua(String setelahIsbn, int batas) {
+        return delegate.cariSemua(setelahIsbn, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByJudul(String judul, String setelahIsbn, int batas) {
+        return delegate.cariByJudul(judul, setelahIsbn, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByPengarang(String pengarang, String setelahIsbn, int batas) {
+        return delegate.cariByPengarang(pengarang, setelahIsbn, batas);
+    }
+
+    @Override
+    public int kurangiJumlahTersedia(String isbn) {
+        return delegate.kurangiJumlahTersedia(isbn);
+    }
+
+    @Override
+    public int tambahJumlahTersedia(String isbn) {
+        return delegate.tambahJumlahTersedia(isbn);
+    }
+}
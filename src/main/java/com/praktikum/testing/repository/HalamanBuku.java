@@ -0,0 +1,144 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Satu halaman hasil pencarian dengan kursor keyset berdasarkan ISBN.
+ *
+ * Isi halaman terurut ISBN. Kursor berikutnya adalah ISBN terakhir di halaman ini, atau null
+ * jika tidak ada lagi; halaman berikutnya diminta dengan kursor itu sebagai setelahIsbn.
+ * Berbeda dengan offset, buku yang ditambah atau dihapus di antara dua permintaan tidak
+ * membuat baris lain terlewat atau terulang.
+ */
+public final class HalamanBuku {
+
+    private static final Comparator<Buku> URUT_ISBN = Comparator.comparing(Buku::getIsbn);
+
+    private final List<Buku> isi;
+    private final String kursorBerikutnya;
+
+    private HalamanBuku(List<Buku> isi, String kursorBerikutnya) {
+        this.isi = isi;
+        this.kursorBerikutnya = kursorBerikutnya;
+    }
+
+    public static HalamanBuku kosong() {
+        return new HalamanBuku(Collections.emptyList(), null);
+    }
+
+    /**
+     * Pilih paling banyak batas buku dengan ISBN terkecil yang lebih besar dari setelahIsbn.
+     * Sumber dibaca sekali; memori yang dipakai sebanding dengan batas, bukan ukuran sumber.
+     *
+     * @param setelahIsbn kursor dari halaman sebelumnya, null untuk halaman pertama
+     */
+    public static HalamanBuku pilih(Stream<Buku> sumber, String setelahIsbn, int batas) {
+        Pemilih pemilih = new Pemilih(setelahIsbn, batas);
+        sumber.forEach(pemilih::tambah);
+        return pemilih.hasil();
+    }
+
+    /**
+     * Halaman dari sumber yang sudah terurut ISBN dan dimulai tepat setelah kursor, misalnya
+     * values() dari tailMap(setelahIsbn, false) sebuah TreeMap. Pembacaan berhenti pada buku
+     * cocok ke batas + 1, jadi biayanya sebanding dengan jarak ke buku itu, bukan ukuran sumber.
+     *
+     * @param cocok buku untuk satu entri sumber, atau null jika entri itu tidak masuk halaman
+     */
+    public static <T> HalamanBuku dariUrut(Iterable<T> sumberUrut, Function<? super T, Buku> cocok, int batas) {
+        periksaBatas(batas);
+        List<Buku> isi = new ArrayList<>(Math.min(batas, 1024));
+        for (T entri : sumberUrut) {
+            Buku buku = cocok.apply(entri);
+            if (buku == null) {
+                continue;
+            }
+            if (isi.size() == batas) {
+                return new HalamanBuku(Collections.unmodifiableList(isi), isi.get(batas - 1).getIsbn());
+            }
+            isi.add(buku);
+        }
+        return new HalamanBuku(Collections.unmodifiableList(isi), null);
+    }
+
+    private static void periksaBatas(int batas) {
+        if (batas < 1) {
+            throw new IllegalArgumentException("Batas halaman minimal 1");
+        }
+    }
+
+    public List<Buku> getIsi() {
+        return isi;
+    }
+
+    /** ISBN untuk meminta halaman berikutnya, null jika ini halaman terakhir. */
+    public String getKursorBerikutnya() {
+        return kursorBerikutnya;
+    }
+
+    public boolean isAdaBerikutnya() {
+        return kursorBerikutnya != null;
+    }
+
+    /**
+     * Seleksi top-k: max-heap berisi batas + 1 ISBN terkecil yang lolos kursor. Elemen ke
+     * batas + 1 hanya dipakai untuk tahu apakah masih ada halaman berikutnya.
+     */
+    static final class Pemilih {
+        private final String setelahIsbn;
+        private final int batas;
+        private final PriorityQueue<Buku> heap;
+        /** ISBN terbesar di heap saat heap penuh, null selama belum penuh. */
+        private String ambang;
+
+        Pemilih(String setelahIsbn, int batas) {
+            periksaBatas(batas);
+            this.setelahIsbn = setelahIsbn;
+            this.batas = batas;
+            this.heap = new PriorityQueue<>(Math.min(batas, 1024) + 1, URUT_ISBN.reversed());
+        }
+
+        /**
+         * true jika buku dengan ISBN ini akan masuk heap. Penyimpanan yang mahal membaca
+         * seluruh record (atau mencocokkan teks) bisa memeriksa ini dulu dari ISBN saja.
+         */
+        boolean layak(String isbn) {
+            if (isbn == null || (setelahIsbn != null && isbn.compareTo(setelahIsbn) <= 0)) {
+                return false;
+            }
+            return ambang == null || isbn.compareTo(ambang) < 0;
+        }
+
+        void tambah(Buku buku) {
+            if (!layak(buku.getIsbn())) {
+                return;
+            }
+            if (heap.size() > batas) {
+                heap.poll();
+            }
+            heap.add(buku);
+            if (heap.size() > batas) {
+                ambang = heap.peek().getIsbn();
+            }
+        }
+
+        HalamanBuku hasil() {
+            boolean adaBerikutnya = heap.size() > batas;
+            if (adaBerikutnya) {
+                heap.poll();
+            }
+            List<Buku> isi = new ArrayList<>(heap);
+            isi.sort(URUT_ISBN);
+            String kursor = adaBerikutnya ? isi.get(isi.size() - 1).getIsbn() : null;
+            return new HalamanBuku(Collections.unmodifiableList(isi), kursor);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Peminjaman;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Buku besar peminjaman in-memory dengan indeks sekunder.
+ *
+ * - byId        : HashMap, O(1)
+ * - byAnggota   : HashMap idAnggota -> peminjaman, O(1) sampai ke daftar milik anggota
+ * - byIsbn      : HashMap isbn -> peminjaman, O(1) sampai ke daftar milik buku
+ * - byJatuhTempo: TreeMap tanggalJatuhTempo -> peminjaman aktif, O(log n) untuk range
+ * - aktif       : HashMap (idAnggota, isbn) -> peminjaman aktif, O(1) untuk cariAktif
+ *
+ * Indeks jatuh tempo dan aktif hanya memuat peminjaman yang belum dikembalikan, sehingga
+ * "apa yang terlambat" dan "pinjaman mana yang ditutup" tidak perlu melewati riwayat
+ * peminjaman yang sudah selesai.
+ *
+ * Hasil pencarian adalah instance yang tersimpan, bukan salinan. Status pengembalian harus
+ * diubah lewat tandaiDikembalikan atau simpan ulang; mengubahnya lewat setter membuat
+ * indeks aktif dan jatuh tempo tidak lagi sesuai.
+ */
+public class InMemoryRepositoryPeminjaman implements RepositoryPeminjaman {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Peminjaman> byId = new HashMap<>();
+    private final Map<String, Set<Peminjaman>> byAnggota = new HashMap<>();
+    private final Map<String, Set<Peminjaman>> byIsbn = new HashMap<>();
+    private final TreeMap<LocalDate, Set<Peminjaman>> byJatuhTempo = new TreeMap<>();
+    private final Map<String, Set<Peminjaman>> aktif = new HashMap<>();
+
+    @Override
+    public boolean simpan(Peminjaman peminjaman) {
+        if (peminjaman == null || peminjaman.getIdPeminjaman() == null
+                || peminjaman.getIdAnggota() == null || peminjaman.getIsbnBuku() == null
+                || peminjaman.getTanggalJatuhTempo() == null) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Peminjaman lama = byId.put(peminjaman.getIdPeminjaman(), peminjaman);
+            if (lama != null) {
+                hapusDariIndeks(lama);
+            }
+            tambahKe(byAnggota, peminjaman.getIdAnggota(), peminjaman);
+            tambahKe(byIsbn, peminjaman.getIsbnBuku(), peminjaman);
+            if (!peminjaman.isSudahDikembalikan()) {
+                tambahKe(byJatuhTempo, peminjaman.getTanggalJatuhTempo(), peminjaman);
+                tambahKe(aktif, kunciAktif(peminjaman.getIdAnggota(), peminjaman.getIsbnBuku()), peminjaman);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Peminjaman> cariById(String idPeminjaman) {
+        if (idPeminjaman == null) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(byId.get(idPeminjaman));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Peminjaman> cariByAnggota(String idAnggota) {
+        return salin(byAnggota, idAnggota, false);
+    }
+
+    @Override
+    public List<Peminjaman> cariByIsbn(String isbnBuku) {
+        return salin(byIsbn, isbnBuku, false);
+    }
+
+    @Override
+    public Optional<Peminjaman> cariAktif(String idAnggota, String isbnBuku) {
+        if (idAnggota == null || isbnBuku == null) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Peminjaman> daftar = aktif.get(kunciAktif(idAnggota, isbnBuku));
+            return daftar == null ? Optional.empty() : Optional.of(daftar.iterator().next());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Peminjaman> cariAktifByIsbn(String isbnBuku) {
+        return salin(byIsbn, isbnBuku, true);
+    }
+
+    @Override
+    public List<Peminjaman> cariAktifJatuhTempoAntara(LocalDate dari, LocalDate sampai) {
+        if (dari == null || sampai == null || !dari.isBefore(sampai)) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            return ratakan(byJatuhTempo.subMap(dari, true, sampai, false).values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Peminjaman> cariAktifJatuhTempoSebelum(LocalDate tanggal) {
+        if (tanggal == null) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            return ratakan(byJatuhTempo.headMap(tanggal, false).values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean tandaiDikembalikan(String idPeminjaman, LocalDate tanggalKembali) {
+        if (idPeminjaman == null || tanggalKembali == null) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Peminjaman peminjaman = byId.get(idPeminjaman);
+            if (peminjaman == null || peminjaman.isSudahDikembalikan()) {
+                return false;
+            }
+            hapusDari(byJatuhTempo, peminjaman.getTanggalJatuhTempo(), peminjaman);
+            hapusDari(aktif, kunciAktif(peminjaman.getIdAnggota(), peminjaman.getIsbnBuku()), peminjaman);
+            peminjaman.setTanggalKembali(tanggalKembali);
+            peminjaman.setSudahDikembalikan(true);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean hapus(String idPeminjaman) {
+        if (idPeminjaman == null) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Peminjaman peminjaman = byId.remove(idPeminjaman);
+            if (peminjaman == null) {
+                return false;
+            }
+            hapusDariIndeks(peminjaman);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Peminjaman> cariSemua() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(byId.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int ukuran() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Peminjaman> salin(Map<String, Set<Peminjaman>> indeks, String kunci, boolean hanyaAktif) {
+        if (kunci == null) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Peminjaman> daftar = indeks.getOrDefault(kunci, Collections.emptySet());
+            List<Peminjaman> hasil = new ArrayList<>(daftar.size());
+            for (Peminjaman peminjaman : daftar) {
+                if (!hanyaAktif || !peminjaman.isSudahDikembalikan()) {
+                    hasil.add(peminjaman);
+                }
+            }
+            return hasil;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void hapusDariIndeks(Peminjaman peminjaman) {
+        hapusDari(byAnggota, peminjaman.getIdAnggota(), peminjaman);
+        hapusDari(byIsbn, peminjaman.getIsbnBuku(), peminjaman);
+        hapusDari(byJatuhTempo, peminjaman.getTanggalJatuhTempo(), peminjaman);
+        hapusDari(aktif, kunciAktif(peminjaman.getIdAnggota(), peminjaman.getIsbnBuku()), peminjaman);
+    }
+
+    private static String kunciAktif(String idAnggota, String isbnBuku) {
+        // '\u0000' tidak muncul di id anggota maupun ISBN, jadi pasangan berbeda tidak bertabrakan
+        return idAnggota + '\u0000' + isbnBuku;
+    }
+
+    private static List<Peminjaman> ratakan(Collection<Set<Peminjaman>> kelompok) {
+        List<Peminjaman> hasil = new ArrayList<>();
+        for (Set<Peminjaman> daftar : kelompok) {
+            hasil.addAll(daftar);
+        }
+        return hasil;
+    }
+
+    private static <K> void tambahKe(Map<K, Set<Peminjaman>> indeks, K kunci, Peminjaman peminjaman) {
+        indeks.computeIfAbsent(kunci, k -> new LinkedHashSet<>()).add(peminjaman);
+    }
+
+    private static <K> void hapusDari(Map<K, Set<Peminjaman>> indeks, K kunci, Peminjaman peminjaman) {
+        Set<Peminjaman> daftar = indeks.get(Objects.requireNonNull(kunci));
+        if (daftar != null) {
+            daftar.remove(peminjaman);
+            if (daftar.isEmpty()) {
+                indeks.remove(kunci);
+            }
+        }
+    }
+}
@@ -0,0 +1,668 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.util.SimpulTrie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Indeks autocomplete judul dan pengarang: untuk sebuah awalan, paling banyak k saran
+ * dengan jumlah peminjaman terbanyak.
+ *
+ * Judul dan nama pengarang dipecah menjadi kata (huruf/angka, huruf kecil). Setiap deretan
+ * 1 sampai KATA_PER_TOKEN kata berurutan ("data", "basis data", "basis data lanjut") dimasukkan
+ * ke trie sebagai token. Setiap simpul menyimpan K saran terbaik dari subtree-nya, jadi kueri
+ * sampai tiga kata ("da", "basis da", "basis data la") cukup menelusuri awalan lalu menyalin
+ * paling banyak K saran: O(panjang awalan + K), tidak bergantung ukuran katalog. Kueri yang
+ * lebih panjang mengambil kandidat dari token utuh yang paling jarang lalu menyaringnya;
+ * biayanya sebanding dengan jumlah judul yang memuat token itu.
+ *
+ * Satu saran adalah satu teks judul atau nama pengarang (setelah normalisasi); skornya
+ * jumlah peminjaman semua buku dengan teks itu. Peminjaman hanya menaikkan skor, sehingga
+ * cache K teratas cukup diperbarui di sepanjang jalur token. Menghapus buku bisa menurunkan
+ * skor; simpul yang cache-nya memuat saran itu dihitung ulang dari bawah ke atas.
+ *
+ * Thread-safe: kueri memakai read lock, perubahan katalog memakai write lock. catatPinjam
+ * ada di jalur peminjaman, jadi tidak menunggu kunci: jumlahnya ditambahkan ke peta tertunda
+ * (ConcurrentHashMap.merge) lalu diterapkan ke trie oleh siapa pun yang mendapat write lock
+ * tanpa menunggu. Kueri menerapkan sisa yang tertunda lebih dulu, sehingga tetap melihat
+ * semua peminjaman yang sudah tercatat sebelum kueri dimulai.
+ */
+public class IndeksAutocomplete {
+
+    public static final int K_BAWAAN = 10;
+
+    /** Panjang token terpanjang dalam kata; kueri sepanjang ini masih dilayani cache simpul. */
+    static final int KATA_PER_TOKEN = 3;
+
+    public enum Jenis {
+        JUDUL, PENGARANG
+    }
+
+    private final int kMaks;
+    private final PohonPrefiks pohonJudul;
+    private final PohonPrefiks pohonPengarang;
+    private final Map<String, Catatan> perIsbn = new HashMap<>();
+    private final ReentrantReadWriteLock kunci = new ReentrantReadWriteLock();
+    // Peminjaman yang belum diterapkan ke trie, per ISBN
+    private final ConcurrentHashMap<String, Long> tertunda = new ConcurrentHashMap<>();
+
+    public IndeksAutocomplete() {
+        this(K_BAWAAN);
+    }
+
+    /**
+     * @param kMaks jumlah saran terbanyak per kueri; juga ukuran cache per simpul trie
+     */
+    public IndeksAutocomplete(int kMaks) {
+        if (kMaks < 1) {
+            throw new IllegalArgumentException("kMaks minimal 1");
+        }
+        this.kMaks = kMaks;
+        this.pohonJudul = new PohonPrefiks(kMaks);
+        this.pohonPengarang = new PohonPrefiks(kMaks);
+    }
+
+    /**
+     * Tambahkan buku, atau perbarui judul/pengarangnya jika ISBN sudah ada. Jumlah peminjaman
+     * ISBN yang sudah ada tetap dibawa ke judul dan pengarang yang baru.
+     */
+    public void tambahBuku(Buku buku) {
+        if (buku == null || buku.getIsbn() == null) {
+            return;
+        }
+        kunci.writeLock().lock();
+        try {
+            terapkanTertunda();
+            Catatan lama = perIsbn.get(buku.getIsbn());
+            if (lama != null && sama(lama.judul, buku.getJudul()) && sama(lama.pengarang, buku.getPengarang())) {
+                return;
+            }
+            long dipinjam = 0;
+            if (lama != null) {
+                dipinjam = lama.dipinjam;
+                lepaskan(lama);
+            }
+            Catatan baru = new Catatan(pohonJudul.daftarkan(buku.getJudul()),
+                    pohonPengarang.daftarkan(buku.getPengarang()), dipinjam);
+            naikkan(baru, dipinjam);
+            perIsbn.put(buku.getIsbn(), baru);
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    public void hapusBuku(String isbn) {
+        kunci.writeLock().lock();
+        try {
+            terapkanTertunda();
+            Catatan catatan = perIsbn.remove(isbn);
+            if (catatan != null) {
+                lepaskan(catatan);
+            }
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Satu peminjaman ISBN ini; menaikkan skor judul dan pengarangnya. Tidak pernah menunggu
+     * kunci indeks: jika kunci sedang dipakai, kenaikannya diterapkan oleh pemegang berikutnya.
+     */
+    public void catatPinjam(String isbn) {
+        if (isbn == null) {
+            return;
+        }
+        tertunda.merge(isbn, 1L, Long::sum);
+        if (kunci.writeLock().tryLock()) {
+            try {
+                terapkanTertunda();
+            } finally {
+                kunci.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Tambahkan sejumlah peminjaman sekaligus, misalnya dari riwayat saat indeks dibangun.
+     * ISBN yang tidak ada di indeks diabaikan.
+     */
+    public void tambahPopularitas(String isbn, long jumlah) {
+        if (jumlah < 0) {
+            throw new IllegalArgumentException("Jumlah peminjaman tidak boleh negatif");
+        }
+        kunci.writeLock().lock();
+        try {
+            terapkanTertunda();
+            naikkanTanpaKunci(isbn, jumlah);
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    // Pemanggil memegang write lock. remove per kunci bersifat atomik terhadap merge, jadi
+    // catatPinjam yang datang bersamaan masuk ke entri baru dan tidak hilang
+    private void terapkanTertunda() {
+        if (tertunda.isEmpty()) {
+            return;
+        }
+        for (String isbn : tertunda.keySet()) {
+            Long jumlah = tertunda.remove(isbn);
+            if (jumlah != null) {
+                naikkanTanpaKunci(isbn, jumlah);
+            }
+        }
+    }
+
+    private void naikkanTanpaKunci(String isbn, long jumlah) {
+        Catatan catatan = perIsbn.get(isbn);
+        if (catatan != null && jumlah > 0) {
+            catatan.dipinjam += jumlah;
+            naikkan(catatan, jumlah);
+        }
+    }
+
+    /**
+     * Judul yang cocok dengan awalan, terurut dari yang paling sering dipinjam
+     * (seri diurutkan menurut teks).
+     *
+     * @throws IllegalArgumentException jika k di luar 1..kMaks
+     */
+    public List<Saran> sarankanJudul(String awalan, int k) {
+        return sarankan(pohonJudul, Jenis.JUDUL, awalan, k);
+    }
+
+    /** Seperti sarankanJudul, untuk nama pengarang. */
+    public List<Saran> sarankanPengarang(String awalan, int k) {
+        return sarankan(pohonPengarang, Jenis.PENGARANG, awalan, k);
+    }
+
+    public int getKMaks() {
+        return kMaks;
+    }
+
+    public int getJumlahBuku() {
+        kunci.readLock().lock();
+        try {
+            return perIsbn.size();
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    private List<Saran> sarankan(PohonPrefiks pohon, Jenis jenis, String awalan, int k) {
+        if (k < 1 || k > kMaks) {
+            throw new IllegalArgumentException("k harus 1 sampai " + kMaks);
+        }
+        String[] kata = kata(awalan);
+        if (kata.length == 0) {
+            return Collections.emptyList();
+        }
+        if (!tertunda.isEmpty()) {
+            kunci.writeLock().lock();
+            try {
+                terapkanTertunda();
+            } finally {
+                kunci.writeLock().unlock();
+            }
+        }
+        kunci.readLock().lock();
+        try {
+            Entri[] teratas = pohon.cari(kata, k);
+            List<Saran> hasil = new ArrayList<>(teratas.length);
+            for (Entri entri : teratas) {
+                hasil.add(new Saran(entri.teks, jenis, entri.skor));
+            }
+            return hasil;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    private void naikkan(Catatan catatan, long jumlah) {
+        if (catatan.judul != null) {
+            pohonJudul.naikkanSkor(catatan.judul, jumlah);
+        }
+        if (catatan.pengarang != null) {
+            pohonPengarang.naikkanSkor(catatan.pengarang, jumlah);
+        }
+    }
+
+    private void lepaskan(Catatan catatan) {
+        if (catatan.judul != null) {
+            pohonJudul.lepaskan(catatan.judul, catatan.dipinjam);
+        }
+        if (catatan.pengarang != null) {
+            pohonPengarang.lepaskan(catatan.pengarang, catatan.dipinjam);
+        }
+    }
+
+    private static boolean sama(Entri entri, String teks) {
+        String[] kata = kata(teks);
+        return entri == null ? kata.length == 0 : entri.kunci.equals(String.join(" ", kata));
+    }
+
+    /** Kata huruf kecil sesuai urutan; pemisahnya semua karakter selain huruf/angka. */
+    static String[] kata(String teks) {
+        if (teks == null) {
+            return new String[0];
+        }
+        List<String> hasil = new ArrayList<>();
+        String kecil = teks.toLowerCase(Locale.ROOT);
+        int awal = -1;
+        for (int i = 0; i <= kecil.length(); i++) {
+            boolean hurufAtauAngka = i < kecil.length() && Character.isLetterOrDigit(kecil.charAt(i));
+            if (hurufAtauAngka && awal < 0) {
+                awal = i;
+            } else if (!hurufAtauAngka && awal >= 0) {
+                hasil.add(kecil.substring(awal, i));
+                awal = -1;
+            }
+        }
+        return hasil.toArray(new String[0]);
+    }
+
+    /** Token trie untuk deretan kata: setiap 1 sampai KATA_PER_TOKEN kata berurutan, tanpa duplikat. */
+    static String[] token(String[] kata) {
+        Set<String> hasil = new LinkedHashSet<>(Arrays.asList(kata));
+        for (int panjang = 2; panjang <= KATA_PER_TOKEN; panjang++) {
+            for (int i = 0; i + panjang <= kata.length; i++) {
+                hasil.add(gabung(kata, i, panjang));
+            }
+        }
+        return hasil.toArray(new String[0]);
+    }
+
+    static String gabung(String[] kata, int mulai, int panjang) {
+        return String.join(" ", Arrays.asList(kata).subList(mulai, mulai + panjang));
+    }
+
+    /**
+     * Satu saran autocomplete: teks judul/pengarang seperti disimpan pertama kali dan
+     * jumlah peminjamannya saat kueri dijalankan.
+     */
+    public static final class Saran {
+        private final String teks;
+        private final Jenis jenis;
+        private final long skor;
+
+        Saran(String teks, Jenis jenis, long skor) {
+            this.teks = teks;
+            this.jenis = jenis;
+            this.skor = skor;
+        }
+
+        public String getTeks() {
+            return teks;
+        }
+
+        public Jenis getJenis() {
+            return jenis;
+        }
+
+        public long getSkor() {
+            return skor;
+        }
+
+        @Override
+        public String toString() {
+            return teks + " (" + skor + ")";
+        }
+    }
+
+    private static final class Catatan {
+        final Entri judul;
+        final Entri pengarang;
+        long dipinjam;
+
+        Catatan(Entri judul, Entri pengarang, long dipinjam) {
+            this.judul = judul;
+            this.pengarang = pengarang;
+            this.dipinjam = dipinjam;
+        }
+    }
+
+    /** Satu teks berbeda di trie; dipakai bersama oleh semua buku dengan teks yang sama. */
+    static final class Entri {
+        final String kunci;
+        final String teks;
+        final String[] token;
+        /** Posisi entri ini di DaftarEntri simpul ujung token[j]. */
+        final int[] posisi;
+        long skor;
+        int jumlahBuku;
+
+        Entri(String kunci, String teks, String[] token) {
+            this.kunci = kunci;
+            this.teks = teks;
+            this.token = token;
+            this.posisi = new int[token.length];
+        }
+
+        boolean lebihBaikDari(Entri lain) {
+            return skor != lain.skor ? skor > lain.skor : kunci.compareTo(lain.kunci) < 0;
+        }
+
+        boolean cocok(List<String> tokenUtuh, String awalan) {
+            List<String> milik = Arrays.asList(token);
+            if (!milik.containsAll(tokenUtuh)) {
+                return false;
+            }
+            for (String t : token) {
+                if (t.startsWith(awalan)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Trie token dengan cache K teratas per simpul. Invarian: teratas di setiap simpul (selain
+     * akar) adalah K entri terbaik di antara entri yang salah satu tokennya lewat simpul itu.
+     * Tidak thread-safe; IndeksAutocomplete yang memegang kunci.
+     */
+    static final class PohonPrefiks {
+        private final int kMaks;
+        private final Simpul akar = new Simpul();
+        private final Map<String, Entri> entri = new HashMap<>();
+
+        PohonPrefiks(int kMaks) {
+            this.kMaks = kMaks;
+        }
+
+        /** Entri untuk teks ini, dibuat dan dimasukkan ke trie jika belum ada; null jika teks kosong. */
+        Entri daftarkan(String teks) {
+            String[] kata = kata(teks);
+            if (kata.length == 0) {
+                return null;
+            }
+            String kunciEntri = String.join(" ", kata);
+            Entri ada = entri.get(kunciEntri);
+            if (ada != null) {
+                ada.jumlahBuku++;
+                return ada;
+            }
+            String[] token = token(kata);
+            Entri baru = new Entri(kunciEntri, teks, token);
+            baru.jumlahBuku = 1;
+            entri.put(kunciEntri, baru);
+            for (int j = 0; j < token.length; j++) {
+                String t = token[j];
+                Simpul simpul = akar;
+                for (int i = 0; i < t.length(); i++) {
+                    simpul = simpul.anakAtauBaru(t.charAt(i));
+                    simpul.masukkan(baru, kMaks);
+                }
+                if (simpul.akhir == null) {
+                    simpul.akhir = new DaftarEntri();
+                    simpul.token = t;
+                }
+                // Kata yang sama di banyak judul memakai satu String saja
+                token[j] = simpul.token;
+                baru.posisi[j] = simpul.akhir.tambah(baru);
+            }
+            return baru;
+        }
+
+        void naikkanSkor(Entri e, long jumlah) {
+            e.skor += jumlah;
+            for (int j = 0; j < e.token.length; j++) {
+                String t = e.token[j];
+                Simpul simpul = akar;
+                for (int i = 0; i < t.length(); i++) {
+                    simpul = simpul.anak(t.charAt(i));
+                    simpul.masukkan(e, kMaks);
+                }
+                simpul.akhir.skor[e.posisi[j]] = e.skor;
+            }
+        }
+
+        /**
+         * Satu buku dengan teks ini hilang beserta skornya. Entri dikeluarkan dari trie jika
+         * tidak ada buku lain yang memakainya; simpul yang menjadi kosong dipangkas.
+         */
+        void lepaskan(Entri e, long skorBuku) {
+            e.skor -= skorBuku;
+            if (--e.jumlahBuku == 0) {
+                entri.remove(e.kunci);
+                for (int j = 0; j < e.token.length; j++) {
+                    String t = e.token[j];
+                    Simpul[] jalur = jalur(t);
+                    Simpul ujung = jalur[t.length()];
+                    ujung.akhir.hapus(e.posisi[j], ujung.token);
+                    if (ujung.akhir.ukuran == 0) {
+                        ujung.akhir = null;
+                        ujung.token = null;
+                    }
+                    for (int i = t.length(); i > 0 && jalur[i].kosong(); i--) {
+                        jalur[i - 1].hapusAnak(t.charAt(i - 1));
+                    }
+                }
+            } else if (skorBuku == 0) {
+                return;
+            } else {
+                for (int j = 0; j < e.token.length; j++) {
+                    cariSimpul(e.token[j]).akhir.skor[e.posisi[j]] = e.skor;
+                }
+            }
+            hitungUlang(e);
+        }
+
+        /**
+         * Hitung ulang cache simpul yang memuat e, dari simpul terdalam ke akar agar setiap
+         * simpul dihitung dari cache anak yang sudah benar.
+         */
+        private void hitungUlang(Entri e) {
+            Map<Simpul, Integer> kedalaman = new IdentityHashMap<>();
+            for (String t : e.token) {
+                Simpul simpul = akar;
+                for (int i = 0; i < t.length() && (simpul = simpul.anak(t.charAt(i))) != null; i++) {
+                    kedalaman.put(simpul, i + 1);
+                }
+            }
+            List<Map.Entry<Simpul, Integer>> urut = new ArrayList<>(kedalaman.entrySet());
+            urut.sort((a, b) -> b.getValue() - a.getValue());
+            for (Map.Entry<Simpul, Integer> simpul : urut) {
+                if (simpul.getKey().memuat(e)) {
+                    simpul.getKey().hitungUlang(kMaks);
+                }
+            }
+        }
+
+        private Simpul[] jalur(String t) {
+            Simpul[] jalur = new Simpul[t.length() + 1];
+            jalur[0] = akar;
+            for (int i = 0; i < t.length(); i++) {
+                jalur[i + 1] = jalur[i].anak(t.charAt(i));
+            }
+            return jalur;
+        }
+
+        /**
+         * k entri terbaik untuk kueri. Paling banyak KATA_PER_TOKEN kata terakhir menjadi awalan
+         * token; deretan kata sebelumnya harus ada utuh sebagai token.
+         */
+        Entri[] cari(String[] kata, int k) {
+            int n = kata.length;
+            int panjangAwalan = Math.min(n, KATA_PER_TOKEN);
+            String awalan = gabung(kata, n - panjangAwalan, panjangAwalan);
+            Simpul simpulAwalan = cariSimpul(awalan);
+            if (simpulAwalan == null) {
+                return new Entri[0];
+            }
+            if (n <= KATA_PER_TOKEN) {
+                return Arrays.copyOf(simpulAwalan.teratas, Math.min(k, simpulAwalan.jumlahTeratas));
+            }
+            List<String> tokenUtuh = new ArrayList<>();
+            DaftarEntri kandidat = null;
+            for (int i = 0; i + KATA_PER_TOKEN < n; i++) {
+                String utuh = gabung(kata, i, KATA_PER_TOKEN);
+                Simpul simpul = cariSimpul(utuh);
+                if (simpul == null || simpul.akhir == null) {
+                    return new Entri[0];
+                }
+                tokenUtuh.add(utuh);
+                if (kandidat == null || simpul.akhir.ukuran < kandidat.ukuran) {
+                    kandidat = simpul.akhir;
+                }
+            }
+            // Cache awalan berisi K teratas dari himpunan yang lebih besar; jika k di antaranya
+            // lolos saringan, tidak ada entri di luar cache yang bisa mengalahkannya
+            Simpul hasil = new Simpul();
+            for (int i = 0; i < simpulAwalan.jumlahTeratas && hasil.jumlahTeratas < k; i++) {
+                if (simpulAwalan.teratas[i].cocok(tokenUtuh, awalan)) {
+                    hasil.masukkan(simpulAwalan.teratas[i], k);
+                }
+            }
+            if (hasil.jumlahTeratas == k || simpulAwalan.jumlahTeratas < kMaks) {
+                return Arrays.copyOf(hasil.teratas, hasil.jumlahTeratas);
+            }
+            // Skor dibaca dari array paralel dulu: kandidat yang kalah tidak perlu dibuka objeknya
+            for (int i = 0; i < kandidat.ukuran; i++) {
+                if (hasil.jumlahTeratas == k && kandidat.skor[i] < hasil.teratas[k - 1].skor) {
+                    continue;
+                }
+                Entri e = kandidat.isi[i];
+                if ((hasil.jumlahTeratas < k || e.lebihBaikDari(hasil.teratas[k - 1])) && e.cocok(tokenUtuh, awalan)) {
+                    hasil.masukkan(e, k);
+                }
+            }
+            return Arrays.copyOf(hasil.teratas, hasil.jumlahTeratas);
+        }
+
+        private Simpul cariSimpul(String t) {
+            Simpul simpul = akar;
+            for (int i = 0; i < t.length() && simpul != null; i++) {
+                simpul = simpul.anak(t.charAt(i));
+            }
+            return simpul;
+        }
+    }
+
+    /** Simpul trie token beserta cache K teratas subtree-nya. */
+    static final class Simpul extends SimpulTrie<Simpul> {
+        private static final Entri[] TANPA_ENTRI = new Entri[0];
+
+        /** Entri yang salah satu tokennya berakhir tepat di simpul ini; null jika tidak ada. */
+        DaftarEntri akhir;
+        /** Token yang berakhir di simpul ini, dibagi oleh semua entri di akhir. */
+        String token;
+        Entri[] teratas = TANPA_ENTRI;
+        int jumlahTeratas;
+
+        @Override
+        protected Simpul buatAnak() {
+            return new Simpul();
+        }
+
+        boolean kosong() {
+            return akhir == null && tanpaAnak();
+        }
+
+        boolean memuat(Entri e) {
+            return posisi(e) >= 0;
+        }
+
+        private int posisi(Entri e) {
+            for (int i = 0; i < jumlahTeratas; i++) {
+                if (teratas[i] == e) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Masukkan atau geser maju e di cache setelah skornya naik. Skor yang hanya naik tidak
+         * pernah mengeluarkan entri yang seharusnya tetap di cache, jadi cukup satu penyisipan.
+         */
+        void masukkan(Entri e, int kMaks) {
+            int i = posisi(e);
+            if (i < 0) {
+                if (jumlahTeratas < kMaks) {
+                    if (jumlahTeratas == teratas.length) {
+                        teratas = Arrays.copyOf(teratas, Math.min(kMaks, Math.max(2, jumlahTeratas * 2)));
+                    }
+                    i = jumlahTeratas++;
+                } else if (e.lebihBaikDari(teratas[jumlahTeratas - 1])) {
+                    i = jumlahTeratas - 1;
+                } else {
+                    return;
+                }
+                teratas[i] = e;
+            }
+            for (; i > 0 && e.lebihBaikDari(teratas[i - 1]); i--) {
+                teratas[i] = teratas[i - 1];
+                teratas[i - 1] = e;
+            }
+        }
+
+        /** Susun ulang cache dari entri yang berakhir di sini dan cache setiap anak. */
+        void hitungUlang(int kMaks) {
+            Arrays.fill(teratas, null);
+            jumlahTeratas = 0;
+            if (akhir != null) {
+                for (int i = 0; i < akhir.ukuran; i++) {
+                    masukkan(akhir.isi[i], kMaks);
+                }
+            }
+            for (int a = 0; a < getJumlahAnak(); a++) {
+                Simpul s = anakKe(a);
+                for (int i = 0; i < s.jumlahTeratas; i++) {
+                    masukkan(s.teratas[i], kMaks);
+                }
+            }
+        }
+    }
+
+    /**
+     * Entri yang tokennya berakhir di satu simpul, dengan salinan skornya di array paralel agar
+     * penyaringan kueri tiga kata bisa menolak kandidat tanpa membuka objek Entri. Urutan tidak
+     * dijaga: penghapusan memindahkan elemen terakhir ke slot yang kosong.
+     */
+    static final class DaftarEntri {
+        Entri[] isi = new Entri[2];
+        long[] skor = new long[2];
+        int ukuran;
+
+        int tambah(Entri e) {
+            if (ukuran == isi.length) {
+                isi = Arrays.copyOf(isi, ukuran * 2);
+                skor = Arrays.copyOf(skor, ukuran * 2);
+            }
+            isi[ukuran] = e;
+            skor[ukuran] = e.skor;
+            return ukuran++;
+        }
+
+        /**
+         * @param token token simpul pemilik daftar, untuk memperbarui posisi entri yang dipindah
+         */
+        void hapus(int i, String token) {
+            ukuran--;
+            if (i != ukuran) {
+                Entri pindah = isi[ukuran];
+                isi[i] = pindah;
+                skor[i] = skor[ukuran];
+                for (int j = 0; j < pindah.token.length; j++) {
+                    if (pindah.token[j] == token) {
+                        pindah.posisi[j] = i;
+                    }
+                }
+            }
+            isi[ukuran] = null;
+        }
+    }
+}
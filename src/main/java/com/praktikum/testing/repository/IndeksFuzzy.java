@@ -0,0 +1,206 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.util.TrieLevenshtein;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Indeks pencarian judul dan pengarang yang toleran salah ketik.
+ *
+ * Setiap field punya kamus kata (huruf kecil, dipecah seperti IndeksAutocomplete.kata) dalam
+ * TrieLevenshtein dan daftar ISBN per kata. Setiap kata kueri dicocokkan ke kata kamus dalam
+ * jarak Levenshtein tertentu dengan menelusuri trie, jadi hanya sebagian kecil kosakata yang dikunjungi.
+ * Buku cocok jika setiap kata kueri cocok dengan salah satu kata field-nya; hasil diurutkan
+ * menurut total jarak lalu ISBN.
+ *
+ * Jarak yang diizinkan per kata juga dibatasi panjang kata kueri (1-2 huruf harus tepat,
+ * 3-5 huruf paling banyak 1, lebih panjang paling banyak 2) agar kata pendek tidak cocok
+ * dengan setengah kamus.
+ *
+ * Thread-safe: kueri memakai read lock, perubahan memakai write lock.
+ */
+public class IndeksFuzzy {
+
+    public static final int JARAK_MAKS = 2;
+
+    private final Kamus kamusJudul = new Kamus();
+    private final Kamus kamusPengarang = new Kamus();
+    private final Map<String, Catatan> perIsbn = new HashMap<>();
+    private final ReentrantReadWriteLock kunci = new ReentrantReadWriteLock();
+
+    /** Tambahkan buku, atau perbarui judul/pengarangnya jika ISBN sudah ada. */
+    public void tambahBuku(Buku buku) {
+        if (buku == null || buku.getIsbn() == null) {
+            return;
+        }
+        Catatan baru = new Catatan(himpunanKata(buku.getJudul()), himpunanKata(buku.getPengarang()));
+        kunci.writeLock().lock();
+        try {
+            Catatan lama = perIsbn.put(buku.getIsbn(), baru);
+            if (lama != null) {
+                kamusJudul.keluarkan(buku.getIsbn(), lama.kataJudul);
+                kamusPengarang.keluarkan(buku.getIsbn(), lama.kataPengarang);
+            }
+            kamusJudul.masukkan(buku.getIsbn(), baru.kataJudul);
+            kamusPengarang.masukkan(buku.getIsbn(), baru.kataPengarang);
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    public void hapusBuku(String isbn) {
+        kunci.writeLock().lock();
+        try {
+            Catatan lama = perIsbn.remove(isbn);
+            if (lama != null) {
+                kamusJudul.keluarkan(isbn, lama.kataJudul);
+                kamusPengarang.keluarkan(isbn, lama.kataPengarang);
+            }
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    /**
+     * ISBN buku yang judulnya memuat setiap kata kueri dalam jarak paling banyak jarakMaks,
+     * paling dekat dulu.
+     *
+     * @throws IllegalArgumentException jika jarakMaks di luar 0..JARAK_MAKS atau batas kurang dari 1
+     */
+    public List<String> cariJudul(String kueri, int jarakMaks, int batas) {
+        return cari(kamusJudul, kueri, jarakMaks, batas);
+    }
+
+    /** Seperti cariJudul, untuk nama pengarang. */
+    public List<String> cariPengarang(String kueri, int jarakMaks, int batas) {
+        return cari(kamusPengarang, kueri, jarakMaks, batas);
+    }
+
+    public int getJumlahBuku() {
+        kunci.readLock().lock();
+        try {
+            return perIsbn.size();
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    /** Jumlah kata berbeda di kamus judul dan kamus pengarang. */
+    public int getJumlahKata() {
+        kunci.readLock().lock();
+        try {
+            return kamusJudul.trie.ukuran() + kamusPengarang.trie.ukuran();
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    /** Jarak yang dipakai untuk satu kata kueri: jarakMaks, dibatasi panjang kata. */
+    static int jarakUntuk(String kata, int jarakMaks) {
+        int batasPanjang = kata.length() <= 2 ? 0 : kata.length() <= 5 ? 1 : 2;
+        return Math.min(jarakMaks, batasPanjang);
+    }
+
+    private List<String> cari(Kamus kamus, String kueri, int jarakMaks, int batas) {
+        if (jarakMaks < 0 || jarakMaks > JARAK_MAKS) {
+            throw new IllegalArgumentException("Jarak maksimal harus 0 sampai " + JARAK_MAKS);
+        }
+        if (batas < 1) {
+            throw new IllegalArgumentException("Batas hasil minimal 1");
+        }
+        Set<String> kataKueri = himpunanKata(kueri);
+        if (kataKueri.isEmpty()) {
+            return Collections.emptyList();
+        }
+        kunci.readLock().lock();
+        try {
+            // Total jarak per ISBN; ISBN yang tidak cocok dengan salah satu kata kueri dibuang
+            Map<String, Integer> jarakTotal = null;
+            for (String kata : kataKueri) {
+                Map<String, Integer> sebelumnya = jarakTotal;
+                Map<String, Integer> cocok = kamus.cocokkan(kata, jarakUntuk(kata, jarakMaks), sebelumnya);
+                if (sebelumnya != null) {
+                    cocok.replaceAll((isbn, d) -> d + sebelumnya.get(isbn));
+                }
+                jarakTotal = cocok;
+                if (jarakTotal.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+            List<Map.Entry<String, Integer>> urut = new ArrayList<>(jarakTotal.entrySet());
+            urut.sort(Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+            List<String> hasil = new ArrayList<>(Math.min(batas, urut.size()));
+            for (int i = 0; i < urut.size() && i < batas; i++) {
+                hasil.add(urut.get(i).getKey());
+            }
+            return hasil;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    private static Set<String> himpunanKata(String teks) {
+        Set<String> hasil = new HashSet<>();
+        Collections.addAll(hasil, IndeksAutocomplete.kata(teks));
+        return hasil;
+    }
+
+    private static final class Catatan {
+        final Set<String> kataJudul;
+        final Set<String> kataPengarang;
+
+        Catatan(Set<String> kataJudul, Set<String> kataPengarang) {
+            this.kataJudul = kataJudul;
+            this.kataPengarang = kataPengarang;
+        }
+    }
+
+    /** Kamus satu field: trie kata dan ISBN per kata. Tidak thread-safe. */
+    private static final class Kamus {
+        final TrieLevenshtein trie = new TrieLevenshtein();
+        final Map<String, Set<String>> isbnPerKata = new HashMap<>();
+
+        void masukkan(String isbn, Set<String> kata) {
+            for (String k : kata) {
+                isbnPerKata.computeIfAbsent(k, x -> {
+                    trie.tambah(x);
+                    return new HashSet<>();
+                }).add(isbn);
+            }
+        }
+
+        void keluarkan(String isbn, Set<String> kata) {
+            for (String k : kata) {
+                Set<String> daftar = isbnPerKata.get(k);
+                if (daftar != null && daftar.remove(isbn) && daftar.isEmpty()) {
+                    isbnPerKata.remove(k);
+                    trie.hapus(k);
+                }
+            }
+        }
+
+        /**
+         * Jarak terkecil per ISBN yang memuat kata dalam jarak dari kueri. Jika saringan tidak
+         * null, hanya ISBN di saringan yang diambil.
+         */
+        Map<String, Integer> cocokkan(String kueri, int jarak, Map<String, Integer> saringan) {
+            Map<String, Integer> hasil = new HashMap<>();
+            trie.cari(kueri, jarak, (kata, d) -> {
+                for (String isbn : isbnPerKata.get(kata)) {
+                    if (saringan == null || saringan.containsKey(isbn)) {
+                        hasil.merge(isbn, d, Math::min);
+                    }
+                }
+            });
+            return hasil;
+        }
+    }
+}
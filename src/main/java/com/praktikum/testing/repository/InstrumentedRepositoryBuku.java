@@ -0,0 +1,197 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.util.HistogramLatensi;
+import com.praktikum.testing.util.Instrumentasi;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Dekorator RepositoryBuku yang mencatat latensi setiap operasi ke Instrumentasi dengan
+ * nama "repository.&lt;metode&gt;". Panggilan yang melempar exception tetap dicatat.
+ * Varian halaman dicatat sebagai "repository.&lt;metode&gt;Halaman"; stream diteruskan
+ * tanpa pengukuran karena pekerjaannya terjadi saat dikonsumsi. Latensi disampel sesuai
+ * periode sampel Instrumentasi.
+ */
+public class InstrumentedRepositoryBuku implements RepositoryBuku {
+
+    private final RepositoryBuku delegate;
+    private final HistogramLatensi simpan;
+    private final HistogramLatensi simpanSemua;
+    private final HistogramLatensi cariByIsbn;
+    private final HistogramLatensi cariByJudul;
+    private final HistogramLatensi cariByPengarang;
+    private final HistogramLatensi hapus;
+    private final HistogramLatensi updateJumlahTersedia;
+    private final HistogramLatensi cariSemua;
+    private final HistogramLatensi cariSemuaHalaman;
+    private final HistogramLatensi cariByJudulHalaman;
+    private final HistogramLatensi cariByPengarangHalaman;
+    private final HistogramLatensi kurangiJumlahTersedia;
+    private final HistogramLatensi tambahJumlahTersedia;
+
+    public InstrumentedRepositoryBuku(RepositoryBuku delegate, Instrumentasi instrumentasi) {
+        this.delegate = delegate;
+        this.simpan = instrumentasi.histogram("repository.simpan");
+        this.simpanSemua = instrumentasi.histogram("repository.simpanSemua");
+        this.cariByIsbn = instrumentasi.histogram("repository.cariByIsbn");
+        this.cariByJudul = instrumentasi.histogram("repository.cariByJudul");
+        this.cariByPengarang = instrumentasi.histogram("repository.cariByPengarang");
+        this.hapus = instrumentasi.histogram("repository.hapus");
+        this.updateJumlahTersedia = instrumentasi.histogram("repository.updateJumlahTersedia");
+        this.cariSemua = instrumentasi.histogram("repository.cariSemua");
+        this.cariSemuaHalaman = instrumentasi.histogram("repository.cariSemuaHalaman");
+        this.cariByJudulHalaman = instrumentasi.histogram("repository.cariByJudulHalaman");
+        this.cariByPengarangHalaman = instrumentasi.histogram("repository.cariByPengarangHalaman");
+        this.kurangiJumlahTersedia = instrumentasi.histogram("repository.kurangiJumlahTersedia");
+        this.tambahJumlahTersedia = instrumentasi.histogram("repository.tambahJumlahTersedia");
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        long mulai = simpan.mulai();
+        try {
+            return delegate.simpan(buku);
+        } finally {
+            simpan.selesai(mulai);
+        }
+    }
+
+    @Override
+    public BitSet simpanSemua(List<Buku> daftarBuku) {
+        long mulai = simpanSemua.mulai();
+        try {
+            return delegate.simpanSemua(daftarBuku);
+        } finally {
+            simpanSemua.selesai(mulai);
+        }
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        long mulai = cariByIsbn.mulai();
+        try {
+            return delegate.cariByIsbn(isbn);
+        } finally {
+            cariByIsbn.selesai(mulai);
+        }
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        long mulai = cariByJudul.mulai();
+        try {
+            return delegate.cariByJudul(judul);
+        } finally {
+            cariByJudul.selesai(mulai);
+        }
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        long mulai = cariByPengarang.mulai();
+        try {
+            return delegate.cariByPengarang(pengarang);
+        } finally {
+            cariByPengarang.selesai(mulai);
+        }
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        long mulai = hapus.mulai();
+        try {
+            return delegate.hapus(isbn);
+        } finally {
+            hapus.selesai(mulai);
+        }
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        long mulai = updateJumlahTersedia.mulai();
+        try {
+            return delegate.updateJumlahTersedia(isbn, jumlahTersediaBaru);
+        } finally {
+            updateJumlahTersedia.selesai(mulai);
+        }
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        long mulai = cariSemua.mulai();
+        try {
+            return delegate.cariSemua();
+        } finally {
+            cariSemua.selesai(mulai);
+        }
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return delegate.streamSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        return delegate.streamByJudul(judul);
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        return delegate.streamByPengarang(pengarang);
+    }
+
+    @Override
+    public HalamanBuku cariSemua(String setelahIsbn, int batas) {
+        long mulai = cariSemuaHalaman.mulai();
+        try {
+            return delegate.cariSemua(setelahIsbn, batas);
+        } finally {
+            cariSemuaHalaman.selesai(mulai);
+        }
+    }
+
+    @Override
+    public HalamanBuku cariByJudul(String judul, String setelahIsbn, int batas) {
+        long mulai = cariByJudulHalaman.mulai();
+        try {
+            return delegate.cariByJudul(judul, setelahIsbn, batas);
+        } finally {
+            cariByJudulHalaman.selesai(mulai);
+        }
+    }
+
+    @Override
+    public HalamanBuku cariByPengarang(String pengarang, String setelahIsbn, int batas) {
+        long mulai = cariByPengarangHalaman.mulai();
+        try {
+            return delegate.cariByPengarang(pengarang, setelahIsbn, batas);
+        } finally {
+            cariByPengarangHalaman.selesai(mulai);
+        }
+    }
+
+    @Override
+    public int kurangiJumlahTersedia(String isbn) {
+        long mulai = kurangiJumlahTersedia.mulai();
+        try {
+            return delegate.kurangiJumlahTersedia(isbn);
+        } finally {
+            kurangiJumlahTersedia.selesai(mulai);
+        }
+    }
+
+    @Override
+    public int tambahJumlahTersedia(String isbn) {
+        long mulai = tambahJumlahTersedia.mulai();
+        try {
+            return delegate.tambahJumlahTersedia(isbn);
+        } finally {
+            tambahJumlahTersedia.selesai(mulai);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.model.Peminjaman;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Decorator RepositoryBuku yang mencatat setiap perubahan jumlah tersedia ke
+ * WriteAheadLog sebelum mengembalikan hasil; perubahan yang gagal dicatat dibatalkan. Operasi baca dan perubahan katalog
+ * (simpan/hapus) diteruskan apa adanya ke repository di bawahnya.
+ */
+public class JournaledRepositoryBuku implements RepositoryBuku {
+
+    private final RepositoryBuku delegate;
+    private final WriteAheadLog wal;
+
+    public JournaledRepositoryBuku(RepositoryBuku delegate, WriteAheadLog wal) {
+        this.delegate = delegate;
+        this.wal = wal;
+    }
+
+    /**
+     * Terapkan ulang jumlah tersedia dari snapshot dan log ke repository di bawahnya.
+     * Dipanggil sekali saat startup, setelah katalog dimuat. Peminjaman yang tercatat di
+     * log diabaikan; gunakan pulihkan(RepositoryAnggota, RepositoryPeminjaman) jika
+     * ServicePerpustakaan mencatat sirkulasi ke log yang sama.
+     */
+    public void pulihkan() throws IOException {
+        wal.putarUlang(new WriteAheadLog.PemutarUlang() {
+            @Override
+            public void jumlahTersedia(String isbn, int jumlah) {
+                delegate.updateJumlahTersedia(isbn, jumlah);
+            }
+        });
+    }
+
+    /**
+     * Terapkan ulang jumlah tersedia sekaligus peminjaman: catatan peminjaman disimpan ke
+     * repositoryPeminjaman dan daftar buku dipinjam anggota disesuaikan. Aman dipanggil
+     * berulang karena peminjaman yang sudah ada tidak disimpan lagi.
+     */
+    public void pulihkan(RepositoryAnggota repositoryAnggota, RepositoryPeminjaman repositoryPeminjaman)
+            throws IOException {
+        wal.putarUlang(new WriteAheadLog.PemutarUlang() {
+            @Override
+            public void jumlahTersedia(String isbn, int jumlah) {
+                delegate.updateJumlahTersedia(isbn, jumlah);
+            }
+
+            @Override
+            public void dipinjam(Peminjaman peminjaman) {
+                if (peminjaman.getIdPeminjaman() != null
+                        && !repositoryPeminjaman.cariById(peminjaman.getIdPeminjaman()).isPresent()) {
+                    repositoryPeminjaman.simpan(peminjaman);
+                }
+                repositoryAnggota.cariById(peminjaman.getIdAnggota())
+                        .ifPresent(anggota -> anggota.tambahBukuDipinjam(peminjaman.getIsbnBuku()));
+            }
+
+            @Override
+            public void dikembalikan(String idPeminjaman, String idAnggota, String isbn, LocalDate tanggalKembali) {
+                if (idPeminjaman != null) {
+                    repositoryPeminjaman.tandaiDikembalikan(idPeminjaman, tanggalKembali);
+                }
+                repositoryAnggota.cariById(idAnggota).ifPresent(anggota -> anggota.hapusBukuDipinjam(isbn));
+            }
+        });
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        return delegate.simpan(buku);
+    }
+
+    @Override
+    public BitSet simpanSemua(List<Buku> daftarBuku) {
+        return delegate.simpanSemua(daftarBuku);
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        return delegate.cariByIsbn(isbn);
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return delegate.cariByJudul(judul);
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return delegate.cariByPengarang(pengarang);
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        return delegate.hapus(isbn);
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        int[] sebelum = new int[1];
+        return wal.catatJumlahTersedia(isbn, () -> {
+            Optional<Buku> buku = delegate.cariByIsbn(isbn);
+            if (!buku.isPresent()) {
+                return -1;
+            }
+            sebelum[0] = buku.get().getJumlahTersedia();
+            return delegate.updateJumlahTersedia(isbn, jumlahTersediaBaru) ? jumlahTersediaBaru : -1;
+        }, hasil -> delegate.updateJumlahTersedia(isbn, sebelum[0])) >= 0;
+    }
+
+    @Override
+    public int kurangiJumlahTersedia(String isbn) {
+        return wal.catatJumlahTersedia(isbn, () -> delegate.kurangiJumlahTersedia(isbn),
+                hasil -> delegate.tambahJumlahTersedia(isbn));
+    }
+
+    @Override
+    public int tambahJumlahTersedia(String isbn) {
+        return wal.catatJumlahTersedia(isbn, () -> delegate.tambahJumlahTersedia(isbn),
+                hasil -> delegate.kurangiJumlahTersedia(isbn));
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        return delegate.cariSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return delegate.streamSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        return delegate.streamByJudul(judul);
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        return delegate.streamByPengarang(pengarang);
+    }
+
+    @Override
+    public HalamanBuku cariSemua(String setelahIsbn, int batas) {
+        return delegate.cariSemua(setelahIsbn, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByJudul(String judul, String setelahIsbn, int batas) {
+        return delegate.cariByJudul(judul, setelahIsbn, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByPengarang(String pengarang, String setelahIsbn, int batas) {
+        return delegate.cariByPengarang(pengarang, setelahIsbn, batas);
+    }
+}
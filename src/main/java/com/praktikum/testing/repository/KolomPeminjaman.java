@@ -0,0 +1,337 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.service.KalkulatorDenda;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Penyimpanan peminjaman berbentuk kolom (struct-of-arrays) untuk analitik.
+ *
+ * Setiap peminjaman adalah satu baris; tanggal disimpan sebagai epoch-day int,
+ * idAnggota dan isbn di-encode ke kode int lewat kamus, dan status
+ * sudahDikembalikan disimpan di bitset. Operator agregasi hanya melewati
+ * array primitif berurutan tanpa membuat LocalDate, sehingga JIT bisa
+ * menghilangkan cabang dan memvektorisasi loop.
+ *
+ * Baris hanya bisa ditambah dan ditandai dikembalikan; penghapusan tidak didukung.
+ */
+public class KolomPeminjaman {
+
+    // Nilai kolom hariKembali untuk peminjaman yang belum dikembalikan
+    private static final int BELUM_KEMBALI = Integer.MIN_VALUE;
+    private static final int KAPASITAS_AWAL = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> barisById = new HashMap<>();
+    private final Kamus kamusAnggota = new Kamus();
+    private final Kamus kamusIsbn = new Kamus();
+
+    private String[] idPeminjaman = new String[KAPASITAS_AWAL];
+    private int[] hariPinjam = new int[KAPASITAS_AWAL];
+    private int[] hariJatuhTempo = new int[KAPASITAS_AWAL];
+    private int[] hariKembali = new int[KAPASITAS_AWAL];
+    private int[] kodeAnggota = new int[KAPASITAS_AWAL];
+    private int[] kodeIsbn = new int[KAPASITAS_AWAL];
+    private long[] dikembalikan = new long[KAPASITAS_AWAL / 64];
+    private int ukuran;
+
+    public static KolomPeminjaman dari(Collection<Peminjaman> daftarPeminjaman) {
+        KolomPeminjaman kolom = new KolomPeminjaman();
+        for (Peminjaman peminjaman : daftarPeminjaman) {
+            kolom.tambah(peminjaman);
+        }
+        return kolom;
+    }
+
+    /**
+     * Tambahkan satu peminjaman sebagai baris baru.
+     *
+     * @return false jika data tidak lengkap atau idPeminjaman sudah ada
+     */
+    public boolean tambah(Peminjaman peminjaman) {
+        if (peminjaman == null || peminjaman.getIdPeminjaman() == null
+                || peminjaman.getIdAnggota() == null || peminjaman.getIsbnBuku() == null
+                || peminjaman.getTanggalPinjam() == null || peminjaman.getTanggalJatuhTempo() == null
+                || (peminjaman.isSudahDikembalikan() && peminjaman.getTanggalKembali() == null)) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (barisById.putIfAbsent(peminjaman.getIdPeminjaman(), ukuran) != null) {
+                return false;
+            }
+            if (ukuran == hariPinjam.length) {
+                perbesar();
+            }
+            int baris = ukuran++;
+            idPeminjaman[baris] = peminjaman.getIdPeminjaman();
+            hariPinjam[baris] = (int) peminjaman.getTanggalPinjam().toEpochDay();
+            hariJatuhTempo[baris] = (int) peminjaman.getTanggalJatuhTempo().toEpochDay();
+            kodeAnggota[baris] = kamusAnggota.kode(peminjaman.getIdAnggota());
+            kodeIsbn[baris] = kamusIsbn.kode(peminjaman.getIsbnBuku());
+            if (peminjaman.isSudahDikembalikan()) {
+                hariKembali[baris] = (int) peminjaman.getTanggalKembali().toEpochDay();
+                dikembalikan[baris >>> 6] |= 1L << baris;
+            } else {
+                hariKembali[baris] = BELUM_KEMBALI;
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean tandaiDikembalikan(String idPeminjaman, LocalDate tanggalKembali) {
+        if (idPeminjaman == null || tanggalKembali == null) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer baris = barisById.get(idPeminjaman);
+            if (baris == null || (dikembalikan[baris >>> 6] & (1L << baris)) != 0) {
+                return false;
+            }
+            hariKembali[baris] = (int) tanggalKembali.toEpochDay();
+            dikembalikan[baris >>> 6] |= 1L << baris;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Bentuk ulang baris menjadi objek Peminjaman baru (salinan).
+     */
+    public Peminjaman get(int baris) {
+        lock.readLock().lock();
+        try {
+            if (baris < 0 || baris >= ukuran) {
+                throw new IndexOutOfBoundsException("Baris tidak ada: " + baris);
+            }
+            Peminjaman peminjaman = new Peminjaman(idPeminjaman[baris],
+                    kamusAnggota.nilai(kodeAnggota[baris]), kamusIsbn.nilai(kodeIsbn[baris]),
+                    LocalDate.ofEpochDay(hariPinjam[baris]), LocalDate.ofEpochDay(hariJatuhTempo[baris]));
+            if (hariKembali[baris] != BELUM_KEMBALI) {
+                peminjaman.setTanggalKembali(LocalDate.ofEpochDay(hariKembali[baris]));
+                peminjaman.setSudahDikembalikan(true);
+            }
+            return peminjaman;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int ukuran() {
+        lock.readLock().lock();
+        try {
+            return ukuran;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int jumlahDikembalikan() {
+        lock.readLock().lock();
+        try {
+            int jumlah = 0;
+            for (int i = 0, kata = (ukuran + 63) >>> 6; i < kata; i++) {
+                jumlah += Long.bitCount(dikembalikan[i]);
+            }
+            return jumlah;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rata-rata getDurasiPeminjaman(tanggalAcuan) seluruh baris, 0 jika kosong.
+     */
+    public double rataRataDurasi(LocalDate tanggalAcuan) {
+        int acuan = (int) tanggalAcuan.toEpochDay();
+        lock.readLock().lock();
+        try {
+            if (ukuran == 0) {
+                return 0.0;
+            }
+            long total = 0;
+            for (int i = 0; i < ukuran; i++) {
+                int kembali = hariKembali[i];
+                int akhir = kembali == BELUM_KEMBALI ? acuan : kembali;
+                total += akhir - hariPinjam[i];
+            }
+            return (double) total / ukuran;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Jumlah baris dengan isTerlambat(tanggalAcuan) == true.
+     */
+    public int jumlahTerlambat(LocalDate tanggalAcuan) {
+        int acuan = (int) tanggalAcuan.toEpochDay();
+        lock.readLock().lock();
+        try {
+            int jumlah = 0;
+            for (int i = 0; i < ukuran; i++) {
+                int kembali = hariKembali[i];
+                int akhir = kembali == BELUM_KEMBALI ? acuan : kembali;
+                jumlah += akhir > hariJatuhTempo[i] ? 1 : 0;
+            }
+            return jumlah;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Persentase (0..1) peminjaman terlambat per tipe anggota. Tipe tanpa
+     * peminjaman tidak muncul di hasil.
+     *
+     * @param anggotaById anggota untuk setiap idAnggota yang pernah meminjam
+     */
+    public Map<Anggota.TipeAnggota, Double> tingkatKeterlambatanPerTipe(Map<String, Anggota> anggotaById,
+                                                                       LocalDate tanggalAcuan) {
+        int acuan = (int) tanggalAcuan.toEpochDay();
+        Anggota.TipeAnggota[] semuaTipe = Anggota.TipeAnggota.values();
+        long[] total = new long[semuaTipe.length];
+        long[] terlambat = new long[semuaTipe.length];
+
+        lock.readLock().lock();
+        try {
+            byte[] tipePerKode = tipePerKodeAnggota(anggotaById);
+            for (int i = 0; i < ukuran; i++) {
+                int kembali = hariKembali[i];
+                int akhir = kembali == BELUM_KEMBALI ? acuan : kembali;
+                int tipe = tipePerKode[kodeAnggota[i]];
+                total[tipe]++;
+                terlambat[tipe] += akhir > hariJatuhTempo[i] ? 1 : 0;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Anggota.TipeAnggota, Double> hasil = new EnumMap<>(Anggota.TipeAnggota.class);
+        for (Anggota.TipeAnggota tipe : semuaTipe) {
+            if (total[tipe.ordinal()] > 0) {
+                hasil.put(tipe, (double) terlambat[tipe.ordinal()] / total[tipe.ordinal()]);
+            }
+        }
+        return hasil;
+    }
+
+    /**
+     * Total denda seluruh baris pada tanggal acuan, sama dengan menjumlahkan
+     * KalkulatorDenda.hitungDenda per peminjaman.
+     */
+    public double totalDenda(Map<String, Anggota> anggotaById, KalkulatorDenda kalkulatorDenda,
+                             LocalDate tanggalAcuan) {
+        int acuan = (int) tanggalAcuan.toEpochDay();
+        Anggota.TipeAnggota[] semuaTipe = Anggota.TipeAnggota.values();
+        double[] tarif = new double[semuaTipe.length];
+        double[] maksimal = new double[semuaTipe.length];
+        for (Anggota.TipeAnggota tipe : semuaTipe) {
+            tarif[tipe.ordinal()] = kalkulatorDenda.getTarifDendaHarian(tipe);
+            maksimal[tipe.ordinal()] = kalkulatorDenda.getDendaMaksimal(tipe);
+        }
+
+        lock.readLock().lock();
+        try {
+            byte[] tipePerKode = tipePerKodeAnggota(anggotaById);
+            double total = 0;
+            for (int i = 0; i < ukuran; i++) {
+                int kembali = hariKembali[i];
+                int akhir = kembali == BELUM_KEMBALI ? acuan : kembali;
+                int hari = Math.max(akhir - hariJatuhTempo[i], 0);
+                int tipe = tipePerKode[kodeAnggota[i]];
+                total += Math.min(tarif[tipe] * hari, maksimal[tipe]);
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Jumlah peminjaman per ISBN, dihitung di kode kamus lalu diterjemahkan sekali per ISBN.
+     */
+    public Map<String, Integer> jumlahPeminjamanPerIsbn() {
+        lock.readLock().lock();
+        try {
+            int[] jumlah = new int[kamusIsbn.ukuran()];
+            for (int i = 0; i < ukuran; i++) {
+                jumlah[kodeIsbn[i]]++;
+            }
+            Map<String, Integer> hasil = new HashMap<>(jumlah.length * 2);
+            for (int kode = 0; kode < jumlah.length; kode++) {
+                hasil.put(kamusIsbn.nilai(kode), jumlah[kode]);
+            }
+            return hasil;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Tipe anggota diselesaikan sekali per kode kamus, bukan sekali per baris
+    private byte[] tipePerKodeAnggota(Map<String, Anggota> anggotaById) {
+        byte[] tipePerKode = new byte[kamusAnggota.ukuran()];
+        for (int kode = 0; kode < tipePerKode.length; kode++) {
+            Anggota anggota = anggotaById.get(kamusAnggota.nilai(kode));
+            if (anggota == null || anggota.getTipeAnggota() == null) {
+                throw new IllegalArgumentException("Anggota tidak dikenal: " + kamusAnggota.nilai(kode));
+            }
+            tipePerKode[kode] = (byte) anggota.getTipeAnggota().ordinal();
+        }
+        return tipePerKode;
+    }
+
+    private void perbesar() {
+        int kapasitas = hariPinjam.length * 2;
+        idPeminjaman = Arrays.copyOf(idPeminjaman, kapasitas);
+        hariPinjam = Arrays.copyOf(hariPinjam, kapasitas);
+        hariJatuhTempo = Arrays.copyOf(hariJatuhTempo, kapasitas);
+        hariKembali = Arrays.copyOf(hariKembali, kapasitas);
+        kodeAnggota = Arrays.copyOf(kodeAnggota, kapasitas);
+        kodeIsbn = Arrays.copyOf(kodeIsbn, kapasitas);
+        dikembalikan = Arrays.copyOf(dikembalikan, kapasitas / 64);
+    }
+
+    /**
+     * Kamus string -> kode int berurutan mulai dari 0.
+     */
+    private static final class Kamus {
+        private final Map<String, Integer> kodeByNilai = new HashMap<>();
+        private final List<String> nilaiByKode = new ArrayList<>();
+
+        int kode(String nilai) {
+            Integer kode = kodeByNilai.get(nilai);
+            if (kode == null) {
+                kode = nilaiByKode.size();
+                kodeByNilai.put(nilai, kode);
+                nilaiByKode.add(nilai);
+            }
+            return kode;
+        }
+
+        String nilai(int kode) {
+            return nilaiByKode.get(kode);
+        }
+
+        int ukuran() {
+            return nilaiByKode.size();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Stream malas di atas penyimpanan yang dijaga kunci: hasil diambil per blok kecil, dan
+ * kunci hanya dipegang selama satu blok diambil, tidak selama stream dikonsumsi.
+ * Konsistensinya lemah: buku yang ditambah, diubah atau dihapus di tengah jalan mungkin
+ * ikut atau tidak ikut, tetapi setiap posisi dibaca paling banyak sekali.
+ */
+final class KursorBlok extends Spliterators.AbstractSpliterator<Buku> {
+
+    static final int UKURAN_BLOK = 256;
+
+    /**
+     * Ambil hasil mulai dari posisi tertentu (nomor dokumen, slot) ke dalam blok.
+     */
+    @FunctionalInterface
+    interface AmbilBlok {
+        /**
+         * @return posisi awal blok berikutnya, atau -1 jika sumber sudah habis
+         */
+        int ambil(int mulai, List<Buku> blok);
+    }
+
+    private final AmbilBlok ambilBlok;
+    private final List<Buku> blok = new ArrayList<>(UKURAN_BLOK);
+    private int indeks;
+    private int posisiBerikutnya;
+
+    private KursorBlok(AmbilBlok ambilBlok) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.ambilBlok = ambilBlok;
+    }
+
+    static Stream<Buku> stream(AmbilBlok ambilBlok) {
+        return StreamSupport.stream(new KursorBlok(ambilBlok), false);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Buku> aksi) {
+        while (indeks == blok.size()) {
+            if (posisiBerikutnya < 0) {
+                return false;
+            }
+            blok.clear();
+            indeks = 0;
+            posisiBerikutnya = ambilBlok.ambil(posisiBerikutnya, blok);
+        }
+        aksi.accept(blok.get(indeks++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Buku> aksi) {
+        while (true) {
+            for (int n = blok.size(); indeks < n; indeks++) {
+                aksi.accept(blok.get(indeks));
+            }
+            if (posisiBerikutnya < 0) {
+                return;
+            }
+            blok.clear();
+            indeks = 0;
+            posisiBerikutnya = ambilBlok.ambil(posisiBerikutnya, blok);
+        }
+    }
+}
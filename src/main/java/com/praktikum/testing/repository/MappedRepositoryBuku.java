@@ -0,0 +1,754 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Implementasi RepositoryBuku yang disimpan di file memory-mapped.
+ *
+ * Direktori penyimpanan berisi tiga file:
+ * - buku.dat   : header + record Buku berukuran tetap (64 byte per record)
+ * - indeks.dat : hash table open addressing ISBN -> nomor slot
+ * - string.dat : heap UTF-8 untuk judul dan pengarang (append-only)
+ *
+ * Membuka file yang sudah ada hanya membaca header dan memetakan segmen, sehingga
+ * waktunya tidak bergantung pada ukuran katalog; halaman data dimuat OS saat diakses.
+ * updateJumlahTersedia dan operasi atomik menulis langsung ke halaman yang dipetakan.
+ * Stream membaca record per blok slot, jadi hasil besar tidak pernah dimaterialisasi
+ * sekaligus; metode yang mengembalikan List membaca dalam satu read lock (snapshot).
+ * Halaman ditelusuri dari peta ISBN -> slot yang terurut di heap. Peta itu baru dibangun
+ * saat halaman pertama diminta, supaya membuka katalog tetap tidak membaca semua record.
+ *
+ * Objek Buku yang dikembalikan adalah salinan. Perubahan lewat setter tidak tersimpan
+ * sampai buku disimpan ulang. Ruang string lama tidak diklaim ulang saat simpan ulang.
+ */
+public class MappedRepositoryBuku implements RepositoryBuku, Closeable {
+
+    private static final int MAGIC_BUKU = 0x424B5531;    // "BKU1"
+    private static final int MAGIC_INDEKS = 0x494B5531;  // "IKU1"
+    private static final int MAGIC_STRING = 0x534B5531;  // "SKU1"
+    private static final int VERSI = 1;
+
+    static final int UKURAN_RECORD = 64;
+    private static final int UKURAN_HEADER = 64;
+    private static final int RECORD_PER_SEGMEN = 1 << 20;                       // 64 MB per segmen
+    private static final long UKURAN_SEGMEN_STRING = 64L * 1024 * 1024;
+    private static final int KAPASITAS_INDEKS_AWAL = 1024;
+    private static final int PANJANG_ISBN_MAKS = 20;
+
+    // Offset header buku.dat
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSI = 4;
+    private static final int H_JUMLAH_SLOT = 8;
+    private static final int H_JUMLAH_AKTIF = 12;
+
+    // Offset header indeks.dat
+    private static final int I_KAPASITAS = 4;
+    private static final int I_TERISI = 8;
+    private static final int I_BERSIH = 12;
+
+    // Offset header string.dat
+    private static final int S_POSISI_TULIS = 8;
+
+    // Offset field di dalam record
+    private static final int R_STATUS = 0;
+    private static final int R_PANJANG_ISBN = 1;
+    private static final int R_ISBN = 2;
+    private static final int R_JUMLAH_TOTAL = 24;
+    private static final int R_JUMLAH_TERSEDIA = 28;
+    private static final int R_HARGA = 32;
+    private static final int R_JUDUL_OFFSET = 40;
+    private static final int R_JUDUL_PANJANG = 48;
+    private static final int R_PENGARANG_PANJANG = 52;
+    private static final int R_PENGARANG_OFFSET = 56;
+
+    private static final byte STATUS_AKTIF = 1;
+    private static final byte STATUS_DIHAPUS = 2;
+
+    private static final int SLOT_KOSONG = 0;
+    private static final int SLOT_NISAN = -1;
+
+    // CAS pada int di dalam MappedByteBuffer (direct buffer, offset selaras 4 byte)
+    private static final VarHandle INT_VIEW =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final FileChannel kanalBuku;
+    private final FileChannel kanalIndeks;
+    private final FileChannel kanalString;
+
+    private final MappedByteBuffer header;
+    private MappedByteBuffer[] segmenRecord = new MappedByteBuffer[0];
+    private MappedByteBuffer indeks;
+    private int kapasitasIndeks;
+    private MappedByteBuffer[] segmenString = new MappedByteBuffer[0];
+    private final MappedByteBuffer headerString;
+    // null sampai halaman pertama diminta; isinya hanya diubah di bawah write lock
+    private volatile TreeMap<String, Integer> slotUrutIsbn;
+
+    public MappedRepositoryBuku(Path direktori) throws IOException {
+        Files.createDirectories(direktori);
+        kanalBuku = buka(direktori.resolve("buku.dat"));
+        kanalIndeks = buka(direktori.resolve("indeks.dat"));
+        kanalString = buka(direktori.resolve("string.dat"));
+
+        boolean baru = kanalBuku.size() == 0;
+        header = kanalBuku.map(FileChannel.MapMode.READ_WRITE, 0, UKURAN_HEADER);
+        headerString = petakanSegmenString(0);
+        if (baru) {
+            header.putInt(H_MAGIC, MAGIC_BUKU);
+            header.putInt(H_VERSI, VERSI);
+            header.putInt(H_JUMLAH_SLOT, 0);
+            header.putInt(H_JUMLAH_AKTIF, 0);
+            headerString.putInt(0, MAGIC_STRING);
+            headerString.putLong(S_POSISI_TULIS, UKURAN_HEADER);
+            petakanIndeks(KAPASITAS_INDEKS_AWAL);
+            indeks.putInt(0, MAGIC_INDEKS);
+            indeks.putInt(I_KAPASITAS, KAPASITAS_INDEKS_AWAL);
+            indeks.putInt(I_TERISI, 0);
+            indeks.putInt(I_BERSIH, 1);
+        } else {
+            if (header.getInt(H_MAGIC) != MAGIC_BUKU || header.getInt(H_VERSI) != VERSI
+                    || headerString.getInt(0) != MAGIC_STRING) {
+                throw new IOException("Format file katalog tidak dikenal: " + direktori);
+            }
+            int jumlahSlot = header.getInt(H_JUMLAH_SLOT);
+            pastikanSegmenRecord(jumlahSlot);
+            pastikanSegmenString(headerString.getLong(S_POSISI_TULIS));
+
+            MappedByteBuffer headerIndeks = kanalIndeks.map(FileChannel.MapMode.READ_WRITE, 0, UKURAN_HEADER);
+            boolean indeksValid = headerIndeks.getInt(0) == MAGIC_INDEKS && headerIndeks.getInt(I_BERSIH) == 1;
+            if (indeksValid) {
+                petakanIndeks(headerIndeks.getInt(I_KAPASITAS));
+            } else {
+                // Indeks tertinggal saat proses mati di tengah rebuild: bangun ulang dari record
+                bangunUlangIndeks(Math.max(KAPASITAS_INDEKS_AWAL, Integer.highestOneBit(jumlahSlot) * 4));
+            }
+        }
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (buku == null || !isbnBisaDisimpan(buku.getIsbn())) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            int slot = cariSlot(buku.getIsbn());
+            if (slot < 0) {
+                slot = header.getInt(H_JUMLAH_SLOT);
+                pastikanSegmenRecord(slot + 1);
+                header.putInt(H_JUMLAH_SLOT, slot + 1);
+                header.putInt(H_JUMLAH_AKTIF, header.getInt(H_JUMLAH_AKTIF) + 1);
+                sisipkanKeIndeks(buku.getIsbn(), slot);
+                if (slotUrutIsbn != null) {
+                    slotUrutIsbn.put(buku.getIsbn(), slot);
+                }
+            }
+            tulisRecord(slot, buku);
+            return true;
+        } catch (IOException e) {
+            throw new IllegalStateException("Gagal menulis katalog", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        if (isbn == null) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            int slot = cariSlot(isbn);
+            return slot < 0 ? Optional.empty() : Optional.of(bacaRecord(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return kumpulkan(judul, true);
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return kumpulkan(pengarang, false);
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        return stream(judul, true);
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        return stream(pengarang, false);
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            int posisi = cariPosisiIndeks(isbn);
+            if (posisi < 0) {
+                return false;
+            }
+            int slot = indeks.getInt(offsetIndeks(posisi)) - 1;
+            segmen(slot).put(offsetRecord(slot) + R_STATUS, STATUS_DIHAPUS);
+            indeks.putInt(offsetIndeks(posisi), SLOT_NISAN);
+            header.putInt(H_JUMLAH_AKTIF, header.getInt(H_JUMLAH_AKTIF) - 1);
+            if (slotUrutIsbn != null) {
+                slotUrutIsbn.remove(isbn);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        if (isbn == null || jumlahTersediaBaru < 0) {
+            return false;
+        }
+
+        lock.readLock().lock();
+        try {
+            int slot = cariSlot(isbn);
+            if (slot < 0) {
+                return false;
+            }
+            MappedByteBuffer segmen = segmen(slot);
+            int offset = offsetRecord(slot);
+            if (jumlahTersediaBaru > segmen.getInt(offset + R_JUMLAH_TOTAL)) {
+                return false;
+            }
+            INT_VIEW.setVolatile(segmen, offset + R_JUMLAH_TERSEDIA, jumlahTersediaBaru);
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int kurangiJumlahTersedia(String isbn) {
+        if (isbn == null) {
+            return -1;
+        }
+
+        lock.readLock().lock();
+        try {
+            int slot = cariSlot(isbn);
+            if (slot < 0) {
+                return -1;
+            }
+            MappedByteBuffer segmen = segmen(slot);
+            int offset = offsetRecord(slot) + R_JUMLAH_TERSEDIA;
+            while (true) {
+                int sekarang = (int) INT_VIEW.getVolatile(segmen, offset);
+                if (sekarang <= 0) {
+                    return -1;
+                }
+                if (INT_VIEW.compareAndSet(segmen, offset, sekarang, sekarang - 1)) {
+                    return sekarang - 1;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int tambahJumlahTersedia(String isbn) {
+        if (isbn == null) {
+            return -1;
+        }
+
+        lock.readLock().lock();
+        try {
+            int slot = cariSlot(isbn);
+            if (slot < 0) {
+                return -1;
+            }
+            MappedByteBuffer segmen = segmen(slot);
+            int offsetRecord = offsetRecord(slot);
+            int total = segmen.getInt(offsetRecord + R_JUMLAH_TOTAL);
+            int offset = offsetRecord + R_JUMLAH_TERSEDIA;
+            while (true) {
+                int sekarang = (int) INT_VIEW.getVolatile(segmen, offset);
+                if (sekarang >= total) {
+                    return -1;
+                }
+                if (INT_VIEW.compareAndSet(segmen, offset, sekarang, sekarang + 1)) {
+                    return sekarang + 1;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        List<Buku> hasil = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            ambilBlokTanpaKunci(null, true, 0, hasil, Integer.MAX_VALUE);
+            return hasil;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return KursorBlok.stream((mulai, blok) -> ambilBlok(null, true, mulai, blok));
+    }
+
+    @Override
+    public HalamanBuku cariSemua(String setelahIsbn, int batas) {
+        return halaman(null, true, setelahIsbn, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByJudul(String judul, String setelahIsbn, int batas) {
+        if (judul == null || judul.trim().isEmpty()) {
+            return HalamanBuku.kosong();
+        }
+        return halaman(judul.toLowerCase(Locale.ROOT).trim(), true, setelahIsbn, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByPengarang(String pengarang, String setelahIsbn, int batas) {
+        if (pengarang == null || pengarang.trim().isEmpty()) {
+            return HalamanBuku.kosong();
+        }
+        return halaman(pengarang.toLowerCase(Locale.ROOT).trim(), false, setelahIsbn, batas);
+    }
+
+    public int ukuran() {
+        lock.readLock().lock();
+        try {
+            return header.getInt(H_JUMLAH_AKTIF);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Paksa semua halaman yang berubah ditulis ke disk.
+     */
+    public void flush() {
+        lock.writeLock().lock();
+        try {
+            header.force();
+            indeks.force();
+            headerString.force();
+            for (MappedByteBuffer segmen : segmenRecord) {
+                segmen.force();
+            }
+            for (MappedByteBuffer segmen : segmenString) {
+                segmen.force();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        kanalBuku.close();
+        kanalIndeks.close();
+        kanalString.close();
+    }
+
+    // ---------------------------------------------------------------- pencarian
+
+    // Telusuri slot menurut ISBN mulai dari kursor; judul, pengarang dan record lengkap hanya
+    // didekode sampai buku cocok ke batas + 1 ditemukan
+    private HalamanBuku halaman(String kueriNormal, boolean byJudul, String setelahIsbn, int batas) {
+        if (slotUrutIsbn == null) {
+            bangunUrutIsbn();
+        }
+        lock.readLock().lock();
+        try {
+            NavigableMap<String, Integer> urut = setelahIsbn == null
+                    ? slotUrutIsbn : slotUrutIsbn.tailMap(setelahIsbn, false);
+            return HalamanBuku.dariUrut(urut.values(), slot -> {
+                boolean cocok = kueriNormal == null || teksCocok(segmen(slot), offsetRecord(slot), kueriNormal, byJudul);
+                return cocok ? bacaRecord(slot) : null;
+            }, batas);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void bangunUrutIsbn() {
+        lock.writeLock().lock();
+        try {
+            if (slotUrutIsbn != null) {
+                return;
+            }
+            TreeMap<String, Integer> urut = new TreeMap<>();
+            int jumlahSlot = header.getInt(H_JUMLAH_SLOT);
+            for (int slot = 0; slot < jumlahSlot; slot++) {
+                MappedByteBuffer segmen = segmen(slot);
+                int offset = offsetRecord(slot);
+                if (segmen.get(offset + R_STATUS) == STATUS_AKTIF) {
+                    urut.put(bacaIsbn(segmen, offset), slot);
+                }
+            }
+            slotUrutIsbn = urut;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Buku> kumpulkan(String kueri, boolean byJudul) {
+        List<Buku> hasil = new ArrayList<>();
+        if (kueri == null || kueri.trim().isEmpty()) {
+            return hasil;
+        }
+        String kueriNormal = kueri.toLowerCase(Locale.ROOT).trim();
+
+        lock.readLock().lock();
+        try {
+            ambilBlokTanpaKunci(kueriNormal, byJudul, 0, hasil, Integer.MAX_VALUE);
+            return hasil;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Stream<Buku> stream(String kueri, boolean byJudul) {
+        if (kueri == null || kueri.trim().isEmpty()) {
+            return Stream.empty();
+        }
+        String kueriNormal = kueri.toLowerCase(Locale.ROOT).trim();
+        return KursorBlok.stream((mulai, blok) -> ambilBlok(kueriNormal, byJudul, mulai, blok));
+    }
+
+    private int ambilBlok(String kueriNormal, boolean byJudul, int mulai, List<Buku> blok) {
+        lock.readLock().lock();
+        try {
+            return ambilBlokTanpaKunci(kueriNormal, byJudul, mulai, blok, KursorBlok.UKURAN_BLOK);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Slot hanya bertambah (hapus cuma menandai status), jadi blok berikutnya cukup mulai dari
+    // slot tempat blok ini berhenti; kueriNormal null berarti semua buku aktif
+    private int ambilBlokTanpaKunci(String kueriNormal, boolean byJudul, int mulai, List<Buku> blok, int maks) {
+        int jumlahSlot = header.getInt(H_JUMLAH_SLOT);
+        int slot = mulai;
+        for (; slot < jumlahSlot && blok.size() < maks; slot++) {
+            MappedByteBuffer segmen = segmen(slot);
+            int offset = offsetRecord(slot);
+            if (segmen.get(offset + R_STATUS) != STATUS_AKTIF) {
+                continue;
+            }
+            if (kueriNormal == null || teksCocok(segmen, offset, kueriNormal, byJudul)) {
+                blok.add(bacaRecord(slot));
+            }
+        }
+        return slot < jumlahSlot ? slot : -1;
+    }
+
+    private boolean teksCocok(MappedByteBuffer segmen, int offset, String kueriNormal, boolean byJudul) {
+        String teks = byJudul
+                ? bacaString(segmen.getLong(offset + R_JUDUL_OFFSET), segmen.getInt(offset + R_JUDUL_PANJANG))
+                : bacaString(segmen.getLong(offset + R_PENGARANG_OFFSET), segmen.getInt(offset + R_PENGARANG_PANJANG));
+        return teks.toLowerCase(Locale.ROOT).contains(kueriNormal);
+    }
+
+    // ---------------------------------------------------------------- record
+
+    private void tulisRecord(int slot, Buku buku) throws IOException {
+        byte[] judul = bytes(buku.getJudul());
+        byte[] pengarang = bytes(buku.getPengarang());
+        long offsetJudul = tambahString(judul);
+        long offsetPengarang = tambahString(pengarang);
+
+        MappedByteBuffer segmen = segmen(slot);
+        int offset = offsetRecord(slot);
+        String isbn = buku.getIsbn();
+        segmen.put(offset + R_PANJANG_ISBN, (byte) isbn.length());
+        for (int i = 0; i < isbn.length(); i++) {
+            segmen.put(offset + R_ISBN + i, (byte) isbn.charAt(i));
+        }
+        segmen.putInt(offset + R_JUMLAH_TOTAL, buku.getJumlahTotal());
+        segmen.putInt(offset + R_JUMLAH_TERSEDIA, buku.getJumlahTersedia());
+        segmen.putDouble(offset + R_HARGA, buku.getHarga());
+        segmen.putLong(offset + R_JUDUL_OFFSET, offsetJudul);
+        segmen.putInt(offset + R_JUDUL_PANJANG, judul.length);
+        segmen.putInt(offset + R_PENGARANG_PANJANG, pengarang.length);
+        segmen.putLong(offset + R_PENGARANG_OFFSET, offsetPengarang);
+        // Status ditulis terakhir supaya record tidak pernah terlihat setengah jadi
+        segmen.put(offset + R_STATUS, STATUS_AKTIF);
+    }
+
+    private Buku bacaRecord(int slot) {
+        MappedByteBuffer segmen = segmen(slot);
+        int offset = offsetRecord(slot);
+        Buku buku = new Buku();
+        buku.setIsbn(bacaIsbn(segmen, offset));
+        buku.setJudul(bacaString(segmen.getLong(offset + R_JUDUL_OFFSET), segmen.getInt(offset + R_JUDUL_PANJANG)));
+        buku.setPengarang(bacaString(segmen.getLong(offset + R_PENGARANG_OFFSET), segmen.getInt(offset + R_PENGARANG_PANJANG)));
+        buku.setJumlahTotal(segmen.getInt(offset + R_JUMLAH_TOTAL));
+        buku.setJumlahTersedia((int) INT_VIEW.getVolatile(segmen, offset + R_JUMLAH_TERSEDIA));
+        buku.setHarga(segmen.getDouble(offset + R_HARGA));
+        return buku;
+    }
+
+    private static String bacaIsbn(MappedByteBuffer segmen, int offset) {
+        int panjang = segmen.get(offset + R_PANJANG_ISBN);
+        char[] isbn = new char[panjang];
+        for (int i = 0; i < panjang; i++) {
+            isbn[i] = (char) segmen.get(offset + R_ISBN + i);
+        }
+        return new String(isbn);
+    }
+
+    private static boolean isbnSama(MappedByteBuffer segmen, int offset, String isbn) {
+        if (segmen.get(offset + R_PANJANG_ISBN) != isbn.length()) {
+            return false;
+        }
+        for (int i = 0; i < isbn.length(); i++) {
+            if (segmen.get(offset + R_ISBN + i) != (byte) isbn.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isbnBisaDisimpan(String isbn) {
+        if (isbn == null || isbn.isEmpty() || isbn.length() > PANJANG_ISBN_MAKS) {
+            return false;
+        }
+        for (int i = 0; i < isbn.length(); i++) {
+            if (isbn.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private MappedByteBuffer segmen(int slot) {
+        return segmenRecord[slot / RECORD_PER_SEGMEN];
+    }
+
+    private static int offsetRecord(int slot) {
+        return (slot % RECORD_PER_SEGMEN) * UKURAN_RECORD;
+    }
+
+    private void pastikanSegmenRecord(int jumlahSlot) throws IOException {
+        int dibutuhkan = (jumlahSlot + RECORD_PER_SEGMEN - 1) / RECORD_PER_SEGMEN;
+        if (dibutuhkan <= segmenRecord.length) {
+            return;
+        }
+        MappedByteBuffer[] baru = Arrays.copyOf(segmenRecord, dibutuhkan);
+        long ukuranSegmen = (long) RECORD_PER_SEGMEN * UKURAN_RECORD;
+        for (int s = segmenRecord.length; s < dibutuhkan; s++) {
+            baru[s] = kanalBuku.map(FileChannel.MapMode.READ_WRITE, UKURAN_HEADER + s * ukuranSegmen, ukuranSegmen);
+        }
+        segmenRecord = baru;
+    }
+
+    // ---------------------------------------------------------------- string heap
+
+    private long tambahString(byte[] data) throws IOException {
+        if (data.length > UKURAN_SEGMEN_STRING - UKURAN_HEADER) {
+            throw new IllegalArgumentException("String terlalu panjang untuk heap: " + data.length + " byte");
+        }
+        long posisi = headerString.getLong(S_POSISI_TULIS);
+        // String tidak boleh melintasi batas segmen
+        long sisaSegmen = UKURAN_SEGMEN_STRING - (posisi % UKURAN_SEGMEN_STRING);
+        if (data.length > sisaSegmen) {
+            posisi += sisaSegmen;
+        }
+        pastikanSegmenString(posisi + data.length);
+        MappedByteBuffer segmen = segmenString[(int) (posisi / UKURAN_SEGMEN_STRING)];
+        int offset = (int) (posisi % UKURAN_SEGMEN_STRING);
+        for (int i = 0; i < data.length; i++) {
+            segmen.put(offset + i, data[i]);
+        }
+        headerString.putLong(S_POSISI_TULIS, posisi + data.length);
+        return posisi;
+    }
+
+    private String bacaString(long posisi, int panjang) {
+        MappedByteBuffer segmen = segmenString[(int) (posisi / UKURAN_SEGMEN_STRING)];
+        int offset = (int) (posisi % UKURAN_SEGMEN_STRING);
+        byte[] data = new byte[panjang];
+        for (int i = 0; i < panjang; i++) {
+            data[i] = segmen.get(offset + i);
+        }
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    private MappedByteBuffer petakanSegmenString(int nomor) throws IOException {
+        return kanalString.map(FileChannel.MapMode.READ_WRITE, nomor * UKURAN_SEGMEN_STRING, UKURAN_SEGMEN_STRING);
+    }
+
+    private void pastikanSegmenString(long posisiAkhir) throws IOException {
+        int dibutuhkan = (int) ((posisiAkhir + UKURAN_SEGMEN_STRING - 1) / UKURAN_SEGMEN_STRING);
+        if (dibutuhkan <= segmenString.length) {
+            return;
+        }
+        MappedByteBuffer[] baru = Arrays.copyOf(segmenString, dibutuhkan);
+        for (int s = segmenString.length; s < dibutuhkan; s++) {
+            baru[s] = s == 0 ? headerString : petakanSegmenString(s);
+        }
+        segmenString = baru;
+    }
+
+    // ---------------------------------------------------------------- indeks
+
+    private int cariSlot(String isbn) {
+        int posisi = cariPosisiIndeks(isbn);
+        return posisi < 0 ? -1 : indeks.getInt(offsetIndeks(posisi)) - 1;
+    }
+
+    private int cariPosisiIndeks(String isbn) {
+        int mask = kapasitasIndeks - 1;
+        int posisi = hash(isbn) & mask;
+        for (int langkah = 0; langkah < kapasitasIndeks; langkah++) {
+            int isi = indeks.getInt(offsetIndeks(posisi));
+            if (isi == SLOT_KOSONG) {
+                return -1;
+            }
+            if (isi != SLOT_NISAN) {
+                int slot = isi - 1;
+                if (isbnSama(segmen(slot), offsetRecord(slot), isbn)) {
+                    return posisi;
+                }
+            }
+            posisi = (posisi + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void sisipkanKeIndeks(String isbn, int slot) throws IOException {
+        int terisi = indeks.getInt(I_TERISI);
+        if ((terisi + 1) * 2 > kapasitasIndeks) {
+            // Hitung ulang dari jumlah aktif: nisan ikut dibersihkan saat rebuild
+            int aktif = header.getInt(H_JUMLAH_AKTIF);
+            int kapasitasBaru = kapasitasIndeks;
+            while (aktif * 2 > kapasitasBaru / 2) {
+                kapasitasBaru *= 2;
+            }
+            bangunUlangIndeks(kapasitasBaru);
+            terisi = indeks.getInt(I_TERISI);
+        }
+        int mask = kapasitasIndeks - 1;
+        int posisi = hash(isbn) & mask;
+        while (true) {
+            int isi = indeks.getInt(offsetIndeks(posisi));
+            if (isi == SLOT_KOSONG || isi == SLOT_NISAN) {
+                indeks.putInt(offsetIndeks(posisi), slot + 1);
+                if (isi == SLOT_KOSONG) {
+                    indeks.putInt(I_TERISI, terisi + 1);
+                }
+                return;
+            }
+            posisi = (posisi + 1) & mask;
+        }
+    }
+
+    /**
+     * Bangun ulang indeks dari record aktif. Flag "bersih" di header indeks diturunkan
+     * selama rebuild, sehingga rebuild yang terputus terdeteksi saat file dibuka lagi.
+     */
+    private void bangunUlangIndeks(int kapasitasBaru) throws IOException {
+        int kapasitasLama = kapasitasIndeks;
+        if (indeks != null) {
+            indeks.putInt(I_BERSIH, 0);
+            indeks.force();
+        }
+        petakanIndeks(Math.max(kapasitasBaru, kapasitasLama));
+        indeks.putInt(0, MAGIC_INDEKS);
+        indeks.putInt(I_BERSIH, 0);
+        for (int i = 0; i < kapasitasIndeks; i++) {
+            indeks.putInt(offsetIndeks(i), SLOT_KOSONG);
+        }
+
+        int mask = kapasitasIndeks - 1;
+        int terisi = 0;
+        int jumlahSlot = header.getInt(H_JUMLAH_SLOT);
+        for (int slot = 0; slot < jumlahSlot; slot++) {
+            MappedByteBuffer segmen = segmen(slot);
+            int offset = offsetRecord(slot);
+            if (segmen.get(offset + R_STATUS) != STATUS_AKTIF) {
+                continue;
+            }
+            int posisi = hash(bacaIsbn(segmen, offset)) & mask;
+            while (indeks.getInt(offsetIndeks(posisi)) != SLOT_KOSONG) {
+                posisi = (posisi + 1) & mask;
+            }
+            indeks.putInt(offsetIndeks(posisi), slot + 1);
+            terisi++;
+        }
+        indeks.putInt(I_KAPASITAS, kapasitasIndeks);
+        indeks.putInt(I_TERISI, terisi);
+        indeks.putInt(I_BERSIH, 1);
+    }
+
+    private void petakanIndeks(int kapasitas) throws IOException {
+        kapasitasIndeks = kapasitas;
+        indeks = kanalIndeks.map(FileChannel.MapMode.READ_WRITE, 0, UKURAN_HEADER + (long) kapasitas * Integer.BYTES);
+    }
+
+    private static int offsetIndeks(int posisi) {
+        return UKURAN_HEADER + posisi * Integer.BYTES;
+    }
+
+    static int hash(String isbn) {
+        // FNV-1a, lalu sebar bit atas ke bawah karena tabel memakai mask
+        int h = 0x811C9DC5;
+        for (int i = 0; i < isbn.length(); i++) {
+            h ^= isbn.charAt(i);
+            h *= 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static byte[] bytes(String teks) {
+        return teks == null ? new byte[0] : teks.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static FileChannel buka(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+}
@@ -0,0 +1,121 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.service.PemberitahuKetersediaan;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Dekorator RepositoryBuku yang mengabari PemberitahuKetersediaan setiap kali stok
+ * bertambah: simpan/simpanSemua, updateJumlahTersedia dan tambahJumlahTersedia yang berhasil.
+ * Dipakai agar penyesuaian stok yang tidak lewat ServicePerpustakaan (impor, koreksi admin)
+ * tetap sampai ke pelanggan. ServicePerpustakaan sendiri juga mengabari saat kembalikanBuku;
+ * kabar kedua untuk perubahan yang sama hanya berupa satu pencarian map yang kosong.
+ */
+public class NotifyingRepositoryBuku implements RepositoryBuku {
+
+    private final RepositoryBuku delegate;
+    private final PemberitahuKetersediaan pemberitahu;
+
+    public NotifyingRepositoryBuku(RepositoryBuku delegate, PemberitahuKetersediaan pemberitahu) {
+        this.delegate = delegate;
+        this.pemberitahu = pemberitahu;
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (!delegate.simpan(buku)) {
+            return false;
+        }
+        pemberitahu.kabari(buku.getIsbn(), buku.getJumlahTersedia());
+        return true;
+    }
+
+    @Override
+    public BitSet simpanSemua(List<Buku> daftarBuku) {
+        BitSet disimpan = delegate.simpanSemua(daftarBuku);
+        for (int i = disimpan.nextSetBit(0); i >= 0; i = disimpan.nextSetBit(i + 1)) {
+            pemberitahu.kabari(daftarBuku.get(i).getIsbn(), daftarBuku.get(i).getJumlahTersedia());
+        }
+        return disimpan;
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        return delegate.cariByIsbn(isbn);
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return delegate.cariByJudul(judul);
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return delegate.cariByPengarang(pengarang);
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        return delegate.hapus(isbn);
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        if (!delegate.updateJumlahTersedia(isbn, jumlahTersediaBaru)) {
+            return false;
+        }
+        pemberitahu.kabari(isbn, jumlahTersediaBaru);
+        return true;
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        return delegate.cariSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return delegate.streamSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        return delegate.streamByJudul(judul);
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        return delegate.streamByPengarang(pengarang);
+    }
+
+    @Override
+    public HalamanBuku cariSemua(String setelahIsbn, int batas) {
+        return delegate.cariSemua(setelahIsbn, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByJudul(String judul, String setelahIsbn, int batas) {
+        return delegate.cariByJudul(judul, setelahIsbn, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByPengarang(String pengarang, String setelahIsbn, int batas) {
+        return delegate.cariByPengarang(pengarang, setelahIsbn, batas);
+    }
+
+    @Override
+    public int kurangiJumlahTersedia(String isbn) {
+        return delegate.kurangiJumlahTersedia(isbn);
+    }
+
+    @Override
+    public int tambahJumlahTersedia(String isbn) {
+        int jumlahBaru = delegate.tambahJumlahTersedia(isbn);
+        pemberitahu.kabari(isbn, jumlahBaru);
+        return jumlahBaru;
+    }
+}
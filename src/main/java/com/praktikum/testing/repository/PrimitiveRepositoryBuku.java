@@ -0,0 +1,286 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.util.KodeIsbn;
+import com.praktikum.testing.util.PetaLong;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Implementasi RepositoryBuku in-memory dengan kunci ISBN primitif.
+ *
+ * ISBN di-encode ke long lewat KodeIsbn dan disimpan di PetaLong, sehingga pencarian by
+ * ISBN tidak melewati node map, tidak memakai String sebagai kunci, dan tidak menghitung
+ * hash String.
+ * Karena kunci adalah ISBN yang dinormalisasi, "978-0-306-40615-7" dan "9780306406157"
+ * menunjuk buku yang sama; ISBN yang tidak valid ditolak saat simpan.
+ *
+ * Pembacaan by ISBN memakai optimistic read dari StampedLock dan hanya jatuh ke read lock
+ * jika bertabrakan dengan penulis. Jumlah tersedia diubah dengan CAS pada Buku.
+ *
+ * Halaman butuh urutan ISBN yang tidak dimiliki PetaLong, jadi buku juga disimpan di
+ * TreeMap menurut ISBN aslinya; halaman cukup menelusuri tailMap dari kursor sampai buku
+ * cocok ke batas + 1. Metode yang mengembalikan List dijalankan dalam satu read lock, jadi
+ * hasilnya snapshot.
+ */
+public class PrimitiveRepositoryBuku implements RepositoryBuku {
+
+    private final StampedLock lock = new StampedLock();
+    private final PetaLong<Buku> bukuByKode = new PetaLong<>();
+    private final TreeMap<String, Buku> bukuUrutIsbn = new TreeMap<>();
+
+    @Override
+    public boolean simpan(Buku buku) {
+        long kode = buku == null ? KodeIsbn.TIDAK_VALID : KodeIsbn.enkode(buku.getIsbn());
+        if (kode == KodeIsbn.TIDAK_VALID) {
+            return false;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            taruh(kode, buku);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public BitSet simpanSemua(List<Buku> daftarBuku) {
+        BitSet disimpan = new BitSet(daftarBuku.size());
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < daftarBuku.size(); i++) {
+                Buku buku = daftarBuku.get(i);
+                long kode = buku == null ? KodeIsbn.TIDAK_VALID : KodeIsbn.enkode(buku.getIsbn());
+                if (kode != KodeIsbn.TIDAK_VALID && !bukuByKode.containsKey(kode)) {
+                    taruh(kode, buku);
+                    disimpan.set(i);
+                }
+            }
+            return disimpan;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        return Optional.ofNullable(cari(isbn));
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        Predicate<Buku> cocok = cocokTeks(judul, true);
+        return cocok == null ? new ArrayList<>() : kumpulkan(cocok);
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        Predicate<Buku> cocok = cocokTeks(pengarang, false);
+        return cocok == null ? new ArrayList<>() : kumpulkan(cocok);
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return stream(buku -> true);
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        Predicate<Buku> cocok = cocokTeks(judul, true);
+        return cocok == null ? Stream.empty() : stream(cocok);
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        Predicate<Buku> cocok = cocokTeks(pengarang, false);
+        return cocok == null ? Stream.empty() : stream(cocok);
+    }
+
+    @Override
+    public HalamanBuku cariSemua(String setelahIsbn, int batas) {
+        return halaman(buku -> true, setelahIsbn, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByJudul(String judul, String setelahIsbn, int batas) {
+        Predicate<Buku> cocok = cocokTeks(judul, true);
+        return cocok == null ? HalamanBuku.kosong() : halaman(cocok, setelahIsbn, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByPengarang(String pengarang, String setelahIsbn, int batas) {
+        Predicate<Buku> cocok = cocokTeks(pengarang, false);
+        return cocok == null ? HalamanBuku.kosong() : halaman(cocok, setelahIsbn, batas);
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        long kode = KodeIsbn.enkode(isbn);
+        if (kode == KodeIsbn.TIDAK_VALID) {
+            return false;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            Buku lama = bukuByKode.remove(kode);
+            if (lama == null) {
+                return false;
+            }
+            bukuUrutIsbn.remove(lama.getIsbn());
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        if (jumlahTersediaBaru < 0) {
+            return false;
+        }
+        Buku buku = cari(isbn);
+        if (buku == null || jumlahTersediaBaru > buku.getJumlahTotal()) {
+            return false;
+        }
+        buku.setJumlahTersedia(jumlahTersediaBaru);
+        return true;
+    }
+
+    @Override
+    public int kurangiJumlahTersedia(String isbn) {
+        Buku buku = cari(isbn);
+        return buku == null ? -1 : buku.kurangiTersediaJikaAda();
+    }
+
+    @Override
+    public int tambahJumlahTersedia(String isbn) {
+        Buku buku = cari(isbn);
+        return buku == null ? -1 : buku.tambahTersediaJikaDibawahTotal();
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        long stamp = lock.readLock();
+        try {
+            return bukuByKode.values();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int ukuran() {
+        long stamp = lock.readLock();
+        try {
+            return bukuByKode.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // ISBN berbeda tulisan bisa menunjuk kode yang sama, jadi entri urut milik buku lama dibuang
+    private void taruh(long kode, Buku buku) {
+        Buku lama = bukuByKode.put(kode, buku);
+        if (lama != null) {
+            bukuUrutIsbn.remove(lama.getIsbn());
+        }
+        bukuUrutIsbn.put(buku.getIsbn(), buku);
+    }
+
+    private Buku cari(String isbn) {
+        long kode = KodeIsbn.enkode(isbn);
+        if (kode == KodeIsbn.TIDAK_VALID) {
+            return null;
+        }
+
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Buku buku = bukuByKode.get(kode);
+            if (lock.validate(stamp)) {
+                return buku;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return bukuByKode.get(kode);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private List<Buku> kumpulkan(Predicate<Buku> cocok) {
+        List<Buku> hasil = new ArrayList<>();
+        List<Buku> kandidat = new ArrayList<>(KursorBlok.UKURAN_BLOK);
+        long stamp = lock.readLock();
+        try {
+            ambilBlok(cocok, 0, hasil, kandidat, Integer.MAX_VALUE);
+            return hasil;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Posisi slot PetaLong bisa bergeser saat ada penghapusan atau pembesaran tabel, jadi
+    // stream per blok di sini berkonsistensi lemah: buku yang tidak berubah pun bisa terlewat
+    // atau terulang jika ada penulis di tengah jalan.
+    private Stream<Buku> stream(Predicate<Buku> cocok) {
+        List<Buku> kandidat = new ArrayList<>(KursorBlok.UKURAN_BLOK);
+        return KursorBlok.stream((mulai, blok) -> {
+            long stamp = lock.readLock();
+            try {
+                return ambilBlok(cocok, mulai, blok, kandidat, KursorBlok.UKURAN_BLOK);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        });
+    }
+
+    // Pemanggil memegang read lock
+    private int ambilBlok(Predicate<Buku> cocok, int mulai, List<Buku> blok, List<Buku> kandidat, int maks) {
+        int berikutnya = mulai;
+        while (berikutnya >= 0 && blok.size() < maks) {
+            kandidat.clear();
+            berikutnya = bukuByKode.kumpulkanNilai(berikutnya,
+                    Math.min(KursorBlok.UKURAN_BLOK, maks - blok.size()), kandidat);
+            for (Buku buku : kandidat) {
+                if (cocok.test(buku)) {
+                    blok.add(buku);
+                }
+            }
+        }
+        return berikutnya;
+    }
+
+    private HalamanBuku halaman(Predicate<Buku> cocok, String setelahIsbn, int batas) {
+        long stamp = lock.readLock();
+        try {
+            NavigableMap<String, Buku> urut = setelahIsbn == null
+                    ? bukuUrutIsbn : bukuUrutIsbn.tailMap(setelahIsbn, false);
+            return HalamanBuku.dariUrut(urut.values(), buku -> cocok.test(buku) ? buku : null, batas);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // null jika kueri kosong (hasilnya selalu kosong)
+    private static Predicate<Buku> cocokTeks(String kueri, boolean judul) {
+        if (kueri == null || kueri.trim().isEmpty()) {
+            return null;
+        }
+        String dicari = kueri.toLowerCase(Locale.ROOT).trim();
+        return buku -> {
+            String teks = judul ? buku.getJudul() : buku.getPengarang();
+            return teks != null && teks.toLowerCase(Locale.ROOT).contains(dicari);
+        };
+    }
+}
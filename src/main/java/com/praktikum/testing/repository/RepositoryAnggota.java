@@ -0,0 +1,31 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Anggota;
+import java.util.List;
+import java.util.Optional;
+
+public interface RepositoryAnggota {
+    /**
+     * Simpan anggota baru atau ganti data anggota dengan id yang sama.
+     * Gagal jika anggota tidak valid atau email/telepon sudah dipakai anggota lain.
+     * Perubahan email/telepon lewat setter baru terlihat di indeks setelah simpan lagi.
+     */
+    boolean simpan(Anggota anggota);
+
+    /**
+     * Seperti simpan, tetapi gagal jika id sudah terdaftar. Pemeriksaan dan penyimpanan
+     * terjadi secara atomik, jadi dua pendaftaran bersamaan dengan id sama hanya satu yang berhasil.
+     */
+    boolean simpanJikaBelumAda(Anggota anggota);
+
+    Optional<Anggota> cariById(String idAnggota);
+
+    /** Cari dengan email yang dinormalisasi (tidak peka huruf besar/kecil). */
+    Optional<Anggota> cariByEmail(String email);
+
+    /** Cari dengan telepon yang dinormalisasi (spasi/tanda hubung dibuang, +62 sama dengan 0). */
+    Optional<Anggota> cariByTelepon(String telepon);
+
+    boolean hapus(String idAnggota);
+    List<Anggota> cariSemua();
+}
@@ -1,8 +1,10 @@
 package com.praktikum.testing.repository;
 
 import com.praktikum.testing.model.Buku;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RepositoryBuku {
     boolean simpan(Buku buku);
@@ -12,5 +14,79 @@ public interface RepositoryBuku {
     boolean hapus(String isbn);
     boolean updateJumlahTersedia(String isbn, int jumlahtersediaBaru);
     List<Buku> cariSemua();
-}
 
+    /**
+     * Kurangi jumlah tersedia satu secara atomik jika masih ada salinan.
+     * Menggantikan pola cariByIsbn lalu updateJumlahTersedia yang bisa kehilangan update.
+     *
+     * @return jumlah tersedia yang baru, atau -1 jika buku tidak ada atau sudah habis
+     */
+    int kurangiJumlahTersedia(String isbn);
+
+    /**
+     * Tambah jumlah tersedia satu secara atomik jika masih di bawah jumlah total.
+     *
+     * @return jumlah tersedia yang baru, atau -1 jika buku tidak ada atau semua salinan sudah tersedia
+     */
+    int tambahJumlahTersedia(String isbn);
+
+    /**
+     * Semua buku sebagai Stream malas. Implementasi default membungkus cariSemua sehingga
+     * tetap mematerialisasi seluruh daftar; implementasi bawaan repository ini
+     * mengambil hasil per blok. Urutan tidak ditentukan.
+     */
+    default Stream<Buku> streamSemua() {
+        return cariSemua().stream();
+    }
+
+    /** Seperti cariByJudul, tetapi malas. Lihat streamSemua. */
+    default Stream<Buku> streamByJudul(String judul) {
+        return cariByJudul(judul).stream();
+    }
+
+    /** Seperti cariByPengarang, tetapi malas. Lihat streamSemua. */
+    default Stream<Buku> streamByPengarang(String pengarang) {
+        return cariByPengarang(pengarang).stream();
+    }
+
+    /**
+     * Satu halaman katalog terurut ISBN, mulai setelah kursor setelahIsbn (null untuk halaman
+     * pertama). Implementasi default memakai HalamanBuku.pilih: memori sebanding dengan batas,
+     * tetapi setiap halaman membaca seluruh sumbernya. Penyimpanan bawaan menyimpan urutan ISBN
+     * dan memakai HalamanBuku.dariUrut, sehingga satu halaman berhenti setelah batas + 1 buku.
+     *
+     * @throws IllegalArgumentException jika batas kurang dari 1
+     */
+    default HalamanBuku cariSemua(String setelahIsbn, int batas) {
+        return HalamanBuku.pilih(streamSemua(), setelahIsbn, batas);
+    }
+
+    /** Satu halaman hasil cariByJudul terurut ISBN. Lihat cariSemua(String, int). */
+    default HalamanBuku cariByJudul(String judul, String setelahIsbn, int batas) {
+        return HalamanBuku.pilih(streamByJudul(judul), setelahIsbn, batas);
+    }
+
+    /** Satu halaman hasil cariByPengarang terurut ISBN. Lihat cariSemua(String, int). */
+    default HalamanBuku cariByPengarang(String pengarang, String setelahIsbn, int batas) {
+        return HalamanBuku.pilih(streamByPengarang(pengarang), setelahIsbn, batas);
+    }
+
+    /**
+     * Simpan banyak buku sekaligus. Berbeda dengan simpan, buku yang ISBN-nya sudah ada
+     * di repository (atau muncul lebih awal di daftar yang sama) tidak ditimpa.
+     * Implementasi default memanggil cariByIsbn lalu simpan per buku; implementasi
+     * yang punya lock sendiri sebaiknya menjalankan seluruh batch dalam satu kali kunci.
+     *
+     * @return bit ke-i menyala jika daftarBuku.get(i) disimpan
+     */
+    default BitSet simpanSemua(List<Buku> daftarBuku) {
+        BitSet disimpan = new BitSet(daftarBuku.size());
+        for (int i = 0; i < daftarBuku.size(); i++) {
+            Buku buku = daftarBuku.get(i);
+            if (buku != null && buku.getIsbn() != null && !cariByIsbn(buku.getIsbn()).isPresent() && simpan(buku)) {
+                disimpan.set(i);
+            }
+        }
+        return disimpan;
+    }
+}
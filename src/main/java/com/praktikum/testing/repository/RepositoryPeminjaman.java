@@ -0,0 +1,33 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Peminjaman;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Buku besar peminjaman. Peminjaman yang dikembalikan pencarian boleh berupa instance yang
+ * tersimpan; ubah statusnya lewat tandaiDikembalikan atau simpan, bukan lewat setter.
+ */
+public interface RepositoryPeminjaman {
+    boolean simpan(Peminjaman peminjaman);
+    Optional<Peminjaman> cariById(String idPeminjaman);
+    List<Peminjaman> cariByAnggota(String idAnggota);
+    List<Peminjaman> cariByIsbn(String isbnBuku);
+
+    /** Peminjaman yang belum dikembalikan untuk pasangan anggota dan buku. */
+    Optional<Peminjaman> cariAktif(String idAnggota, String isbnBuku);
+
+    /** Peminjaman aktif (belum dikembalikan) atas buku ini: "siapa yang memegang buku ini". */
+    List<Peminjaman> cariAktifByIsbn(String isbnBuku);
+
+    /** Peminjaman aktif dengan tanggalJatuhTempo di rentang [dari, sampai). */
+    List<Peminjaman> cariAktifJatuhTempoAntara(LocalDate dari, LocalDate sampai);
+
+    /** Peminjaman aktif dengan tanggalJatuhTempo sebelum tanggal ini, yaitu yang terlambat per tanggal itu. */
+    List<Peminjaman> cariAktifJatuhTempoSebelum(LocalDate tanggal);
+
+    boolean tandaiDikembalikan(String idPeminjaman, LocalDate tanggalKembali);
+    boolean hapus(String idPeminjaman);
+    List<Peminjaman> cariSemua();
+}
@@ -0,0 +1,235 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.util.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Penyimpanan anggota in-memory yang dibagi ke beberapa shard berdasarkan hash idAnggota.
+ *
+ * - shard      : HashMap idAnggota -> entri dengan ReadWriteLock sendiri, O(1); penulis
+ *                di shard berbeda tidak saling tunggu
+ * - byEmail    : ConcurrentHashMap email ternormalisasi -> idAnggota
+ * - byTelepon  : ConcurrentHashMap telepon ternormalisasi -> idAnggota
+ *
+ * Keunikan email/telepon dijaga dengan putIfAbsent pada indeks sebelum entri ditulis ke
+ * shard, jadi dua anggota di shard berbeda tidak bisa mengklaim email yang sama.
+ * Pencarian lewat indeks memeriksa ulang entri di shard, sehingga klaim yang belum
+ * selesai (atau baru saja dilepas) tidak pernah mengembalikan anggota yang salah.
+ */
+public class ShardedRepositoryAnggota implements RepositoryAnggota {
+
+    private static final int JUMLAH_SHARD_BAWAAN = 16;
+
+    private final Shard[] shard;
+    private final int mask;
+    private final Map<String, String> byEmail = new ConcurrentHashMap<>();
+    private final Map<String, String> byTelepon = new ConcurrentHashMap<>();
+
+    public ShardedRepositoryAnggota() {
+        this(JUMLAH_SHARD_BAWAAN);
+    }
+
+    /**
+     * @param jumlahShard dibulatkan ke atas ke pangkat dua
+     */
+    public ShardedRepositoryAnggota(int jumlahShard) {
+        if (jumlahShard < 1) {
+            throw new IllegalArgumentException("Jumlah shard minimal 1");
+        }
+        int ukuran = Integer.highestOneBit(jumlahShard);
+        if (ukuran < jumlahShard) {
+            ukuran <<= 1;
+        }
+        shard = new Shard[ukuran];
+        for (int i = 0; i < ukuran; i++) {
+            shard[i] = new Shard();
+        }
+        mask = ukuran - 1;
+    }
+
+    @Override
+    public boolean simpan(Anggota anggota) {
+        return simpan(anggota, true);
+    }
+
+    @Override
+    public boolean simpanJikaBelumAda(Anggota anggota) {
+        return simpan(anggota, false);
+    }
+
+    private boolean simpan(Anggota anggota, boolean bolehGanti) {
+        if (!ValidationUtils.isValidAnggota(anggota)) {
+            return false;
+        }
+        String id = anggota.getIdAnggota();
+        String email = ValidationUtils.normalisasiEmail(anggota.getEmail());
+        String telepon = ValidationUtils.normalisasiTelepon(anggota.getTelepon());
+
+        Shard s = shardUntuk(id);
+        s.lock.writeLock().lock();
+        try {
+            if (!bolehGanti && s.byId.containsKey(id)) {
+                return false;
+            }
+            if (!klaim(byEmail, email, id)) {
+                return false;
+            }
+            if (!klaim(byTelepon, telepon, id)) {
+                Entri lama = s.byId.get(id);
+                if (lama == null || !email.equals(lama.email)) {
+                    byEmail.remove(email, id);
+                }
+                return false;
+            }
+
+            Entri lama = s.byId.put(id, new Entri(anggota, email, telepon));
+            if (lama != null) {
+                if (!lama.email.equals(email)) {
+                    byEmail.remove(lama.email, id);
+                }
+                if (!lama.telepon.equals(telepon)) {
+                    byTelepon.remove(lama.telepon, id);
+                }
+            }
+            return true;
+        } finally {
+            s.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Anggota> cariById(String idAnggota) {
+        if (idAnggota == null) {
+            return Optional.empty();
+        }
+        Entri entri = entri(idAnggota);
+        return entri == null ? Optional.empty() : Optional.of(entri.anggota);
+    }
+
+    @Override
+    public Optional<Anggota> cariByEmail(String email) {
+        String kunci = ValidationUtils.normalisasiEmail(email);
+        if (kunci == null) {
+            return Optional.empty();
+        }
+        String id = byEmail.get(kunci);
+        Entri entri = id == null ? null : entri(id);
+        return entri != null && kunci.equals(entri.email) ? Optional.of(entri.anggota) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Anggota> cariByTelepon(String telepon) {
+        String kunci = ValidationUtils.normalisasiTelepon(telepon);
+        if (kunci == null) {
+            return Optional.empty();
+        }
+        String id = byTelepon.get(kunci);
+        Entri entri = id == null ? null : entri(id);
+        return entri != null && kunci.equals(entri.telepon) ? Optional.of(entri.anggota) : Optional.empty();
+    }
+
+    @Override
+    public boolean hapus(String idAnggota) {
+        if (idAnggota == null) {
+            return false;
+        }
+        Shard s = shardUntuk(idAnggota);
+        s.lock.writeLock().lock();
+        try {
+            Entri lama = s.byId.remove(idAnggota);
+            if (lama == null) {
+                return false;
+            }
+            byEmail.remove(lama.email, idAnggota);
+            byTelepon.remove(lama.telepon, idAnggota);
+            return true;
+        } finally {
+            s.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Anggota> cariSemua() {
+        List<Anggota> hasil = new ArrayList<>();
+        for (Shard s : shard) {
+            s.lock.readLock().lock();
+            try {
+                for (Entri entri : s.byId.values()) {
+                    hasil.add(entri.anggota);
+                }
+            } finally {
+                s.lock.readLock().unlock();
+            }
+        }
+        return hasil;
+    }
+
+    public int ukuran() {
+        int total = 0;
+        for (Shard s : shard) {
+            s.lock.readLock().lock();
+            try {
+                total += s.byId.size();
+            } finally {
+                s.lock.readLock().unlock();
+            }
+        }
+        return total;
+    }
+
+    public int getJumlahShard() {
+        return shard.length;
+    }
+
+    private Entri entri(String idAnggota) {
+        Shard s = shardUntuk(idAnggota);
+        s.lock.readLock().lock();
+        try {
+            return s.byId.get(idAnggota);
+        } finally {
+            s.lock.readLock().unlock();
+        }
+    }
+
+    // true jika kunci kosong atau sudah milik id ini
+    private static boolean klaim(Map<String, String> indeks, String kunci, String id) {
+        String pemilik = indeks.putIfAbsent(kunci, id);
+        return pemilik == null || pemilik.equals(id);
+    }
+
+    private Shard shardUntuk(String idAnggota) {
+        int h = idAnggota.hashCode();
+        h ^= h >>> 16;
+        return shard[h & mask];
+    }
+
+    private static final class Shard {
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        final Map<String, Entri> byId = new HashMap<>();
+    }
+
+    /**
+     * Anggota beserta kunci indeks saat disimpan, agar klaim lama bisa dilepas
+     * walau email/telepon objek Anggota sudah diubah lewat setter.
+     */
+    private static final class Entri {
+        final Anggota anggota;
+        final String email;
+        final String telepon;
+
+        Entri(Anggota anggota, String email, String telepon) {
+            this.anggota = anggota;
+            this.email = email;
+            this.telepon = telepon;
+        }
+    }
+}
@@ -0,0 +1,610 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Implementasi RepositoryBuku in-memory dengan indeks trigram untuk judul dan pengarang.
+ *
+ * Setiap buku mendapat nomor dokumen (slot) internal. Posting list terurut menurut nomor;
+ * pencarian "contains, case-insensitive" dilakukan dengan mengiris posting list dari semua
+ * trigram kueri lalu memverifikasi kandidat.
+ * Penghapusan bersifat malas: slot dikosongkan tanpa menyentuh posting list, sehingga entri
+ * basi hanya menghasilkan kandidat yang gugur saat verifikasi. Jika entri basi sudah melebihi
+ * seperempat entri hidup, semua posting list disapu sekaligus dan slot kosong dipakai ulang
+ * oleh buku berikutnya, jadi memori mengikuti jumlah buku, bukan jumlah simpan/hapus.
+ * Kueri yang lebih pendek dari 3 karakter tidak punya trigram, sehingga jatuh ke
+ * pemindaian teks yang sudah dinormalisasi (tanpa toLowerCase per buku).
+ * Metode yang mengembalikan List dijalankan dalam satu read lock, jadi hasilnya snapshot:
+ * simpanSemua terlihat utuh atau tidak sama sekali, dan buku yang disimpan ulang tidak
+ * muncul dua kali. Stream diambil per blok menurut nomor dokumen (KursorBlok) dan read lock
+ * hanya dipegang selama satu blok. Halaman dibaca dari peta ISBN yang terurut (TreeMap),
+ * atau dari posting list jika kueri cukup selektif.
+ *
+ * Pencarian by ISBN dan perubahan jumlah tersedia tidak memakai lock: buku juga
+ * disimpan di ConcurrentHashMap, dan jumlah tersedia diubah dengan CAS pada Buku.
+ *
+ * Catatan: indeks dibangun dari judul/pengarang saat simpan. Mengubah judul atau
+ * pengarang lewat setter setelah disimpan harus diikuti simpan ulang.
+ */
+public class TrigramRepositoryBuku implements RepositoryBuku {
+
+    private static final int KAPASITAS_AWAL = 1024;
+    // Posting list disapu jika entri basi > entri hidup / RASIO_BASI, minimal MIN_ENTRI_BASI
+    private static final int RASIO_BASI = 4;
+    private static final int MIN_ENTRI_BASI = 4096;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Buku> bukuByIsbn = new ConcurrentHashMap<>();
+    // Terurut ISBN supaya halaman cukup menelusuri tailMap dari kursor
+    private final TreeMap<String, Integer> dokumenByIsbn = new TreeMap<>();
+    private final Map<Long, DaftarPosting> indeksJudul = new HashMap<>();
+    private final Map<Long, DaftarPosting> indeksPengarang = new HashMap<>();
+
+    // Penyimpanan per nomor dokumen; slot bernilai null untuk dokumen yang sudah dihapus
+    private Buku[] dokumen = new Buku[KAPASITAS_AWAL];
+    private String[] judulNormal = new String[KAPASITAS_AWAL];
+    private String[] pengarangNormal = new String[KAPASITAS_AWAL];
+    private int nomorBerikutnya;
+    // Slot kosong yang sudah tidak dirujuk posting list mana pun; terkecil di puncak tumpukan
+    private int[] slotBebas = new int[0];
+    private int jumlahSlotBebas;
+    // Perkiraan atas (trigram berulang ikut terhitung) entri posting yang hidup dan yang basi
+    private long entriHidup;
+    private long entriBasi;
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (buku == null || buku.getIsbn() == null) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            simpanTanpaKunci(buku);
+            padatkanJikaPerlu();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Seluruh batch diindeks dalam satu kali write lock, sehingga pembaca melihat
+     * batch sebelum atau sesudah impor, tidak setengah jalan.
+     */
+    @Override
+    public BitSet simpanSemua(List<Buku> daftarBuku) {
+        BitSet disimpan = new BitSet(daftarBuku.size());
+        lock.writeLock().lock();
+        try {
+            pastikanKapasitas(nomorBerikutnya + Math.max(0, daftarBuku.size() - jumlahSlotBebas));
+            for (int i = 0; i < daftarBuku.size(); i++) {
+                Buku buku = daftarBuku.get(i);
+                if (buku != null && buku.getIsbn() != null && !dokumenByIsbn.containsKey(buku.getIsbn())) {
+                    simpanTanpaKunci(buku);
+                    disimpan.set(i);
+                }
+            }
+            padatkanJikaPerlu();
+            return disimpan;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void simpanTanpaKunci(Buku buku) {
+        String judul = normalisasi(buku.getJudul());
+        String pengarang = normalisasi(buku.getPengarang());
+        Integer lama = dokumenByIsbn.get(buku.getIsbn());
+        if (lama != null && judul.equals(judulNormal[lama]) && pengarang.equals(pengarangNormal[lama])) {
+            // Teks tidak berubah (misalnya hanya stok atau harga): indeks tetap berlaku
+            dokumen[lama] = buku;
+            bukuByIsbn.put(buku.getIsbn(), buku);
+            return;
+        }
+        if (lama != null) {
+            hapusDokumen(lama);
+        }
+        int nomor = ambilSlot();
+
+        dokumen[nomor] = buku;
+        judulNormal[nomor] = judul;
+        pengarangNormal[nomor] = pengarang;
+        tambahKeIndeks(indeksJudul, judul, nomor);
+        tambahKeIndeks(indeksPengarang, pengarang, nomor);
+        entriHidup += jumlahTrigram(judul) + jumlahTrigram(pengarang);
+        dokumenByIsbn.put(buku.getIsbn(), nomor);
+        bukuByIsbn.put(buku.getIsbn(), buku);
+    }
+
+    private int ambilSlot() {
+        if (jumlahSlotBebas > 0) {
+            return slotBebas[--jumlahSlotBebas];
+        }
+        pastikanKapasitas(nomorBerikutnya + 1);
+        return nomorBerikutnya++;
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        if (isbn == null) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(bukuByIsbn.get(isbn));
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return cari(judul, indeksJudul, true);
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return cari(pengarang, indeksPengarang, false);
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        return stream(judul, indeksJudul, true);
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        return stream(pengarang, indeksPengarang, false);
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer nomor = dokumenByIsbn.remove(isbn);
+            if (nomor == null) {
+                return false;
+            }
+            bukuByIsbn.remove(isbn);
+            hapusDokumen(nomor);
+            padatkanJikaPerlu();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        if (isbn == null || jumlahTersediaBaru < 0) {
+            return false;
+        }
+        Buku buku = bukuByIsbn.get(isbn);
+        if (buku == null) {
+            return false;
+        }
+        if (jumlahTersediaBaru > buku.getJumlahTotal()) {
+            return false;
+        }
+        buku.setJumlahTersedia(jumlahTersediaBaru);
+        return true;
+    }
+
+    @Override
+    public int kurangiJumlahTersedia(String isbn) {
+        Buku buku = isbn == null ? null : bukuByIsbn.get(isbn);
+        return buku == null ? -1 : buku.kurangiTersediaJikaAda();
+    }
+
+    @Override
+    public int tambahJumlahTersedia(String isbn) {
+        Buku buku = isbn == null ? null : bukuByIsbn.get(isbn);
+        return buku == null ? -1 : buku.tambahTersediaJikaDibawahTotal();
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        lock.readLock().lock();
+        try {
+            List<Buku> hasil = new ArrayList<>(dokumenByIsbn.size());
+            ambilSemua(0, hasil, Integer.MAX_VALUE);
+            return hasil;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return KursorBlok.stream((mulai, blok) -> {
+            lock.readLock().lock();
+            try {
+                return ambilSemua(mulai, blok, KursorBlok.UKURAN_BLOK);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public HalamanBuku cariSemua(String setelahIsbn, int batas) {
+        lock.readLock().lock();
+        try {
+            return HalamanBuku.dariUrut(setelah(setelahIsbn).values(), nomor -> dokumen[nomor], batas);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public HalamanBuku cariByJudul(String judul, String setelahIsbn, int batas) {
+        return halaman(judul, indeksJudul, true, setelahIsbn, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByPengarang(String pengarang, String setelahIsbn, int batas) {
+        return halaman(pengarang, indeksPengarang, false, setelahIsbn, batas);
+    }
+
+    public int ukuran() {
+        return bukuByIsbn.size();
+    }
+
+    private List<Buku> cari(String kueri, Map<Long, DaftarPosting> indeks, boolean byJudul) {
+        List<Buku> hasil = new ArrayList<>();
+        if (kueri == null || kueri.trim().isEmpty()) {
+            return hasil;
+        }
+        String kueriNormal = normalisasi(kueri.trim());
+
+        lock.readLock().lock();
+        try {
+            ambilBlokTanpaKunci(kueriNormal, indeks, byJudul, 0, hasil, Integer.MAX_VALUE);
+            return hasil;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Stream<Buku> stream(String kueri, Map<Long, DaftarPosting> indeks, boolean byJudul) {
+        if (kueri == null || kueri.trim().isEmpty()) {
+            return Stream.empty();
+        }
+        String kueriNormal = normalisasi(kueri.trim());
+        return KursorBlok.stream((mulai, blok) -> {
+            lock.readLock().lock();
+            try {
+                return ambilBlokTanpaKunci(kueriNormal, indeks, byJudul, mulai, blok, KursorBlok.UKURAN_BLOK);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    private HalamanBuku halaman(String kueri, Map<Long, DaftarPosting> indeks, boolean byJudul,
+                                String setelahIsbn, int batas) {
+        if (kueri == null || kueri.trim().isEmpty()) {
+            return HalamanBuku.kosong();
+        }
+        String kueriNormal = normalisasi(kueri.trim());
+
+        lock.readLock().lock();
+        try {
+            String[] teks = byJudul ? judulNormal : pengarangNormal;
+            if (kueriNormal.length() >= 3) {
+                DaftarPosting[] postings = ambilPostings(kueriNormal, indeks);
+                if (postings == null) {
+                    return HalamanBuku.kosong();
+                }
+                // Menelusuri urutan ISBN sampai buku cocok ke batas + 1 melewati sekitar
+                // (batas + 1) * N / kandidat buku; jika kandidat sesedikit itu, lebih murah
+                // mengambil semua kandidat lalu memilih ISBN terkecilnya
+                long kandidat = Arrays.stream(postings).mapToInt(DaftarPosting::jumlah).min().getAsInt();
+                if (kandidat * kandidat <= ((long) batas + 1) * dokumenByIsbn.size()) {
+                    HalamanBuku.Pemilih pemilih = new HalamanBuku.Pemilih(setelahIsbn, batas);
+                    List<Buku> cocok = new ArrayList<>();
+                    telusuriPostings(kueriNormal, postings, teks, 0, cocok, Integer.MAX_VALUE);
+                    cocok.forEach(pemilih::tambah);
+                    return pemilih.hasil();
+                }
+            }
+            return HalamanBuku.dariUrut(setelah(setelahIsbn).values(),
+                    nomor -> teks[nomor].contains(kueriNormal) ? dokumen[nomor] : null, batas);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private NavigableMap<String, Integer> setelah(String setelahIsbn) {
+        return setelahIsbn == null ? dokumenByIsbn : dokumenByIsbn.tailMap(setelahIsbn, false);
+    }
+
+    private int ambilSemua(int mulai, List<Buku> blok, int maks) {
+        int nomor = mulai;
+        for (; nomor < nomorBerikutnya && blok.size() < maks; nomor++) {
+            if (dokumen[nomor] != null) {
+                blok.add(dokumen[nomor]);
+            }
+        }
+        return nomor < nomorBerikutnya ? nomor : -1;
+    }
+
+    // Pemindaian maupun posting list dilanjutkan dari nomor tempat blok sebelumnya berhenti,
+    // walaupun indeks berubah di antara dua blok; buku yang mengisi ulang slot di belakang
+    // posisi itu tidak ikut, sesuai konsistensi lemah KursorBlok. Pemanggil memegang read lock.
+    private int ambilBlokTanpaKunci(String kueriNormal, Map<Long, DaftarPosting> indeks, boolean byJudul,
+                                    int mulai, List<Buku> blok, int maks) {
+        String[] teks = byJudul ? judulNormal : pengarangNormal;
+        if (kueriNormal.length() < 3) {
+            return pindai(kueriNormal, teks, mulai, blok, maks);
+        }
+
+        DaftarPosting[] postings = ambilPostings(kueriNormal, indeks);
+        return postings == null ? -1 : telusuriPostings(kueriNormal, postings, teks, mulai, blok, maks);
+    }
+
+    private int telusuriPostings(String kueriNormal, DaftarPosting[] postings, String[] teks,
+                                 int mulai, List<Buku> blok, int maks) {
+        Arrays.sort(postings, (a, b) -> Integer.compare(a.jumlah(), b.jumlah()));
+
+        // Telusuri posting terkecil menurut nomor: gabungan isi dan ekor yang sama-sama terurut
+        DaftarPosting terkecil = postings[0];
+        int i = posisiAwal(terkecil.isi, terkecil.ukuran, mulai);
+        int j = posisiAwal(terkecil.ekor, terkecil.ukuranEkor, mulai);
+        kandidat:
+        while (blok.size() < maks) {
+            int nomor;
+            if (i < terkecil.ukuran && (j == terkecil.ukuranEkor || terkecil.isi[i] < terkecil.ekor[j])) {
+                nomor = terkecil.isi[i++];
+            } else if (j < terkecil.ukuranEkor) {
+                nomor = terkecil.ekor[j++];
+            } else {
+                return -1;
+            }
+            for (int p = 1; p < postings.length; p++) {
+                if (!postings[p].mengandung(nomor)) {
+                    continue kandidat;
+                }
+            }
+            // Trigram lengkap belum menjamin urutan karakter, dan entri bisa basi, jadi
+            // kandidat tetap diverifikasi
+            if (teks[nomor] != null && teks[nomor].contains(kueriNormal)) {
+                blok.add(dokumen[nomor]);
+            }
+        }
+        int sisaIsi = i < terkecil.ukuran ? terkecil.isi[i] : Integer.MAX_VALUE;
+        int sisaEkor = j < terkecil.ukuranEkor ? terkecil.ekor[j] : Integer.MAX_VALUE;
+        int berikutnya = Math.min(sisaIsi, sisaEkor);
+        return berikutnya == Integer.MAX_VALUE ? -1 : berikutnya;
+    }
+
+    private DaftarPosting[] ambilPostings(String kueriNormal, Map<Long, DaftarPosting> indeks) {
+        int jumlahTrigram = kueriNormal.length() - 2;
+        DaftarPosting[] postings = new DaftarPosting[jumlahTrigram];
+        int unik = 0;
+        for (int i = 0; i < jumlahTrigram; i++) {
+            DaftarPosting posting = indeks.get(kunciTrigram(kueriNormal, i));
+            if (posting == null || posting.jumlah() == 0) {
+                return null;
+            }
+            boolean sudahAda = false;
+            for (int j = 0; j < unik; j++) {
+                if (postings[j] == posting) {
+                    sudahAda = true;
+                    break;
+                }
+            }
+            if (!sudahAda) {
+                postings[unik++] = posting;
+            }
+        }
+        return Arrays.copyOf(postings, unik);
+    }
+
+    private int pindai(String kueriNormal, String[] teks, int mulai, List<Buku> blok, int maks) {
+        int nomor = mulai;
+        for (; nomor < nomorBerikutnya && blok.size() < maks; nomor++) {
+            if (dokumen[nomor] != null && teks[nomor].contains(kueriNormal)) {
+                blok.add(dokumen[nomor]);
+            }
+        }
+        return nomor < nomorBerikutnya ? nomor : -1;
+    }
+
+    private static int posisiAwal(int[] isi, int ukuran, int mulai) {
+        int i = Arrays.binarySearch(isi, 0, ukuran, mulai);
+        return i < 0 ? -i - 1 : i;
+    }
+
+    // Posting list tidak disentuh; slot baru bisa dipakai ulang setelah padatkan menyapu rujukannya
+    private void hapusDokumen(int nomor) {
+        int jumlah = jumlahTrigram(judulNormal[nomor]) + jumlahTrigram(pengarangNormal[nomor]);
+        entriHidup -= jumlah;
+        entriBasi += jumlah;
+        dokumen[nomor] = null;
+        judulNormal[nomor] = null;
+        pengarangNormal[nomor] = null;
+    }
+
+    private void padatkanJikaPerlu() {
+        if (entriBasi > MIN_ENTRI_BASI && entriBasi * RASIO_BASI > entriHidup) {
+            padatkan();
+        }
+    }
+
+    /**
+     * Buang semua entri posting yang merujuk slot kosong, lalu kumpulkan slot kosong untuk
+     * dipakai ulang. Biayanya sebanding dengan total entri, dibayar sekali per
+     * entriHidup / RASIO_BASI entri yang dihapus.
+     */
+    void padatkan() {
+        sapu(indeksJudul);
+        sapu(indeksPengarang);
+        entriBasi = 0;
+        while (nomorBerikutnya > 0 && dokumen[nomorBerikutnya - 1] == null) {
+            nomorBerikutnya--;
+        }
+        jumlahSlotBebas = 0;
+        for (int nomor = nomorBerikutnya - 1; nomor >= 0; nomor--) {
+            if (dokumen[nomor] == null) {
+                if (jumlahSlotBebas == slotBebas.length) {
+                    slotBebas = Arrays.copyOf(slotBebas, Math.max(16, jumlahSlotBebas * 2));
+                }
+                slotBebas[jumlahSlotBebas++] = nomor;
+            }
+        }
+    }
+
+    private void sapu(Map<Long, DaftarPosting> indeks) {
+        Iterator<DaftarPosting> iterator = indeks.values().iterator();
+        while (iterator.hasNext()) {
+            DaftarPosting posting = iterator.next();
+            posting.sapu(dokumen);
+            if (posting.jumlah() == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /** Jumlah slot yang pernah dipakai, termasuk yang kosong; untuk pengujian. */
+    int getJumlahSlot() {
+        return nomorBerikutnya;
+    }
+
+    private static void tambahKeIndeks(Map<Long, DaftarPosting> indeks, String teks, int nomor) {
+        for (int i = 0; i + 3 <= teks.length(); i++) {
+            // Trigram yang berulang dalam satu teks cukup dicatat sekali
+            DaftarPosting posting = indeks.computeIfAbsent(kunciTrigram(teks, i), k -> new DaftarPosting());
+            posting.tambah(nomor);
+        }
+    }
+
+    private static int jumlahTrigram(String teks) {
+        return Math.max(0, teks.length() - 2);
+    }
+
+    private void pastikanKapasitas(int minimal) {
+        if (minimal > dokumen.length) {
+            int baru = Math.max(minimal, dokumen.length * 2);
+            dokumen = Arrays.copyOf(dokumen, baru);
+            judulNormal = Arrays.copyOf(judulNormal, baru);
+            pengarangNormal = Arrays.copyOf(pengarangNormal, baru);
+        }
+    }
+
+    static String normalisasi(String teks) {
+        return teks == null ? "" : teks.toLowerCase(Locale.ROOT);
+    }
+
+    static long kunciTrigram(String teks, int awal) {
+        return ((long) teks.charAt(awal) << 32)
+                | ((long) teks.charAt(awal + 1) << 16)
+                | teks.charAt(awal + 2);
+    }
+
+    /**
+     * Posting list berupa array int terurut. Nomor slot baru selalu lebih besar dari isinya,
+     * jadi cukup di-append. Slot pakai ulang yang lebih kecil masuk ke ekor, array terurut
+     * kecil terpisah yang digabung ke isi setelah sekitar akar(ukuran) sisipan, sehingga
+     * tidak ada pergeseran seluruh array per buku.
+     */
+    static final class DaftarPosting {
+        private static final int[] KOSONG = new int[0];
+
+        int[] isi = new int[4];
+        int ukuran;
+        int[] ekor = KOSONG;
+        int ukuranEkor;
+
+        void tambah(int nomor) {
+            if (ukuran == 0 || nomor > isi[ukuran - 1]) {
+                if (ukuran == isi.length) {
+                    isi = Arrays.copyOf(isi, ukuran * 2);
+                }
+                isi[ukuran++] = nomor;
+                return;
+            }
+            if (nomor == isi[ukuran - 1]) {
+                return;
+            }
+            int posisi = Arrays.binarySearch(ekor, 0, ukuranEkor, nomor);
+            if (posisi >= 0) {
+                return;
+            }
+            posisi = -posisi - 1;
+            if (ukuranEkor == ekor.length) {
+                ekor = Arrays.copyOf(ekor, Math.max(8, ukuranEkor * 2));
+            }
+            System.arraycopy(ekor, posisi, ekor, posisi + 1, ukuranEkor - posisi);
+            ekor[posisi] = nomor;
+            ukuranEkor++;
+            if (ukuranEkor > Math.max(32, (int) Math.sqrt(ukuran))) {
+                gabungEkor();
+            }
+        }
+
+        boolean mengandung(int nomor) {
+            return Arrays.binarySearch(isi, 0, ukuran, nomor) >= 0
+                    || (ukuranEkor > 0 && Arrays.binarySearch(ekor, 0, ukuranEkor, nomor) >= 0);
+        }
+
+        int jumlah() {
+            return ukuran + ukuranEkor;
+        }
+
+        /** Buang entri yang slotnya sudah kosong. */
+        void sapu(Buku[] dokumen) {
+            gabungEkor();
+            int tulis = 0;
+            for (int baca = 0; baca < ukuran; baca++) {
+                if (dokumen[isi[baca]] != null) {
+                    isi[tulis++] = isi[baca];
+                }
+            }
+            ukuran = tulis;
+            if (ukuran < isi.length / 4) {
+                isi = Arrays.copyOf(isi, Math.max(4, ukuran));
+            }
+        }
+
+        private void gabungEkor() {
+            if (ukuranEkor == 0) {
+                return;
+            }
+            int[] gabungan = new int[ukuran + ukuranEkor + (ukuran >>> 3)];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < ukuran && j < ukuranEkor) {
+                gabungan[k++] = isi[i] < ekor[j] ? isi[i++] : ekor[j++];
+            }
+            while (i < ukuran) {
+                gabungan[k++] = isi[i++];
+            }
+            while (j < ukuranEkor) {
+                gabungan[k++] = ekor[j++];
+            }
+            isi = gabungan;
+            ukuran = k;
+            ekor = KOSONG;
+            ukuranEkor = 0;
+        }
+    }
+}
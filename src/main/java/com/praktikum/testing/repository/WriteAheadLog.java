@@ -0,0 +1,697 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.util.KunciBergaris;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead log untuk perubahan jumlah tersedia dan peminjaman.
+ *
+ * Entri ditulis sebagai [panjang][crc32][tipe][isi] ke wal.log. Penulis yang datang
+ * bersamaan digabung ke satu fsync (group commit): penulis pertama yang menunggu
+ * menjadi "leader", menukar buffer, menulis dan fsync, lalu membangunkan semua
+ * penulis yang entrinya ikut ter-flush. Throughput naik mengikuti jumlah penulis,
+ * bukan mengikuti latensi disk.
+ *
+ * Satu peminjaman atau pengembalian adalah satu entri yang membawa catatan peminjaman
+ * sekaligus jumlah tersedia hasilnya, jadi satu fsync dan tidak bisa tercatat setengah.
+ * Mutasi stok dijalankan di bawah kunci bergaris per ISBN, bukan kunci log, sehingga entri
+ * untuk buku yang sama tertulis sesuai urutan perubahannya sementara buku berbeda tidak
+ * saling tunggu; kunci log hanya dipegang untuk menyalin entri yang sudah dienkode.
+ * Jika entri tidak bisa dibuat durable, mutasinya dibatalkan sebelum exception dilempar.
+ *
+ * Snapshot dibuat dengan merotasi wal.log menjadi wal.log.1 lalu melipat
+ * snapshot lama + wal.log.1 menjadi snapshot.bin yang baru; snapshot hanya menyimpan
+ * jumlah tersedia dan peminjaman yang masih aktif. Semua entri bersifat idempoten (jumlah
+ * absolut, peminjaman ber-id), sehingga memutar ulang wal.log.1 setelah crash di tengah
+ * snapshot tetap menghasilkan state yang sama.
+ */
+public class WriteAheadLog implements Closeable {
+
+    static final byte TIPE_TERSEDIA = 1;
+    // Format lama tanpa catatan peminjaman; masih dibaca, tidak lagi ditulis
+    static final byte TIPE_PINJAM = 2;
+    static final byte TIPE_KEMBALI = 3;
+    static final byte TIPE_DIPINJAM = 4;
+    static final byte TIPE_DIKEMBALIKAN = 5;
+
+    private static final int TANPA_TANGGAL = Integer.MIN_VALUE;
+    private static final int TANPA_JUMLAH = -1;
+    private static final int STRING_NULL = 0xFFFF;
+
+    private static final int UKURAN_BUFFER_AWAL = 64 * 1024;
+    public static final int ENTRI_PER_SNAPSHOT_DEFAULT = 1_000_000;
+
+    /**
+     * Penerima entri saat log diputar ulang. Jumlah tersedia yang dibawa entri peminjaman
+     * dikirim lewat jumlahTersedia tepat sebelum dipinjam/dikembalikan.
+     */
+    public interface PemutarUlang {
+        default void jumlahTersedia(String isbn, int jumlah) {
+        }
+
+        /** Peminjaman baru; id dan tanggal null jika berasal dari entri format lama. */
+        default void dipinjam(Peminjaman peminjaman) {
+        }
+
+        /** Pengembalian; idPeminjaman null jika buku dipinjam tanpa catatan peminjaman. */
+        default void dikembalikan(String idPeminjaman, String idAnggota, String isbn, LocalDate tanggalKembali) {
+        }
+    }
+
+    private final Path fileLog;
+    private final Path fileLogLama;
+    private final Path fileSnapshot;
+    private final int entriPerSnapshot;
+
+    private final KunciBergaris kunciIsbn = new KunciBergaris(64);
+    // catat* bersarang di thread yang sama (misalnya JournaledRepositoryBuku di bawah service
+    // yang mencatat peminjaman ke log ini) cukup menjalankan mutasinya: entri luar sudah
+    // membawa jumlah tersedia hasilnya
+    private final ThreadLocal<Boolean> sedangMencatat = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private final ThreadLocal<ByteBuffer> bufferEnkode =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(256));
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushSelesai = lock.newCondition();
+    private final ReentrantLock lockSnapshot = new ReentrantLock();
+    private final ExecutorService pelaksanaSnapshot = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "wal-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Semua field di bawah dijaga oleh lock
+    private FileChannel kanal;
+    private ByteBuffer bufferAktif = ByteBuffer.allocate(UKURAN_BUFFER_AWAL);
+    private ByteBuffer bufferCadangan = ByteBuffer.allocate(UKURAN_BUFFER_AWAL);
+    private long seqDitulis;
+    private long seqDurable;
+    private boolean sedangFlush;
+    private IOException kegagalan;
+    private long entriSejakSnapshot;
+    private long jumlahFsync;
+    private boolean ditutup;
+
+    public WriteAheadLog(Path direktori) throws IOException {
+        this(direktori, ENTRI_PER_SNAPSHOT_DEFAULT);
+    }
+
+    public WriteAheadLog(Path direktori, int entriPerSnapshot) throws IOException {
+        if (entriPerSnapshot <= 0) {
+            throw new IllegalArgumentException("entriPerSnapshot harus positif");
+        }
+        Files.createDirectories(direktori);
+        this.fileLog = direktori.resolve("wal.log");
+        this.fileLogLama = direktori.resolve("wal.log.1");
+        this.fileSnapshot = direktori.resolve("snapshot.bin");
+        this.entriPerSnapshot = entriPerSnapshot;
+        this.kanal = bukaLog();
+    }
+
+    /**
+     * Seperti catatJumlahTersedia(String, IntSupplier, IntConsumer), untuk mutasi yang tidak
+     * perlu dibatalkan jika log gagal.
+     */
+    public int catatJumlahTersedia(String isbn, IntSupplier mutasi) {
+        return catatJumlahTersedia(isbn, mutasi, hasil -> { });
+    }
+
+    /**
+     * Jalankan mutasi lalu catat jumlah tersedia hasilnya secara durable.
+     * Mutasi dijalankan di bawah kunci ISBN supaya urutan entri per buku sama dengan urutan
+     * perubahan sebenarnya; fsync-nya sendiri dilakukan di luar kunci.
+     *
+     * @param mutasi   mengembalikan jumlah tersedia baru, atau nilai negatif jika gagal
+     * @param batalkan menerima hasil mutasi dan mengembalikan perubahannya jika entri tidak
+     *                 bisa dicatat; entri yang fsync-nya gagal mungkin tetap sampai ke disk
+     * @return hasil mutasi; entri hanya ditulis jika hasilnya tidak negatif
+     * @throws UncheckedIOException jika log gagal ditulis (mutasi sudah dibatalkan)
+     */
+    public int catatJumlahTersedia(String isbn, IntSupplier mutasi, IntConsumer batalkan) {
+        return catat(isbn, mutasi, batalkan,
+                (buffer, hasil) -> tulisEntri(buffer, TIPE_TERSEDIA, new String[]{isbn}, hasil));
+    }
+
+    /**
+     * Jalankan mutasi stok peminjaman lalu catat peminjaman beserta jumlah tersedia hasilnya
+     * sebagai satu entri. Lihat catatJumlahTersedia untuk mutasi dan batalkan.
+     */
+    public int catatPinjam(Peminjaman peminjaman, IntSupplier mutasi, IntConsumer batalkan) {
+        return catatPinjam(peminjaman, mutasi, batalkan, true);
+    }
+
+    /**
+     * Catat peminjaman tanpa jumlah tersedia, untuk pemanggil yang stoknya diubah dan dicatat
+     * di tempat lain (misalnya AsyncRepositoryBuku di atas JournaledRepositoryBuku). Saat
+     * diputar ulang, entri ini hanya memulihkan catatan peminjaman.
+     *
+     * @throws UncheckedIOException jika log gagal ditulis
+     */
+    public void catatPinjam(Peminjaman peminjaman) {
+        catatPinjam(peminjaman, () -> 0, hasil -> { }, false);
+    }
+
+    private int catatPinjam(Peminjaman peminjaman, IntSupplier mutasi, IntConsumer batalkan, boolean denganJumlah) {
+        String[] teks = {peminjaman.getIdPeminjaman(), peminjaman.getIdAnggota(), peminjaman.getIsbnBuku()};
+        return catat(peminjaman.getIsbnBuku(), mutasi, batalkan,
+                (buffer, hasil) -> tulisEntri(buffer, TIPE_DIPINJAM, teks, denganJumlah ? hasil : TANPA_JUMLAH,
+                        hariEpoch(peminjaman.getTanggalPinjam()), hariEpoch(peminjaman.getTanggalJatuhTempo())));
+    }
+
+    /**
+     * Seperti catatPinjam, untuk pengembalian.
+     *
+     * @param idPeminjaman catatan peminjaman yang ditutup, null jika tidak ada
+     */
+    public int catatKembali(String idPeminjaman, String idAnggota, String isbn, LocalDate tanggalKembali,
+                            IntSupplier mutasi, IntConsumer batalkan) {
+        return catatKembali(idPeminjaman, idAnggota, isbn, tanggalKembali, mutasi, batalkan, true);
+    }
+
+    /** Seperti catatPinjam(Peminjaman), untuk pengembalian. */
+    public void catatKembali(String idPeminjaman, String idAnggota, String isbn, LocalDate tanggalKembali) {
+        catatKembali(idPeminjaman, idAnggota, isbn, tanggalKembali, () -> 0, hasil -> { }, false);
+    }
+
+    private int catatKembali(String idPeminjaman, String idAnggota, String isbn, LocalDate tanggalKembali,
+                             IntSupplier mutasi, IntConsumer batalkan, boolean denganJumlah) {
+        String[] teks = {idPeminjaman, idAnggota, isbn};
+        return catat(isbn, mutasi, batalkan, (buffer, hasil) -> tulisEntri(buffer, TIPE_DIKEMBALIKAN, teks,
+                denganJumlah ? hasil : TANPA_JUMLAH, hariEpoch(tanggalKembali)));
+    }
+
+    /**
+     * Putar ulang snapshot lalu log, sesuai urutan penulisan.
+     */
+    public void putarUlang(PemutarUlang pemutar) throws IOException {
+        lockSnapshot.lock();
+        try {
+            bacaEntri(fileSnapshot, pemutar);
+            bacaEntri(fileLogLama, pemutar);
+            bacaEntri(fileLog, pemutar);
+        } finally {
+            lockSnapshot.unlock();
+        }
+    }
+
+    /**
+     * Buat snapshot sekarang dan kosongkan log. Penulis hanya tertahan selama rotasi
+     * file; pelipatan snapshot berjalan tanpa menahan lock log.
+     */
+    public void snapshot() throws IOException {
+        lockSnapshot.lock();
+        try {
+            rotasiLog();
+            lipatSnapshot();
+        } finally {
+            lockSnapshot.unlock();
+        }
+    }
+
+    public long getJumlahFsync() {
+        lock.lock();
+        try {
+            return jumlahFsync;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getJumlahEntri() {
+        lock.lock();
+        try {
+            return seqDitulis;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        pelaksanaSnapshot.shutdown();
+        try {
+            pelaksanaSnapshot.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            if (ditutup) {
+                return;
+            }
+            while (sedangFlush) {
+                flushSelesai.awaitUninterruptibly();
+            }
+            flushSinkron();
+            ditutup = true;
+            kanal.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- group commit
+
+    /** Enkode satu entri untuk hasil mutasi tertentu. */
+    @FunctionalInterface
+    private interface PengenkodeEntri {
+        ByteBuffer tulis(ByteBuffer tujuan, int hasil);
+    }
+
+    private int catat(String isbn, IntSupplier mutasi, IntConsumer batalkan, PengenkodeEntri pengenkode) {
+        if (sedangMencatat.get()) {
+            return mutasi.getAsInt();
+        }
+        // {hasil mutasi, nomor urut entri}; nomor urut -1 jika tidak ada entri
+        long[] hasilDanSeq = kunciIsbn.jalankanBuku(isbn, () -> {
+            sedangMencatat.set(Boolean.TRUE);
+            try {
+                pastikanSehat();
+                int n = mutasi.getAsInt();
+                if (n < 0) {
+                    return new long[]{n, -1};
+                }
+                try {
+                    // Enkode di luar kunci log; di dalamnya hanya salin byte
+                    ByteBuffer entri = pengenkode.tulis(bufferEnkode.get(), n);
+                    bufferEnkode.set(entri);
+                    return new long[]{n, tambahkanEntri(entri)};
+                } catch (RuntimeException e) {
+                    batalkan.accept(n);
+                    throw e;
+                }
+            } finally {
+                sedangMencatat.set(Boolean.FALSE);
+            }
+        });
+        int hasil = (int) hasilDanSeq[0];
+        if (hasilDanSeq[1] < 0) {
+            return hasil;
+        }
+        try {
+            tungguDurable(hasilDanSeq[1]);
+        } catch (RuntimeException e) {
+            // Pembatalan lewat repository yang juga mencatat ke log ini tidak boleh ditolak
+            // karena log sudah gagal, jadi jalankan sebagai catat bersarang
+            sedangMencatat.set(Boolean.TRUE);
+            try {
+                batalkan.accept(hasil);
+            } finally {
+                sedangMencatat.set(Boolean.FALSE);
+            }
+            throw e;
+        }
+        return hasil;
+    }
+
+    /** Salin entri yang sudah dienkode ke buffer aktif lalu kosongkan buffer entri. */
+    private long tambahkanEntri(ByteBuffer entri) {
+        entri.flip();
+        lock.lock();
+        try {
+            pastikanSehat();
+            if (bufferAktif.remaining() < entri.remaining()) {
+                ByteBuffer baru = ByteBuffer.allocate(
+                        Math.max(bufferAktif.capacity() * 2, bufferAktif.position() + entri.remaining()));
+                bufferAktif.flip();
+                baru.put(bufferAktif);
+                bufferAktif = baru;
+            }
+            bufferAktif.put(entri);
+            return entriDitambahkan();
+        } finally {
+            lock.unlock();
+            entri.clear();
+        }
+    }
+
+    /** Harus dipanggil dengan lock dipegang. */
+    private long entriDitambahkan() {
+        if (++entriSejakSnapshot >= entriPerSnapshot) {
+            entriSejakSnapshot = 0;
+            try {
+                pelaksanaSnapshot.execute(this::snapshotLatarBelakang);
+            } catch (RejectedExecutionException e) {
+                // Log sedang ditutup; snapshot berikutnya dibuat saat dibuka lagi
+            }
+        }
+        return ++seqDitulis;
+    }
+
+    /**
+     * Encode satu entri ke buffer tujuan: tipe, string (panjang 0xFFFF berarti null), lalu int.
+     * Jumlah string dan int ditentukan oleh tipe.
+     *
+     * @return buffer tujuan, atau buffer baru yang lebih besar jika tujuan tidak cukup
+     */
+    static ByteBuffer tulisEntri(ByteBuffer tujuan, byte tipe, String[] teks, int... angka) {
+        byte[][] bytes = new byte[teks.length][];
+        int panjangIsi = 1 + 4 * angka.length;
+        for (int i = 0; i < teks.length; i++) {
+            bytes[i] = teks[i] == null ? null : teks[i].getBytes(StandardCharsets.UTF_8);
+            if (bytes[i] != null && bytes[i].length >= STRING_NULL) {
+                throw new IllegalArgumentException("Teks terlalu panjang untuk entri log: " + bytes[i].length + " byte");
+            }
+            panjangIsi += 2 + (bytes[i] == null ? 0 : bytes[i].length);
+        }
+        int dibutuhkan = 8 + panjangIsi;
+        if (tujuan.remaining() < dibutuhkan) {
+            ByteBuffer baru = ByteBuffer.allocate(Math.max(tujuan.capacity() * 2, tujuan.position() + dibutuhkan));
+            tujuan.flip();
+            baru.put(tujuan);
+            tujuan = baru;
+        }
+
+        int awal = tujuan.position();
+        tujuan.putInt(panjangIsi);
+        tujuan.putInt(0); // crc diisi setelah isi ditulis
+        tujuan.put(tipe);
+        for (byte[] b : bytes) {
+            if (b == null) {
+                tujuan.putShort((short) STRING_NULL);
+            } else {
+                tujuan.putShort((short) b.length);
+                tujuan.put(b);
+            }
+        }
+        for (int a : angka) {
+            tujuan.putInt(a);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(tujuan.array(), awal + 8, panjangIsi);
+        tujuan.putInt(awal + 4, (int) crc.getValue());
+        return tujuan;
+    }
+
+    private void tungguDurable(long seq) {
+        lock.lock();
+        try {
+            while (seqDurable < seq) {
+                if (kegagalan != null) {
+                    throw new UncheckedIOException("Write-ahead log gagal", kegagalan);
+                }
+                if (sedangFlush) {
+                    flushSelesai.awaitUninterruptibly();
+                    continue;
+                }
+
+                // Jadi leader: bawa semua entri yang sudah terkumpul dalam satu fsync
+                sedangFlush = true;
+                ByteBuffer batch = bufferAktif;
+                long target = seqDitulis;
+                bufferAktif = bufferCadangan;
+                FileChannel kanalBatch = kanal;
+                lock.unlock();
+                IOException error = null;
+                try {
+                    tulisDanSync(kanalBatch, batch);
+                } catch (IOException e) {
+                    error = e;
+                } finally {
+                    lock.lock();
+                }
+                batch.clear();
+                bufferCadangan = batch;
+                sedangFlush = false;
+                if (error != null) {
+                    kegagalan = error;
+                } else {
+                    seqDurable = target;
+                    jumlahFsync++;
+                }
+                flushSelesai.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Harus dipanggil dengan lock dipegang dan tanpa flush yang sedang berjalan. */
+    private void flushSinkron() throws IOException {
+        if (bufferAktif.position() > 0) {
+            tulisDanSync(kanal, bufferAktif);
+            bufferAktif.clear();
+            jumlahFsync++;
+        }
+        seqDurable = seqDitulis;
+    }
+
+    private static void tulisDanSync(FileChannel kanal, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            kanal.write(buffer);
+        }
+        kanal.force(false);
+    }
+
+    /** Tolak sebelum mutasi jika log sudah ditutup atau pernah gagal ditulis. */
+    private void pastikanSehat() {
+        lock.lock();
+        try {
+            if (ditutup) {
+                throw new IllegalStateException("Write-ahead log sudah ditutup");
+            }
+            if (kegagalan != null) {
+                throw new UncheckedIOException("Write-ahead log gagal", kegagalan);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- snapshot
+
+    private void snapshotLatarBelakang() {
+        try {
+            snapshot();
+        } catch (IOException e) {
+            lock.lock();
+            try {
+                kegagalan = e;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void rotasiLog() throws IOException {
+        lock.lock();
+        try {
+            if (ditutup) {
+                return;
+            }
+            while (sedangFlush) {
+                flushSelesai.awaitUninterruptibly();
+            }
+            flushSinkron();
+            kanal.close();
+            if (Files.exists(fileLogLama)) {
+                // Sisa snapshot sebelumnya yang terputus: gabungkan dulu ke akhir log lama
+                Files.write(fileLogLama, Files.readAllBytes(fileLog), StandardOpenOption.APPEND);
+                Files.delete(fileLog);
+            } else {
+                Files.move(fileLog, fileLogLama, StandardCopyOption.ATOMIC_MOVE);
+            }
+            kanal = bukaLog();
+            entriSejakSnapshot = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void lipatSnapshot() throws IOException {
+        Map<String, Integer> tersedia = new HashMap<>();
+        // Peminjaman aktif per "idAnggota isbn"; anggota hanya memegang satu salinan per judul
+        Map<String, Peminjaman> aktif = new LinkedHashMap<>();
+        PemutarUlang pelipat = new PemutarUlang() {
+            @Override
+            public void jumlahTersedia(String isbn, int jumlah) {
+                tersedia.put(isbn, jumlah);
+            }
+
+            @Override
+            public void dipinjam(Peminjaman peminjaman) {
+                aktif.put(peminjaman.getIdAnggota() + ' ' + peminjaman.getIsbnBuku(), peminjaman);
+            }
+
+            @Override
+            public void dikembalikan(String idPeminjaman, String idAnggota, String isbn, LocalDate tanggalKembali) {
+                aktif.remove(idAnggota + ' ' + isbn);
+            }
+        };
+        bacaEntri(fileSnapshot, pelipat);
+        bacaEntri(fileLogLama, pelipat);
+
+        Path sementara = fileSnapshot.resolveSibling("snapshot.bin.tmp");
+        try (FileChannel keluaran = FileChannel.open(sementara, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(UKURAN_BUFFER_AWAL);
+            for (Map.Entry<String, Integer> entri : tersedia.entrySet()) {
+                buffer = tulisEntri(buffer, TIPE_TERSEDIA, new String[]{entri.getKey()}, entri.getValue());
+                buffer = kosongkanJikaPenuh(keluaran, buffer);
+            }
+            // Stok sudah ada di entri TIPE_TERSEDIA di atas, jadi peminjaman tanpa jumlah
+            for (Peminjaman p : aktif.values()) {
+                buffer = tulisEntri(buffer, TIPE_DIPINJAM,
+                        new String[]{p.getIdPeminjaman(), p.getIdAnggota(), p.getIsbnBuku()}, TANPA_JUMLAH,
+                        hariEpoch(p.getTanggalPinjam()), hariEpoch(p.getTanggalJatuhTempo()));
+                buffer = kosongkanJikaPenuh(keluaran, buffer);
+            }
+            tulisDanSync(keluaran, buffer);
+        }
+        Files.move(sementara, fileSnapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        Files.deleteIfExists(fileLogLama);
+    }
+
+    private static ByteBuffer kosongkanJikaPenuh(FileChannel keluaran, ByteBuffer buffer) throws IOException {
+        if (buffer.position() > UKURAN_BUFFER_AWAL / 2) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                keluaran.write(buffer);
+            }
+            buffer.clear();
+        }
+        return buffer;
+    }
+
+    // ---------------------------------------------------------------- baca
+
+    /**
+     * Baca entri sampai habis atau sampai entri rusak (tulisan terpotong saat crash).
+     *
+     * @return jumlah byte entri yang valid
+     */
+    private static long bacaEntri(Path file, PemutarUlang pemutar) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        long valid = 0;
+        try (InputStream masukan = Files.newInputStream(file);
+             DataInputStream data = new DataInputStream(new BufferedInputStream(masukan))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                int panjang;
+                int crcTersimpan;
+                byte[] isi;
+                try {
+                    panjang = data.readInt();
+                    crcTersimpan = data.readInt();
+                    if (panjang <= 0 || panjang > 1 << 20) {
+                        break;
+                    }
+                    isi = new byte[panjang];
+                    data.readFully(isi);
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(isi, 0, panjang);
+                if ((int) crc.getValue() != crcTersimpan) {
+                    break;
+                }
+                terapkan(ByteBuffer.wrap(isi), pemutar);
+                valid += 8 + panjang;
+            }
+        }
+        return valid;
+    }
+
+    private static void terapkan(ByteBuffer isi, PemutarUlang pemutar) {
+        byte tipe = isi.get();
+        String a = bacaString(isi);
+        switch (tipe) {
+            case TIPE_TERSEDIA:
+                pemutar.jumlahTersedia(a, isi.getInt());
+                break;
+            case TIPE_PINJAM:
+                pemutar.dipinjam(new Peminjaman(null, a, bacaString(isi), null, null));
+                break;
+            case TIPE_KEMBALI:
+                pemutar.dikembalikan(null, a, bacaString(isi), null);
+                break;
+            case TIPE_DIPINJAM: {
+                String idAnggota = bacaString(isi);
+                String isbn = bacaString(isi);
+                int jumlah = isi.getInt();
+                LocalDate tanggalPinjam = tanggal(isi.getInt());
+                LocalDate jatuhTempo = tanggal(isi.getInt());
+                if (jumlah != TANPA_JUMLAH) {
+                    pemutar.jumlahTersedia(isbn, jumlah);
+                }
+                pemutar.dipinjam(new Peminjaman(a, idAnggota, isbn, tanggalPinjam, jatuhTempo));
+                break;
+            }
+            case TIPE_DIKEMBALIKAN: {
+                String idAnggota = bacaString(isi);
+                String isbn = bacaString(isi);
+                int jumlah = isi.getInt();
+                LocalDate tanggalKembali = tanggal(isi.getInt());
+                if (jumlah != TANPA_JUMLAH) {
+                    pemutar.jumlahTersedia(isbn, jumlah);
+                }
+                pemutar.dikembalikan(a, idAnggota, isbn, tanggalKembali);
+                break;
+            }
+            default:
+                throw new IllegalStateException("Tipe entri tidak dikenal: " + tipe);
+        }
+    }
+
+    private static int hariEpoch(LocalDate tanggal) {
+        return tanggal == null ? TANPA_TANGGAL : (int) tanggal.toEpochDay();
+    }
+
+    private static LocalDate tanggal(int hariEpoch) {
+        return hariEpoch == TANPA_TANGGAL ? null : LocalDate.ofEpochDay(hariEpoch);
+    }
+
+    private static String bacaString(ByteBuffer isi) {
+        int panjang = isi.getShort() & 0xFFFF;
+        if (panjang == STRING_NULL) {
+            return null;
+        }
+        String hasil = new String(isi.array(), isi.position(), panjang, StandardCharsets.UTF_8);
+        isi.position(isi.position() + panjang);
+        return hasil;
+    }
+
+    private FileChannel bukaLog() throws IOException {
+        // Buang ekor log yang terpotong supaya entri baru tidak ditulis setelah sampah
+        long valid = bacaEntri(fileLog, new PemutarUlang() { });
+        FileChannel baru = FileChannel.open(fileLog, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (baru.size() > valid) {
+            baru.truncate(valid);
+        }
+        baru.position(valid);
+        return baru;
+    }
+}
@@ -0,0 +1,85 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.util.BufferCincin;
+import com.praktikum.testing.util.StrategiTunggu;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Saluran peristiwa sirkulasi dari ServicePerpustakaan ke pekerjaan sampingan (audit,
+ * statistik, notifikasi, popularitas) yang tidak boleh memperlambat pinjamBuku atau
+ * kembalikanBuku.
+ *
+ * Di atas BufferCincin berisi slot PeristiwaSirkulasi yang dibuat sekali: thread service
+ * hanya membayar satu klaim nomor urut, empat tulis field dan satu tulis volatile, tanpa
+ * alokasi. Setiap konsumen berjalan di thread sendiri dan menerima semua peristiwa sesuai
+ * urutan, dalam batch (lihat BufferCincin.Penangan).
+ *
+ * Daftarkan konsumen lalu panggil mulai() sebelum service dipakai. Jika konsumen tertinggal
+ * sejauh ukuran buffer, service ikut menunggu paling lama BufferCincin.BATAS_TUNGGU_BAWAAN;
+ * setelah itu peristiwanya dibuang dan dihitung di getJumlahDibuang(), supaya konsumen yang
+ * macet tidak ikut menghentikan pinjamBuku. Pilih ukuran yang menampung lonjakan.
+ * Setelah close(), peristiwa baru diabaikan dan service tetap berjalan.
+ */
+public class BusPeristiwaSirkulasi implements AutoCloseable {
+
+    public static final int UKURAN_BAWAAN = 4096;
+
+    private final BufferCincin<PeristiwaSirkulasi> cincin;
+    private final AtomicLong dibuang = new AtomicLong();
+
+    /** 4096 slot, konsumen menunggu dengan StrategiTunggu.mengalah(). */
+    public BusPeristiwaSirkulasi() {
+        this(UKURAN_BAWAAN, StrategiTunggu.mengalah());
+    }
+
+    public BusPeristiwaSirkulasi(int ukuran, StrategiTunggu strategi) {
+        this.cincin = new BufferCincin<>(ukuran, PeristiwaSirkulasi::new, strategi);
+    }
+
+    /**
+     * @param nama nama thread konsumen
+     * @throws IllegalStateException jika bus sudah dimulai
+     */
+    public void tambahKonsumen(String nama, BufferCincin.Penangan<PeristiwaSirkulasi> penangan) {
+        cincin.tambahKonsumen(nama, penangan);
+    }
+
+    public void mulai() {
+        cincin.mulai();
+    }
+
+    void terbitkan(PeristiwaSirkulasi.Jenis jenis, String isbn, String idAnggota, int jumlahTersedia) {
+        if (cincin.isDitutup()) {
+            return;
+        }
+        long urutan;
+        try {
+            urutan = cincin.klaim();
+        } catch (IllegalStateException e) {
+            // Ditutup saat menunggu slot bebas, atau konsumen tertinggal melewati batas tunggu
+            if (!cincin.isDitutup()) {
+                dibuang.incrementAndGet();
+            }
+            return;
+        }
+        cincin.dapatkan(urutan).isi(jenis, isbn, idAnggota, jumlahTersedia);
+        cincin.terbitkan(urutan);
+    }
+
+    /** Jumlah exception dari penangan konsumen sejak bus dibuat. */
+    public long getJumlahGagal() {
+        return cincin.getJumlahGagal();
+    }
+
+    /** Jumlah peristiwa yang dibuang karena buffer tetap penuh melewati batas tunggu. */
+    public long getJumlahDibuang() {
+        return dibuang.get();
+    }
+
+    /** Tunggu konsumen memproses semua peristiwa yang sudah terbit, lalu hentikan. */
+    @Override
+    public void close() {
+        cincin.close();
+    }
+}
@@ -0,0 +1,136 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.repository.IndeksAutocomplete;
+import com.praktikum.testing.repository.RepositoryPeminjaman;
+import com.praktikum.testing.repository.WriteAheadLog;
+
+import java.time.LocalDate;
+
+/**
+ * Langkah setelah stok berhasil diubah, dipakai bersama oleh ServicePerpustakaan dan
+ * ServicePerpustakaanAsync supaya kedua jalur mencatat dan mengumumkan hal yang sama.
+ *
+ * - catatPinjam/catatKembali: buku besar peminjaman, dan jurnal jika stoknya tidak ikut
+ *   dicatat di entri yang sama. Jika melempar exception, tidak ada catatan yang tertinggal
+ *   dan pemanggil wajib membatalkan perubahan stok serta daftar pinjaman anggota.
+ * - umumkanPinjam/umumkanKembali: popularitas, pemberitahu ketersediaan dan bus, hanya
+ *   setelah catatan berhasil.
+ *
+ * Jika ada bus, popularitas pinjam di IndeksAutocomplete dan PelacakPopularitas diperbarui
+ * oleh konsumen bus "popularitas" dari peristiwa DIPINJAM, bukan di thread peminjam;
+ * keduanya hanya peringkat perkiraan, jadi boleh tertinggal sebentar atau kehilangan
+ * peristiwa yang dibuang bus. Konsumen itu didaftarkan di sini, jadi bus harus belum
+ * dimulai. Tanpa bus keduanya tetap diperbarui langsung.
+ *
+ * Isi indeks autocomplete dan fuzzy (buku ditambah/dihapus) tidak lewat bus: keduanya
+ * diperbarui oleh pembungkus repository bersama katalognya, supaya buku yang baru
+ * disimpan langsung bisa dicari dan indeks tidak pernah memuat buku yang sudah dihapus.
+ */
+final class EfekSirkulasi {
+
+    private final RepositoryPeminjaman repositoryPeminjaman;
+    private final WriteAheadLog jurnal;
+    private final PemberitahuKetersediaan pemberitahuKetersediaan;
+    private final IndeksAutocomplete indeksAutocomplete;
+    private final PelacakPopularitas pelacakPopularitas;
+    private final BusPeristiwaSirkulasi busPeristiwa;
+    private final boolean popularitasLewatBus;
+
+    /**
+     * @throws IllegalStateException jika bus sudah dimulai sementara indeksAutocomplete atau
+     *                               pelacakPopularitas perlu didaftarkan sebagai konsumen
+     */
+    EfekSirkulasi(RepositoryPeminjaman repositoryPeminjaman, WriteAheadLog jurnal,
+                  PemberitahuKetersediaan pemberitahuKetersediaan, IndeksAutocomplete indeksAutocomplete,
+                  PelacakPopularitas pelacakPopularitas, BusPeristiwaSirkulasi busPeristiwa) {
+        this.repositoryPeminjaman = repositoryPeminjaman;
+        this.jurnal = jurnal;
+        this.pemberitahuKetersediaan = pemberitahuKetersediaan;
+        this.indeksAutocomplete = indeksAutocomplete;
+        this.pelacakPopularitas = pelacakPopularitas;
+        this.busPeristiwa = busPeristiwa;
+        this.popularitasLewatBus = busPeristiwa != null && (indeksAutocomplete != null || pelacakPopularitas != null);
+        if (popularitasLewatBus) {
+            busPeristiwa.tambahKonsumen("popularitas", (peristiwa, urutan, akhirBatch) -> {
+                if (peristiwa.getJenis() == PeristiwaSirkulasi.Jenis.DIPINJAM) {
+                    catatPopularitas(peristiwa.getIsbn());
+                }
+            });
+        }
+    }
+
+    RepositoryPeminjaman getRepositoryPeminjaman() {
+        return repositoryPeminjaman;
+    }
+
+    /**
+     * @param jurnalkan true jika perubahan stoknya belum tercatat di jurnal bersama peminjaman
+     *                  ini (jalur async); entri jurnal lalu ditulis tanpa jumlah tersedia
+     */
+    void catatPinjam(Peminjaman peminjaman, boolean jurnalkan) {
+        repositoryPeminjaman.simpan(peminjaman);
+        if (jurnalkan && jurnal != null) {
+            try {
+                jurnal.catatPinjam(peminjaman);
+            } catch (RuntimeException e) {
+                repositoryPeminjaman.hapus(peminjaman.getIdPeminjaman());
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * @param idPeminjaman catatan yang ditutup, null untuk pinjaman lama tanpa catatan
+     * @param jurnalkan    lihat catatPinjam
+     */
+    void catatKembali(String idPeminjaman, String idAnggota, String isbn, LocalDate tanggalKembali,
+                      boolean jurnalkan) {
+        // Jurnal dulu: tandaiDikembalikan tidak bisa dibatalkan jika jurnal gagal sesudahnya
+        if (jurnalkan && jurnal != null) {
+            jurnal.catatKembali(idPeminjaman, idAnggota, isbn, tanggalKembali);
+        }
+        if (idPeminjaman != null) {
+            repositoryPeminjaman.tandaiDikembalikan(idPeminjaman, tanggalKembali);
+        }
+    }
+
+    void umumkanPinjam(String isbn, String idAnggota, int sisa) {
+        if (busPeristiwa != null) {
+            busPeristiwa.terbitkan(PeristiwaSirkulasi.Jenis.DIPINJAM, isbn, idAnggota, sisa);
+        }
+        if (!popularitasLewatBus) {
+            catatPopularitas(isbn);
+        }
+    }
+
+    /** Buku baru masuk katalog lewat tambahBuku atau imporKatalog. */
+    void umumkanDitambah(String isbn, int jumlahTersedia) {
+        pemberitahuKetersediaan.kabari(isbn, jumlahTersedia);
+        if (busPeristiwa != null) {
+            busPeristiwa.terbitkan(PeristiwaSirkulasi.Jenis.BUKU_DITAMBAH, isbn, null, jumlahTersedia);
+        }
+    }
+
+    void umumkanDihapus(String isbn) {
+        if (busPeristiwa != null) {
+            busPeristiwa.terbitkan(PeristiwaSirkulasi.Jenis.BUKU_DIHAPUS, isbn, null, 0);
+        }
+    }
+
+    void umumkanKembali(String isbn, String idAnggota, int jumlahBaru) {
+        pemberitahuKetersediaan.kabari(isbn, jumlahBaru);
+        if (busPeristiwa != null) {
+            busPeristiwa.terbitkan(PeristiwaSirkulasi.Jenis.DIKEMBALIKAN, isbn, idAnggota, jumlahBaru);
+        }
+    }
+
+    private void catatPopularitas(String isbn) {
+        if (indeksAutocomplete != null) {
+            indeksAutocomplete.catatPinjam(isbn);
+        }
+        if (pelacakPopularitas != null) {
+            pelacakPopularitas.catatPinjam(isbn);
+        }
+    }
+}
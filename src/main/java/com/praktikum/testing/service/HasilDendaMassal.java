@@ -0,0 +1,41 @@
+package com.praktikum.testing.service;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Hasil perhitungan denda massal. denda[i] adalah denda untuk peminjaman ke-i
+ * pada daftar masukan; totalPerAnggota hanya memuat anggota yang dendanya > 0.
+ */
+public class HasilDendaMassal {
+
+    private final double[] denda;
+    private final Map<String, Double> totalPerAnggota;
+    private final double total;
+
+    HasilDendaMassal(double[] denda, Map<String, Double> totalPerAnggota, double total) {
+        this.denda = denda;
+        this.totalPerAnggota = Collections.unmodifiableMap(totalPerAnggota);
+        this.total = total;
+    }
+
+    public double getDenda(int indeks) {
+        return denda[indeks];
+    }
+
+    public int getJumlahPeminjaman() {
+        return denda.length;
+    }
+
+    public Map<String, Double> getTotalPerAnggota() {
+        return totalPerAnggota;
+    }
+
+    public double getTotalDenda(String idAnggota) {
+        return totalPerAnggota.getOrDefault(idAnggota, 0.0);
+    }
+
+    public double getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,62 @@
+package com.praktikum.testing.service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ringkasan satu kali impor katalog. Daftar penolakan dibatasi jumlahnya agar
+ * file yang seluruhnya rusak tidak menghabiskan memori; jumlahDitolak tetap
+ * menghitung semua baris yang ditolak.
+ */
+public class HasilImpor {
+
+    public enum AlasanPenolakan {
+        FORMAT_TIDAK_VALID, DATA_TIDAK_VALID, ISBN_GANDA_DALAM_FILE, ISBN_SUDAH_ADA
+    }
+
+    public static class Penolakan {
+        private final long nomorBaris;
+        private final AlasanPenolakan alasan;
+
+        Penolakan(long nomorBaris, AlasanPenolakan alasan) {
+            this.nomorBaris = nomorBaris;
+            this.alasan = alasan;
+        }
+
+        // Nomor baris di file, mulai dari 1 (termasuk baris header)
+        public long getNomorBaris() {
+            return nomorBaris;
+        }
+
+        public AlasanPenolakan getAlasan() {
+            return alasan;
+        }
+
+        @Override
+        public String toString() {
+            return "baris " + nomorBaris + ": " + alasan;
+        }
+    }
+
+    private final long jumlahDiterima;
+    private final long jumlahDitolak;
+    private final List<Penolakan> penolakan;
+
+    HasilImpor(long jumlahDiterima, long jumlahDitolak, List<Penolakan> penolakan) {
+        this.jumlahDiterima = jumlahDiterima;
+        this.jumlahDitolak = jumlahDitolak;
+        this.penolakan = Collections.unmodifiableList(penolakan);
+    }
+
+    public long getJumlahDiterima() {
+        return jumlahDiterima;
+    }
+
+    public long getJumlahDitolak() {
+        return jumlahDitolak;
+    }
+
+    public List<Penolakan> getPenolakan() {
+        return penolakan;
+    }
+}
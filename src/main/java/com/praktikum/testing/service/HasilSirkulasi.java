@@ -0,0 +1,24 @@
+package com.praktikum.testing.service;
+
+/**
+ * Hasil rinci pinjamBuku/kembalikanBuku. Versi boolean hanya membedakan BERHASIL dari
+ * sisanya; nilai ini dipakai untuk penghitung penolakan per alasan.
+ */
+public enum HasilSirkulasi {
+    BERHASIL,
+    /** Anggota null atau datanya tidak valid. */
+    ANGGOTA_TIDAK_VALID,
+    ANGGOTA_TIDAK_AKTIF,
+    /** idAnggota tidak ada di RepositoryAnggota. */
+    ANGGOTA_TIDAK_TERDAFTAR,
+    ISBN_TIDAK_VALID,
+    BATAS_PINJAM,
+    /** Anggota sudah memegang salinan judul ini. */
+    SUDAH_DIPINJAM,
+    BUKU_TIDAK_ADA,
+    STOK_HABIS,
+    /** Kembalikan: anggota tidak tercatat meminjam buku ini. */
+    TIDAK_DIPINJAM,
+    /** Kembalikan: semua salinan sudah tersedia, stok tidak bisa ditambah. */
+    STOK_PENUH
+}
@@ -0,0 +1,344 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.RepositoryBuku;
+import com.praktikum.testing.util.ValidationUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Impor katalog buku dari CSV dengan format: isbn,judul,pengarang,jumlahTotal,harga
+ *
+ * File dibaca per potongan baris. Setiap potongan di-parse dan divalidasi di executor
+ * secara paralel, sementara thread pemanggil menerapkan hasilnya berurutan lewat
+ * RepositoryBuku.simpanSemua. Karena potongan sebelumnya sudah tersimpan, simpanSemua
+ * sekaligus menolak ISBN yang sudah ada di katalog dan ISBN ganda di dalam file.
+ * Jumlah potongan yang sedang diproses dibatasi, jadi memori tidak tumbuh mengikuti
+ * ukuran file (selain isi katalog itu sendiri).
+ *
+ * Baris header opsional (kolom pertama "isbn") dan baris kosong dilewati. Kolom boleh
+ * diapit tanda kutip ganda; kutip di dalam kolom ditulis "". Kolom tanpa kutip di-trim.
+ */
+public class ImportirKatalog {
+
+    static final int UKURAN_POTONGAN = 8192;
+    static final int MAKS_PENOLAKAN_DICATAT = 10_000;
+    private static final int JUMLAH_KOLOM = 5;
+
+    private final RepositoryBuku repositoryBuku;
+    private final ExecutorService executor;
+    private final int maksPotonganDiproses;
+    private final Consumer<Buku> setelahDisimpan;
+
+    public ImportirKatalog(RepositoryBuku repositoryBuku) {
+        this(repositoryBuku, ForkJoinPool.commonPool());
+    }
+
+    public ImportirKatalog(RepositoryBuku repositoryBuku, ExecutorService executor) {
+        this(repositoryBuku, executor, buku -> { });
+    }
+
+    /**
+     * @param setelahDisimpan dipanggil di thread pemanggil impor untuk setiap buku yang
+     *                        diterima, sesuai urutan baris, setelah potongannya tersimpan
+     */
+    public ImportirKatalog(RepositoryBuku repositoryBuku, ExecutorService executor, Consumer<Buku> setelahDisimpan) {
+        this.repositoryBuku = repositoryBuku;
+        this.executor = executor;
+        this.maksPotonganDiproses = Runtime.getRuntime().availableProcessors() * 2;
+        this.setelahDisimpan = setelahDisimpan;
+    }
+
+    public HasilImpor impor(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return impor(reader);
+        }
+    }
+
+    public HasilImpor impor(Reader sumber) throws IOException {
+        BufferedReader reader = sumber instanceof BufferedReader ? (BufferedReader) sumber : new BufferedReader(sumber);
+        Penerap penerap = new Penerap();
+        ArrayDeque<Future<Potongan>> diproses = new ArrayDeque<>();
+
+        long nomorBaris = 0;
+        long barisAwal = 1;
+        String[] baris = new String[UKURAN_POTONGAN];
+        int jumlah = 0;
+        String teks;
+        while ((teks = reader.readLine()) != null) {
+            nomorBaris++;
+            if (nomorBaris == 1 && isHeader(teks)) {
+                barisAwal = 2;
+                continue;
+            }
+            baris[jumlah++] = teks;
+            if (jumlah == UKURAN_POTONGAN) {
+                kirim(diproses, barisAwal, baris, jumlah, penerap);
+                barisAwal += jumlah;
+                baris = new String[UKURAN_POTONGAN];
+                jumlah = 0;
+            }
+        }
+        if (jumlah > 0) {
+            kirim(diproses, barisAwal, baris, jumlah, penerap);
+        }
+        while (!diproses.isEmpty()) {
+            penerap.terapkan(tunggu(diproses.poll()));
+        }
+        return penerap.hasil();
+    }
+
+    private void kirim(ArrayDeque<Future<Potongan>> diproses, long barisAwal, String[] baris, int jumlah,
+                       Penerap penerap) throws IOException {
+        diproses.add(executor.submit(() -> Potongan.parse(barisAwal, baris, jumlah)));
+        if (diproses.size() >= maksPotonganDiproses) {
+            penerap.terapkan(tunggu(diproses.poll()));
+        }
+    }
+
+    private static Potongan tunggu(Future<Potongan> potongan) throws IOException {
+        try {
+            return potongan.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Impor dibatalkan");
+        } catch (ExecutionException e) {
+            throw new IOException("Gagal memproses potongan CSV", e.getCause());
+        }
+    }
+
+    private static boolean isHeader(String baris) {
+        String[] kolom = pisahKolom(baris);
+        return kolom != null && "isbn".equalsIgnoreCase(kolom[0]);
+    }
+
+    /**
+     * Pisahkan satu baris CSV menjadi tepat lima kolom.
+     *
+     * @return null jika jumlah kolom salah atau tanda kutip tidak seimbang
+     */
+    static String[] pisahKolom(String baris) {
+        String[] kolom = new String[JUMLAH_KOLOM];
+        int n = 0;
+        int i = 0;
+        int panjang = baris.length();
+        while (true) {
+            if (n == JUMLAH_KOLOM) {
+                return null;
+            }
+            if (i < panjang && baris.charAt(i) == '"') {
+                // Jalur cepat: kolom berkutip tanpa "" di dalamnya cukup di-substring
+                int tutup = baris.indexOf('"', i + 1);
+                if (tutup > 0 && (tutup + 1 == panjang || baris.charAt(tutup + 1) == ',')) {
+                    kolom[n++] = baris.substring(i + 1, tutup);
+                    i = tutup + 1;
+                    if (i >= panjang) {
+                        return n == JUMLAH_KOLOM ? kolom : null;
+                    }
+                    i++;
+                    continue;
+                }
+                StringBuilder sb = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= panjang) {
+                        return null;
+                    }
+                    char c = baris.charAt(i++);
+                    if (c == '"') {
+                        if (i < panjang && baris.charAt(i) == '"') {
+                            sb.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        sb.append(c);
+                    }
+                }
+                if (i < panjang && baris.charAt(i) != ',') {
+                    return null;
+                }
+                kolom[n++] = sb.toString();
+            } else {
+                int koma = baris.indexOf(',', i);
+                int akhir = koma < 0 ? panjang : koma;
+                kolom[n++] = baris.substring(i, akhir).trim();
+                i = akhir;
+            }
+            if (i >= panjang) {
+                return n == JUMLAH_KOLOM ? kolom : null;
+            }
+            i++; // lewati koma
+        }
+    }
+
+    /**
+     * Hasil parse dan validasi satu potongan: buku[i] terisi jika baris valid,
+     * selain itu alasan[i] terisi (atau keduanya null untuk baris kosong).
+     */
+    private static final class Potongan {
+        final long barisAwal;
+        final Buku[] buku;
+        final HasilImpor.AlasanPenolakan[] alasan;
+
+        private Potongan(long barisAwal, int jumlah) {
+            this.barisAwal = barisAwal;
+            this.buku = new Buku[jumlah];
+            this.alasan = new HasilImpor.AlasanPenolakan[jumlah];
+        }
+
+        static Potongan parse(long barisAwal, String[] baris, int jumlah) {
+            Potongan potongan = new Potongan(barisAwal, jumlah);
+            for (int i = 0; i < jumlah; i++) {
+                if (baris[i].isEmpty()) {
+                    continue;
+                }
+                String[] kolom = pisahKolom(baris[i]);
+                if (kolom == null) {
+                    potongan.alasan[i] = HasilImpor.AlasanPenolakan.FORMAT_TIDAK_VALID;
+                    continue;
+                }
+                Buku buku;
+                try {
+                    buku = new Buku(kolom[0], kolom[1], kolom[2], Integer.parseInt(kolom[3]),
+                            Double.parseDouble(kolom[4]));
+                } catch (NumberFormatException e) {
+                    potongan.alasan[i] = HasilImpor.AlasanPenolakan.FORMAT_TIDAK_VALID;
+                    continue;
+                }
+                if (ValidationUtils.isValidBuku(buku)) {
+                    potongan.buku[i] = buku;
+                } else {
+                    potongan.alasan[i] = HasilImpor.AlasanPenolakan.DATA_TIDAK_VALID;
+                }
+            }
+            return potongan;
+        }
+    }
+
+    /**
+     * Menerapkan potongan ke repository secara berurutan; hanya dipakai thread pemanggil.
+     */
+    private final class Penerap {
+        private final HashIsbn isbnDiterima = new HashIsbn();
+        private final List<HasilImpor.Penolakan> penolakan = new ArrayList<>();
+        private long jumlahDiterima;
+        private long jumlahDitolak;
+
+        void terapkan(Potongan potongan) {
+            List<Buku> kandidat = new ArrayList<>(potongan.buku.length);
+            int[] indeksKandidat = new int[potongan.buku.length];
+            for (int i = 0; i < potongan.buku.length; i++) {
+                Buku buku = potongan.buku[i];
+                if (buku != null) {
+                    indeksKandidat[kandidat.size()] = i;
+                    kandidat.add(buku);
+                } else if (potongan.alasan[i] != null) {
+                    tolak(potongan.barisAwal + i, potongan.alasan[i]);
+                }
+            }
+
+            // Urutan naik penting: ISBN yang diterima di baris awal potongan sudah tercatat
+            // saat duplikatnya di baris berikutnya diberi alasan penolakan
+            BitSet disimpan = repositoryBuku.simpanSemua(kandidat);
+            for (int k = 0; k < kandidat.size(); k++) {
+                long hash = HashIsbn.hash(kandidat.get(k).getIsbn());
+                if (disimpan.get(k)) {
+                    jumlahDiterima++;
+                    isbnDiterima.tambah(hash);
+                    setelahDisimpan.accept(kandidat.get(k));
+                } else {
+                    tolak(potongan.barisAwal + indeksKandidat[k], isbnDiterima.berisi(hash)
+                            ? HasilImpor.AlasanPenolakan.ISBN_GANDA_DALAM_FILE
+                            : HasilImpor.AlasanPenolakan.ISBN_SUDAH_ADA);
+                }
+            }
+        }
+
+        private void tolak(long nomorBaris, HasilImpor.AlasanPenolakan alasan) {
+            jumlahDitolak++;
+            if (penolakan.size() < MAKS_PENOLAKAN_DICATAT) {
+                penolakan.add(new HasilImpor.Penolakan(nomorBaris, alasan));
+            }
+        }
+
+        HasilImpor hasil() {
+            penolakan.sort((a, b) -> Long.compare(a.getNomorBaris(), b.getNomorBaris()));
+            return new HasilImpor(jumlahDiterima, jumlahDitolak, penolakan);
+        }
+    }
+
+    /**
+     * Himpunan hash 64-bit ISBN yang diterima selama impor, dipakai hanya untuk membedakan
+     * alasan ISBN_GANDA_DALAM_FILE dari ISBN_SUDAH_ADA. Disimpan di satu long[] (open
+     * addressing) agar jutaan entri tidak menjadi graf objek yang harus ditelusuri GC.
+     * Tabrakan hash 64-bit hanya bisa menukar alasan penolakan, bukan hasil simpan.
+     */
+    private static final class HashIsbn {
+        private long[] tabel = new long[1 << 16];
+        private int jumlah;
+
+        static long hash(String isbn) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < isbn.length(); i++) {
+                h = (h ^ isbn.charAt(i)) * 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            return h == 0 ? 1 : h;
+        }
+
+        void tambah(long hash) {
+            if (jumlah * 2 >= tabel.length) {
+                long[] lama = tabel;
+                tabel = new long[lama.length * 2];
+                for (long h : lama) {
+                    if (h != 0) {
+                        sisipkan(h);
+                    }
+                }
+            }
+            if (sisipkan(hash)) {
+                jumlah++;
+            }
+        }
+
+        boolean berisi(long hash) {
+            int mask = tabel.length - 1;
+            for (int i = (int) hash & mask; tabel[i] != 0; i = (i + 1) & mask) {
+                if (tabel[i] == hash) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean sisipkan(long hash) {
+            int mask = tabel.length - 1;
+            int i = (int) hash & mask;
+            while (tabel[i] != 0) {
+                if (tabel[i] == hash) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            tabel[i] = hash;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.util.HistogramLatensi;
+import com.praktikum.testing.util.Instrumentasi;
+import com.praktikum.testing.util.PenghitungAlasan;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Lapisan pengukuran di depan ServicePerpustakaan untuk jalur sirkulasi dan pencarian.
+ *
+ * Setiap operasi mencatat latensi ke histogram "service.&lt;metode&gt;". pinjamBuku dan
+ * kembalikanBuku juga menghitung hasilnya per HasilSirkulasi, sehingga penolakan karena
+ * batas pinjam, stok habis, anggota tidak aktif dan seterusnya bisa dibedakan.
+ * Operasi lain diukur lewat ukur(operasi, panggilan), jadi fitur baru di service tidak
+ * perlu metode baru di sini.
+ *
+ * Penghitung hasil selalu lengkap; latensi mengikuti periode sampel Instrumentasi. Pakai
+ * misalnya new Instrumentasi("perpustakaan", 16) di produksi: tanpa sampling, setiap
+ * lapis pengukuran menambah dua System.nanoTime() per panggilan (lihat
+ * InstrumentasiBenchmark di benchmark/README.md).
+ */
+public class InstrumentedServicePerpustakaan {
+
+    private final ServicePerpustakaan service;
+    private final HistogramLatensi latensiPinjam;
+    private final HistogramLatensi latensiKembalikan;
+    private final HistogramLatensi latensiCariByIsbn;
+    private final HistogramLatensi latensiCariByJudul;
+    private final HistogramLatensi latensiCariByPengarang;
+    private final Map<String, HistogramLatensi> latensiLain = new ConcurrentHashMap<>();
+    private final Instrumentasi instrumentasi;
+    private final PenghitungAlasan<HasilSirkulasi> hasilPinjam;
+    private final PenghitungAlasan<HasilSirkulasi> hasilKembalikan;
+
+    public InstrumentedServicePerpustakaan(ServicePerpustakaan service, Instrumentasi instrumentasi) {
+        this.service = service;
+        this.instrumentasi = instrumentasi;
+        this.latensiPinjam = instrumentasi.histogram("service.pinjamBuku");
+        this.latensiKembalikan = instrumentasi.histogram("service.kembalikanBuku");
+        this.latensiCariByIsbn = instrumentasi.histogram("service.cariBukuByIsbn");
+        this.latensiCariByJudul = instrumentasi.histogram("service.cariBukuByJudul");
+        this.latensiCariByPengarang = instrumentasi.histogram("service.cariBukuByPengarang");
+        this.hasilPinjam = instrumentasi.penghitung("service.pinjamBuku", HasilSirkulasi.class);
+        this.hasilKembalikan = instrumentasi.penghitung("service.kembalikanBuku", HasilSirkulasi.class);
+    }
+
+    public boolean pinjamBuku(String isbn, Anggota anggota) {
+        long mulai = latensiPinjam.mulai();
+        try {
+            return catat(hasilPinjam, service.pinjamBukuDenganHasil(isbn, anggota));
+        } finally {
+            latensiPinjam.selesai(mulai);
+        }
+    }
+
+    public boolean pinjamBuku(String isbn, String idAnggota) {
+        long mulai = latensiPinjam.mulai();
+        try {
+            return catat(hasilPinjam, service.pinjamBukuDenganHasil(isbn, idAnggota));
+        } finally {
+            latensiPinjam.selesai(mulai);
+        }
+    }
+
+    public boolean kembalikanBuku(String isbn, Anggota anggota) {
+        long mulai = latensiKembalikan.mulai();
+        try {
+            return catat(hasilKembalikan, service.kembalikanBukuDenganHasil(isbn, anggota));
+        } finally {
+            latensiKembalikan.selesai(mulai);
+        }
+    }
+
+    public boolean kembalikanBuku(String isbn, String idAnggota) {
+        long mulai = latensiKembalikan.mulai();
+        try {
+            return catat(hasilKembalikan, service.kembalikanBukuDenganHasil(isbn, idAnggota));
+        } finally {
+            latensiKembalikan.selesai(mulai);
+        }
+    }
+
+    public Optional<Buku> cariBukuByIsbn(String isbn) {
+        long mulai = latensiCariByIsbn.mulai();
+        try {
+            return service.cariBukuByIsbn(isbn);
+        } finally {
+            latensiCariByIsbn.selesai(mulai);
+        }
+    }
+
+    public List<Buku> cariBukuByJudul(String judul) {
+        long mulai = latensiCariByJudul.mulai();
+        try {
+            return service.cariBukuByJudul(judul);
+        } finally {
+            latensiCariByJudul.selesai(mulai);
+        }
+    }
+
+    public List<Buku> cariBukuByPengarang(String pengarang) {
+        long mulai = latensiCariByPengarang.mulai();
+        try {
+            return service.cariBukuByPengarang(pengarang);
+        } finally {
+            latensiCariByPengarang.selesai(mulai);
+        }
+    }
+
+    /**
+     * Ukur operasi service lain tanpa menambah metode di kelas ini, misalnya
+     * {@code terukur.ukur("sarankanJudul", s -> s.sarankanJudul("jav", 5))}. Latensinya
+     * masuk histogram "service.&lt;operasi&gt;".
+     */
+    public <T> T ukur(String operasi, Function<ServicePerpustakaan, T> panggilan) {
+        HistogramLatensi histogram = latensiLain.get(operasi);
+        if (histogram == null) {
+            histogram = latensiLain.computeIfAbsent(operasi, k -> instrumentasi.histogram("service." + k));
+        }
+        long mulai = histogram.mulai();
+        try {
+            return panggilan.apply(service);
+        } finally {
+            histogram.selesai(mulai);
+        }
+    }
+
+    public ServicePerpustakaan getService() {
+        return service;
+    }
+
+    private static boolean catat(PenghitungAlasan<HasilSirkulasi> penghitung, HasilSirkulasi hasil) {
+        penghitung.tambah(hasil);
+        return hasil == HasilSirkulasi.BERHASIL;
+    }
+}
@@ -3,6 +3,18 @@ package com.praktikum.testing.service;
 import com.praktikum.testing.model.Peminjaman;
 import com.praktikum.testing.model.Anggota;
 
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
 public class KalkulatorDenda {
 
     // Tarif denda harian per tipe (dalam Rupiah)
@@ -15,6 +27,11 @@ public class KalkulatorDenda {
     private static final double DENDA_MAX_DOSEN = 100000.0;
     private static final double DENDA_MAX_UMUM = 75000.0;
 
+    // Ukuran potongan terkecil yang dihitung satu thread pada hitungDendaMassal
+    private static final int AMBANG_PARALEL = 4096;
+    // Jumlah peminjaman yang ditahan sekaligus saat membaca dari stream
+    static final int UKURAN_BLOK_STREAM = 16 * AMBANG_PARALEL;
+
     public double hitungDenda(Peminjaman peminjaman, Anggota anggota) {
         if (peminjaman == null || anggota == null) {
             throw new IllegalArgumentException("Peminjaman dan Anggota tidak boleh null");
@@ -85,4 +102,182 @@ public class KalkulatorDenda {
             return "Denda berat";
         }
     }
+
+    /**
+     * Hitung denda banyak peminjaman sekaligus dengan satu tanggal acuan.
+     * Hasilnya sama dengan memanggil hitungDenda per peminjaman pada tanggal acuan itu,
+     * tetapi tabel tarif dibaca sekali, tanggal diubah ke epoch-day tanpa LocalDate.now(),
+     * dan pekerjaan dibagi ke fork-join pool.
+     *
+     * @param anggotaById anggota untuk setiap idAnggota yang muncul di daftar peminjaman
+     */
+    public HasilDendaMassal hitungDendaMassal(List<Peminjaman> daftarPeminjaman,
+                                              Map<String, Anggota> anggotaById, LocalDate tanggalAcuan) {
+        return hitungDendaMassal(daftarPeminjaman, anggotaById, tanggalAcuan, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Seperti hitungDendaMassal untuk List, tetapi peminjaman dibaca dari stream per blok
+     * UKURAN_BLOK_STREAM: hanya satu blok peminjaman yang ditahan di memori, ditambah satu
+     * double denda per peminjaman untuk hasilnya. Setiap blok tetap dihitung paralel.
+     */
+    public HasilDendaMassal hitungDendaMassal(Stream<Peminjaman> peminjaman,
+                                              Map<String, Anggota> anggotaById, LocalDate tanggalAcuan) {
+        if (peminjaman == null || anggotaById == null || tanggalAcuan == null) {
+            throw new IllegalArgumentException("Daftar peminjaman, anggota dan tanggal acuan tidak boleh null");
+        }
+
+        double[][] tabel = tabelTarif();
+        long hariAcuan = tanggalAcuan.toEpochDay();
+        Spliterator<Peminjaman> sumber = peminjaman.spliterator();
+        // Stream kecil yang ukurannya diketahui tidak perlu blok penuh
+        int ukuranBlok = (int) Math.max(1, Math.min(UKURAN_BLOK_STREAM, sumber.estimateSize()));
+        Peminjaman[] blok = new Peminjaman[ukuranBlok];
+        double[] dendaBlok = new double[ukuranBlok];
+        double[] denda = new double[0];
+        int jumlah = 0;
+        Map<String, double[]> totalPerAnggota = new HashMap<>();
+
+        Iterator<Peminjaman> iterator = Spliterators.iterator(sumber);
+        while (iterator.hasNext()) {
+            int n = 0;
+            while (n < blok.length && iterator.hasNext()) {
+                Peminjaman p = iterator.next();
+                if (p == null) {
+                    throw new IllegalArgumentException("Peminjaman tidak boleh null (indeks " + (jumlah + n) + ")");
+                }
+                blok[n++] = p;
+            }
+            Arrays.fill(dendaBlok, 0, n, 0.0);
+            gabungTotal(totalPerAnggota, ForkJoinPool.commonPool().invoke(
+                    new TugasDenda(blok, anggotaById, hariAcuan, tabel[0], tabel[1], dendaBlok, 0, n)));
+            if (jumlah + n > denda.length) {
+                denda = Arrays.copyOf(denda, Math.max(denda.length * 2, jumlah + n));
+            }
+            System.arraycopy(dendaBlok, 0, denda, jumlah, n);
+            jumlah += n;
+        }
+        return hasil(denda.length == jumlah ? denda : Arrays.copyOf(denda, jumlah), totalPerAnggota);
+    }
+
+    public HasilDendaMassal hitungDendaMassal(List<Peminjaman> daftarPeminjaman, Map<String, Anggota> anggotaById,
+                                              LocalDate tanggalAcuan, ForkJoinPool pool) {
+        if (daftarPeminjaman == null || anggotaById == null || tanggalAcuan == null) {
+            throw new IllegalArgumentException("Daftar peminjaman, anggota dan tanggal acuan tidak boleh null");
+        }
+
+        double[][] tabel = tabelTarif();
+        Peminjaman[] peminjaman = daftarPeminjaman.toArray(new Peminjaman[0]);
+        double[] denda = new double[peminjaman.length];
+        TugasDenda tugas = new TugasDenda(peminjaman, anggotaById, tanggalAcuan.toEpochDay(),
+                tabel[0], tabel[1], denda, 0, peminjaman.length);
+        return hasil(denda, pool.invoke(tugas));
+    }
+
+    /** Tabel tarif harian dan maksimal per ordinal tipe, dibangun sekali untuk seluruh batch. */
+    private double[][] tabelTarif() {
+        Anggota.TipeAnggota[] semuaTipe = Anggota.TipeAnggota.values();
+        double[] tarif = new double[semuaTipe.length];
+        double[] maksimal = new double[semuaTipe.length];
+        for (Anggota.TipeAnggota tipe : semuaTipe) {
+            tarif[tipe.ordinal()] = getTarifDendaHarian(tipe);
+            maksimal[tipe.ordinal()] = getDendaMaksimal(tipe);
+        }
+        return new double[][]{tarif, maksimal};
+    }
+
+    private static HasilDendaMassal hasil(double[] denda, Map<String, double[]> totalPerAnggota) {
+        Map<String, Double> hasilTotal = new HashMap<>(totalPerAnggota.size() * 2);
+        double total = 0;
+        for (Map.Entry<String, double[]> entri : totalPerAnggota.entrySet()) {
+            hasilTotal.put(entri.getKey(), entri.getValue()[0]);
+            total += entri.getValue()[0];
+        }
+        return new HasilDendaMassal(denda, hasilTotal, total);
+    }
+
+    private static void gabungTotal(Map<String, double[]> tujuan, Map<String, double[]> sumber) {
+        for (Map.Entry<String, double[]> entri : sumber.entrySet()) {
+            double[] akumulator = tujuan.putIfAbsent(entri.getKey(), entri.getValue());
+            if (akumulator != null) {
+                akumulator[0] += entri.getValue()[0];
+            }
+        }
+    }
+
+    /**
+     * Menghitung denda untuk potongan [awal, akhir) dan mengembalikan total per anggota
+     * potongan itu. Total memakai double[1] sebagai akumulator agar tidak ada boxing per item.
+     */
+    private static final class TugasDenda extends RecursiveTask<Map<String, double[]>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Peminjaman[] peminjaman;
+        private final Map<String, Anggota> anggotaById;
+        private final long hariAcuan;
+        private final double[] tarif;
+        private final double[] maksimal;
+        private final double[] denda;
+        private final int awal;
+        private final int akhir;
+
+        TugasDenda(Peminjaman[] peminjaman, Map<String, Anggota> anggotaById, long hariAcuan,
+                   double[] tarif, double[] maksimal, double[] denda, int awal, int akhir) {
+            this.peminjaman = peminjaman;
+            this.anggotaById = anggotaById;
+            this.hariAcuan = hariAcuan;
+            this.tarif = tarif;
+            this.maksimal = maksimal;
+            this.denda = denda;
+            this.awal = awal;
+            this.akhir = akhir;
+        }
+
+        @Override
+        protected Map<String, double[]> compute() {
+            if (akhir - awal <= AMBANG_PARALEL) {
+                return hitungLangsung();
+            }
+            int tengah = (awal + akhir) >>> 1;
+            TugasDenda kiri = new TugasDenda(peminjaman, anggotaById, hariAcuan, tarif, maksimal, denda, awal, tengah);
+            TugasDenda kanan = new TugasDenda(peminjaman, anggotaById, hariAcuan, tarif, maksimal, denda, tengah, akhir);
+            kiri.fork();
+            Map<String, double[]> hasilKanan = kanan.compute();
+            Map<String, double[]> hasilKiri = kiri.join();
+
+            // Gabungkan map yang lebih kecil ke yang lebih besar
+            Map<String, double[]> besar = hasilKiri.size() >= hasilKanan.size() ? hasilKiri : hasilKanan;
+            gabungTotal(besar, besar == hasilKiri ? hasilKanan : hasilKiri);
+            return besar;
+        }
+
+        private Map<String, double[]> hitungLangsung() {
+            Map<String, double[]> total = new HashMap<>();
+            for (int i = awal; i < akhir; i++) {
+                Peminjaman p = peminjaman[i];
+                if (p == null) {
+                    throw new IllegalArgumentException("Peminjaman tidak boleh null (indeks " + i + ")");
+                }
+                long hariAkhir = p.isSudahDikembalikan() ? p.getTanggalKembali().toEpochDay() : hariAcuan;
+                long hariTerlambat = hariAkhir - p.getTanggalJatuhTempo().toEpochDay();
+                if (hariTerlambat <= 0) {
+                    continue;
+                }
+                Anggota anggota = anggotaById.get(p.getIdAnggota());
+                if (anggota == null || anggota.getTipeAnggota() == null) {
+                    throw new IllegalArgumentException("Anggota tidak dikenal untuk peminjaman: " + p.getIdPeminjaman());
+                }
+                int tipe = anggota.getTipeAnggota().ordinal();
+                double nilai = Math.min(tarif[tipe] * hariTerlambat, maksimal[tipe]);
+                denda[i] = nilai;
+                double[] akumulator = total.get(p.getIdAnggota());
+                if (akumulator == null) {
+                    total.put(p.getIdAnggota(), new double[]{nilai});
+                } else {
+                    akumulator[0] += nilai;
+                }
+            }
+            return total;
+        }
+    }
 }
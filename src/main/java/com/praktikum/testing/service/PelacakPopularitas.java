@@ -0,0 +1,228 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.util.SketsaHitungAtomik;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Daftar K buku paling sering dipinjam dalam jendela waktu bergeser (misalnya 7 hari terakhir),
+ * tanpa menyimpan setiap peminjaman.
+ *
+ * Jendela dibagi menjadi beberapa slot (misalnya per hari), masing-masing satu
+ * SketsaHitungAtomik. Slot yang sudah keluar dari jendela diganti sketsa kosong oleh
+ * peminjaman pertama di slot barunya. Jumlah pinjam sebuah ISBN dalam jendela diperkirakan
+ * sebagai jumlah perkiraan di semua slot yang masih berlaku.
+ *
+ * Agar tidak perlu menyimpan semua ISBN, hanya ISBN yang perkiraan jendelanya mencapai
+ * ambang yang masuk himpunan kandidat. Perhitungan ulang menyimpan kapasitasKandidat
+ * kandidat terbaik (jauh lebih banyak dari K), dan ambang jendela adalah perkiraan kandidat
+ * terakhir yang tersimpan, atau 0 selama kandidat belum penuh. Cadangan di bawah K itu yang
+ * mengisi daftar saat pemimpin lama keluar dari jendela. Perkiraan jendela membaca semua
+ * slot, jadi lebih dulu disaring dengan perkiraan slot berjalan yang sudah didapat dari
+ * tambah: ambang jendela dibagi jumlah slot.
+ *
+ * Ambang hanya berlaku di slot tempat ia dihitung. Begitu slot berganti, pinjaman slot
+ * terlama keluar dari jendela dan ambang lama bisa terlalu tinggi, jadi semua ISBN yang
+ * dipinjam diterima lagi sampai perhitungan ulang berikutnya menetapkan ambang baru.
+ * Memori tetap: sketsa per slot ditambah paling banyak 2 x kapasitasKandidat ISBN, tidak
+ * bergantung ukuran katalog.
+ *
+ * catatPinjam bebas kunci: increment atomik di sketsa dan, untuk ISBN yang lolos saringan,
+ * satu lookup/put ke ConcurrentHashMap. Pemangkasan kandidat yang kepenuhan hanya dijalankan
+ * jika kunci sedang bebas (tryLock). Peminjaman yang tepat bersamaan dengan pergantian slot
+ * bisa tercatat di sketsa lama yang dibuang; angkanya perkiraan, bukan catatan akuntansi.
+ */
+public class PelacakPopularitas {
+
+    public static final int K_BAWAAN = 10;
+
+    private final Clock clock;
+    private final long panjangSlotMillis;
+    private final int lebarSketsa;
+    private final int k;
+    private final int kapasitasKandidat;
+    private final AtomicReferenceArray<Slot> slot;
+    private final Set<String> kandidat = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock kunciPangkas = new ReentrantLock();
+    private volatile Ambang ambang = new Ambang(Long.MIN_VALUE, 0, 0);
+
+    /** 10 buku teratas dalam 7 hari terakhir, satu slot per hari. */
+    public PelacakPopularitas(Clock clock) {
+        this(clock, Duration.ofDays(7), 7, K_BAWAAN, 1 << 16);
+    }
+
+    /**
+     * @param panjangJendela rentang waktu yang dihitung, dibagi rata ke jumlahSlot
+     * @param lebarSketsa    penghitung per baris sketsa; kelebihan perkiraan sekitar
+     *                       e / lebarSketsa x jumlah pinjam per slot
+     */
+    public PelacakPopularitas(Clock clock, Duration panjangJendela, int jumlahSlot, int k, int lebarSketsa) {
+        if (jumlahSlot < 1 || k < 1) {
+            throw new IllegalArgumentException("Jumlah slot dan k minimal 1");
+        }
+        if (panjangJendela.toMillis() < jumlahSlot) {
+            throw new IllegalArgumentException("Panjang jendela terlalu pendek untuk " + jumlahSlot + " slot");
+        }
+        this.clock = clock;
+        this.panjangSlotMillis = panjangJendela.toMillis() / jumlahSlot;
+        this.lebarSketsa = lebarSketsa;
+        this.k = k;
+        this.kapasitasKandidat = Math.max(64, 8 * k);
+        this.slot = new AtomicReferenceArray<>(jumlahSlot);
+    }
+
+    /** Catat satu peminjaman. Bebas kunci; aman dipanggil dari banyak thread. */
+    public void catatPinjam(String isbn) {
+        long nomor = nomorSlot();
+        int perkiraanSlot = slotUntuk(nomor).sketsa.tambah(isbn);
+        Ambang a = ambang;
+        boolean ambangBerlaku = a.nomor == nomor;
+        if (ambangBerlaku && perkiraanSlot < a.slot) {
+            return;
+        }
+        if (kandidat.contains(isbn) || (ambangBerlaku && perkiraan(isbn, nomor) < a.jendela)) {
+            return;
+        }
+        if (kandidat.add(isbn) && kandidat.size() > 2 * kapasitasKandidat && kunciPangkas.tryLock()) {
+            try {
+                hitungTeratas(nomor);
+            } finally {
+                kunciPangkas.unlock();
+            }
+        }
+    }
+
+    /** Perkiraan jumlah pinjam ISBN ini di dalam jendela. */
+    public long perkiraan(String isbn) {
+        return perkiraan(isbn, nomorSlot());
+    }
+
+    /** Paling banyak K buku dengan perkiraan pinjam terbanyak di jendela, terbanyak dulu. */
+    public List<Peringkat> teratas() {
+        long nomor = nomorSlot();
+        kunciPangkas.lock();
+        try {
+            return hitungTeratas(nomor);
+        } finally {
+            kunciPangkas.unlock();
+        }
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    int getJumlahKandidat() {
+        return kandidat.size();
+    }
+
+    /**
+     * Hitung ulang semua kandidat, simpan kapasitasKandidat yang terbaik, dan kembalikan K
+     * teratas. Dipanggil dengan kunciPangkas dipegang.
+     */
+    private List<Peringkat> hitungTeratas(long nomor) {
+        Comparator<Peringkat> urutan = Comparator.comparingLong(Peringkat::getJumlah).reversed()
+                .thenComparing(Peringkat::getIsbn);
+        PriorityQueue<Peringkat> heap = new PriorityQueue<>(kapasitasKandidat + 1, urutan.reversed());
+        for (String isbn : kandidat) {
+            long jumlah = perkiraan(isbn, nomor);
+            if (jumlah == 0) {
+                kandidat.remove(isbn);
+                continue;
+            }
+            heap.add(new Peringkat(isbn, jumlah));
+            if (heap.size() > kapasitasKandidat) {
+                kandidat.remove(heap.poll().getIsbn());
+            }
+        }
+        long ambangJendela = heap.size() < kapasitasKandidat ? 0 : heap.peek().getJumlah();
+        ambang = new Ambang(nomor, ambangJendela, (int) Math.min(Integer.MAX_VALUE, ambangJendela / slot.length()));
+        List<Peringkat> hasil = new ArrayList<>(heap);
+        hasil.sort(urutan);
+        return hasil.size() > k ? new ArrayList<>(hasil.subList(0, k)) : hasil;
+    }
+
+    private long perkiraan(String isbn, long nomor) {
+        long jumlah = 0;
+        for (int i = 0; i < slot.length(); i++) {
+            Slot s = slot.get(i);
+            if (s != null && s.nomor > nomor - slot.length() && s.nomor <= nomor) {
+                jumlah += s.sketsa.perkiraan(isbn);
+            }
+        }
+        return jumlah;
+    }
+
+    private long nomorSlot() {
+        return Math.floorDiv(clock.millis(), panjangSlotMillis);
+    }
+
+    private Slot slotUntuk(long nomor) {
+        int i = (int) Math.floorMod(nomor, (long) slot.length());
+        Slot s = slot.get(i);
+        while (s == null || s.nomor < nomor) {
+            Slot baru = new Slot(nomor, new SketsaHitungAtomik(lebarSketsa));
+            if (slot.compareAndSet(i, s, baru)) {
+                return baru;
+            }
+            s = slot.get(i);
+        }
+        return s;
+    }
+
+    /** Ambang penerimaan kandidat, hanya berlaku selama slot nomor masih berjalan. */
+    private static final class Ambang {
+        final long nomor;
+        final long jendela;
+        final int slot;
+
+        Ambang(long nomor, long jendela, int slot) {
+            this.nomor = nomor;
+            this.jendela = jendela;
+            this.slot = slot;
+        }
+    }
+
+    private static final class Slot {
+        final long nomor;
+        final SketsaHitungAtomik sketsa;
+
+        Slot(long nomor, SketsaHitungAtomik sketsa) {
+            this.nomor = nomor;
+            this.sketsa = sketsa;
+        }
+    }
+
+    /** Satu buku di daftar teratas dengan perkiraan jumlah pinjamnya di jendela. */
+    public static final class Peringkat {
+        private final String isbn;
+        private final long jumlah;
+
+        Peringkat(String isbn, long jumlah) {
+            this.isbn = isbn;
+            this.jumlah = jumlah;
+        }
+
+        public String getIsbn() {
+            return isbn;
+        }
+
+        public long getJumlah() {
+            return jumlah;
+        }
+
+        @Override
+        public String toString() {
+            return isbn + " (" + jumlah + ")";
+        }
+    }
+}
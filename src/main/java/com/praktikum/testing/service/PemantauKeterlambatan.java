@@ -0,0 +1,68 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.repository.RepositoryPeminjaman;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mencari peminjaman terlambat lewat indeks jatuh tempo di RepositoryPeminjaman,
+ * bukan dengan memanggil isTerlambat() pada setiap peminjaman.
+ *
+ * Peminjaman dianggap terlambat per tanggal D jika belum dikembalikan dan
+ * tanggalJatuhTempo < D (sama dengan Peminjaman.isTerlambat(D)). Setiap pemindaian
+ * mengambil tanggal dari Clock tepat satu kali, sehingga seluruh hasil memakai
+ * snapshot tanggal yang sama.
+ */
+public class PemantauKeterlambatan {
+
+    private final RepositoryPeminjaman repositoryPeminjaman;
+    private final Clock clock;
+
+    // Batas bawah jatuh tempo untuk delta berikutnya; null sebelum pemindaian pertama
+    private LocalDate batasDeltaBerikutnya;
+
+    public PemantauKeterlambatan(RepositoryPeminjaman repositoryPeminjaman, Clock clock) {
+        this.repositoryPeminjaman = repositoryPeminjaman;
+        this.clock = clock;
+    }
+
+    public LocalDate hariIni() {
+        return LocalDate.now(clock);
+    }
+
+    /** Semua peminjaman aktif yang terlambat per hari ini. */
+    public List<Peminjaman> semuaTerlambat() {
+        return semuaTerlambatPer(hariIni());
+    }
+
+    /** Semua peminjaman aktif yang terlambat per tanggal D: range read jatuh tempo < D. */
+    public List<Peminjaman> semuaTerlambatPer(LocalDate tanggal) {
+        return repositoryPeminjaman.cariAktifJatuhTempoSebelum(tanggal);
+    }
+
+    /**
+     * Peminjaman yang menjadi terlambat sejak pemanggilan sebelumnya.
+     * Pemanggilan pertama mengembalikan semua yang terlambat per hari ini; pemanggilan
+     * berikutnya hanya membaca jatuh tempo di rentang [batas sebelumnya, hari ini).
+     * Jika dipanggil berkali-kali di hari yang sama, hasil kedua dan seterusnya kosong.
+     */
+    public synchronized List<Peminjaman> baruTerlambat() {
+        LocalDate tanggal = hariIni();
+        List<Peminjaman> hasil;
+        if (batasDeltaBerikutnya == null) {
+            hasil = repositoryPeminjaman.cariAktifJatuhTempoSebelum(tanggal);
+        } else if (batasDeltaBerikutnya.isBefore(tanggal)) {
+            hasil = repositoryPeminjaman.cariAktifJatuhTempoAntara(batasDeltaBerikutnya, tanggal);
+        } else {
+            hasil = new ArrayList<>();
+        }
+        if (batasDeltaBerikutnya == null || batasDeltaBerikutnya.isBefore(tanggal)) {
+            batasDeltaBerikutnya = tanggal;
+        }
+        return hasil;
+    }
+}
@@ -0,0 +1,167 @@
+package com.praktikum.testing.service;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Langganan ketersediaan buku sebagai pengganti polling bukuTersedia/getJumlahTersedia.
+ *
+ * Pelanggan mendaftar untuk satu ISBN dan dipanggil sekali ketika perubahan stok membuat
+ * buku itu tersedia (jumlah tersedia > 0); setelah itu langganannya selesai. Klien yang
+ * ingin terus memantau cukup mendaftar lagi dari dalam pendengar. Untuk model antrean,
+ * pakai misalnya {@code (isbn, jumlah) -> antrean.offer(isbn)} sebagai pendengar.
+ *
+ * Jalur yang mengubah stok hanya membayar satu ConcurrentHashMap.get untuk ISBN yang tidak
+ * ditunggu siapa pun. Jika ada yang menunggu, seluruh langganan ISBN itu diambil dengan satu
+ * remove dan pemanggilan pendengar diserahkan ke Executor, jadi thread yang mengembalikan
+ * buku tidak pernah menjalankan kode pelanggan. Pendengar dipanggil sesuai urutan mendaftar;
+ * exception dari satu pendengar tidak menghentikan yang lain.
+ *
+ * Satu kabar menyelesaikan semua langganan ISBN tersebut, jadi beberapa pelanggan bisa
+ * dikabari untuk salinan yang sama; siapa yang mendapatkannya tetap ditentukan pinjamBuku.
+ */
+public class PemberitahuKetersediaan {
+
+    /**
+     * Dipanggil di thread Executor, bukan di thread yang mengubah stok.
+     */
+    @FunctionalInterface
+    public interface Pendengar {
+        void tersedia(String isbn, int jumlahTersedia);
+    }
+
+    private static final AtomicIntegerFieldUpdater<Langganan> STATUS =
+            AtomicIntegerFieldUpdater.newUpdater(Langganan.class, "status");
+    private static final int MENUNGGU = 0;
+    private static final int SELESAI = 1;
+
+    // Set per ISBN hanya diubah di dalam compute/computeIfPresent (di bawah kunci bin map);
+    // setelah dilepas dengan remove, set itu milik satu tugas pengantaran saja
+    private final Map<String, Set<Langganan>> menunggu = new ConcurrentHashMap<>();
+    private final AtomicInteger jumlahMenunggu = new AtomicInteger();
+    private final Executor executor;
+
+    public PemberitahuKetersediaan() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param executor tempat pendengar dijalankan; satu tugas per ISBN yang menjadi tersedia
+     */
+    public PemberitahuKetersediaan(Executor executor) {
+        this.executor = executor;
+    }
+
+    public Langganan langgani(String isbn, Pendengar pendengar) {
+        if (isbn == null || pendengar == null) {
+            throw new IllegalArgumentException("ISBN dan pendengar tidak boleh null");
+        }
+        Langganan langganan = new Langganan(isbn, pendengar);
+        jumlahMenunggu.incrementAndGet();
+        menunggu.compute(isbn, (k, daftar) -> {
+            Set<Langganan> hasil = daftar == null ? new LinkedHashSet<>() : daftar;
+            hasil.add(langganan);
+            return hasil;
+        });
+        return langganan;
+    }
+
+    /**
+     * Laporkan jumlah tersedia terbaru sebuah ISBN. Tidak melakukan apa pun jika jumlahnya
+     * nol atau tidak ada yang menunggu; tidak pernah memblokir pada pendengar.
+     */
+    public void kabari(String isbn, int jumlahTersedia) {
+        if (jumlahTersedia <= 0 || isbn == null || !menunggu.containsKey(isbn)) {
+            return;
+        }
+        Set<Langganan> daftar = menunggu.remove(isbn);
+        if (daftar == null) {
+            return;
+        }
+        try {
+            executor.execute(() -> antarkan(daftar, jumlahTersedia));
+        } catch (RejectedExecutionException e) {
+            // Executor sudah berhenti: kembalikan langganan agar tidak hilang diam-diam
+            menunggu.merge(isbn, daftar, (lama, baru) -> {
+                baru.addAll(lama);
+                return baru;
+            });
+        }
+    }
+
+    /** Jumlah langganan yang belum dikabari dan belum dibatalkan. */
+    public int getJumlahMenunggu() {
+        return jumlahMenunggu.get();
+    }
+
+    /** Jumlah ISBN yang sedang ditunggu setidaknya satu pelanggan. */
+    public int getJumlahIsbnDitunggu() {
+        return menunggu.size();
+    }
+
+    private void antarkan(Set<Langganan> daftar, int jumlahTersedia) {
+        for (Langganan langganan : daftar) {
+            if (!langganan.tandaiSelesai()) {
+                continue; // dibatalkan setelah diambil dari map
+            }
+            try {
+                langganan.pendengar.tersedia(langganan.isbn, jumlahTersedia);
+            } catch (RuntimeException e) {
+                // Kesalahan pendengar adalah urusan pelanggan itu sendiri
+            }
+        }
+    }
+
+    /**
+     * Satu pendaftaran; pegang objek ini untuk membatalkan.
+     */
+    public final class Langganan {
+        private final String isbn;
+        private final Pendengar pendengar;
+        volatile int status = MENUNGGU;
+
+        private Langganan(String isbn, Pendengar pendengar) {
+            this.isbn = isbn;
+            this.pendengar = pendengar;
+        }
+
+        public String getIsbn() {
+            return isbn;
+        }
+
+        /** true selama belum dikabari dan belum dibatalkan. */
+        public boolean isMenunggu() {
+            return status == MENUNGGU;
+        }
+
+        /**
+         * @return true jika pendengar dijamin tidak akan dipanggil; false jika sudah atau
+         *         sedang dikabari, atau sudah dibatalkan sebelumnya
+         */
+        public boolean batal() {
+            if (!tandaiSelesai()) {
+                return false;
+            }
+            menunggu.computeIfPresent(isbn, (k, daftar) -> {
+                daftar.remove(this);
+                return daftar.isEmpty() ? null : daftar;
+            });
+            return true;
+        }
+
+        private boolean tandaiSelesai() {
+            if (!STATUS.compareAndSet(this, MENUNGGU, SELESAI)) {
+                return false;
+            }
+            jumlahMenunggu.decrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.praktikum.testing.service;
+
+/**
+ * Satu slot peristiwa di BusPeristiwaSirkulasi. Objeknya dipakai ulang untuk peristiwa
+ * berikutnya setelah semua konsumen melewatinya, jadi penangan hanya boleh membaca field
+ * selama tangani() berjalan. Peristiwa tidak membawa waktu; konsumen yang butuh memakai
+ * jamnya sendiri saat menerima.
+ */
+public final class PeristiwaSirkulasi {
+
+    public enum Jenis {
+        DIPINJAM,
+        DIKEMBALIKAN,
+        BUKU_DITAMBAH,
+        BUKU_DIHAPUS
+    }
+
+    private Jenis jenis;
+    private String isbn;
+    private String idAnggota;
+    private int jumlahTersedia;
+
+    void isi(Jenis jenis, String isbn, String idAnggota, int jumlahTersedia) {
+        this.jenis = jenis;
+        this.isbn = isbn;
+        this.idAnggota = idAnggota;
+        this.jumlahTersedia = jumlahTersedia;
+    }
+
+    public Jenis getJenis() {
+        return jenis;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    /** Anggota yang meminjam atau mengembalikan; null untuk BUKU_DITAMBAH dan BUKU_DIHAPUS. */
+    public String getIdAnggota() {
+        return idAnggota;
+    }
+
+    /** Jumlah tersedia sesudah peristiwa; 0 untuk BUKU_DIHAPUS. */
+    public int getJumlahTersedia() {
+        return jumlahTersedia;
+    }
+
+    @Override
+    public String toString() {
+        return jenis + " " + isbn + (idAnggota == null ? "" : " oleh " + idAnggota) + " (tersedia " + jumlahTersedia + ")";
+    }
+}
@@ -2,19 +2,213 @@ package com.praktikum.testing.service;
 
 import com.praktikum.testing.model.Anggota;
 import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.repository.HalamanBuku;
+import com.praktikum.testing.repository.IndeksAutocomplete;
+import com.praktikum.testing.repository.IndeksFuzzy;
+import com.praktikum.testing.repository.InMemoryRepositoryPeminjaman;
+import com.praktikum.testing.repository.RepositoryAnggota;
 import com.praktikum.testing.repository.RepositoryBuku;
+import com.praktikum.testing.repository.RepositoryPeminjaman;
+import com.praktikum.testing.repository.ShardedRepositoryAnggota;
+import com.praktikum.testing.repository.WriteAheadLog;
+import com.praktikum.testing.util.KunciBergaris;
 import com.praktikum.testing.util.ValidationUtils;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 public class ServicePerpustakaan {
 
+    // Lama peminjaman standar sebelum jatuh tempo
+    static final int MASA_PINJAM_HARI = 14;
+
     private final RepositoryBuku repositoryBuku;
+    private final RepositoryPeminjaman repositoryPeminjaman;
     private final KalkulatorDenda kalkulatorDenda;
+    private final WriteAheadLog jurnal;
+    private final Clock clock;
+    private final PemantauKeterlambatan pemantauKeterlambatan;
+    private final KunciBergaris kunciSirkulasi;
+    private final RepositoryAnggota repositoryAnggota;
+    private final PemberitahuKetersediaan pemberitahuKetersediaan;
+    private final IndeksAutocomplete indeksAutocomplete;
+    private final IndeksFuzzy indeksFuzzy;
+    private final PelacakPopularitas pelacakPopularitas;
+    private final EfekSirkulasi efekSirkulasi;
 
     public ServicePerpustakaan(RepositoryBuku repositoryBuku, KalkulatorDenda kalkulatorDenda) {
-        this.repositoryBuku = repositoryBuku;
-        this.kalkulatorDenda = kalkulatorDenda;
+        this(builder(repositoryBuku, kalkulatorDenda));
+    }
+
+    public ServicePerpustakaan(RepositoryBuku repositoryBuku, RepositoryPeminjaman repositoryPeminjaman,
+                               KalkulatorDenda kalkulatorDenda) {
+        this(builder(repositoryBuku, kalkulatorDenda).repositoryPeminjaman(repositoryPeminjaman));
+    }
+
+    private ServicePerpustakaan(Builder builder) {
+        this.repositoryBuku = builder.repositoryBuku;
+        this.repositoryPeminjaman = builder.repositoryPeminjaman != null
+                ? builder.repositoryPeminjaman : new InMemoryRepositoryPeminjaman();
+        this.kalkulatorDenda = builder.kalkulatorDenda;
+        this.jurnal = builder.jurnal;
+        this.clock = builder.clock;
+        this.pemantauKeterlambatan = new PemantauKeterlambatan(repositoryPeminjaman, clock);
+        this.kunciSirkulasi = builder.kunciSirkulasi;
+        this.repositoryAnggota = builder.repositoryAnggota != null
+                ? builder.repositoryAnggota : new ShardedRepositoryAnggota();
+        this.pemberitahuKetersediaan = builder.pemberitahuKetersediaan != null
+                ? builder.pemberitahuKetersediaan : new PemberitahuKetersediaan();
+        this.indeksAutocomplete = builder.indeksAutocomplete;
+        this.indeksFuzzy = builder.indeksFuzzy;
+        this.pelacakPopularitas = builder.pelacakPopularitas;
+        this.efekSirkulasi = new EfekSirkulasi(repositoryPeminjaman, jurnal, pemberitahuKetersediaan,
+                indeksAutocomplete, pelacakPopularitas, builder.busPeristiwa);
+    }
+
+    /**
+     * Service dengan komponen opsional. Yang tidak diisi memakai bawaan: buku besar
+     * InMemoryRepositoryPeminjaman, jam sistem, tanpa jurnal, tanpa kunci sirkulasi,
+     * ShardedRepositoryAnggota dan PemberitahuKetersediaan baru, tanpa indeks, pelacak
+     * maupun bus.
+     */
+    public static Builder builder(RepositoryBuku repositoryBuku, KalkulatorDenda kalkulatorDenda) {
+        return new Builder(repositoryBuku, kalkulatorDenda);
+    }
+
+    public static final class Builder {
+        private final RepositoryBuku repositoryBuku;
+        private final KalkulatorDenda kalkulatorDenda;
+        private RepositoryPeminjaman repositoryPeminjaman;
+        private WriteAheadLog jurnal;
+        private Clock clock = Clock.systemDefaultZone();
+        private KunciBergaris kunciSirkulasi;
+        private RepositoryAnggota repositoryAnggota;
+        private PemberitahuKetersediaan pemberitahuKetersediaan;
+        private IndeksAutocomplete indeksAutocomplete;
+        private IndeksFuzzy indeksFuzzy;
+        private PelacakPopularitas pelacakPopularitas;
+        private BusPeristiwaSirkulasi busPeristiwa;
+
+        private Builder(RepositoryBuku repositoryBuku, KalkulatorDenda kalkulatorDenda) {
+            this.repositoryBuku = Objects.requireNonNull(repositoryBuku, "repositoryBuku");
+            this.kalkulatorDenda = kalkulatorDenda;
+        }
+
+        public Builder repositoryPeminjaman(RepositoryPeminjaman repositoryPeminjaman) {
+            this.repositoryPeminjaman = Objects.requireNonNull(repositoryPeminjaman, "repositoryPeminjaman");
+            return this;
+        }
+
+        /**
+         * @param jurnal log untuk perubahan pinjaman anggota; tanpa jurnal perubahan tidak durable
+         */
+        public Builder jurnal(WriteAheadLog jurnal) {
+            this.jurnal = jurnal;
+            return this;
+        }
+
+        /**
+         * @param clock sumber tanggal untuk tanggal pinjam, kembali dan pemindaian keterlambatan
+         */
+        public Builder clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "clock");
+            return this;
+        }
+
+        /**
+         * @param kunciSirkulasi jika diisi, pinjam/kembalikan memegang kunci anggota dan kunci buku
+         *                       sehingga cek batas pinjam, perubahan stok dan daftar pinjaman anggota
+         *                       terjadi atomik; tanpa kunci hanya stok yang atomik (mode lama)
+         */
+        public Builder kunciSirkulasi(KunciBergaris kunciSirkulasi) {
+            this.kunciSirkulasi = kunciSirkulasi;
+            return this;
+        }
+
+        /**
+         * @param repositoryAnggota sumber anggota untuk pinjamBuku/kembalikanBuku berbasis idAnggota
+         */
+        public Builder repositoryAnggota(RepositoryAnggota repositoryAnggota) {
+            this.repositoryAnggota = Objects.requireNonNull(repositoryAnggota, "repositoryAnggota");
+            return this;
+        }
+
+        /**
+         * @param pemberitahuKetersediaan tempat langganan ketersediaan; bagikan instance yang sama
+         *                                dengan NotifyingRepositoryBuku agar perubahan stok dari luar
+         *                                service juga mengabari pelanggan
+         */
+        public Builder pemberitahuKetersediaan(PemberitahuKetersediaan pemberitahuKetersediaan) {
+            this.pemberitahuKetersediaan = Objects.requireNonNull(pemberitahuKetersediaan, "pemberitahuKetersediaan");
+            return this;
+        }
+
+        /**
+         * @param indeksAutocomplete indeks saran judul/pengarang; pinjamBuku yang berhasil menaikkan
+         *                           popularitasnya. Bungkus repositoryBuku dengan AutocompleteRepositoryBuku
+         *                           memakai indeks yang sama agar isi katalog ikut terindeks.
+         */
+        public Builder indeksAutocomplete(IndeksAutocomplete indeksAutocomplete) {
+            this.indeksAutocomplete = indeksAutocomplete;
+            return this;
+        }
+
+        /**
+         * @param indeksFuzzy indeks pencarian toleran salah ketik; bungkus repositoryBuku dengan
+         *                    FuzzyRepositoryBuku memakai indeks yang sama
+         */
+        public Builder indeksFuzzy(IndeksFuzzy indeksFuzzy) {
+            this.indeksFuzzy = indeksFuzzy;
+            return this;
+        }
+
+        /**
+         * @param pelacakPopularitas menerima setiap pinjamBuku yang berhasil untuk daftar buku terpopuler
+         */
+        public Builder pelacakPopularitas(PelacakPopularitas pelacakPopularitas) {
+            this.pelacakPopularitas = pelacakPopularitas;
+            return this;
+        }
+
+        /**
+         * @param busPeristiwa menerima peristiwa pinjam, kembali, tambah dan hapus buku yang berhasil
+         *                     untuk diproses konsumen di thread lain. Jika ada indeksAutocomplete atau
+         *                     pelacakPopularitas, build() mendaftarkan konsumen yang memperbarui
+         *                     popularitasnya, jadi panggil mulai() sesudah service dibuat.
+         */
+        public Builder busPeristiwa(BusPeristiwaSirkulasi busPeristiwa) {
+            this.busPeristiwa = busPeristiwa;
+            return this;
+        }
+
+        /**
+         * @throws IllegalStateException jika konsumen popularitas perlu didaftarkan ke bus yang
+         *                               sudah dimulai
+         */
+        public ServicePerpustakaan build() {
+            return new ServicePerpustakaan(this);
+        }
+    }
+
+    /**
+     * Daftarkan anggota; gagal jika tidak valid, id sudah ada, atau email/telepon sudah dipakai.
+     */
+    public boolean tambahAnggota(Anggota anggota) {
+        return anggota != null && repositoryAnggota.simpanJikaBelumAda(anggota);
+    }
+
+    public Optional<Anggota> cariAnggotaById(String idAnggota) {
+        return repositoryAnggota.cariById(idAnggota);
     }
 
     public boolean tambahBuku(Buku buku) {
@@ -27,14 +221,34 @@ public class ServicePerpustakaan {
         if (bukuExisting.isPresent()) {
             return false; // Buku sudah ada
         }
-        return repositoryBuku.simpan(buku);
+        if (!repositoryBuku.simpan(buku)) {
+            return false;
+        }
+        efekSirkulasi.umumkanDitambah(buku.getIsbn(), buku.getJumlahTersedia());
+        return true;
+    }
+
+    /**
+     * Impor massal katalog dari file CSV (isbn,judul,pengarang,jumlahTotal,harga).
+     * Aturan validasi dan penolakan ISBN ganda sama dengan tambahBuku, begitu juga pemberitahu
+     * ketersediaan dan peristiwa BUKU_DITAMBAH untuk setiap buku yang diterima.
+     */
+    public HasilImpor imporKatalog(Path fileCsv) throws IOException {
+        return new ImportirKatalog(repositoryBuku, ForkJoinPool.commonPool(),
+                buku -> efekSirkulasi.umumkanDitambah(buku.getIsbn(), buku.getJumlahTersedia())).impor(fileCsv);
     }
 
     public boolean hapusBuku(String isbn) {
         if (!ValidationUtils.isValidISBN(isbn)) {
             return false;
         }
+        if (kunciSirkulasi != null) {
+            return kunciSirkulasi.jalankanBuku(isbn, () -> hapusBukuTanpaKunci(isbn));
+        }
+        return hapusBukuTanpaKunci(isbn);
+    }
 
+    private boolean hapusBukuTanpaKunci(String isbn) {
         Optional<Buku> buku = repositoryBuku.cariByIsbn(isbn);
         if (!buku.isPresent()) {
             return false; // Buku tidak ditemukan
@@ -44,7 +258,11 @@ public class ServicePerpustakaan {
         if (buku.get().getJumlahTersedia() < buku.get().getJumlahTotal()) {
             return false; // Tidak bisa hapus karena ada yang dipinjam
         }
-        return repositoryBuku.hapus(isbn);
+        if (!repositoryBuku.hapus(isbn)) {
+            return false;
+        }
+        efekSirkulasi.umumkanDihapus(isbn);
+        return true;
     }
 
     public Optional<Buku> cariBukuByIsbn(String isbn) {
@@ -62,6 +280,84 @@ public class ServicePerpustakaan {
         return repositoryBuku.cariByPengarang(pengarang);
     }
 
+    /**
+     * Satu halaman katalog terurut ISBN. Halaman pertama dengan setelahIsbn null, berikutnya
+     * dengan getKursorBerikutnya() dari halaman sebelumnya.
+     *
+     * @throws IllegalArgumentException jika batas kurang dari 1
+     */
+    public HalamanBuku cariSemuaBuku(String setelahIsbn, int batas) {
+        return repositoryBuku.cariSemua(setelahIsbn, batas);
+    }
+
+    /** Seperti cariBukuByJudul, per halaman terurut ISBN. Lihat cariSemuaBuku. */
+    public HalamanBuku cariBukuByJudul(String judul, String setelahIsbn, int batas) {
+        return repositoryBuku.cariByJudul(judul, setelahIsbn, batas);
+    }
+
+    /** Seperti cariBukuByPengarang, per halaman terurut ISBN. Lihat cariSemuaBuku. */
+    public HalamanBuku cariBukuByPengarang(String pengarang, String setelahIsbn, int batas) {
+        return repositoryBuku.cariByPengarang(pengarang, setelahIsbn, batas);
+    }
+
+    /**
+     * Saran judul untuk kotak pencarian: paling banyak k judul yang cocok dengan awalan,
+     * terurut dari yang paling sering dipinjam. Kosong jika service tanpa IndeksAutocomplete.
+     *
+     * @throws IllegalArgumentException jika k di luar 1..IndeksAutocomplete.getKMaks()
+     */
+    public List<IndeksAutocomplete.Saran> sarankanJudul(String awalan, int k) {
+        return indeksAutocomplete == null ? Collections.emptyList() : indeksAutocomplete.sarankanJudul(awalan, k);
+    }
+
+    /** Seperti sarankanJudul, untuk nama pengarang. */
+    public List<IndeksAutocomplete.Saran> sarankanPengarang(String awalan, int k) {
+        return indeksAutocomplete == null ? Collections.emptyList() : indeksAutocomplete.sarankanPengarang(awalan, k);
+    }
+
+    /**
+     * Pencarian judul yang toleran salah ketik: setiap kata kueri boleh berbeda paling banyak
+     * jarakMaks huruf (sisip, hapus, ganti) dari kata judul. Paling dekat dulu, paling banyak
+     * batas buku. Kosong jika service tanpa IndeksFuzzy.
+     *
+     * @throws IllegalArgumentException jika jarakMaks di luar 0..IndeksFuzzy.JARAK_MAKS atau batas kurang dari 1
+     */
+    public List<Buku> cariBukuByJudulFuzzy(String judul, int jarakMaks, int batas) {
+        return indeksFuzzy == null ? Collections.emptyList() : bukuUntuk(indeksFuzzy.cariJudul(judul, jarakMaks, batas));
+    }
+
+    /** Seperti cariBukuByJudulFuzzy, untuk nama pengarang. */
+    public List<Buku> cariBukuByPengarangFuzzy(String pengarang, int jarakMaks, int batas) {
+        return indeksFuzzy == null ? Collections.emptyList()
+                : bukuUntuk(indeksFuzzy.cariPengarang(pengarang, jarakMaks, batas));
+    }
+
+    /**
+     * Buku yang paling sering dipinjam di jendela PelacakPopularitas (misalnya minggu ini),
+     * terbanyak dulu, dengan perkiraan jumlah pinjamnya. Kosong jika service tanpa pelacak.
+     */
+    public List<PelacakPopularitas.Peringkat> bukuTerpopuler() {
+        return pelacakPopularitas == null ? Collections.emptyList() : pelacakPopularitas.teratas();
+    }
+
+    private List<Buku> bukuUntuk(List<String> daftarIsbn) {
+        List<Buku> hasil = new ArrayList<>(daftarIsbn.size());
+        for (String isbn : daftarIsbn) {
+            repositoryBuku.cariByIsbn(isbn).ifPresent(hasil::add);
+        }
+        return hasil;
+    }
+
+    /** Hasil cariBukuByJudul sebagai Stream malas, misalnya untuk ekspor atau limit. */
+    public Stream<Buku> streamBukuByJudul(String judul) {
+        return repositoryBuku.streamByJudul(judul);
+    }
+
+    /** Hasil cariBukuByPengarang sebagai Stream malas. */
+    public Stream<Buku> streamBukuByPengarang(String pengarang) {
+        return repositoryBuku.streamByPengarang(pengarang);
+    }
+
     public boolean bukuTersedia(String isbn) {
         Optional<Buku> buku = repositoryBuku.cariByIsbn(isbn);
         return buku.isPresent() && buku.get().isTersedia();
@@ -72,62 +368,191 @@ public class ServicePerpustakaan {
         return buku.map(Buku::getJumlahTersedia).orElse(0); //
     }
 
+    /**
+     * Minta dikabari sekali saat buku ini tersedia, sebagai pengganti polling
+     * bukuTersedia/getJumlahTersedia. Jika saat mendaftar buku sudah tersedia, pendengar
+     * langsung dikabari (tetap lewat executor pemberitahu).
+     *
+     * @throws IllegalArgumentException jika ISBN tidak valid
+     */
+    public PemberitahuKetersediaan.Langganan langganiKetersediaan(String isbn,
+                                                                 PemberitahuKetersediaan.Pendengar pendengar) {
+        if (!ValidationUtils.isValidISBN(isbn)) {
+            throw new IllegalArgumentException("ISBN tidak valid: " + isbn);
+        }
+        // Daftar dulu baru baca stok, supaya pengembalian di antara keduanya tidak terlewat
+        PemberitahuKetersediaan.Langganan langganan = pemberitahuKetersediaan.langgani(isbn, pendengar);
+        pemberitahuKetersediaan.kabari(isbn, getJumlahTersedia(isbn));
+        return langganan;
+    }
+
+    public PemberitahuKetersediaan getPemberitahuKetersediaan() {
+        return pemberitahuKetersediaan;
+    }
+
     public boolean pinjamBuku(String isbn, Anggota anggota) {
+        return pinjamBukuDenganHasil(isbn, anggota) == HasilSirkulasi.BERHASIL;
+    }
+
+    /**
+     * Pinjam buku untuk anggota yang terdaftar di RepositoryAnggota; false jika id tidak dikenal.
+     */
+    public boolean pinjamBuku(String isbn, String idAnggota) {
+        return pinjamBukuDenganHasil(isbn, idAnggota) == HasilSirkulasi.BERHASIL;
+    }
+
+    /**
+     * Sama dengan pinjamBuku, tetapi mengembalikan alasan jika ditolak.
+     */
+    public HasilSirkulasi pinjamBukuDenganHasil(String isbn, Anggota anggota) {
         // Validasi anggota
-        if (!ValidationUtils.isValidAnggota(anggota) || !anggota.isAktif()) { //
-            return false;
+        if (!ValidationUtils.isValidAnggota(anggota)) {
+            return HasilSirkulasi.ANGGOTA_TIDAK_VALID;
         }
+        if (!anggota.isAktif()) {
+            return HasilSirkulasi.ANGGOTA_TIDAK_AKTIF;
+        }
+        if (kunciSirkulasi != null) {
+            return kunciSirkulasi.jalankan(anggota.getIdAnggota(), isbn, () -> pinjamBukuTanpaKunci(isbn, anggota));
+        }
+        return pinjamBukuTanpaKunci(isbn, anggota);
+    }
 
+    public HasilSirkulasi pinjamBukuDenganHasil(String isbn, String idAnggota) {
+        Optional<Anggota> anggota = repositoryAnggota.cariById(idAnggota);
+        return anggota.isPresent() ? pinjamBukuDenganHasil(isbn, anggota.get()) : HasilSirkulasi.ANGGOTA_TIDAK_TERDAFTAR;
+    }
+
+    private HasilSirkulasi pinjamBukuTanpaKunci(String isbn, Anggota anggota) {
         // Cek apakah anggota masih bisa pinjam
         if (!anggota.bolehPinjamLagi()) {
-            return false;
+            return HasilSirkulasi.BATAS_PINJAM;
+        }
+        // Daftar pinjaman anggota menyimpan ISBN sekali saja; salinan kedua judul yang sama
+        // akan mengurangi stok tanpa pernah bisa dikembalikan
+        if (anggota.getIdBukuDipinjam().contains(isbn)) {
+            return HasilSirkulasi.SUDAH_DIPINJAM;
         }
 
-        // Cek ketersediaan buku
-        Optional<Buku> bukuOpt = repositoryBuku.cariByIsbn(isbn);
-        if (!bukuOpt.isPresent() || !bukuOpt.get().isTersedia()) {
-            return false;
+        // Ambil satu salinan secara atomik; -1 berarti buku tidak ada atau habis. Dengan jurnal,
+        // pengurangan stok dan catatan peminjaman menjadi satu entri log, dan stok dikembalikan
+        // jika entri itu gagal ditulis
+        Peminjaman peminjaman = null;
+        int sisa;
+        if (jurnal != null) {
+            peminjaman = peminjamanBaru(isbn, anggota);
+            sisa = jurnal.catatPinjam(peminjaman, () -> repositoryBuku.kurangiJumlahTersedia(isbn),
+                    hasil -> repositoryBuku.tambahJumlahTersedia(isbn));
+        } else {
+            sisa = repositoryBuku.kurangiJumlahTersedia(isbn);
+        }
+        if (sisa < 0) {
+            // Hanya jalur gagal yang membayar pencarian tambahan untuk membedakan alasannya
+            return repositoryBuku.cariByIsbn(isbn).isPresent() ? HasilSirkulasi.STOK_HABIS : HasilSirkulasi.BUKU_TIDAK_ADA;
         }
+        anggota.tambahBukuDipinjam(isbn);
+        efekSirkulasi.catatPinjam(peminjaman != null ? peminjaman : peminjamanBaru(isbn, anggota), false);
+        efekSirkulasi.umumkanPinjam(isbn, anggota.getIdAnggota(), sisa);
+        return HasilSirkulasi.BERHASIL;
+    }
 
-        Buku buku = bukuOpt.get();
+    private Peminjaman peminjamanBaru(String isbn, Anggota anggota) {
+        return peminjamanBaru(isbn, anggota.getIdAnggota(), clock);
+    }
 
-        // Update jumlah tersedia
-        boolean updateBerhasil = repositoryBuku.updateJumlahTersedia(isbn, buku.getJumlahTersedia() - 1);
-        if (updateBerhasil) {
-            anggota.tambahBukuDipinjam(isbn);
-            return true;
-        }
-        return false;
+    static Peminjaman peminjamanBaru(String isbn, String idAnggota, Clock clock) {
+        LocalDate hariIni = LocalDate.now(clock);
+        return new Peminjaman(UUID.randomUUID().toString(), idAnggota, isbn, hariIni,
+                hariIni.plusDays(MASA_PINJAM_HARI));
+    }
+
+    EfekSirkulasi getEfekSirkulasi() {
+        return efekSirkulasi;
+    }
+
+    Clock getClock() {
+        return clock;
     }
 
     public boolean kembalikanBuku(String isbn, Anggota anggota) {
+        return kembalikanBukuDenganHasil(isbn, anggota) == HasilSirkulasi.BERHASIL;
+    }
+
+    /**
+     * Kembalikan buku milik anggota yang terdaftar di RepositoryAnggota; false jika id tidak dikenal.
+     */
+    public boolean kembalikanBuku(String isbn, String idAnggota) {
+        return kembalikanBukuDenganHasil(isbn, idAnggota) == HasilSirkulasi.BERHASIL;
+    }
+
+    /**
+     * Sama dengan kembalikanBuku, tetapi mengembalikan alasan jika ditolak.
+     */
+    public HasilSirkulasi kembalikanBukuDenganHasil(String isbn, Anggota anggota) {
         // Validasi
-        if (!ValidationUtils.isValidISBN(isbn) || anggota == null) {
-            return false;
+        if (!ValidationUtils.isValidISBN(isbn)) {
+            return HasilSirkulasi.ISBN_TIDAK_VALID;
         }
+        if (anggota == null) {
+            return HasilSirkulasi.ANGGOTA_TIDAK_VALID;
+        }
+        if (kunciSirkulasi != null) {
+            return kunciSirkulasi.jalankan(anggota.getIdAnggota(), isbn, () -> kembalikanBukuTanpaKunci(isbn, anggota));
+        }
+        return kembalikanBukuTanpaKunci(isbn, anggota);
+    }
 
+    public HasilSirkulasi kembalikanBukuDenganHasil(String isbn, String idAnggota) {
+        Optional<Anggota> anggota = repositoryAnggota.cariById(idAnggota);
+        return anggota.isPresent() ? kembalikanBukuDenganHasil(isbn, anggota.get()) : HasilSirkulasi.ANGGOTA_TIDAK_TERDAFTAR;
+    }
+
+    private HasilSirkulasi kembalikanBukuTanpaKunci(String isbn, Anggota anggota) {
         // Cek apakah anggota meminjam buku ini
         if (!anggota.getIdBukuDipinjam().contains(isbn)) {
-            return false;
-        }
-
-        Optional<Buku> bukuOpt = repositoryBuku.cariByIsbn(isbn);
-        if (!bukuOpt.isPresent()) {
-            return false;
+            return HasilSirkulasi.TIDAK_DIPINJAM;
         }
 
-        Buku buku = bukuOpt.get();
+        // Pinjaman lama yang dibuat sebelum ada buku besar mungkin tidak punya catatan peminjaman
+        Optional<Peminjaman> aktif = repositoryPeminjaman.cariAktif(anggota.getIdAnggota(), isbn);
+        String idPeminjaman = aktif.map(Peminjaman::getIdPeminjaman).orElse(null);
+        LocalDate hariIni = LocalDate.now(clock);
 
-        // Update jumlah tersedia
-        boolean updateBerhasil = repositoryBuku.updateJumlahTersedia(isbn, buku.getJumlahTersedia() + 1);
-        if (updateBerhasil) {
-            anggota.hapusBukuDipinjam(isbn);
-            return true;
+        // Kembalikan satu salinan secara atomik; -1 berarti buku tidak ada atau sudah lengkap
+        int jumlahBaru;
+        if (jurnal != null) {
+            jumlahBaru = jurnal.catatKembali(idPeminjaman, anggota.getIdAnggota(), isbn, hariIni,
+                    () -> repositoryBuku.tambahJumlahTersedia(isbn), hasil -> repositoryBuku.kurangiJumlahTersedia(isbn));
+        } else {
+            jumlahBaru = repositoryBuku.tambahJumlahTersedia(isbn);
+        }
+        if (jumlahBaru < 0) {
+            return repositoryBuku.cariByIsbn(isbn).isPresent() ? HasilSirkulasi.STOK_PENUH : HasilSirkulasi.BUKU_TIDAK_ADA;
         }
+        anggota.hapusBukuDipinjam(isbn);
+        efekSirkulasi.catatKembali(idPeminjaman, anggota.getIdAnggota(), isbn, hariIni, false);
+        efekSirkulasi.umumkanKembali(isbn, anggota.getIdAnggota(), jumlahBaru);
+        return HasilSirkulasi.BERHASIL;
+    }
 
+    public List<Peminjaman> cariPeminjamanAktifByIsbn(String isbn) {
+        return repositoryPeminjaman.cariAktifByIsbn(isbn);
+    }
 
-        return false;
+    public List<Peminjaman> cariPeminjamanAktifByAnggota(String idAnggota) {
+        List<Peminjaman> hasil = repositoryPeminjaman.cariByAnggota(idAnggota);
+        hasil.removeIf(Peminjaman::isSudahDikembalikan);
+        return hasil;
+    }
+
+    /** Semua peminjaman aktif yang sudah lewat jatuh tempo per hari ini. */
+    public List<Peminjaman> cariPeminjamanTerlambat() {
+        return pemantauKeterlambatan.semuaTerlambat();
+    }
 
+    /** Peminjaman yang menjadi terlambat sejak pemanggilan sebelumnya. */
+    public List<Peminjaman> cariPeminjamanBaruTerlambat() {
+        return pemantauKeterlambatan.baruTerlambat();
     }
 
     public double hitungRatingRataRata(String isbn) {
@@ -0,0 +1,196 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.repository.AsyncRepositoryBuku;
+import com.praktikum.testing.repository.RepositoryPeminjaman;
+import com.praktikum.testing.util.ValidationUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Varian asinkron ServicePerpustakaan di atas AsyncRepositoryBuku.
+ *
+ * Aturan bisnisnya sama dengan versi sinkron. Rangkaian baca-lalu-ubah (hapusBuku,
+ * pinjamBuku, kembalikanBuku) dirangkai lewat CompletableFuture sehingga tidak ada thread
+ * yang menunggu di antara langkah, dan banyak rangkaian bisa berjalan bersamaan.
+ *
+ * Slot pinjam anggota dipesan dulu di objek Anggota (synchronized) sebelum stok diubah,
+ * lalu dilepas lagi jika stok ternyata habis. Dengan begitu beberapa pinjamBuku yang
+ * sedang berjalan untuk anggota yang sama tidak bisa melampaui batas pinjam.
+ * Jangan memakai objek Anggota yang sama bersamaan dari service ini dan ServicePerpustakaan.
+ *
+ * Setelah stok berubah, langkah berikutnya sama dengan ServicePerpustakaan (EfekSirkulasi):
+ * catatan peminjaman, jurnal, lalu indeks, popularitas, pemberitahu dan bus. Jika mencatat
+ * gagal, stok dan slot anggota dikembalikan sebelum kegagalannya diteruskan. Jurnal di
+ * jalur ini hanya memuat catatan peminjaman; stoknya durable jika AsyncRepositoryBuku
+ * membungkus JournaledRepositoryBuku. Fsync jurnal berjalan di thread yang menyelesaikan
+ * perubahan stok.
+ */
+public class ServicePerpustakaanAsync {
+
+    private final AsyncRepositoryBuku repositoryBuku;
+    private final EfekSirkulasi efekSirkulasi;
+    private final Clock clock;
+
+    public ServicePerpustakaanAsync(AsyncRepositoryBuku repositoryBuku, RepositoryPeminjaman repositoryPeminjaman,
+                                    Clock clock) {
+        this(repositoryBuku, new EfekSirkulasi(repositoryPeminjaman, null, new PemberitahuKetersediaan(), null, null,
+                null), clock);
+    }
+
+    /**
+     * Varian asinkron yang berbagi buku besar peminjaman, jurnal, pemberitahu, indeks,
+     * pelacak popularitas, bus dan clock dengan service sinkron; repositoryBuku sebaiknya
+     * membungkus katalog yang sama.
+     */
+    public ServicePerpustakaanAsync(AsyncRepositoryBuku repositoryBuku, ServicePerpustakaan service) {
+        this(repositoryBuku, service.getEfekSirkulasi(), service.getClock());
+    }
+
+    private ServicePerpustakaanAsync(AsyncRepositoryBuku repositoryBuku, EfekSirkulasi efekSirkulasi, Clock clock) {
+        this.repositoryBuku = repositoryBuku;
+        this.efekSirkulasi = efekSirkulasi;
+        this.clock = clock;
+    }
+
+    public CompletableFuture<Optional<Buku>> cariBukuByIsbn(String isbn) {
+        if (!ValidationUtils.isValidISBN(isbn)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return repositoryBuku.cariByIsbn(isbn);
+    }
+
+    /**
+     * Cari banyak ISBN sekaligus; semua pencarian berjalan bersamaan. ISBN tidak valid
+     * menghasilkan Optional.empty() di posisinya.
+     */
+    public CompletableFuture<List<Optional<Buku>>> cariBanyakBukuByIsbn(List<String> daftarIsbn) {
+        return repositoryBuku.cariBanyakByIsbn(daftarIsbn).thenApply(dariRepository -> {
+            List<Optional<Buku>> hasil = new ArrayList<>(dariRepository);
+            for (int i = 0; i < daftarIsbn.size(); i++) {
+                if (!ValidationUtils.isValidISBN(daftarIsbn.get(i))) {
+                    hasil.set(i, Optional.empty());
+                }
+            }
+            return hasil;
+        });
+    }
+
+    public CompletableFuture<Integer> getJumlahTersedia(String isbn) {
+        return cariBukuByIsbn(isbn).thenApply(buku -> buku.map(Buku::getJumlahTersedia).orElse(0));
+    }
+
+    public CompletableFuture<Boolean> hapusBuku(String isbn) {
+        if (!ValidationUtils.isValidISBN(isbn)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return repositoryBuku.cariByIsbn(isbn).thenCompose(buku -> {
+            // Tidak bisa hapus jika tidak ada atau ada salinan yang dipinjam
+            if (!buku.isPresent() || buku.get().getJumlahTersedia() < buku.get().getJumlahTotal()) {
+                return CompletableFuture.completedFuture(false);
+            }
+            return repositoryBuku.hapus(isbn);
+        });
+    }
+
+    public CompletableFuture<Boolean> pinjamBuku(String isbn, Anggota anggota) {
+        if (!ValidationUtils.isValidISBN(isbn) || !ValidationUtils.isValidAnggota(anggota) || !anggota.isAktif()) {
+            return CompletableFuture.completedFuture(false);
+        }
+        synchronized (anggota) {
+            if (!anggota.bolehPinjamLagi() || anggota.getIdBukuDipinjam().contains(isbn)) {
+                return CompletableFuture.completedFuture(false);
+            }
+            anggota.tambahBukuDipinjam(isbn);
+        }
+
+        return repositoryBuku.kurangiJumlahTersedia(isbn).handle((sisa, galat) -> {
+            if (galat != null || sisa < 0) {
+                synchronized (anggota) {
+                    anggota.hapusBukuDipinjam(isbn);
+                }
+                lemparUlang(galat);
+                return CompletableFuture.completedFuture(false);
+            }
+            try {
+                efekSirkulasi.catatPinjam(ServicePerpustakaan.peminjamanBaru(isbn, anggota.getIdAnggota(), clock), true);
+            } catch (RuntimeException e) {
+                return batalkan(repositoryBuku.tambahJumlahTersedia(isbn), e, () -> {
+                    synchronized (anggota) {
+                        anggota.hapusBukuDipinjam(isbn);
+                    }
+                });
+            }
+            efekSirkulasi.umumkanPinjam(isbn, anggota.getIdAnggota(), sisa);
+            return CompletableFuture.completedFuture(true);
+        }).thenCompose(Function.identity());
+    }
+
+    public CompletableFuture<Boolean> kembalikanBuku(String isbn, Anggota anggota) {
+        if (!ValidationUtils.isValidISBN(isbn) || anggota == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        synchronized (anggota) {
+            if (!anggota.getIdBukuDipinjam().contains(isbn)) {
+                return CompletableFuture.completedFuture(false);
+            }
+            anggota.hapusBukuDipinjam(isbn);
+        }
+
+        return repositoryBuku.tambahJumlahTersedia(isbn).handle((jumlahBaru, galat) -> {
+            if (galat != null || jumlahBaru < 0) {
+                synchronized (anggota) {
+                    anggota.tambahBukuDipinjam(isbn);
+                }
+                lemparUlang(galat);
+                return CompletableFuture.completedFuture(false);
+            }
+            LocalDate hariIni = LocalDate.now(clock);
+            try {
+                String idPeminjaman = efekSirkulasi.getRepositoryPeminjaman().cariAktif(anggota.getIdAnggota(), isbn)
+                        .map(Peminjaman::getIdPeminjaman).orElse(null);
+                efekSirkulasi.catatKembali(idPeminjaman, anggota.getIdAnggota(), isbn, hariIni, true);
+            } catch (RuntimeException e) {
+                return batalkan(repositoryBuku.kurangiJumlahTersedia(isbn), e, () -> {
+                    synchronized (anggota) {
+                        anggota.tambahBukuDipinjam(isbn);
+                    }
+                });
+            }
+            efekSirkulasi.umumkanKembali(isbn, anggota.getIdAnggota(), jumlahBaru);
+            return CompletableFuture.completedFuture(true);
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * Tunggu pembatalan stok selesai, kembalikan slot anggota, lalu teruskan kegagalan
+     * pencatatan. Kegagalan pembatalan sendiri ditempelkan sebagai suppressed.
+     */
+    private static CompletableFuture<Boolean> batalkan(CompletableFuture<Integer> pembatalanStok,
+                                                       RuntimeException galat, Runnable kembalikanSlot) {
+        return pembatalanStok.handle((hasil, galatBatal) -> {
+            kembalikanSlot.run();
+            if (galatBatal != null) {
+                galat.addSuppressed(galatBatal);
+            }
+            throw new CompletionException(galat);
+        });
+    }
+
+    // Setelah pesanan slot dilepas, kegagalan repository diteruskan ke pemanggil apa adanya
+    private static void lemparUlang(Throwable galat) {
+        if (galat == null) {
+            return;
+        }
+        throw galat instanceof CompletionException ? (CompletionException) galat : new CompletionException(galat);
+    }
+}
@@ -0,0 +1,289 @@
+package com.praktikum.testing.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Ring buffer gaya disruptor: slot peristiwa dibuat sekali di awal lalu dipakai ulang, jadi
+ * menerbitkan satu peristiwa tidak mengalokasikan objek.
+ *
+ * Penerbit (boleh banyak thread) memanggil klaim() untuk mendapat nomor urut, mengisi
+ * field slot dari dapatkan(urutan), lalu terbitkan(urutan). Klaim hanya satu compareAndSet
+ * pada kursor; terbitkan satu tulis volatile ke penanda putaran slot itu. Jika buffer penuh
+ * karena konsumen paling lambat tertinggal satu putaran penuh, klaim menunggu (parkNanos)
+ * sampai slotnya bebas: peristiwa tidak pernah ditimpa sebelum dibaca semua konsumen.
+ * Tunggu itu dibatasi batasTunggu; setelahnya klaim gagal tanpa mengambil nomor urut,
+ * sehingga tidak ada lubang di urutan yang membuat konsumen berhenti selamanya.
+ *
+ * Setiap konsumen berjalan di thread daemon sendiri dengan nomor urut sendiri dan menerima
+ * semua peristiwa sesuai urutan klaim. Konsumen mengambil semua peristiwa yang sudah terbit
+ * sekaligus (batch) dan hanya memperbarui nomor urutnya sekali per batch; akhirBatch
+ * memberi tahu penangan kapan sebaiknya mem-flush pekerjaan yang dikumpulkan. Throwable
+ * apa pun dari penangan (termasuk Error) dihitung lalu diabaikan, tidak menghentikan
+ * konsumen. Jika thread konsumen tetap berhenti di luar penangan, konsumen itu ditandai
+ * mati dan tidak lagi ditunggu penerbit.
+ *
+ * Slot milik penerbit sampai terbitkan, lalu milik konsumen sampai semua konsumen
+ * melewatinya. Penangan tidak boleh menyimpan referensi slot; salin field yang perlu.
+ */
+public class BufferCincin<T> implements AutoCloseable {
+
+    /**
+     * Dipanggil di thread konsumen untuk setiap peristiwa, sesuai urutan.
+     */
+    @FunctionalInterface
+    public interface Penangan<T> {
+        void tangani(T peristiwa, long urutan, boolean akhirBatch);
+    }
+
+    /** Batas tunggu klaim saat buffer penuh jika tidak ditentukan. */
+    public static final Duration BATAS_TUNGGU_BAWAAN = Duration.ofSeconds(10);
+
+    private final Object[] slot;
+    private final int mask;
+    private final int geserPutaran;
+    // Putaran (urutan / ukuran) terakhir yang terbit di tiap slot; -1 jika belum pernah
+    private final AtomicIntegerArray putaranTerbit;
+    private final AtomicLong kursorKlaim = new AtomicLong(-1);
+    private final StrategiTunggu strategi;
+    private final long batasTungguNanos;
+
+    // Minimum urutan konsumen yang terakhir dibaca penerbit; hanya dihitung ulang saat
+    // klaim akan melewatinya, jadi klaim biasa tidak membaca urutan semua konsumen
+    private volatile long cacheUrutanMinimum = -1;
+    private volatile List<Konsumen> konsumen = List.of();
+    private volatile boolean ditutup;
+    private boolean dimulai;
+
+    /**
+     * @param ukuran jumlah slot, dibulatkan ke atas ke pangkat dua
+     * @param pabrik pembuat slot kosong; dipanggil ukuran kali di sini saja
+     */
+    public BufferCincin(int ukuran, Supplier<T> pabrik, StrategiTunggu strategi) {
+        this(ukuran, pabrik, strategi, BATAS_TUNGGU_BAWAAN);
+    }
+
+    /**
+     * @param batasTunggu paling lama klaim menunggu slot bebas saat buffer penuh
+     */
+    public BufferCincin(int ukuran, Supplier<T> pabrik, StrategiTunggu strategi, Duration batasTunggu) {
+        if (ukuran < 1) {
+            throw new IllegalArgumentException("Ukuran buffer minimal 1");
+        }
+        if (batasTunggu.isNegative()) {
+            throw new IllegalArgumentException("Batas tunggu tidak boleh negatif");
+        }
+        int ukuranBulat = ukuran == 1 ? 1 : Integer.highestOneBit(ukuran - 1) << 1;
+        this.slot = new Object[ukuranBulat];
+        for (int i = 0; i < ukuranBulat; i++) {
+            slot[i] = pabrik.get();
+        }
+        this.mask = ukuranBulat - 1;
+        this.geserPutaran = Integer.numberOfTrailingZeros(ukuranBulat);
+        this.putaranTerbit = new AtomicIntegerArray(ukuranBulat);
+        for (int i = 0; i < ukuranBulat; i++) {
+            putaranTerbit.set(i, -1);
+        }
+        this.strategi = strategi;
+        this.batasTungguNanos = batasTunggu.toNanos();
+    }
+
+    /**
+     * Daftarkan konsumen; hanya sebelum mulai(). Konsumen menerima peristiwa sejak urutan 0,
+     * termasuk yang terbit sebelum mulai().
+     */
+    public synchronized void tambahKonsumen(String nama, Penangan<? super T> penangan) {
+        if (dimulai) {
+            throw new IllegalStateException("Konsumen harus didaftarkan sebelum mulai()");
+        }
+        List<Konsumen> baru = new ArrayList<>(konsumen);
+        baru.add(new Konsumen(nama, penangan));
+        konsumen = List.copyOf(baru);
+    }
+
+    /** Jalankan thread semua konsumen. */
+    public synchronized void mulai() {
+        if (dimulai) {
+            return;
+        }
+        dimulai = true;
+        for (Konsumen k : konsumen) {
+            k.thread.start();
+        }
+    }
+
+    /**
+     * Klaim nomor urut untuk satu peristiwa. Menunggu paling lama batasTunggu jika buffer
+     * penuh. Nomor urut baru diambil setelah slotnya bebas, jadi klaim yang gagal tidak
+     * meninggalkan apa pun yang harus diterbitkan.
+     *
+     * @throws IllegalStateException jika buffer ditutup saat klaim harus menunggu, atau
+     *                               slot tidak bebas dalam batasTunggu
+     */
+    public long klaim() {
+        long tenggat = 0;
+        boolean menunggu = false;
+        while (true) {
+            long terakhir = kursorKlaim.get();
+            long perluDibaca = terakhir + 1 - slot.length;
+            if (perluDibaca > cacheUrutanMinimum && !slotBebas(perluDibaca)) {
+                if (!menunggu) {
+                    tenggat = System.nanoTime() + batasTungguNanos;
+                    menunggu = true;
+                }
+                tungguSlotBebas(tenggat);
+                continue;
+            }
+            if (kursorKlaim.compareAndSet(terakhir, terakhir + 1)) {
+                return terakhir + 1;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T dapatkan(long urutan) {
+        return (T) slot[(int) urutan & mask];
+    }
+
+    public void terbitkan(long urutan) {
+        putaranTerbit.set((int) urutan & mask, (int) (urutan >>> geserPutaran));
+        strategi.bangunkan();
+    }
+
+    public int getUkuran() {
+        return slot.length;
+    }
+
+    public boolean isDitutup() {
+        return ditutup;
+    }
+
+    /** Jumlah exception dari semua penangan sejak dibuat. */
+    public long getJumlahGagal() {
+        long total = 0;
+        for (Konsumen k : konsumen) {
+            total += k.gagal.get();
+        }
+        return total;
+    }
+
+    /**
+     * Hentikan konsumen setelah mereka memproses semua peristiwa yang sudah terbit, lalu
+     * tunggu thread-nya selesai. Klaim yang sedang menunggu slot bebas gagal.
+     */
+    @Override
+    public void close() {
+        ditutup = true;
+        strategi.bangunkan();
+        for (Konsumen k : konsumen) {
+            try {
+                k.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Tanpa konsumen tidak ada yang perlu ditunggu, dan tidak ada yang di-cache supaya
+    // konsumen yang didaftarkan kemudian tetap ditunggu
+    private boolean slotBebas(long perluDibaca) {
+        List<Konsumen> daftar = konsumen;
+        if (daftar.isEmpty()) {
+            return true;
+        }
+        long minimum = urutanMinimum(daftar);
+        if (minimum < perluDibaca) {
+            return false;
+        }
+        cacheUrutanMinimum = minimum;
+        return true;
+    }
+
+    private void tungguSlotBebas(long tenggat) {
+        if (ditutup) {
+            throw new IllegalStateException("Buffer sudah ditutup");
+        }
+        if (System.nanoTime() - tenggat >= 0) {
+            throw new IllegalStateException("Buffer penuh lebih dari "
+                    + TimeUnit.NANOSECONDS.toMillis(batasTungguNanos) + " ms; konsumen tertinggal");
+        }
+        LockSupport.parkNanos(1_000);
+    }
+
+    private long urutanMinimum(List<Konsumen> daftar) {
+        long minimum = Long.MAX_VALUE;
+        for (Konsumen k : daftar) {
+            minimum = Math.min(minimum, k.urutan.get());
+        }
+        return minimum;
+    }
+
+    private boolean terbit(long urutan) {
+        return putaranTerbit.get((int) urutan & mask) == (int) (urutan >>> geserPutaran);
+    }
+
+    /** Urutan terbesar >= dari - 1 sehingga semua urutan dari..hasil sudah terbit. */
+    private long terbitBerurutanSampai(long dari) {
+        long batas = kursorKlaim.get();
+        long urutan = dari;
+        while (urutan <= batas && terbit(urutan)) {
+            urutan++;
+        }
+        return urutan - 1;
+    }
+
+    private final class Konsumen implements Runnable {
+        final Penangan<? super T> penangan;
+        final AtomicLong urutan = new AtomicLong(-1);
+        final AtomicLong gagal = new AtomicLong();
+        final Thread thread;
+
+        Konsumen(String nama, Penangan<? super T> penangan) {
+            this.penangan = penangan;
+            this.thread = new Thread(this, nama);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                proses();
+            } finally {
+                // Berhenti karena ditutup atau karena kegagalan di luar penangan: penerbit
+                // tidak boleh menunggu konsumen yang tidak akan maju lagi
+                urutan.set(Long.MAX_VALUE);
+            }
+        }
+
+        private void proses() {
+            long berikut = 0;
+            while (true) {
+                long dari = berikut;
+                strategi.tunggu(() -> terbit(dari) || ditutup);
+                long sampai = terbitBerurutanSampai(berikut);
+                if (sampai < berikut) {
+                    if (ditutup) {
+                        return;
+                    }
+                    continue;
+                }
+                for (long u = berikut; u <= sampai; u++) {
+                    try {
+                        penangan.tangani(dapatkan(u), u, u == sampai);
+                    } catch (Throwable e) {
+                        gagal.incrementAndGet();
+                    }
+                }
+                urutan.lazySet(sampai);
+                berikut = sampai + 1;
+            }
+        }
+    }
+}
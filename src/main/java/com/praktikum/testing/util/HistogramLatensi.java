@@ -0,0 +1,185 @@
+package com.praktikum.testing.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram latensi log-linear ala HDR untuk nilai nanodetik.
+ *
+ * Nilai di bawah 64 punya bucket sendiri; di atasnya setiap rentang pangkat dua dibagi
+ * menjadi 32 bucket, jadi galat relatif paling besar sekitar 3% di seluruh rentang long.
+ * Mencatat satu nilai hanya menghitung indeks bucket lalu satu getAndIncrement pada
+ * AtomicLongArray, tanpa kunci dan tanpa alokasi. Jumlah total dipegang LongAdder.
+ *
+ * Snapshot membaca bucket satu per satu tanpa menghentikan pencatat, jadi nilai yang
+ * tercatat bersamaan dengan snapshot mungkin ikut atau belum ikut.
+ *
+ * Di jalur panas biaya terbesar justru dua System.nanoTime() (puluhan nanodetik di VM).
+ * Dengan periodeSampel N > 1, mulai() hanya membaca jam untuk rata-rata satu dari N
+ * panggilan (dipilih acak, jadi persentil tetap tidak bias); panggilan lain cukup satu
+ * ThreadLocalRandom.nextInt(). Jumlah dan total di snapshot lalu berupa perkiraan:
+ * jumlah sampel dikali N.
+ */
+public class HistogramLatensi {
+
+    private static final int BIT_SUB = 5;
+    private static final int JUMLAH_SUB = 1 << BIT_SUB;
+    private static final int JUMLAH_BUCKET = indeks(Long.MAX_VALUE) + 1;
+
+    /** Hasil mulai() untuk panggilan yang tidak disampel; selesai() mengabaikannya. */
+    public static final long TIDAK_DISAMPEL = Long.MIN_VALUE;
+
+    private final AtomicLongArray bucket = new AtomicLongArray(JUMLAH_BUCKET);
+    private final LongAdder total = new LongAdder();
+    private final int periodeSampel;
+    private final int maskSampel;
+
+    public HistogramLatensi() {
+        this(1);
+    }
+
+    /**
+     * @param periodeSampel ukur rata-rata satu dari sekian panggilan mulai(); pangkat dua,
+     *                      1 berarti setiap panggilan
+     * @throws IllegalArgumentException jika bukan pangkat dua positif
+     */
+    public HistogramLatensi(int periodeSampel) {
+        this.periodeSampel = periksaPeriodeSampel(periodeSampel);
+        this.maskSampel = periodeSampel - 1;
+    }
+
+    /**
+     * Awal satu pengukuran: System.nanoTime() jika panggilan ini disampel, selain itu
+     * TIDAK_DISAMPEL. Teruskan hasilnya ke selesai().
+     */
+    public long mulai() {
+        if (maskSampel != 0 && (ThreadLocalRandom.current().nextInt() & maskSampel) != 0) {
+            return TIDAK_DISAMPEL;
+        }
+        return System.nanoTime();
+    }
+
+    /** Akhir pengukuran yang dimulai dengan mulai(). */
+    public void selesai(long mulai) {
+        if (mulai != TIDAK_DISAMPEL) {
+            catat(System.nanoTime() - mulai);
+        }
+    }
+
+    public int getPeriodeSampel() {
+        return periodeSampel;
+    }
+
+    public void catat(long nanos) {
+        long nilai = Math.max(0, nanos);
+        bucket.getAndIncrement(indeks(nilai));
+        total.add(nilai);
+    }
+
+    /** Catat waktu sejak mulaiNanos (hasil System.nanoTime()), tanpa sampling. */
+    public void catatSejak(long mulaiNanos) {
+        catat(System.nanoTime() - mulaiNanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] salinan = new long[JUMLAH_BUCKET];
+        long jumlah = 0;
+        for (int i = 0; i < JUMLAH_BUCKET; i++) {
+            salinan[i] = bucket.get(i);
+            jumlah += salinan[i];
+        }
+        return new Snapshot(salinan, jumlah, total.sum(), periodeSampel);
+    }
+
+    static int periksaPeriodeSampel(int periodeSampel) {
+        if (periodeSampel < 1 || Integer.bitCount(periodeSampel) != 1) {
+            throw new IllegalArgumentException("periodeSampel harus pangkat dua positif: " + periodeSampel);
+        }
+        return periodeSampel;
+    }
+
+    // 0..63 linear; untuk v >= 64 dengan bit tertinggi e: geser = e - 5, indeks = geser * 32 + (v >>> geser)
+    static int indeks(long nilai) {
+        if (nilai < 2 * JUMLAH_SUB) {
+            return (int) nilai;
+        }
+        int geser = 63 - Long.numberOfLeadingZeros(nilai) - BIT_SUB;
+        return geser * JUMLAH_SUB + (int) (nilai >>> geser);
+    }
+
+    // Nilai terbesar yang jatuh ke bucket ini
+    static long batasAtas(int indeks) {
+        if (indeks < 2 * JUMLAH_SUB) {
+            return indeks;
+        }
+        int geser = indeks / JUMLAH_SUB - 1;
+        long sub = indeks - geser * JUMLAH_SUB;
+        long atas = ((sub + 1) << geser) - 1;
+        return atas < 0 ? Long.MAX_VALUE : atas;
+    }
+
+    /**
+     * Salinan isi histogram pada satu waktu.
+     */
+    public static final class Snapshot {
+        private final long[] bucket;
+        private final long jumlah;
+        private final long total;
+        private final int periodeSampel;
+
+        private Snapshot(long[] bucket, long jumlah, long total, int periodeSampel) {
+            this.bucket = bucket;
+            this.jumlah = jumlah;
+            this.total = total;
+            this.periodeSampel = periodeSampel;
+        }
+
+        /** Jumlah panggilan; perkiraan (sampel x periode) jika histogram disampel. */
+        public long getJumlah() {
+            return jumlah * periodeSampel;
+        }
+
+        /** Jumlah nilai yang benar-benar tercatat. */
+        public long getJumlahSampel() {
+            return jumlah;
+        }
+
+        /** Total latensi; perkiraan seperti getJumlah() jika histogram disampel. */
+        public long getTotalNanos() {
+            return total * periodeSampel;
+        }
+
+        public double getRataRataNanos() {
+            return jumlah == 0 ? 0.0 : (double) total / jumlah;
+        }
+
+        /**
+         * @param p antara 0.0 dan 1.0, misalnya 0.99
+         * @return batas atas bucket yang memuat persentil ke-p, 0 jika kosong
+         */
+        public long persentil(double p) {
+            if (jumlah == 0) {
+                return 0;
+            }
+            long target = Math.max(1, (long) Math.ceil(p * jumlah));
+            long kumulatif = 0;
+            for (int i = 0; i < bucket.length; i++) {
+                kumulatif += bucket[i];
+                if (kumulatif >= target) {
+                    return batasAtas(i);
+                }
+            }
+            return getMaksNanos();
+        }
+
+        public long getMaksNanos() {
+            for (int i = bucket.length - 1; i >= 0; i--) {
+                if (bucket[i] > 0) {
+                    return batasAtas(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.praktikum.testing.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Registri histogram latensi dan penghitung hasil per operasi.
+ *
+ * Histogram dan penghitung didaftarkan sekali (biasanya di konstruktor dekorator) lalu
+ * dipegang sebagai field, jadi jalur panas tidak pernah mencari di map. Snapshot bisa
+ * diambil kapan saja dan diekspor ke format teks Prometheus.
+ *
+ * Penghitung selalu menghitung setiap panggilan. Latensi bisa disampel (lihat
+ * HistogramLatensi) untuk memangkas biaya membaca jam di jalur panas.
+ */
+public class Instrumentasi {
+
+    private static final double[] KUANTIL_EKSPOR = {0.5, 0.9, 0.99, 0.999};
+
+    private final String awalan;
+    private final int periodeSampel;
+    private final Map<String, HistogramLatensi> histogram = new ConcurrentSkipListMap<>();
+    private final Map<String, PenghitungAlasan<?>> penghitung = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param awalan awalan nama metrik saat ekspor, misalnya "perpustakaan"
+     */
+    public Instrumentasi(String awalan) {
+        this(awalan, 1);
+    }
+
+    /**
+     * @param periodeSampel periode sampel untuk semua histogram registri ini; lihat
+     *                      HistogramLatensi(int)
+     */
+    public Instrumentasi(String awalan, int periodeSampel) {
+        this.awalan = awalan;
+        this.periodeSampel = HistogramLatensi.periksaPeriodeSampel(periodeSampel);
+    }
+
+    public HistogramLatensi histogram(String operasi) {
+        return histogram.computeIfAbsent(operasi, k -> new HistogramLatensi(periodeSampel));
+    }
+
+    /**
+     * Penghitung hasil untuk satu operasi. Memanggil lagi dengan nama yang sama
+     * mengembalikan penghitung yang sudah ada; tipe enum harus sama.
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Enum<E>> PenghitungAlasan<E> penghitung(String operasi, Class<E> tipe) {
+        return (PenghitungAlasan<E>) penghitung.computeIfAbsent(operasi, k -> new PenghitungAlasan<>(tipe));
+    }
+
+    public Snapshot snapshot() {
+        Map<String, HistogramLatensi.Snapshot> latensi = new LinkedHashMap<>();
+        for (Map.Entry<String, HistogramLatensi> entri : histogram.entrySet()) {
+            latensi.put(entri.getKey(), entri.getValue().snapshot());
+        }
+        Map<String, Map<String, Long>> hasil = new LinkedHashMap<>();
+        for (Map.Entry<String, PenghitungAlasan<?>> entri : penghitung.entrySet()) {
+            Map<String, Long> perAlasan = new LinkedHashMap<>();
+            for (Map.Entry<? extends Enum<?>, Long> nilai : entri.getValue().snapshot().entrySet()) {
+                perAlasan.put(nilai.getKey().name(), nilai.getValue());
+            }
+            hasil.put(entri.getKey(), Collections.unmodifiableMap(perAlasan));
+        }
+        return new Snapshot(awalan, Collections.unmodifiableMap(latensi), Collections.unmodifiableMap(hasil));
+    }
+
+    /**
+     * Isi semua histogram dan penghitung pada satu waktu.
+     */
+    public static final class Snapshot {
+        private final String awalan;
+        private final Map<String, HistogramLatensi.Snapshot> latensi;
+        private final Map<String, Map<String, Long>> hasil;
+
+        private Snapshot(String awalan, Map<String, HistogramLatensi.Snapshot> latensi,
+                         Map<String, Map<String, Long>> hasil) {
+            this.awalan = awalan;
+            this.latensi = latensi;
+            this.hasil = hasil;
+        }
+
+        /** Histogram per operasi, urut nama. */
+        public Map<String, HistogramLatensi.Snapshot> getLatensi() {
+            return latensi;
+        }
+
+        /** Penghitung per operasi lalu per nama hasil (nama konstanta enum). */
+        public Map<String, Map<String, Long>> getHasil() {
+            return hasil;
+        }
+
+        public long getJumlahHasil(String operasi, Enum<?> alasan) {
+            Map<String, Long> perAlasan = hasil.get(operasi);
+            return perAlasan == null ? 0 : perAlasan.getOrDefault(alasan.name(), 0L);
+        }
+
+        /**
+         * Format teks Prometheus: latensi sebagai summary (p50, p90, p99, p99.9, sum, count)
+         * dan hasil sebagai counter berlabel.
+         */
+        public String eksporTeks() {
+            StringBuilder sb = new StringBuilder();
+            if (!latensi.isEmpty()) {
+                String nama = awalan + "_latensi_nanos";
+                sb.append("# TYPE ").append(nama).append(" summary\n");
+                for (Map.Entry<String, HistogramLatensi.Snapshot> entri : latensi.entrySet()) {
+                    HistogramLatensi.Snapshot h = entri.getValue();
+                    for (double kuantil : KUANTIL_EKSPOR) {
+                        sb.append(nama).append("{operasi=\"").append(entri.getKey())
+                                .append("\",quantile=\"").append(kuantil).append("\"} ")
+                                .append(h.persentil(kuantil)).append('\n');
+                    }
+                    sb.append(nama).append("_sum{operasi=\"").append(entri.getKey()).append("\"} ")
+                            .append(h.getTotalNanos()).append('\n');
+                    sb.append(nama).append("_count{operasi=\"").append(entri.getKey()).append("\"} ")
+                            .append(h.getJumlah()).append('\n');
+                }
+            }
+            if (!hasil.isEmpty()) {
+                String nama = awalan + "_hasil_total";
+                sb.append("# TYPE ").append(nama).append(" counter\n");
+                for (Map.Entry<String, Map<String, Long>> entri : hasil.entrySet()) {
+                    for (Map.Entry<String, Long> nilai : entri.getValue().entrySet()) {
+                        sb.append(nama).append("{operasi=\"").append(entri.getKey())
+                                .append("\",hasil=\"").append(nilai.getKey()).append("\"} ")
+                                .append(nilai.getValue()).append('\n');
+                    }
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
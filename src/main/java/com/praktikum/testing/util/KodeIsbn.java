@@ -0,0 +1,70 @@
+package com.praktikum.testing.util;
+
+/**
+ * Codec ISBN ke long. ISBN yang sudah dinormalisasi (10 atau 13 digit) muat dalam
+ * satu long: nilai digitnya disimpan apa adanya, dan bit 62 menandai ISBN-13 agar
+ * "0123456789" dan "0000123456789" tetap berbeda.
+ *
+ * Bentuk yang diterima sama dengan ValidationUtils.isValidISBN: spasi dan tanda
+ * hubung diabaikan, sehingga "978-0-306-40615-7" dan "9780306406157" punya kode sama.
+ */
+public final class KodeIsbn {
+
+    /** Hasil enkode untuk string yang bukan ISBN valid. */
+    public static final long TIDAK_VALID = -1L;
+
+    private static final long PENANDA_ISBN13 = 1L << 62;
+
+    private KodeIsbn() {
+    }
+
+    public static long enkode(String isbn) {
+        if (isbn == null) {
+            return TIDAK_VALID;
+        }
+        long nilai = 0;
+        int jumlahDigit = 0;
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (ValidationUtils.isSpasiAtauHubung(c)) {
+                continue;
+            }
+            if (c < '0' || c > '9' || jumlahDigit == 13) {
+                return TIDAK_VALID;
+            }
+            nilai = nilai * 10 + (c - '0');
+            jumlahDigit++;
+        }
+        if (jumlahDigit == 10) {
+            return nilai;
+        }
+        if (jumlahDigit == 13) {
+            return nilai | PENANDA_ISBN13;
+        }
+        return TIDAK_VALID;
+    }
+
+    /**
+     * Kembalikan bentuk normal (hanya digit, tanpa tanda hubung) dari kode.
+     */
+    public static String dekode(long kode) {
+        if (kode < 0) {
+            throw new IllegalArgumentException("Kode ISBN tidak valid: " + kode);
+        }
+        boolean isbn13 = (kode & PENANDA_ISBN13) != 0;
+        long nilai = kode & ~PENANDA_ISBN13;
+        char[] digit = new char[isbn13 ? 13 : 10];
+        for (int i = digit.length - 1; i >= 0; i--) {
+            digit[i] = (char) ('0' + nilai % 10);
+            nilai /= 10;
+        }
+        if (nilai != 0) {
+            throw new IllegalArgumentException("Kode ISBN tidak valid: " + kode);
+        }
+        return new String(digit);
+    }
+
+    public static boolean isIsbn13(long kode) {
+        return kode >= 0 && (kode & PENANDA_ISBN13) != 0;
+    }
+}
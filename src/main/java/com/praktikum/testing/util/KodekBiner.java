@@ -0,0 +1,399 @@
+package com.praktikum.testing.util;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.model.Peminjaman;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codec biner ringkas untuk Buku, Anggota dan Peminjaman (snapshot, replikasi, cache),
+ * tanpa refleksi dan tanpa ObjectOutputStream.
+ *
+ * Setiap record diawali satu byte versi skema. Bilangan bulat ditulis sebagai varint
+ * (7 bit per byte, zigzag untuk yang bisa negatif), tanggal sebagai varint epoch-day,
+ * dan string sebagai varint panjang byte UTF-8 lalu byte-nya, dienkode langsung ke
+ * ByteBuffer tanpa byte[] perantara. Header string 0 berarti null. ISBN 10 atau 13 digit
+ * tanpa tanda hubung disimpan sebagai satu long lewat KodeIsbn (header 1); ISBN lain
+ * disimpan apa adanya sebagai string, jadi bacaan selalu sama persis dengan yang ditulis.
+ *
+ * Jika ruang (tulis) atau data (baca) tidak cukup, BufferOverflowException atau
+ * BufferUnderflowException dilempar dan posisi buffer dikembalikan ke awal record, sehingga
+ * pemanggil bisa mem-flush atau menunggu data lalu mencoba lagi.
+ *
+ * Evolusi skema: field baru ditambahkan di akhir record dengan VERSI baru; pembaca
+ * menerima semua versi sampai VERSI dan mengisi nilai bawaan untuk field yang belum ada.
+ * Nilai TipeAnggota disimpan sebagai ordinal, jadi tipe baru hanya boleh ditambahkan
+ * di akhir enum.
+ */
+public final class KodekBiner {
+
+    public static final byte VERSI = 1;
+
+    private static final int HEADER_NULL = 0;
+    private static final int HEADER_ISBN_PADAT = 1;
+
+    private static final int BENDERA_AKTIF = 1;
+    private static final int BENDERA_DIKEMBALIKAN = 1;
+    private static final int BENDERA_TANGGAL_PINJAM = 1 << 1;
+    private static final int BENDERA_JATUH_TEMPO = 1 << 2;
+    private static final int BENDERA_TANGGAL_KEMBALI = 1 << 3;
+
+    private KodekBiner() {
+    }
+
+    public static void tulisBuku(ByteBuffer tujuan, Buku buku) {
+        int awal = tujuan.position();
+        try {
+            tujuan.put(VERSI);
+            tulisIsbn(tujuan, buku.getIsbn());
+            tulisString(tujuan, buku.getJudul());
+            tulisString(tujuan, buku.getPengarang());
+            tulisVarInt(tujuan, zigzag(buku.getJumlahTotal()));
+            tulisVarInt(tujuan, zigzag(buku.getJumlahTersedia()));
+            tujuan.putDouble(buku.getHarga());
+        } catch (BufferOverflowException e) {
+            tujuan.position(awal);
+            throw e;
+        }
+    }
+
+    public static Buku bacaBuku(ByteBuffer sumber) {
+        int awal = sumber.position();
+        try {
+            bacaVersi(sumber, "Buku");
+            Buku buku = new Buku();
+            buku.setIsbn(bacaIsbn(sumber));
+            buku.setJudul(bacaString(sumber));
+            buku.setPengarang(bacaString(sumber));
+            buku.setJumlahTotal(unzigzag(bacaVarInt(sumber)));
+            buku.setJumlahTersedia(unzigzag(bacaVarInt(sumber)));
+            buku.setHarga(sumber.getDouble());
+            return buku;
+        } catch (BufferUnderflowException e) {
+            sumber.position(awal);
+            throw e;
+        }
+    }
+
+    public static void tulisAnggota(ByteBuffer tujuan, Anggota anggota) {
+        int awal = tujuan.position();
+        try {
+            tujuan.put(VERSI);
+            tulisString(tujuan, anggota.getIdAnggota());
+            tulisString(tujuan, anggota.getNama());
+            tulisString(tujuan, anggota.getEmail());
+            tulisString(tujuan, anggota.getTelepon());
+            Anggota.TipeAnggota tipe = anggota.getTipeAnggota();
+            tulisVarInt(tujuan, tipe == null ? 0 : tipe.ordinal() + 1);
+            tujuan.put((byte) (anggota.isAktif() ? BENDERA_AKTIF : 0));
+            List<String> dipinjam = anggota.getIdBukuDipinjam();
+            tulisVarInt(tujuan, dipinjam.size());
+            for (int i = 0; i < dipinjam.size(); i++) {
+                tulisIsbn(tujuan, dipinjam.get(i));
+            }
+        } catch (BufferOverflowException e) {
+            tujuan.position(awal);
+            throw e;
+        }
+    }
+
+    public static Anggota bacaAnggota(ByteBuffer sumber) {
+        int awal = sumber.position();
+        try {
+            bacaVersi(sumber, "Anggota");
+            Anggota anggota = new Anggota();
+            anggota.setIdAnggota(bacaString(sumber));
+            anggota.setNama(bacaString(sumber));
+            anggota.setEmail(bacaString(sumber));
+            anggota.setTelepon(bacaString(sumber));
+            int tipe = bacaVarInt(sumber);
+            Anggota.TipeAnggota[] semuaTipe = Anggota.TipeAnggota.values();
+            if (tipe > semuaTipe.length) {
+                throw new IllegalArgumentException("Tipe anggota tidak dikenal: " + (tipe - 1));
+            }
+            anggota.setTipeAnggota(tipe == 0 ? null : semuaTipe[tipe - 1]);
+            anggota.setAktif((sumber.get() & BENDERA_AKTIF) != 0);
+            int jumlah = bacaVarInt(sumber);
+            List<String> dipinjam = new ArrayList<>(Math.min(jumlah, sumber.remaining()));
+            for (int i = 0; i < jumlah; i++) {
+                dipinjam.add(bacaIsbn(sumber));
+            }
+            anggota.setIdBukuDipinjam(dipinjam);
+            return anggota;
+        } catch (BufferUnderflowException e) {
+            sumber.position(awal);
+            throw e;
+        }
+    }
+
+    public static void tulisPeminjaman(ByteBuffer tujuan, Peminjaman peminjaman) {
+        int awal = tujuan.position();
+        try {
+            LocalDate pinjam = peminjaman.getTanggalPinjam();
+            LocalDate jatuhTempo = peminjaman.getTanggalJatuhTempo();
+            LocalDate kembali = peminjaman.getTanggalKembali();
+            int bendera = (peminjaman.isSudahDikembalikan() ? BENDERA_DIKEMBALIKAN : 0)
+                    | (pinjam != null ? BENDERA_TANGGAL_PINJAM : 0)
+                    | (jatuhTempo != null ? BENDERA_JATUH_TEMPO : 0)
+                    | (kembali != null ? BENDERA_TANGGAL_KEMBALI : 0);
+            tujuan.put(VERSI);
+            tulisString(tujuan, peminjaman.getIdPeminjaman());
+            tulisString(tujuan, peminjaman.getIdAnggota());
+            tulisIsbn(tujuan, peminjaman.getIsbnBuku());
+            tujuan.put((byte) bendera);
+            // Jatuh tempo dan kembali ditulis sebagai selisih hari dari tanggal pinjam jika ada,
+            // biasanya satu byte
+            long dasar = pinjam == null ? 0 : pinjam.toEpochDay();
+            if (pinjam != null) {
+                tulisVarLong(tujuan, zigzag(dasar));
+            }
+            if (jatuhTempo != null) {
+                tulisVarLong(tujuan, zigzag(jatuhTempo.toEpochDay() - dasar));
+            }
+            if (kembali != null) {
+                tulisVarLong(tujuan, zigzag(kembali.toEpochDay() - dasar));
+            }
+        } catch (BufferOverflowException e) {
+            tujuan.position(awal);
+            throw e;
+        }
+    }
+
+    public static Peminjaman bacaPeminjaman(ByteBuffer sumber) {
+        int awal = sumber.position();
+        try {
+            bacaVersi(sumber, "Peminjaman");
+            Peminjaman peminjaman = new Peminjaman();
+            peminjaman.setIdPeminjaman(bacaString(sumber));
+            peminjaman.setIdAnggota(bacaString(sumber));
+            peminjaman.setIsbnBuku(bacaIsbn(sumber));
+            int bendera = sumber.get();
+            peminjaman.setSudahDikembalikan((bendera & BENDERA_DIKEMBALIKAN) != 0);
+            long dasar = 0;
+            if ((bendera & BENDERA_TANGGAL_PINJAM) != 0) {
+                dasar = unzigzag(bacaVarLong(sumber));
+                peminjaman.setTanggalPinjam(LocalDate.ofEpochDay(dasar));
+            }
+            if ((bendera & BENDERA_JATUH_TEMPO) != 0) {
+                peminjaman.setTanggalJatuhTempo(LocalDate.ofEpochDay(dasar + unzigzag(bacaVarLong(sumber))));
+            }
+            if ((bendera & BENDERA_TANGGAL_KEMBALI) != 0) {
+                peminjaman.setTanggalKembali(LocalDate.ofEpochDay(dasar + unzigzag(bacaVarLong(sumber))));
+            }
+            return peminjaman;
+        } catch (BufferUnderflowException e) {
+            sumber.position(awal);
+            throw e;
+        }
+    }
+
+    // --- primitif ---
+
+    static void tulisVarInt(ByteBuffer tujuan, int nilai) {
+        while ((nilai & ~0x7f) != 0) {
+            tujuan.put((byte) ((nilai & 0x7f) | 0x80));
+            nilai >>>= 7;
+        }
+        tujuan.put((byte) nilai);
+    }
+
+    static int bacaVarInt(ByteBuffer sumber) {
+        int hasil = 0;
+        for (int geser = 0; geser < 35; geser += 7) {
+            byte b = sumber.get();
+            hasil |= (b & 0x7f) << geser;
+            if (b >= 0) {
+                return hasil;
+            }
+        }
+        throw new IllegalArgumentException("Varint lebih dari 5 byte");
+    }
+
+    static void tulisVarLong(ByteBuffer tujuan, long nilai) {
+        while ((nilai & ~0x7fL) != 0) {
+            tujuan.put((byte) ((nilai & 0x7f) | 0x80));
+            nilai >>>= 7;
+        }
+        tujuan.put((byte) nilai);
+    }
+
+    static long bacaVarLong(ByteBuffer sumber) {
+        long hasil = 0;
+        for (int geser = 0; geser < 70; geser += 7) {
+            byte b = sumber.get();
+            hasil |= (long) (b & 0x7f) << geser;
+            if (b >= 0) {
+                return hasil;
+            }
+        }
+        throw new IllegalArgumentException("Varint lebih dari 10 byte");
+    }
+
+    private static int zigzag(int nilai) {
+        return (nilai << 1) ^ (nilai >> 31);
+    }
+
+    private static int unzigzag(int nilai) {
+        return (nilai >>> 1) ^ -(nilai & 1);
+    }
+
+    private static long zigzag(long nilai) {
+        return (nilai << 1) ^ (nilai >> 63);
+    }
+
+    private static long unzigzag(long nilai) {
+        return (nilai >>> 1) ^ -(nilai & 1);
+    }
+
+    private static void bacaVersi(ByteBuffer sumber, String jenis) {
+        byte versi = sumber.get();
+        if (versi < 1 || versi > VERSI) {
+            throw new IllegalArgumentException("Versi skema " + jenis + " tidak dikenal: " + versi);
+        }
+    }
+
+    private static void tulisIsbn(ByteBuffer tujuan, String isbn) {
+        if (isbn != null && (isbn.length() == 10 || isbn.length() == 13)) {
+            long kode = KodeIsbn.enkode(isbn);
+            // Jumlah digit harus sama dengan panjang string, supaya tidak ada tanda hubung atau
+            // spasi yang hilang saat dekode ("0-306-40615-2" juga 13 karakter)
+            if (kode != KodeIsbn.TIDAK_VALID && KodeIsbn.isIsbn13(kode) == (isbn.length() == 13)) {
+                tulisVarInt(tujuan, HEADER_ISBN_PADAT);
+                tujuan.putLong(kode);
+                return;
+            }
+        }
+        tulisTeks(tujuan, isbn, HEADER_ISBN_PADAT + 1);
+    }
+
+    private static String bacaIsbn(ByteBuffer sumber) {
+        int header = bacaVarInt(sumber);
+        if (header == HEADER_ISBN_PADAT) {
+            long kode = sumber.getLong();
+            return KodeIsbn.dekode(kode);
+        }
+        return bacaTeks(sumber, header, HEADER_ISBN_PADAT + 1);
+    }
+
+    private static void tulisString(ByteBuffer tujuan, String teks) {
+        tulisTeks(tujuan, teks, HEADER_NULL + 1);
+    }
+
+    private static String bacaString(ByteBuffer sumber) {
+        return bacaTeks(sumber, bacaVarInt(sumber), HEADER_NULL + 1);
+    }
+
+    /** Header = HEADER_NULL untuk null, selainnya panjangByte + offsetPanjang. */
+    private static void tulisTeks(ByteBuffer tujuan, String teks, int offsetPanjang) {
+        if (teks == null) {
+            tulisVarInt(tujuan, HEADER_NULL);
+            return;
+        }
+        int panjang = teks.length();
+        int panjangByte = panjangUtf8(teks);
+        tulisVarInt(tujuan, panjangByte + offsetPanjang);
+        if (tujuan.remaining() < panjangByte) {
+            throw new BufferOverflowException();
+        }
+        if (panjangByte == panjang) {
+            for (int i = 0; i < panjang; i++) {
+                tujuan.put((byte) teks.charAt(i));
+            }
+            return;
+        }
+        for (int i = 0; i < panjang; i++) {
+            char c = teks.charAt(i);
+            if (c < 0x80) {
+                tujuan.put((byte) c);
+            } else if (c < 0x800) {
+                tujuan.put((byte) (0xc0 | (c >> 6)));
+                tujuan.put((byte) (0x80 | (c & 0x3f)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < panjang && Character.isLowSurrogate(teks.charAt(i + 1))) {
+                int kodeTitik = Character.toCodePoint(c, teks.charAt(++i));
+                tujuan.put((byte) (0xf0 | (kodeTitik >> 18)));
+                tujuan.put((byte) (0x80 | ((kodeTitik >> 12) & 0x3f)));
+                tujuan.put((byte) (0x80 | ((kodeTitik >> 6) & 0x3f)));
+                tujuan.put((byte) (0x80 | (kodeTitik & 0x3f)));
+            } else if (Character.isSurrogate(c)) {
+                tujuan.put((byte) '?'); // surrogate tanpa pasangan, sama dengan String.getBytes
+            } else {
+                tujuan.put((byte) (0xe0 | (c >> 12)));
+                tujuan.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+                tujuan.put((byte) (0x80 | (c & 0x3f)));
+            }
+        }
+    }
+
+    private static int panjangUtf8(String teks) {
+        int panjang = teks.length();
+        int hasil = panjang;
+        for (int i = 0; i < panjang; i++) {
+            char c = teks.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    hasil += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < panjang && Character.isLowSurrogate(teks.charAt(i + 1))) {
+                    hasil += 2; // 4 byte untuk 2 char
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    hasil += 2;
+                }
+            }
+        }
+        return hasil;
+    }
+
+    /**
+     * Buffer heap didekode langsung dari array-nya; buffer direct dibaca per byte ke char[]
+     * tanpa salinan byte[] perantara.
+     */
+    private static String bacaTeks(ByteBuffer sumber, int header, int offsetPanjang) {
+        if (header == HEADER_NULL) {
+            return null;
+        }
+        int panjangByte = header - offsetPanjang;
+        if (panjangByte < 0) {
+            throw new IllegalArgumentException("Header string tidak valid: " + header);
+        }
+        if (sumber.remaining() < panjangByte) {
+            throw new BufferUnderflowException();
+        }
+        int posisi = sumber.position();
+        if (sumber.hasArray()) {
+            String hasil = new String(sumber.array(), sumber.arrayOffset() + posisi, panjangByte, StandardCharsets.UTF_8);
+            sumber.position(posisi + panjangByte);
+            return hasil;
+        }
+        char[] karakter = new char[panjangByte];
+        int n = 0;
+        int akhir = posisi + panjangByte;
+        int i = posisi;
+        while (i < akhir) {
+            int b = sumber.get(i++) & 0xff;
+            if (b < 0x80) {
+                karakter[n++] = (char) b;
+            } else if (b < 0xe0 && i < akhir) {
+                karakter[n++] = (char) (((b & 0x1f) << 6) | (sumber.get(i++) & 0x3f));
+            } else if (b < 0xf0 && i + 1 < akhir) {
+                karakter[n++] = (char) (((b & 0x0f) << 12) | ((sumber.get(i++) & 0x3f) << 6) | (sumber.get(i++) & 0x3f));
+            } else if (i + 2 < akhir) {
+                int kodeTitik = ((b & 0x07) << 18) | ((sumber.get(i++) & 0x3f) << 12)
+                        | ((sumber.get(i++) & 0x3f) << 6) | (sumber.get(i++) & 0x3f);
+                karakter[n++] = Character.highSurrogate(kodeTitik);
+                karakter[n++] = Character.lowSurrogate(kodeTitik);
+            } else {
+                karakter[n++] = '\ufffd';
+                i = akhir;
+            }
+        }
+        sumber.position(akhir);
+        return new String(karakter, 0, n);
+    }
+}
@@ -0,0 +1,86 @@
+package com.praktikum.testing.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Kunci bergaris (striped lock) untuk sirkulasi: satu larik kunci untuk anggota dan satu
+ * untuk buku. Kunci dipilih dari hash id, jadi jumlah kunci tetap walau anggota dan buku
+ * berjumlah jutaan, dan transaksi untuk anggota/buku berbeda biasanya tidak saling tunggu.
+ *
+ * Urutan pengambilan selalu kunci anggota lalu kunci buku. Karena tidak ada jalur yang
+ * mengambil kunci buku lalu kunci anggota, dua transaksi tidak bisa saling mengunci.
+ */
+public class KunciBergaris {
+
+    private final ReentrantLock[] kunciAnggota;
+    private final ReentrantLock[] kunciBuku;
+    private final int mask;
+
+    /**
+     * @param jumlahGaris jumlah kunci per larik, dibulatkan ke atas ke pangkat dua
+     */
+    public KunciBergaris(int jumlahGaris) {
+        if (jumlahGaris < 1) {
+            throw new IllegalArgumentException("Jumlah garis minimal 1");
+        }
+        int ukuran = Integer.highestOneBit(jumlahGaris);
+        if (ukuran < jumlahGaris) {
+            ukuran <<= 1;
+        }
+        kunciAnggota = new ReentrantLock[ukuran];
+        kunciBuku = new ReentrantLock[ukuran];
+        for (int i = 0; i < ukuran; i++) {
+            kunciAnggota[i] = new ReentrantLock();
+            kunciBuku[i] = new ReentrantLock();
+        }
+        mask = ukuran - 1;
+    }
+
+    /**
+     * Jalankan aksi sambil memegang kunci anggota dan kunci buku.
+     */
+    public <T> T jalankan(String idAnggota, String isbn, Supplier<T> aksi) {
+        ReentrantLock anggota = kunciAnggota[garis(idAnggota)];
+        ReentrantLock buku = kunciBuku[garis(isbn)];
+        anggota.lock();
+        try {
+            buku.lock();
+            try {
+                return aksi.get();
+            } finally {
+                buku.unlock();
+            }
+        } finally {
+            anggota.unlock();
+        }
+    }
+
+    /**
+     * Jalankan aksi sambil memegang kunci buku saja (misalnya hapus buku).
+     */
+    public <T> T jalankanBuku(String isbn, Supplier<T> aksi) {
+        ReentrantLock buku = kunciBuku[garis(isbn)];
+        buku.lock();
+        try {
+            return aksi.get();
+        } finally {
+            buku.unlock();
+        }
+    }
+
+    public int getJumlahGaris() {
+        return mask + 1;
+    }
+
+    private int garis(String kunci) {
+        if (kunci == null) {
+            return 0;
+        }
+        int h = kunci.hashCode();
+        h ^= h >>> 16;
+        h *= 0x45d9f3b;
+        h ^= h >>> 16;
+        return h & mask;
+    }
+}
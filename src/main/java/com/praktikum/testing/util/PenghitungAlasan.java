@@ -0,0 +1,42 @@
+package com.praktikum.testing.util;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Satu penghitung per nilai enum (misalnya alasan penolakan). Setiap penghitung adalah
+ * LongAdder, yang membagi update ke beberapa sel saat ada kontensi, jadi thread yang
+ * menolak dengan alasan sama tidak berebut satu cache line.
+ */
+public class PenghitungAlasan<E extends Enum<E>> {
+
+    private final Class<E> tipe;
+    private final LongAdder[] penghitung;
+
+    public PenghitungAlasan(Class<E> tipe) {
+        this.tipe = tipe;
+        E[] nilai = tipe.getEnumConstants();
+        this.penghitung = new LongAdder[nilai.length];
+        for (int i = 0; i < nilai.length; i++) {
+            penghitung[i] = new LongAdder();
+        }
+    }
+
+    public void tambah(E alasan) {
+        penghitung[alasan.ordinal()].increment();
+    }
+
+    public long get(E alasan) {
+        return penghitung[alasan.ordinal()].sum();
+    }
+
+    /** Nilai semua penghitung, termasuk yang masih nol, dalam urutan deklarasi enum. */
+    public Map<E, Long> snapshot() {
+        Map<E, Long> hasil = new EnumMap<>(tipe);
+        for (E alasan : tipe.getEnumConstants()) {
+            hasil.put(alasan, penghitung[alasan.ordinal()].sum());
+        }
+        return hasil;
+    }
+}
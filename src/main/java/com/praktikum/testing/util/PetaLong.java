@@ -0,0 +1,188 @@
+package com.praktikum.testing.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Map dengan kunci long primitif, open addressing dan linear probing.
+ *
+ * Kunci dan nilai disimpan di dua array paralel, jadi tidak ada objek node atau
+ * Long boxing per entri. Slot kosong ditandai nilai null (nilai null tidak boleh
+ * disimpan). Penghapusan memakai backward shift sehingga tidak ada tombstone dan
+ * panjang probe tetap pendek. Faktor muat dijaga di bawah 0.5.
+ *
+ * Tidak thread-safe; pemanggil yang mengatur penguncian.
+ */
+public class PetaLong<V> {
+
+    private static final int KAPASITAS_AWAL = 16;
+
+    private long[] kunci;
+    private Object[] nilai;
+    private int ukuran;
+
+    public PetaLong() {
+        this(KAPASITAS_AWAL);
+    }
+
+    public PetaLong(int perkiraanUkuran) {
+        int kapasitas = KAPASITAS_AWAL;
+        while (kapasitas < perkiraanUkuran * 2) {
+            kapasitas <<= 1;
+        }
+        kunci = new long[kapasitas];
+        nilai = new Object[kapasitas];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long k) {
+        long[] tabelKunci = kunci;
+        Object[] tabelNilai = nilai;
+        // Saat dibaca tanpa kunci (optimistic read) kedua array bisa berasal dari ukuran
+        // berbeda; mask terkecil dan batas probe menjaga loop tetap aman dan berhenti
+        int mask = Math.min(tabelKunci.length, tabelNilai.length) - 1;
+        for (int i = campur(k) & mask, langkah = 0; langkah <= mask; i = (i + 1) & mask, langkah++) {
+            Object v = tabelNilai[i];
+            if (v == null) {
+                return null;
+            }
+            if (tabelKunci[i] == k) {
+                return (V) v;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return nilai lama, atau null jika kunci belum ada
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long k, V v) {
+        if (v == null) {
+            throw new IllegalArgumentException("Nilai tidak boleh null");
+        }
+        if ((ukuran + 1) * 2 > kunci.length) {
+            perbesar();
+        }
+        int mask = kunci.length - 1;
+        int i = campur(k) & mask;
+        while (nilai[i] != null) {
+            if (kunci[i] == k) {
+                Object lama = nilai[i];
+                nilai[i] = v;
+                return (V) lama;
+            }
+            i = (i + 1) & mask;
+        }
+        kunci[i] = k;
+        nilai[i] = v;
+        ukuran++;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long k) {
+        int mask = kunci.length - 1;
+        int i = campur(k) & mask;
+        while (nilai[i] != null) {
+            if (kunci[i] == k) {
+                Object lama = nilai[i];
+                geserMundur(i, mask);
+                ukuran--;
+                return (V) lama;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(long k) {
+        return get(k) != null;
+    }
+
+    public int size() {
+        return ukuran;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> hasil = new ArrayList<>(ukuran);
+        for (Object v : nilai) {
+            if (v != null) {
+                hasil.add((V) v);
+            }
+        }
+        return hasil;
+    }
+
+    /**
+     * Ambil nilai mulai dari slot tabel ke-mulai, paling banyak maks nilai. Dipakai untuk
+     * menelusuri isi per blok tanpa menyalin semuanya. Penghapusan (backward shift) atau
+     * pembesaran tabel di antara dua panggilan bisa memindahkan entri melewati posisi
+     * penelusuran, sehingga entri itu terlewat atau terbaca dua kali.
+     *
+     * @return slot awal untuk panggilan berikutnya, atau -1 jika tabel sudah habis ditelusuri
+     */
+    @SuppressWarnings("unchecked")
+    public int kumpulkanNilai(int mulai, int maks, List<? super V> keluaran) {
+        int slot = mulai;
+        for (int diambil = 0; slot < nilai.length && diambil < maks; slot++) {
+            if (nilai[slot] != null) {
+                keluaran.add((V) nilai[slot]);
+                diambil++;
+            }
+        }
+        return slot < nilai.length ? slot : -1;
+    }
+
+    // Isi lubang di slot i dengan entri berikutnya di klaster yang boleh pindah ke sana
+    private void geserMundur(int lubang, int mask) {
+        int i = lubang;
+        while (true) {
+            i = (i + 1) & mask;
+            if (nilai[i] == null) {
+                break;
+            }
+            int asal = campur(kunci[i]) & mask;
+            // Entri boleh pindah jika slot asalnya tidak berada di antara (lubang, i]
+            boolean diAntara = lubang <= i ? (lubang < asal && asal <= i) : (lubang < asal || asal <= i);
+            if (!diAntara) {
+                kunci[lubang] = kunci[i];
+                nilai[lubang] = nilai[i];
+                lubang = i;
+            }
+        }
+        nilai[lubang] = null;
+        kunci[lubang] = 0;
+    }
+
+    private void perbesar() {
+        long[] kunciLama = kunci;
+        Object[] nilaiLama = nilai;
+        long[] kunciBaru = new long[kunciLama.length * 2];
+        Object[] nilaiBaru = new Object[kunciLama.length * 2];
+        int mask = kunciBaru.length - 1;
+        for (int j = 0; j < kunciLama.length; j++) {
+            if (nilaiLama[j] != null) {
+                int i = campur(kunciLama[j]) & mask;
+                while (nilaiBaru[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                kunciBaru[i] = kunciLama[j];
+                nilaiBaru[i] = nilaiLama[j];
+            }
+        }
+        nilai = nilaiBaru;
+        kunci = kunciBaru;
+    }
+
+    // fmix64 dari MurmurHash3, agar ISBN berurutan tidak menumpuk di slot berdekatan
+    private static int campur(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return (int) k;
+    }
+}
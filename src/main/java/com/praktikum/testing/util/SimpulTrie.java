@@ -0,0 +1,83 @@
+package com.praktikum.testing.util;
+
+import java.util.Arrays;
+
+/**
+ * Simpul trie dengan anak berupa array huruf terurut dan array simpul paralel (pencarian
+ * biner), lebih hemat daripada map per simpul. Dipakai bersama oleh TrieLevenshtein dan
+ * IndeksAutocomplete; subkelas menambah isi simpulnya sendiri dan membuat anak bertipe sama
+ * lewat buatAnak.
+ *
+ * Tidak thread-safe; pemilik trie yang mengatur penguncian.
+ *
+ * @param <S> tipe simpul konkret, supaya anak tidak perlu di-cast oleh pemanggil
+ */
+public abstract class SimpulTrie<S extends SimpulTrie<S>> {
+
+    private static final char[] TANPA_HURUF = new char[0];
+    private static final Object[] TANPA_ANAK = new Object[0];
+
+    private char[] huruf = TANPA_HURUF;
+    // Object[] karena array generik tidak bisa dibuat; isinya selalu S
+    private Object[] anak = TANPA_ANAK;
+    private int jumlahAnak;
+
+    /** Simpul kosong yang akan dipasang sebagai anak baru. */
+    protected abstract S buatAnak();
+
+    /** Anak untuk huruf c, atau null jika tidak ada. */
+    public final S anak(char c) {
+        int i = Arrays.binarySearch(huruf, 0, jumlahAnak, c);
+        return i >= 0 ? anakKe(i) : null;
+    }
+
+    /** Anak untuk huruf c; dibuat dan disisipkan di posisi urutnya jika belum ada. */
+    public final S anakAtauBaru(char c) {
+        int i = Arrays.binarySearch(huruf, 0, jumlahAnak, c);
+        if (i >= 0) {
+            return anakKe(i);
+        }
+        int posisi = -i - 1;
+        if (jumlahAnak == huruf.length) {
+            int kapasitas = Math.max(2, jumlahAnak * 2);
+            huruf = Arrays.copyOf(huruf, kapasitas);
+            anak = Arrays.copyOf(anak, kapasitas);
+        }
+        System.arraycopy(huruf, posisi, huruf, posisi + 1, jumlahAnak - posisi);
+        System.arraycopy(anak, posisi, anak, posisi + 1, jumlahAnak - posisi);
+        huruf[posisi] = c;
+        S baru = buatAnak();
+        anak[posisi] = baru;
+        jumlahAnak++;
+        return baru;
+    }
+
+    public final void hapusAnak(char c) {
+        int i = Arrays.binarySearch(huruf, 0, jumlahAnak, c);
+        if (i < 0) {
+            return;
+        }
+        System.arraycopy(huruf, i + 1, huruf, i, jumlahAnak - i - 1);
+        System.arraycopy(anak, i + 1, anak, i, jumlahAnak - i - 1);
+        jumlahAnak--;
+        anak[jumlahAnak] = null;
+    }
+
+    public final int getJumlahAnak() {
+        return jumlahAnak;
+    }
+
+    /** Huruf anak ke-i, urut naik untuk i dari 0 sampai getJumlahAnak() - 1. */
+    public final char hurufKe(int i) {
+        return huruf[i];
+    }
+
+    @SuppressWarnings("unchecked")
+    public final S anakKe(int i) {
+        return (S) anak[i];
+    }
+
+    public final boolean tanpaAnak() {
+        return jumlahAnak == 0;
+    }
+}
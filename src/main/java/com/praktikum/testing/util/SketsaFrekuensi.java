@@ -0,0 +1,87 @@
+package com.praktikum.testing.util;
+
+/**
+ * Count-min sketch dengan penghitung 4-bit untuk memperkirakan frekuensi akses kunci.
+ *
+ * Setiap long memuat 16 penghitung; satu kunci memakai 4 penghitung di 4 baris dengan
+ * hash berbeda, dan perkiraan frekuensinya adalah nilai terkecil. Penghitung jenuh di 15.
+ * Setelah sejumlah penambahan (10 x lebar) semua penghitung dibagi dua, sehingga
+ * frekuensi lama memudar dan kunci yang baru populer bisa menyusul.
+ *
+ * Tidak thread-safe; pemanggil yang mengatur penguncian.
+ */
+public class SketsaFrekuensi {
+
+    private static final int KEDALAMAN = 4;
+    private static final long[] BENIH = {
+            0x97cb3127L, 0xab3d7e43L, 0x2f2b1a65L, 0x8e5a93c1L
+    };
+    private static final long MASK_SEPARUH = 0x7777777777777777L;
+
+    private final long[] tabel;
+    private final int maskBaris;
+    private final int batasSampel;
+    private int jumlahSampel;
+
+    /**
+     * @param perkiraanKunci perkiraan jumlah kunci berbeda yang ingin dibedakan (misal kapasitas cache)
+     */
+    public SketsaFrekuensi(int perkiraanKunci) {
+        int lebar = 16;
+        while (lebar < perkiraanKunci) {
+            lebar <<= 1;
+        }
+        // lebar penghitung per baris; tiap long memuat 16 penghitung
+        this.tabel = new long[Math.max(1, lebar * KEDALAMAN / 16)];
+        this.maskBaris = lebar - 1;
+        this.batasSampel = 10 * lebar;
+    }
+
+    public void tambah(Object kunci) {
+        int hash = sebar(kunci.hashCode());
+        boolean bertambah = false;
+        for (int d = 0; d < KEDALAMAN; d++) {
+            int indeks = indeks(hash, d);
+            int geser = (indeks & 15) << 2;
+            int slot = indeks >>> 4;
+            if (((tabel[slot] >>> geser) & 0xfL) != 0xfL) {
+                tabel[slot] += 1L << geser;
+                bertambah = true;
+            }
+        }
+        if (bertambah && ++jumlahSampel >= batasSampel) {
+            paruhkan();
+        }
+    }
+
+    public int frekuensi(Object kunci) {
+        int hash = sebar(kunci.hashCode());
+        int minimum = 15;
+        for (int d = 0; d < KEDALAMAN; d++) {
+            int indeks = indeks(hash, d);
+            minimum = Math.min(minimum, (int) ((tabel[indeks >>> 4] >>> ((indeks & 15) << 2)) & 0xfL));
+        }
+        return minimum;
+    }
+
+    private void paruhkan() {
+        for (int i = 0; i < tabel.length; i++) {
+            tabel[i] = (tabel[i] >>> 1) & MASK_SEPARUH;
+        }
+        jumlahSampel /= 2;
+    }
+
+    // Indeks penghitung global untuk baris d: baris d menempati [d * lebar, (d + 1) * lebar)
+    private int indeks(int hash, int d) {
+        long h = (hash + BENIH[d]) * BENIH[d];
+        h += h >>> 32;
+        return d * (maskBaris + 1) + ((int) h & maskBaris);
+    }
+
+    private static int sebar(int h) {
+        h ^= h >>> 16;
+        h *= 0x45d9f3b;
+        h ^= h >>> 16;
+        return h;
+    }
+}
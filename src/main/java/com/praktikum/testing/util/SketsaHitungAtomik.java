@@ -0,0 +1,87 @@
+package com.praktikum.testing.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Count-min sketch dengan penghitung int atomik untuk menghitung kejadian per kunci tanpa
+ * menyimpan kuncinya.
+ *
+ * Satu kunci memakai satu penghitung di setiap dari 4 baris (bit hash berbeda); perkiraannya
+ * adalah nilai terkecil, tidak pernah kurang dari jumlah sebenarnya dan lebih paling banyak
+ * sekitar e / lebar x total kejadian untuk sebagian besar kunci. Keempat penghitung satu
+ * kunci diletakkan dalam satu blok 16 int (64 byte, satu cache line): blok dipilih dari
+ * hash, lalu tiap baris memilih satu dari 4 int miliknya di blok itu. Dengan begitu tambah
+ * hanya menyentuh satu cache line, bukan empat yang tersebar di tabel berukuran megabyte. Berbeda dengan SketsaFrekuensi
+ * (4-bit, jenuh di 15, memudar), penghitung di sini tidak jenuh dan tidak pernah dibagi dua;
+ * umur data diatur pemanggil dengan membuang sketsa lama.
+ *
+ * Thread-safe tanpa kunci: tambah hanya memakai increment atomik.
+ */
+public class SketsaHitungAtomik {
+
+    private static final int KEDALAMAN = 4;
+    private static final int INT_PER_BLOK = 16;
+
+    private final AtomicIntegerArray penghitung;
+    private final int lebar;
+    private final int maskBlok;
+
+    /**
+     * @param lebar jumlah penghitung per baris, dibulatkan ke atas ke pangkat dua
+     */
+    public SketsaHitungAtomik(int lebar) {
+        if (lebar < 1) {
+            throw new IllegalArgumentException("Lebar sketsa minimal 1");
+        }
+        int lebarBulat = Math.max(KEDALAMAN, Integer.highestOneBit(Math.max(1, lebar - 1)) << 1);
+        this.penghitung = new AtomicIntegerArray(KEDALAMAN * lebarBulat);
+        this.lebar = lebarBulat;
+        this.maskBlok = KEDALAMAN * lebarBulat / INT_PER_BLOK - 1;
+    }
+
+    /**
+     * Catat satu kejadian kunci.
+     *
+     * @return perkiraan jumlah kejadian kunci setelah kejadian ini
+     */
+    public int tambah(Object kunci) {
+        int hash = sebar(kunci.hashCode());
+        int awal = awalBlok(hash);
+        int minimum = Integer.MAX_VALUE;
+        for (int d = 0; d < KEDALAMAN; d++) {
+            minimum = Math.min(minimum, penghitung.incrementAndGet(awal + indeksDalamBlok(hash, d)));
+        }
+        return minimum;
+    }
+
+    public int perkiraan(Object kunci) {
+        int hash = sebar(kunci.hashCode());
+        int awal = awalBlok(hash);
+        int minimum = Integer.MAX_VALUE;
+        for (int d = 0; d < KEDALAMAN; d++) {
+            minimum = Math.min(minimum, penghitung.get(awal + indeksDalamBlok(hash, d)));
+        }
+        return minimum;
+    }
+
+    public int getLebar() {
+        return lebar;
+    }
+
+    // Bit rendah hash memilih blok; bit 24 ke atas memilih int tiap baris di dalam blok
+    private int awalBlok(int hash) {
+        return (hash & maskBlok) * INT_PER_BLOK;
+    }
+
+    // Baris d memakai int [4d, 4d + 4) di dalam blok
+    private static int indeksDalamBlok(int hash, int d) {
+        return (d << 2) + ((hash >>> (24 + (d << 1))) & 3);
+    }
+
+    private static int sebar(int h) {
+        h ^= h >>> 16;
+        h *= 0x45d9f3b;
+        h ^= h >>> 16;
+        return h;
+    }
+}
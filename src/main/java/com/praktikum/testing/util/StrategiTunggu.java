@@ -0,0 +1,121 @@
+package com.praktikum.testing.util;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Cara konsumen BufferCincin menunggu peristiwa berikutnya. Pilihannya menukar latensi
+ * pengantaran dengan CPU yang dipakai konsumen saat sepi dan biaya di sisi penerbit:
+ * - sibuk(): berputar terus; latensi terendah, tetapi memakan satu core per konsumen.
+ *   Hanya masuk akal jika core lebih banyak dari thread yang sibuk.
+ * - mengalah(): berputar sebentar, lalu Thread.yield, lalu tidur 100 mikrodetik per
+ *   percobaan. Penerbit tidak membayar apa pun; latensi saat sepi sampai ~100 mikrodetik.
+ * - blokir(): menunggu di Condition. Konsumen tidak memakai CPU saat sepi, tetapi
+ *   penerbit mengambil kunci untuk membangunkan jika ada konsumen yang sedang tidur.
+ */
+public interface StrategiTunggu {
+
+    /**
+     * Kembali setelah siap bernilai true. Dipanggil di thread konsumen; siap dicek ulang
+     * setelah setiap bangunkan(), jadi boleh kembali lebih awal dari yang perlu.
+     */
+    void tunggu(BooleanSupplier siap);
+
+    /**
+     * Dipanggil penerbit setelah menerbitkan, dan oleh BufferCincin saat ditutup.
+     */
+    void bangunkan();
+
+    static StrategiTunggu sibuk() {
+        return new Sibuk();
+    }
+
+    static StrategiTunggu mengalah() {
+        return new Mengalah();
+    }
+
+    static StrategiTunggu blokir() {
+        return new Blokir();
+    }
+
+    final class Sibuk implements StrategiTunggu {
+        @Override
+        public void tunggu(BooleanSupplier siap) {
+            while (!siap.getAsBoolean()) {
+                Thread.onSpinWait();
+            }
+        }
+
+        @Override
+        public void bangunkan() {
+        }
+    }
+
+    final class Mengalah implements StrategiTunggu {
+        private static final int PUTARAN = 100;
+        private static final int MENGALAH = 100;
+        private static final long TIDUR_NANOS = 100_000;
+
+        @Override
+        public void tunggu(BooleanSupplier siap) {
+            int percobaan = 0;
+            while (!siap.getAsBoolean()) {
+                if (percobaan < PUTARAN) {
+                    Thread.onSpinWait();
+                } else if (percobaan < PUTARAN + MENGALAH) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(TIDUR_NANOS);
+                    continue;
+                }
+                percobaan++;
+            }
+        }
+
+        @Override
+        public void bangunkan() {
+        }
+    }
+
+    final class Blokir implements StrategiTunggu {
+        private final ReentrantLock kunci = new ReentrantLock();
+        private final Condition sinyal = kunci.newCondition();
+        // Ditulis konsumen sebelum cek terakhir, dibaca penerbit setelah menerbitkan; keduanya
+        // volatile sehingga salah satunya pasti melihat yang lain dan bangunkan tidak hilang
+        private volatile boolean adaMenunggu;
+
+        @Override
+        public void tunggu(BooleanSupplier siap) {
+            if (siap.getAsBoolean()) {
+                return;
+            }
+            kunci.lock();
+            try {
+                while (true) {
+                    adaMenunggu = true;
+                    if (siap.getAsBoolean()) {
+                        return;
+                    }
+                    sinyal.awaitUninterruptibly();
+                }
+            } finally {
+                kunci.unlock();
+            }
+        }
+
+        @Override
+        public void bangunkan() {
+            if (adaMenunggu) {
+                kunci.lock();
+                try {
+                    adaMenunggu = false;
+                    sinyal.signalAll();
+                } finally {
+                    kunci.unlock();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.praktikum.testing.util;
+
+import java.util.Arrays;
+
+/**
+ * Kamus kata dalam trie untuk pencarian "semua kata dalam jarak Levenshtein k".
+ *
+ * Pencarian menelusuri trie sambil mengisi matriks jarak antara kueri dan awalan: setiap
+ * sisi trie menambah satu baris, dan baris itu dipakai bersama oleh semua kata dengan awalan
+ * yang sama. Jika nilai terkecil di sebuah baris sudah lebih dari k, tidak ada kata di bawah
+ * simpul itu yang bisa cocok, jadi seluruh subtree dilewati. Ini sama dengan menjalankan
+ * automaton Levenshtein kueri di atas trie kamus; yang dikunjungi hanya awalan yang masih
+ * dalam jarak k dari suatu awalan kueri, sebagian kecil dari kosakata.
+ *
+ * Tidak thread-safe; pemanggil yang mengatur penguncian.
+ */
+public class TrieLevenshtein {
+
+    /** Menerima kata yang cocok beserta jaraknya ke kueri. */
+    @FunctionalInterface
+    public interface PenerimaCocok {
+        void terima(String kata, int jarak);
+    }
+
+    private final Simpul akar = new Simpul();
+    private int ukuran;
+
+    /**
+     * @return false jika kata sudah ada
+     */
+    public boolean tambah(String kata) {
+        Simpul simpul = akar;
+        for (int i = 0; i < kata.length(); i++) {
+            simpul = simpul.anakAtauBaru(kata.charAt(i));
+        }
+        if (simpul.kata != null) {
+            return false;
+        }
+        simpul.kata = kata;
+        ukuran++;
+        return true;
+    }
+
+    /**
+     * Simpul yang tidak lagi menuju kata mana pun ikut dibuang.
+     *
+     * @return false jika kata tidak ada
+     */
+    public boolean hapus(String kata) {
+        Simpul[] jalur = new Simpul[kata.length() + 1];
+        jalur[0] = akar;
+        for (int i = 0; i < kata.length(); i++) {
+            jalur[i + 1] = jalur[i].anak(kata.charAt(i));
+            if (jalur[i + 1] == null) {
+                return false;
+            }
+        }
+        Simpul ujung = jalur[kata.length()];
+        if (ujung.kata == null) {
+            return false;
+        }
+        ujung.kata = null;
+        ukuran--;
+        for (int i = kata.length(); i > 0 && jalur[i].kosong(); i--) {
+            jalur[i - 1].hapusAnak(kata.charAt(i - 1));
+        }
+        return true;
+    }
+
+    public boolean memuat(String kata) {
+        Simpul simpul = akar;
+        for (int i = 0; i < kata.length() && simpul != null; i++) {
+            simpul = simpul.anak(kata.charAt(i));
+        }
+        return simpul != null && simpul.kata != null;
+    }
+
+    /**
+     * Kirim setiap kata dengan jarak paling banyak jarakMaks dari kueri ke penerima, urut abjad.
+     *
+     * @return jumlah baris matriks yang dihitung, yaitu simpul trie yang dikunjungi
+     */
+    public int cari(String kueri, int jarakMaks, PenerimaCocok penerima) {
+        if (jarakMaks < 0) {
+            throw new IllegalArgumentException("Jarak maksimal tidak boleh negatif");
+        }
+        Penelusur penelusur = new Penelusur(kueri, jarakMaks, penerima);
+        if (akar.kata != null && kueri.length() <= jarakMaks) {
+            penerima.terima(akar.kata, kueri.length());
+        }
+        penelusur.kunjungi(akar, 0);
+        return penelusur.baris;
+    }
+
+    public int ukuran() {
+        return ukuran;
+    }
+
+    /** Jarak Levenshtein: jumlah sisip, hapus, atau ganti satu karakter terkecil. */
+    public static int jarak(String a, String b) {
+        int[] sebelumnya = new int[a.length() + 1];
+        int[] sekarang = new int[a.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            sebelumnya[i] = i;
+        }
+        for (int j = 1; j <= b.length(); j++) {
+            sekarang[0] = j;
+            baris(a, b.charAt(j - 1), sebelumnya, sekarang);
+            int[] tukar = sebelumnya;
+            sebelumnya = sekarang;
+            sekarang = tukar;
+        }
+        return sebelumnya[a.length()];
+    }
+
+    /**
+     * Isi baris matriks untuk satu karakter tambahan; sekarang[0] sudah diisi pemanggil.
+     *
+     * @return nilai terkecil di baris
+     */
+    private static int baris(String kueri, char c, int[] sebelumnya, int[] sekarang) {
+        int terkecil = sekarang[0];
+        for (int i = 1; i <= kueri.length(); i++) {
+            int ganti = sebelumnya[i - 1] + (kueri.charAt(i - 1) == c ? 0 : 1);
+            int nilai = Math.min(ganti, Math.min(sebelumnya[i], sekarang[i - 1]) + 1);
+            sekarang[i] = nilai;
+            terkecil = Math.min(terkecil, nilai);
+        }
+        return terkecil;
+    }
+
+    /** Satu pencarian: baris matriks per kedalaman dipakai ulang antar cabang. */
+    private static final class Penelusur {
+        private final String kueri;
+        private final int jarakMaks;
+        private final PenerimaCocok penerima;
+        private int[][] matriks;
+        int baris;
+
+        Penelusur(String kueri, int jarakMaks, PenerimaCocok penerima) {
+            this.kueri = kueri;
+            this.jarakMaks = jarakMaks;
+            this.penerima = penerima;
+            this.matriks = new int[kueri.length() + 2][];
+            matriks[0] = new int[kueri.length() + 1];
+            for (int i = 0; i <= kueri.length(); i++) {
+                matriks[0][i] = i;
+            }
+        }
+
+        void kunjungi(Simpul simpul, int kedalaman) {
+            if (kedalaman + 1 >= matriks.length) {
+                matriks = Arrays.copyOf(matriks, matriks.length * 2);
+            }
+            if (matriks[kedalaman + 1] == null) {
+                matriks[kedalaman + 1] = new int[kueri.length() + 1];
+            }
+            int[] sebelumnya = matriks[kedalaman];
+            int[] sekarang = matriks[kedalaman + 1];
+            for (int i = 0; i < simpul.getJumlahAnak(); i++) {
+                Simpul anak = simpul.anakKe(i);
+                sekarang[0] = kedalaman + 1;
+                int terkecil = TrieLevenshtein.baris(kueri, simpul.hurufKe(i), sebelumnya, sekarang);
+                baris++;
+                int d = sekarang[kueri.length()];
+                if (anak.kata != null && d <= jarakMaks) {
+                    penerima.terima(anak.kata, d);
+                }
+                if (terkecil <= jarakMaks) {
+                    kunjungi(anak, kedalaman + 1);
+                }
+            }
+        }
+    }
+
+    private static final class Simpul extends SimpulTrie<Simpul> {
+        /** Kata yang berakhir di simpul ini; null jika tidak ada. */
+        String kata;
+
+        @Override
+        protected Simpul buatAnak() {
+            return new Simpul();
+        }
+
+        boolean kosong() {
+            return kata == null && tanpaAnak();
+        }
+    }
+}
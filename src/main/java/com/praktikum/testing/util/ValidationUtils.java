@@ -3,46 +3,150 @@ package com.praktikum.testing.util;
 import com.praktikum.testing.model.Buku;
 import com.praktikum.testing.model.Anggota;
 
+import java.util.BitSet;
+import java.util.Locale;
+
 public class ValidationUtils {
 
-    // Validasi email
+    // Validasi email, setara dengan regex ^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}$
+    // tetapi satu kali lewat tanpa membuat objek
     public static boolean isValidEmail(String email) {
-        if (email == null || email.trim().isEmpty()) {
+        if (email == null) {
+            return false;
+        }
+        int panjang = email.length();
+        int posisiAt = -1;
+        int titikTerakhir = -1;
+        for (int i = 0; i < panjang; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                if (posisiAt >= 0) {
+                    return false;
+                }
+                posisiAt = i;
+            } else if (posisiAt < 0) {
+                if (!isHurufAtauAngka(c) && c != '.' && c != '_' && c != '%' && c != '+' && c != '-') {
+                    return false;
+                }
+            } else if (c == '.') {
+                titikTerakhir = i;
+            } else if (!isHurufAtauAngka(c) && c != '-') {
+                return false;
+            }
+        }
+        // Bagian lokal dan domain tidak kosong, TLD minimal 2 huruf setelah titik terakhir
+        if (posisiAt < 1 || titikTerakhir < posisiAt + 2 || panjang - titikTerakhir - 1 < 2) {
             return false;
         }
-        // Validasi email sederhana
-        String emailRegex = "^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
-        return email.matches(emailRegex);
+        for (int i = titikTerakhir + 1; i < panjang; i++) {
+            if (!isHuruf(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     // Validasi nomor telepon (format Indonesia)
+    // Spasi dan tanda hubung diabaikan; harus 08 + 8-11 digit atau +628 + 8-11 digit
     public static boolean isValidNomorTelepon(String telepon) {
-        if (telepon == null || telepon.trim().isEmpty()) {
+        if (telepon == null) {
             return false;
         }
-        // Hapus semua spasi dan tanda hubung
-        String teleponBersih = telepon.replaceAll("[\\s-]", "");
-        // Nomor telepon Indonesia harus dimulai dengan 08 atau +628 dan memiliki 10-13 digit
-        return teleponBersih.matches("^(08\\d{8,11}|\\+628\\d{8,11})$");
+        int posisi = 0;
+        boolean internasional = false;
+        for (int i = 0; i < telepon.length(); i++) {
+            char c = telepon.charAt(i);
+            if (isSpasiAtauHubung(c)) {
+                continue;
+            }
+            if (posisi == 0 && c == '+') {
+                internasional = true;
+            } else if (!isAngka(c)) {
+                return false;
+            } else if (internasional ? !cocokAwalan(posisi, c, "+628") : !cocokAwalan(posisi, c, "08")) {
+                return false;
+            }
+            posisi++;
+        }
+        int jumlahDigit = internasional ? posisi - 4 : posisi - 2;
+        return jumlahDigit >= 8 && jumlahDigit <= 11;
+    }
+
+    // Bentuk baku nomor telepon untuk indeks: spasi dan tanda hubung dibuang seperti di
+    // isValidNomorTelepon, lalu awalan +62 diganti 0 agar "+62 812..." dan "0812..." sama.
+    // Mengembalikan null jika nomor tidak valid.
+    public static String normalisasiTelepon(String telepon) {
+        if (!isValidNomorTelepon(telepon)) {
+            return null;
+        }
+        StringBuilder hasil = new StringBuilder(telepon.length());
+        for (int i = 0; i < telepon.length(); i++) {
+            char c = telepon.charAt(i);
+            if (!isSpasiAtauHubung(c)) {
+                hasil.append(c);
+            }
+        }
+        if (hasil.charAt(0) == '+') {
+            hasil.replace(0, 3, "0");
+        }
+        return hasil.toString();
+    }
+
+    // Bentuk baku email untuk indeks: huruf kecil; null jika email tidak valid
+    public static String normalisasiEmail(String email) {
+        if (!isValidEmail(email)) {
+            return null;
+        }
+        return email.toLowerCase(Locale.ROOT);
     }
 
     // Validasi ISBN (sederhana - 10 atau 13 digit)
     public static boolean isValidISBN(String isbn) {
-        if (isbn == null || isbn.trim().isEmpty()) {
+        return isValidISBN(isbn, false);
+    }
+
+    // Validasi ISBN; mode ketat juga memeriksa check digit ISBN-10 (mod 11) dan ISBN-13 (mod 10).
+    // Mode ketat hanya menerima digit, jadi ISBN-10 dengan check digit X tetap ditolak.
+    public static boolean isValidISBN(String isbn, boolean ketat) {
+        if (isbn == null) {
             return false;
         }
-        // Hapus tanda hubung dan spasi
-        String isbnBersih = isbn.replaceAll("[-\\s]", "");
-        // Harus berupa 10 atau 13 digit
-        return isbnBersih.matches("\\d{10}|\\d{13}");
+        int jumlahDigit = 0;
+        int jumlahIsbn10 = 0;
+        int jumlahIsbn13 = 0;
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (isSpasiAtauHubung(c)) {
+                continue;
+            }
+            if (!isAngka(c) || jumlahDigit == 13) {
+                return false;
+            }
+            int digit = c - '0';
+            jumlahIsbn10 += digit * (10 - jumlahDigit);
+            jumlahIsbn13 += (jumlahDigit & 1) == 0 ? digit : digit * 3;
+            jumlahDigit++;
+        }
+        if (jumlahDigit == 10) {
+            return !ketat || jumlahIsbn10 % 11 == 0;
+        }
+        if (jumlahDigit == 13) {
+            return !ketat || jumlahIsbn13 % 10 == 0;
+        }
+        return false;
     }
 
     // Validasi Buku
     public static boolean isValidBuku(Buku buku) {
+        return isValidBuku(buku, false);
+    }
+
+    // Validasi Buku dengan pilihan mode ISBN ketat
+    public static boolean isValidBuku(Buku buku, boolean isbnKetat) {
         if (buku == null) {
             return false;
         }
-        return isValidISBN(buku.getIsbn()) &&
+        return isValidISBN(buku.getIsbn(), isbnKetat) &&
                 isValidString(buku.getJudul()) &&
                 isValidString(buku.getPengarang()) &&
                 buku.getJumlahTotal() > 0 &&
@@ -61,9 +165,44 @@ public class ValidationUtils {
                 isValidNomorTelepon(anggota.getTelepon());
     }
 
+    // Validasi banyak buku sekaligus; bit ke-i menyala jika daftarBuku[i] valid
+    public static BitSet validasiBuku(Buku[] daftarBuku, boolean isbnKetat) {
+        BitSet hasil = new BitSet(daftarBuku.length);
+        for (int i = 0; i < daftarBuku.length; i++) {
+            if (isValidBuku(daftarBuku[i], isbnKetat)) {
+                hasil.set(i);
+            }
+        }
+        return hasil;
+    }
+
+    public static BitSet validasiBuku(Buku[] daftarBuku) {
+        return validasiBuku(daftarBuku, false);
+    }
+
+    // Validasi banyak anggota sekaligus; bit ke-i menyala jika daftarAnggota[i] valid
+    public static BitSet validasiAnggota(Anggota[] daftarAnggota) {
+        BitSet hasil = new BitSet(daftarAnggota.length);
+        for (int i = 0; i < daftarAnggota.length; i++) {
+            if (isValidAnggota(daftarAnggota[i])) {
+                hasil.set(i);
+            }
+        }
+        return hasil;
+    }
+
     // Validasi String (tidak null dan tidak kosong setelah trim)
+    // String.trim() membuang karakter <= spasi, jadi cukup cari satu karakter di atas spasi
     public static boolean isValidString(String str) {
-        return str != null && !str.trim().isEmpty();
+        if (str == null) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) > ' ') {
+                return true;
+            }
+        }
+        return false;
     }
 
     //Validasi angka positif
@@ -75,4 +214,25 @@ public class ValidationUtils {
     public static boolean isAngkaNonNegatif(double angka) {
         return angka >= 0;
     }
+
+    private static boolean isAngka(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHuruf(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isHurufAtauAngka(char c) {
+        return isHuruf(c) || isAngka(c);
+    }
+
+    // Karakter yang dibuang oleh [\s-] pada regex lama
+    static boolean isSpasiAtauHubung(char c) {
+        return c == ' ' || c == '-' || c == '\t' || c == '\n' || c == '\013' || c == '\f' || c == '\r';
+    }
+
+    private static boolean cocokAwalan(int posisi, char c, String awalan) {
+        return posisi >= awalan.length() || awalan.charAt(posisi) == c;
+    }
 }
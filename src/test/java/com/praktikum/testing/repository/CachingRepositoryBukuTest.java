@@ -0,0 +1,155 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Caching Repository Buku")
+class CachingRepositoryBukuTest {
+
+    private RepositoryPenghitung delegate;
+    private CachingRepositoryBuku repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new RepositoryPenghitung();
+        for (int i = 0; i < 5000; i++) {
+            delegate.simpan(new Buku(isbn(i), "Judul " + i, "Pengarang", 3, 50000.0));
+        }
+        repository = new CachingRepositoryBuku(delegate, 100);
+    }
+
+    @Test
+    @DisplayName("Pencarian berulang dilayani dari cache")
+    void testHitTidakMemanggilDelegate() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Judul 7", repository.cariByIsbn(isbn(7)).get().getJudul());
+        }
+        assertEquals(1, delegate.jumlahCari.get());
+        assertEquals(2, repository.getJumlahHit());
+        assertEquals(1, repository.getJumlahMiss());
+    }
+
+    @Test
+    @DisplayName("ISBN yang tidak ada di-cache sebagai hasil negatif")
+    void testCacheNegatif() {
+        assertFalse(repository.cariByIsbn("9999999999").isPresent());
+        assertFalse(repository.cariByIsbn("9999999999").isPresent());
+        assertEquals(1, delegate.jumlahCari.get());
+
+        assertTrue(repository.simpan(new Buku("9999999999", "Buku Baru", "Penulis", 1, 1000.0)));
+        assertEquals("Buku Baru", repository.cariByIsbn("9999999999").get().getJudul());
+    }
+
+    @Test
+    @DisplayName("Simpan, hapus dan update jumlah membuang entri cache")
+    void testInvalidasi() {
+        repository.cariByIsbn(isbn(1));
+        repository.simpan(new Buku(isbn(1), "Judul Baru", "Pengarang", 3, 50000.0));
+        assertEquals("Judul Baru", repository.cariByIsbn(isbn(1)).get().getJudul());
+
+        repository.hapus(isbn(1));
+        assertFalse(repository.cariByIsbn(isbn(1)).isPresent());
+
+        repository.cariByIsbn(isbn(2));
+        int sebelum = delegate.jumlahCari.get();
+        assertTrue(repository.updateJumlahTersedia(isbn(2), 1));
+        assertEquals(1, repository.cariByIsbn(isbn(2)).get().getJumlahTersedia());
+        assertEquals(sebelum + 1, delegate.jumlahCari.get(), "Harus dibaca ulang dari delegate");
+
+        assertEquals(0, repository.kurangiJumlahTersedia(isbn(2)));
+        assertEquals(-1, repository.kurangiJumlahTersedia(isbn(2)));
+        assertEquals(0, repository.cariByIsbn(isbn(2)).get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Judul populer tetap di cache saat ada pemindaian katalog")
+    void testTahanPemindaian() {
+        // Di antara dua akses judul populer yang sama ada 39 ISBN berbeda,
+        // jadi LRU biasa berkapasitas 30 akan selalu miss
+        repository = new CachingRepositoryBuku(delegate, 30);
+        // 20 judul populer dipinjam berulang kali
+        for (int putaran = 0; putaran < 10; putaran++) {
+            for (int i = 0; i < 20; i++) {
+                repository.cariByIsbn(isbn(i));
+            }
+        }
+        // Pemindaian 4000 ISBN lain yang masing-masing hanya dibaca sekali,
+        // diselingi peminjaman judul populer seperti lalu lintas biasa
+        int sebelum = delegate.jumlahCari.get();
+        for (int i = 1000; i < 5000; i++) {
+            repository.cariByIsbn(isbn(i));
+            assertTrue(repository.cariByIsbn(isbn(i % 20)).isPresent());
+        }
+
+        assertEquals(sebelum + 4000, delegate.jumlahCari.get(), "Judul populer tidak boleh terusir pemindaian");
+        assertTrue(repository.ukuran() <= 30);
+        assertTrue(repository.getJumlahEviksi() >= 3900);
+    }
+
+    @Test
+    @DisplayName("Hit konkuren bersama invalidasi - kapasitas dan hitungan tetap konsisten")
+    void testKonkuren() throws Exception {
+        int jumlahThread = 4;
+        int operasiPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+        List<Future<?>> hasil = new ArrayList<>();
+        for (int t = 0; t < jumlahThread; t++) {
+            int benih = t;
+            hasil.add(executor.submit(() -> {
+                Random random = new Random(benih);
+                for (int i = 0; i < operasiPerThread; i++) {
+                    int n = random.nextInt(10) < 8 ? random.nextInt(50) : random.nextInt(5000);
+                    if (i % 1000 == 0) {
+                        repository.updateJumlahTersedia(isbn(n), 2);
+                    }
+                    assertEquals("Judul " + n, repository.cariByIsbn(isbn(n)).get().getJudul());
+                }
+            }));
+        }
+        executor.shutdown();
+        for (Future<?> f : hasil) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+
+        assertEquals(jumlahThread * operasiPerThread, repository.getJumlahHit() + repository.getJumlahMiss());
+        assertTrue(repository.ukuran() <= 100, "ukuran=" + repository.ukuran());
+        assertTrue(repository.getJumlahHit() > repository.getJumlahMiss(), "Judul populer harus sebagian besar hit");
+    }
+
+    @Test
+    @DisplayName("Kapasitas terlalu kecil - harus throw exception")
+    void testKapasitasTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingRepositoryBuku(delegate, 1));
+    }
+
+    private static String isbn(int i) {
+        return String.format("978%010d", i);
+    }
+
+    /**
+     * MockRepositoryBuku yang menghitung berapa kali cariByIsbn sampai ke penyimpanan.
+     */
+    private static class RepositoryPenghitung extends MockRepositoryBuku {
+        final AtomicInteger jumlahCari = new AtomicInteger();
+
+        @Override
+        public Optional<Buku> cariByIsbn(String isbn) {
+            jumlahCari.incrementAndGet();
+            return super.cariByIsbn(isbn);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Halaman Buku dan Stream Repository")
+class HalamanBukuTest {
+
+    private static final String[] KATA = {"Algoritma", "Basis Data", "Jaringan", "Sistem Operasi", "Java"};
+
+    @TempDir
+    Path direktori;
+
+    private MappedRepositoryBuku mapped;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (mapped != null) {
+            mapped.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Halaman berisi ISBN terkecil setelah kursor, terurut, dengan kursor berikutnya")
+    void testPilih() {
+        List<Buku> sumber = new ArrayList<>();
+        for (int i = 9; i >= 0; i--) {
+            sumber.add(buku(i));
+        }
+
+        HalamanBuku pertama = HalamanBuku.pilih(sumber.stream(), null, 4);
+        assertEquals(List.of(isbn(0), isbn(1), isbn(2), isbn(3)), isbnDari(pertama.getIsi()));
+        assertEquals(isbn(3), pertama.getKursorBerikutnya());
+
+        HalamanBuku terakhir = HalamanBuku.pilih(sumber.stream(), isbn(5), 4);
+        assertEquals(List.of(isbn(6), isbn(7), isbn(8), isbn(9)), isbnDari(terakhir.getIsi()));
+        assertFalse(terakhir.isAdaBerikutnya(), "Sisa tepat sebanyak batas berarti tidak ada halaman lagi");
+
+        assertTrue(HalamanBuku.pilih(sumber.stream(), isbn(9), 4).getIsi().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> HalamanBuku.pilih(sumber.stream(), null, 0));
+    }
+
+    @Test
+    @DisplayName("Sumber terurut hanya dibaca sampai buku cocok ke batas + 1")
+    void testDariUrut() {
+        List<Buku> sumber = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            sumber.add(buku(i));
+        }
+        AtomicInteger dibaca = new AtomicInteger();
+        Function<Buku, Buku> genap = buku -> {
+            dibaca.incrementAndGet();
+            return Integer.parseInt(buku.getIsbn().substring(3)) % 2 == 0 ? buku : null;
+        };
+
+        HalamanBuku halaman = HalamanBuku.dariUrut(sumber, genap, 3);
+        assertEquals(List.of(isbn(0), isbn(2), isbn(4)), isbnDari(halaman.getIsi()));
+        assertEquals(isbn(4), halaman.getKursorBerikutnya());
+        assertEquals(7, dibaca.get(), "Berhenti di buku cocok keempat (ISBN 6)");
+
+        HalamanBuku terakhir = HalamanBuku.dariUrut(sumber.subList(95, 100), genap, 2);
+        assertEquals(List.of(isbn(96), isbn(98)), isbnDari(terakhir.getIsi()));
+        assertFalse(terakhir.isAdaBerikutnya());
+        assertThrows(IllegalArgumentException.class, () -> HalamanBuku.dariUrut(sumber, genap, 0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"mock", "trigram", "primitif", "mapped"})
+    @DisplayName("Menelusuri semua halaman sama dengan daftar lengkap yang diurutkan")
+    void testHalamanSamaDenganDaftar(String implementasi) throws IOException {
+        RepositoryBuku repository = isiKatalog(implementasi, 1000);
+
+        assertEquals(isbnTerurut(repository.cariSemua()), telusuri(kursor -> repository.cariSemua(kursor, 37)));
+        for (String kueri : new String[]{"a", "data", "sistem op", "tidak ada"}) {
+            assertEquals(isbnTerurut(repository.cariByJudul(kueri)),
+                    telusuri(kursor -> repository.cariByJudul(kueri, kursor, 37)), kueri);
+        }
+        assertEquals(isbnTerurut(repository.cariByPengarang("pengarang 7")),
+                telusuri(kursor -> repository.cariByPengarang("pengarang 7", kursor, 10)));
+        assertTrue(repository.cariByJudul(" ", null, 10).getIsi().isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"mock", "trigram", "primitif", "mapped"})
+    @DisplayName("Stream sama dengan daftar dan bisa dihentikan lebih awal")
+    void testStream(String implementasi) throws IOException {
+        RepositoryBuku repository = isiKatalog(implementasi, 1000);
+
+        assertEquals(isbnTerurut(repository.cariSemua()), isbnTerurut(repository.streamSemua()));
+        assertEquals(isbnTerurut(repository.cariByJudul("jaringan")), isbnTerurut(repository.streamByJudul("jaringan")));
+        assertEquals(isbnTerurut(repository.cariByPengarang("pengarang 1")),
+                isbnTerurut(repository.streamByPengarang("pengarang 1")));
+        assertEquals(5, repository.streamSemua().limit(5).count());
+        assertEquals(0, repository.streamByJudul(null).count());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"trigram", "mapped"})
+    @DisplayName("Stream tetap berjalan saat katalog berubah di tengah jalan, tanpa buku ganda")
+    void testStreamSaatDitulis(String implementasi) throws IOException {
+        RepositoryBuku repository = isiKatalog(implementasi, 1000);
+        Set<String> terlihat = new HashSet<>();
+        Iterator<Buku> iterator = repository.streamSemua().iterator();
+        for (int i = 0; i < 300; i++) {
+            assertTrue(terlihat.add(iterator.next().getIsbn()));
+        }
+        for (int i = 1000; i < 1100; i++) {
+            repository.simpan(buku(i));
+        }
+        repository.hapus(isbn(999));
+        while (iterator.hasNext()) {
+            assertTrue(terlihat.add(iterator.next().getIsbn()));
+        }
+        assertTrue(terlihat.size() >= 999);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"mock", "trigram", "primitif", "mapped"})
+    @DisplayName("Kursor keyset tidak melewatkan buku walau halaman sebelumnya berubah")
+    void testKursorStabil(String implementasi) throws IOException {
+        RepositoryBuku repository = isiKatalog(implementasi, 100);
+        HalamanBuku pertama = repository.cariSemua(null, 10);
+        repository.hapus(isbn(0));
+        repository.hapus(isbn(1));
+
+        HalamanBuku kedua = repository.cariSemua(pertama.getKursorBerikutnya(), 10);
+        assertEquals(isbn(10), kedua.getIsi().get(0).getIsbn());
+    }
+
+    private RepositoryBuku isiKatalog(String implementasi, int jumlah) throws IOException {
+        RepositoryBuku repository;
+        switch (implementasi) {
+            case "mock":
+                repository = new MockRepositoryBuku();
+                break;
+            case "trigram":
+                repository = new TrigramRepositoryBuku();
+                break;
+            case "primitif":
+                repository = new PrimitiveRepositoryBuku();
+                break;
+            default:
+                mapped = new MappedRepositoryBuku(direktori);
+                repository = mapped;
+        }
+        List<Integer> urutan = new ArrayList<>();
+        for (int i = 0; i < jumlah; i++) {
+            urutan.add(i);
+        }
+        // Urutan simpan acak agar urutan penyimpanan internal tidak kebetulan sama dengan ISBN
+        Collections.shuffle(urutan, new Random(7));
+        for (int i : urutan) {
+            assertTrue(repository.simpan(buku(i)));
+        }
+        return repository;
+    }
+
+    private static List<String> telusuri(Function<String, HalamanBuku> ambil) {
+        List<String> hasil = new ArrayList<>();
+        String kursor = null;
+        do {
+            HalamanBuku halaman = ambil.apply(kursor);
+            hasil.addAll(isbnDari(halaman.getIsi()));
+            kursor = halaman.getKursorBerikutnya();
+        } while (kursor != null);
+        return hasil;
+    }
+
+    private static List<String> isbnTerurut(List<Buku> daftar) {
+        return isbnTerurut(daftar.stream());
+    }
+
+    private static List<String> isbnTerurut(Stream<Buku> stream) {
+        return stream.map(Buku::getIsbn).sorted(Comparator.naturalOrder()).collect(Collectors.toList());
+    }
+
+    private static List<String> isbnDari(List<Buku> daftar) {
+        return daftar.stream().map(Buku::getIsbn).collect(Collectors.toList());
+    }
+
+    private static String isbn(int i) {
+        return String.format("978%010d", i);
+    }
+
+    private static Buku buku(int i) {
+        return new Buku(isbn(i), KATA[i % KATA.length] + " Jilid " + i, "Pengarang " + (i % 50), 1, 50000.0);
+    }
+}
@@ -0,0 +1,116 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Peminjaman;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test In-Memory Repository Peminjaman")
+class InMemoryRepositoryPeminjamanTest {
+
+    private static final LocalDate HARI_INI = LocalDate.of(2024, 3, 1);
+
+    private InMemoryRepositoryPeminjaman repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryRepositoryPeminjaman();
+        repository.simpan(new Peminjaman("P001", "A001", "1234567890", HARI_INI.minusDays(20), HARI_INI.minusDays(6)));
+        repository.simpan(new Peminjaman("P002", "A001", "0987654321", HARI_INI.minusDays(3), HARI_INI.plusDays(11)));
+        repository.simpan(new Peminjaman("P003", "A002", "1234567890", HARI_INI.minusDays(15), HARI_INI.minusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Simpan peminjaman tidak lengkap - harus gagal")
+    void testSimpanTidakLengkap() {
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Peminjaman()));
+        assertEquals(3, repository.ukuran());
+    }
+
+    @Test
+    @DisplayName("Cari by id, anggota dan ISBN")
+    void testIndeksSekunder() {
+        assertEquals("A002", repository.cariById("P003").get().getIdAnggota());
+        assertEquals(2, repository.cariByAnggota("A001").size());
+        assertEquals(2, repository.cariByIsbn("1234567890").size());
+        assertTrue(repository.cariByAnggota("A999").isEmpty());
+        assertFalse(repository.cariById(null).isPresent());
+    }
+
+    @Test
+    @DisplayName("Siapa yang memegang buku ini")
+    void testCariAktifByIsbn() {
+        repository.tandaiDikembalikan("P001", HARI_INI);
+
+        List<Peminjaman> pemegang = repository.cariAktifByIsbn("1234567890");
+        assertEquals(1, pemegang.size());
+        assertEquals("A002", pemegang.get(0).getIdAnggota());
+        assertEquals(2, repository.cariByIsbn("1234567890").size(), "Riwayat tetap tersimpan");
+    }
+
+    @Test
+    @DisplayName("Terlambat per tanggal adalah range read pada indeks jatuh tempo")
+    void testJatuhTempo() {
+        List<Peminjaman> terlambat = repository.cariAktifJatuhTempoSebelum(HARI_INI);
+        assertEquals(2, terlambat.size());
+        assertEquals(1, repository.cariAktifJatuhTempoAntara(HARI_INI.minusDays(2), HARI_INI).size());
+        assertTrue(repository.cariAktifJatuhTempoAntara(HARI_INI, HARI_INI).isEmpty());
+
+        repository.tandaiDikembalikan("P003", HARI_INI);
+        assertEquals(1, repository.cariAktifJatuhTempoSebelum(HARI_INI).size(), "Yang sudah kembali keluar dari indeks");
+    }
+
+    @Test
+    @DisplayName("Tandai dikembalikan hanya sekali")
+    void testTandaiDikembalikan() {
+        assertTrue(repository.tandaiDikembalikan("P002", HARI_INI));
+        assertFalse(repository.tandaiDikembalikan("P002", HARI_INI));
+        assertFalse(repository.tandaiDikembalikan("P999", HARI_INI));
+
+        Peminjaman peminjaman = repository.cariById("P002").get();
+        assertTrue(peminjaman.isSudahDikembalikan());
+        assertEquals(HARI_INI, peminjaman.getTanggalKembali());
+        assertFalse(repository.cariAktif("A001", "0987654321").isPresent());
+    }
+
+    @Test
+    @DisplayName("Cari aktif memakai indeks pasangan anggota-buku, bukan riwayat")
+    void testCariAktifDenganRiwayat() {
+        for (int i = 0; i < 100; i++) {
+            Peminjaman lama = new Peminjaman("R" + i, "A001", "1234567890",
+                    HARI_INI.minusDays(200 - i), HARI_INI.minusDays(186 - i));
+            lama.setSudahDikembalikan(true);
+            lama.setTanggalKembali(HARI_INI.minusDays(190 - i));
+            repository.simpan(lama);
+        }
+        assertEquals("P001", repository.cariAktif("A001", "1234567890").get().getIdPeminjaman());
+        assertFalse(repository.cariAktif("A002", "0987654321").isPresent(), "Pasangan berbeda tidak tertukar");
+
+        // Simpan ulang sebagai sudah kembali mengeluarkannya dari indeks aktif
+        Peminjaman kembali = new Peminjaman("P001", "A001", "1234567890", HARI_INI.minusDays(20), HARI_INI.minusDays(6));
+        kembali.setSudahDikembalikan(true);
+        repository.simpan(kembali);
+        assertFalse(repository.cariAktif("A001", "1234567890").isPresent());
+        assertEquals("P003", repository.cariAktif("A002", "1234567890").get().getIdPeminjaman());
+    }
+
+    @Test
+    @DisplayName("Hapus membersihkan semua indeks")
+    void testHapus() {
+        assertTrue(repository.hapus("P001"));
+        assertFalse(repository.hapus("P001"));
+
+        Optional<Peminjaman> aktif = repository.cariAktif("A001", "1234567890");
+        assertFalse(aktif.isPresent());
+        assertEquals(1, repository.cariByAnggota("A001").size());
+        assertEquals(1, repository.cariAktifJatuhTempoSebelum(HARI_INI).size());
+        assertEquals(2, repository.cariSemua().size());
+    }
+}
@@ -0,0 +1,266 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Indeks Autocomplete")
+class IndeksAutocompleteTest {
+
+    private IndeksAutocomplete indeks;
+
+    @BeforeEach
+    void setUp() {
+        indeks = new IndeksAutocomplete(3);
+        indeks.tambahBuku(new Buku("9780000000001", "Basis Data Lanjut", "Siti Rahayu", 1, 1.0));
+        indeks.tambahBuku(new Buku("9780000000002", "Basis Data Dasar", "Budi Santoso", 1, 1.0));
+        indeks.tambahBuku(new Buku("9780000000003", "Data Mining", "Siti Aminah", 1, 1.0));
+        indeks.tambahBuku(new Buku("9780000000004", "Dasar Pemrograman", "Budi Santoso", 1, 1.0));
+    }
+
+    @Test
+    @DisplayName("Awalan di kata mana pun, terurut menurut jumlah pinjam lalu teks")
+    void testSaranTerurutPopularitas() {
+        assertEquals(List.of("Basis Data Dasar", "Basis Data Lanjut", "Dasar Pemrograman"), teks(indeks.sarankanJudul("da", 3)));
+
+        indeks.tambahPopularitas("9780000000003", 5);
+        indeks.catatPinjam("9780000000004");
+        assertEquals(List.of("Data Mining", "Dasar Pemrograman"), teks(indeks.sarankanJudul("DA", 2)));
+        assertEquals(5, indeks.sarankanJudul("mining", 1).get(0).getSkor());
+
+        assertEquals(List.of("Siti Aminah", "Budi Santoso", "Siti Rahayu"), teks(indeks.sarankanPengarang("s", 3)));
+        indeks.catatPinjam("9780000000001");
+        assertEquals(List.of("Siti Aminah", "Siti Rahayu"), teks(indeks.sarankanPengarang("siti", 3)));
+    }
+
+    @Test
+    @DisplayName("Beberapa kata dicocokkan sebagai kata berurutan, kata terakhir sebagai awalan")
+    void testBeberapaKata() {
+        indeks.tambahPopularitas("9780000000001", 2);
+        assertEquals(List.of("Basis Data Lanjut", "Basis Data Dasar"), teks(indeks.sarankanJudul("basis da", 3)));
+        assertEquals(List.of("Basis Data Dasar"), teks(indeks.sarankanJudul("data das", 3)));
+        assertTrue(indeks.sarankanJudul("basi da", 3).isEmpty(), "Kata di depan awalan tidak boleh sepotong");
+        assertTrue(indeks.sarankanJudul("lanjut basis", 3).isEmpty(), "Kata harus berurutan");
+        assertEquals(List.of("Basis Data Lanjut"), teks(indeks.sarankanJudul("basis data la", 3)));
+        assertEquals(List.of("Basis Data Dasar"), teks(indeks.sarankanJudul("Basis, Data: D", 3)));
+        indeks.tambahBuku(new Buku("9780000000005", "Pengantar Basis Data Lanjut", "Siti Rahayu", 1, 1.0));
+        assertEquals(List.of("Pengantar Basis Data Lanjut"), teks(indeks.sarankanJudul("pengantar basis data la", 3)));
+        assertTrue(indeks.sarankanJudul("pengantar data basis la", 3).isEmpty());
+        assertTrue(indeks.sarankanJudul("  ", 3).isEmpty());
+        assertTrue(indeks.sarankanJudul("xyz", 3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> indeks.sarankanJudul("da", 4));
+    }
+
+    @Test
+    @DisplayName("Hapus dan ubah judul memperbarui saran; popularitas ikut ke judul baru")
+    void testHapusDanUbah() {
+        indeks.tambahPopularitas("9780000000003", 5);
+        indeks.hapusBuku("9780000000003");
+        assertEquals(List.of("Basis Data Dasar", "Basis Data Lanjut", "Dasar Pemrograman"), teks(indeks.sarankanJudul("da", 3)));
+        assertTrue(indeks.sarankanJudul("mining", 3).isEmpty());
+        assertEquals(List.of("Siti Rahayu"), teks(indeks.sarankanPengarang("siti", 3)));
+
+        indeks.tambahPopularitas("9780000000004", 4);
+        indeks.tambahBuku(new Buku("9780000000004", "Algoritma Dasar", "Budi Santoso", 1, 1.0));
+        assertEquals(List.of("Algoritma Dasar"), teks(indeks.sarankanJudul("algo", 3)));
+        assertEquals(4, indeks.sarankanJudul("algo", 3).get(0).getSkor());
+        assertTrue(indeks.sarankanJudul("pemrog", 3).isEmpty());
+        assertEquals(3, indeks.getJumlahBuku());
+    }
+
+    @Test
+    @DisplayName("Teks yang sama dari beberapa ISBN menjadi satu saran dengan skor gabungan")
+    void testTeksSamaDigabung() {
+        indeks.tambahBuku(new Buku("9780000000005", "basis data  LANJUT", "Siti Rahayu", 1, 1.0));
+        indeks.tambahPopularitas("9780000000001", 2);
+        indeks.tambahPopularitas("9780000000005", 3);
+        List<IndeksAutocomplete.Saran> saran = indeks.sarankanJudul("lanjut", 3);
+        assertEquals(1, saran.size());
+        assertEquals(5, saran.get(0).getSkor());
+
+        indeks.hapusBuku("9780000000005");
+        assertEquals(2, indeks.sarankanJudul("lanjut", 3).get(0).getSkor());
+    }
+
+    @Test
+    @DisplayName("Hasil sama dengan pemindaian penuh setelah tambah, pinjam dan hapus acak")
+    void testSamaDenganPemindaianPenuh() {
+        String[] kata = {"ab", "abc", "abd", "b", "ba", "bab", "c", "ca", "cab", "abab"};
+        IndeksAutocomplete acak = new IndeksAutocomplete(5);
+        Map<String, Buku> katalog = new HashMap<>();
+        Map<String, Long> dipinjam = new HashMap<>();
+        Random random = new Random(21);
+        for (int langkah = 0; langkah < 4000; langkah++) {
+            String isbn = "978" + (1000000000 + random.nextInt(300));
+            int aksi = random.nextInt(10);
+            if (aksi < 4) {
+                String judul = kata[random.nextInt(kata.length)] + " " + kata[random.nextInt(kata.length)]
+                        + " " + kata[random.nextInt(kata.length)] + " " + kata[random.nextInt(kata.length)];
+                Buku buku = new Buku(isbn, judul, kata[random.nextInt(kata.length)], 1, 1.0);
+                acak.tambahBuku(buku);
+                katalog.put(isbn, buku);
+            } else if (aksi < 5) {
+                acak.hapusBuku(isbn);
+                katalog.remove(isbn);
+                dipinjam.remove(isbn);
+            } else if (katalog.containsKey(isbn)) {
+                acak.catatPinjam(isbn);
+                dipinjam.merge(isbn, 1L, Long::sum);
+            }
+            if (langkah % 50 == 0) {
+                for (String awalan : new String[]{"a", "ab", "aba", "b", "c", "ca", "ab b", "cab a", "ab ab c", "b ca a", "ab b ca a", "c ab ab c"}) {
+                    assertEquals(pindaiPenuh(katalog, dipinjam, awalan, 5), skor(acak.sarankanJudul(awalan, 5)),
+                            "langkah " + langkah + " awalan " + awalan);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Repository dan service menjaga indeks: katalog lama, buku baru, hapus, pinjam")
+    void testDenganServicePerpustakaan() {
+        TrigramRepositoryBuku katalog = new TrigramRepositoryBuku();
+        katalog.simpan(new Buku("9780000000001", "Jaringan Komputer", "Andi Wijaya", 3, 1.0));
+        IndeksAutocomplete indeksService = new IndeksAutocomplete();
+        RepositoryBuku repository = new AutocompleteRepositoryBuku(katalog, indeksService);
+        ServicePerpustakaan service = ServicePerpustakaan.builder(repository, new KalkulatorDenda())
+                .indeksAutocomplete(indeksService)
+                .build();
+        assertTrue(service.tambahBuku(new Buku("9780000000002", "Jaringan Saraf", "Dewi Lestari", 3, 1.0)));
+        assertEquals(List.of("Jaringan Komputer", "Jaringan Saraf"), teks(service.sarankanJudul("jar", 5)));
+
+        Anggota anggota = new Anggota("A001", "Ani", "ani@kampus.ac.id", "081234567890", Anggota.TipeAnggota.MAHASISWA);
+        assertTrue(service.pinjamBuku("9780000000002", anggota));
+        assertEquals(List.of("Jaringan Saraf", "Jaringan Komputer"), teks(service.sarankanJudul("jar", 5)));
+        assertEquals(1, service.sarankanPengarang("dewi", 5).get(0).getSkor());
+
+        assertTrue(repository.hapus("9780000000002"));
+        assertEquals(List.of("Jaringan Komputer"), teks(service.sarankanJudul("jar", 5)));
+        assertTrue(new ServicePerpustakaan(repository, new KalkulatorDenda()).sarankanJudul("jar", 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("catatPinjam konkuren dengan kueri dan perubahan katalog tidak kehilangan hitungan")
+    void testCatatPinjamKonkuren() throws Exception {
+        int jumlahThread = 4;
+        int perThread = 5000;
+        CountDownLatch mulai = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread + 1);
+        List<Future<?>> tugas = new ArrayList<>();
+        for (int t = 0; t < jumlahThread; t++) {
+            tugas.add(executor.submit(() -> {
+                mulai.await();
+                for (int i = 0; i < perThread; i++) {
+                    indeks.catatPinjam(i % 2 == 0 ? "9780000000001" : "9780000000003");
+                }
+                return null;
+            }));
+        }
+        tugas.add(executor.submit(() -> {
+            mulai.await();
+            for (int i = 0; i < 500; i++) {
+                indeks.sarankanJudul("da", 3);
+                // Judul tidak berubah, tetapi tetap lewat write lock
+                indeks.tambahBuku(new Buku("9780000000004", "Dasar Pemrograman", "Budi Santoso", 1, 1.0));
+            }
+            return null;
+        }));
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        for (Future<?> f : tugas) {
+            f.get();
+        }
+
+        long perIsbn = (long) jumlahThread * perThread / 2;
+        assertEquals(List.of("basis data lanjut=" + perIsbn, "data mining=" + perIsbn, "basis data dasar=0"),
+                skor(indeks.sarankanJudul("da", 3)));
+    }
+
+    @Test
+    @DisplayName("Simpan konkuren pada ISBN yang sama - indeks tetap sama dengan katalog")
+    void testSimpanKonkurenTetapSinkron() throws Exception {
+        TrigramRepositoryBuku katalog = new TrigramRepositoryBuku();
+        IndeksAutocomplete indeksKatalog = new IndeksAutocomplete();
+        RepositoryBuku repository = new AutocompleteRepositoryBuku(katalog, indeksKatalog);
+        CountDownLatch mulai = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<?>> tugas = new ArrayList<>();
+        for (String judul : new String[]{"Jaringan Komputer", "Jaringan Saraf"}) {
+            tugas.add(executor.submit(() -> {
+                mulai.await();
+                for (int i = 0; i < 2000; i++) {
+                    repository.simpan(new Buku("9780000000001", judul, "Andi", 1, 1.0));
+                }
+                return null;
+            }));
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        for (Future<?> f : tugas) {
+            f.get();
+        }
+
+        String judulKatalog = katalog.cariByIsbn("9780000000001").get().getJudul();
+        assertEquals(List.of(judulKatalog), teks(indeksKatalog.sarankanJudul("jar", 5)));
+    }
+
+    /** Acuan: skor setiap judul berbeda yang cocok, urutan sama dengan indeks. */
+    private static List<String> pindaiPenuh(Map<String, Buku> katalog, Map<String, Long> dipinjam, String kueri, int k) {
+        String[] kata = IndeksAutocomplete.kata(kueri);
+        int n = kata.length;
+        int panjang = Math.min(n, IndeksAutocomplete.KATA_PER_TOKEN);
+        String awalan = IndeksAutocomplete.gabung(kata, n - panjang, panjang);
+        List<String> tokenUtuh = new ArrayList<>();
+        for (int i = 0; i + IndeksAutocomplete.KATA_PER_TOKEN < n; i++) {
+            tokenUtuh.add(IndeksAutocomplete.gabung(kata, i, IndeksAutocomplete.KATA_PER_TOKEN));
+        }
+        Map<String, Long> skor = new HashMap<>();
+        for (Buku buku : katalog.values()) {
+            String[] kataJudul = IndeksAutocomplete.kata(buku.getJudul());
+            List<String> token = Arrays.asList(IndeksAutocomplete.token(kataJudul));
+            if (token.containsAll(tokenUtuh) && token.stream().anyMatch(t -> t.startsWith(awalan))) {
+                skor.merge(String.join(" ", kataJudul), dipinjam.getOrDefault(buku.getIsbn(), 0L), Long::sum);
+            }
+        }
+        return skor.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<String, Long>>comparingLong(Map.Entry::getValue).reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(k)
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> skor(List<IndeksAutocomplete.Saran> saran) {
+        List<String> hasil = new ArrayList<>();
+        for (IndeksAutocomplete.Saran s : saran) {
+            hasil.add(String.join(" ", IndeksAutocomplete.kata(s.getTeks())) + "=" + s.getSkor());
+        }
+        return hasil;
+    }
+
+    private static List<String> teks(List<IndeksAutocomplete.Saran> saran) {
+        return saran.stream().map(IndeksAutocomplete.Saran::getTeks).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,94 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Indeks Fuzzy")
+class IndeksFuzzyTest {
+
+    private IndeksFuzzy indeks;
+
+    @BeforeEach
+    void setUp() {
+        indeks = new IndeksFuzzy();
+        indeks.tambahBuku(new Buku("9780000000001", "Basis Data Lanjut", "Siti Rahayu", 1, 1.0));
+        indeks.tambahBuku(new Buku("9780000000002", "Pemrograman Dasar", "Budi Santoso", 1, 1.0));
+        indeks.tambahBuku(new Buku("9780000000003", "Jaringan Komputer", "Siti Rahayu Putri", 1, 1.0));
+        indeks.tambahBuku(new Buku("9780000000004", "Basis Data Dasar", "Budi Santosa", 1, 1.0));
+    }
+
+    @Test
+    @DisplayName("Salah ketik nama pengarang tetap ketemu, paling dekat dulu")
+    void testSalahKetikPengarang() {
+        assertEquals(List.of("9780000000002", "9780000000004"), indeks.cariPengarang("budi santoso", 2, 10));
+        assertEquals(List.of("9780000000004", "9780000000002"), indeks.cariPengarang("Santosa", 1, 10));
+        assertEquals(List.of("9780000000001", "9780000000003"), indeks.cariPengarang("siti rahyu", 2, 10));
+        assertEquals(List.of("9780000000003"), indeks.cariPengarang("rahayu putr", 1, 10));
+        assertEquals(List.of("9780000000002"), indeks.cariPengarang("santoso", 0, 10), "Jarak 0 berarti kata tepat");
+        assertEquals(List.of("9780000000002"), indeks.cariPengarang("budi santoso", 2, 1));
+    }
+
+    @Test
+    @DisplayName("Jarak dibatasi panjang kata kueri, setiap kata kueri harus cocok")
+    void testBatasJarak() {
+        assertEquals(0, IndeksFuzzy.jarakUntuk("da", 2));
+        assertEquals(1, IndeksFuzzy.jarakUntuk("datta", 2));
+        assertEquals(2, IndeksFuzzy.jarakUntuk("jaringn", 2));
+        assertTrue(indeks.cariJudul("dt", 2, 10).isEmpty(), "Kata dua huruf harus tepat");
+        assertEquals(List.of("9780000000001", "9780000000004"), indeks.cariJudul("basis datta", 2, 10));
+        assertEquals(List.of("9780000000004"), indeks.cariJudul("basis datta dasr", 2, 10));
+        assertTrue(indeks.cariJudul("basis komputer", 2, 10).isEmpty());
+        assertTrue(indeks.cariJudul("  ", 2, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> indeks.cariJudul("data", 3, 10));
+        assertThrows(IllegalArgumentException.class, () -> indeks.cariJudul("data", 1, 0));
+    }
+
+    @Test
+    @DisplayName("Hapus dan ubah buku memperbarui kamus")
+    void testHapusDanUbah() {
+        int kataAwal = indeks.getJumlahKata();
+        indeks.hapusBuku("9780000000003");
+        assertEquals(List.of("9780000000001"), indeks.cariPengarang("siti rahayu", 1, 10));
+        assertTrue(indeks.cariJudul("jaringan", 2, 10).isEmpty());
+        assertEquals(kataAwal - 3, indeks.getJumlahKata(), "jaringan, komputer, putri keluar dari kamus");
+
+        indeks.tambahBuku(new Buku("9780000000002", "Algoritma Dasar", "Budi Santoso", 1, 1.0));
+        assertEquals(List.of("9780000000002"), indeks.cariJudul("algoritm", 1, 10));
+        assertTrue(indeks.cariJudul("pemrograman", 2, 10).isEmpty());
+        assertEquals(3, indeks.getJumlahBuku());
+    }
+
+    @Test
+    @DisplayName("Repository dan service menjaga indeks, hasil berupa buku")
+    void testDenganServicePerpustakaan() {
+        TrigramRepositoryBuku katalog = new TrigramRepositoryBuku();
+        katalog.simpan(new Buku("9780000000001", "Jaringan Komputer", "Andi Wijaya", 3, 1.0));
+        IndeksFuzzy indeksService = new IndeksFuzzy();
+        RepositoryBuku repository = new FuzzyRepositoryBuku(katalog, indeksService);
+        ServicePerpustakaan service = ServicePerpustakaan.builder(repository, new KalkulatorDenda())
+                .indeksFuzzy(indeksService)
+                .build();
+        assertTrue(service.tambahBuku(new Buku("9780000000002", "Jaringan Saraf", "Andi Wijayakusuma", 3, 1.0)));
+
+        assertTrue(service.cariBukuByPengarang("andi wijya").isEmpty(), "Pencarian biasa butuh substring tepat");
+        assertEquals(List.of("9780000000001"), isbn(service.cariBukuByPengarangFuzzy("andi wijya", 2, 10)));
+        assertEquals(List.of("9780000000001", "9780000000002"), isbn(service.cariBukuByJudulFuzzy("jaringn", 1, 10)));
+
+        assertTrue(repository.hapus("9780000000001"));
+        assertTrue(service.cariBukuByPengarangFuzzy("andi wijya", 2, 10).isEmpty());
+        assertTrue(new ServicePerpustakaan(repository, new KalkulatorDenda()).cariBukuByJudulFuzzy("jaringan", 1, 10).isEmpty());
+    }
+
+    private static List<String> isbn(List<Buku> buku) {
+        return buku.stream().map(Buku::getIsbn).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,122 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.service.KalkulatorDenda;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Kolom Peminjaman")
+class KolomPeminjamanTest {
+
+    private static final LocalDate ACUAN = LocalDate.of(2024, 6, 1);
+
+    private Map<String, Anggota> anggotaById;
+    private List<Peminjaman> daftarPeminjaman;
+    private KolomPeminjaman kolom;
+
+    @BeforeEach
+    void setUp() {
+        anggotaById = Map.of(
+                "M001", new Anggota("M001", "John Student", "john@student.ac.id", "081234567890", Anggota.TipeAnggota.MAHASISWA),
+                "D001", new Anggota("D001", "Dr. Faculty", "faculty@univ.ac.id", "081234567891", Anggota.TipeAnggota.DOSEN),
+                "U001", new Anggota("U001", "Public User", "public@email.com", "081234567892", Anggota.TipeAnggota.UMUM));
+        String[] idAnggota = {"M001", "D001", "U001", "M001"};
+
+        daftarPeminjaman = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            LocalDate jatuhTempo = ACUAN.minusDays(i % 45 - 10);
+            Peminjaman peminjaman = new Peminjaman("P" + i, idAnggota[i % 4], String.format("978%010d", i % 100),
+                    jatuhTempo.minusDays(14), jatuhTempo);
+            if (i % 3 == 0) {
+                peminjaman.setTanggalKembali(jatuhTempo.plusDays(i % 7 - 3));
+                peminjaman.setSudahDikembalikan(true);
+            }
+            daftarPeminjaman.add(peminjaman);
+        }
+        kolom = KolomPeminjaman.dari(daftarPeminjaman);
+    }
+
+    @Test
+    @DisplayName("Baris dibentuk ulang sama dengan peminjaman asal")
+    void testBentukUlangBaris() {
+        assertEquals(3000, kolom.ukuran());
+        assertEquals(1000, kolom.jumlahDikembalikan());
+        for (int i = 0; i < 3000; i += 7) {
+            Peminjaman asal = daftarPeminjaman.get(i);
+            Peminjaman baris = kolom.get(i);
+            assertEquals(asal.getIdPeminjaman(), baris.getIdPeminjaman());
+            assertEquals(asal.getIdAnggota(), baris.getIdAnggota());
+            assertEquals(asal.getIsbnBuku(), baris.getIsbnBuku());
+            assertEquals(asal.getTanggalPinjam(), baris.getTanggalPinjam());
+            assertEquals(asal.getTanggalJatuhTempo(), baris.getTanggalJatuhTempo());
+            assertEquals(asal.getTanggalKembali(), baris.getTanggalKembali());
+            assertEquals(asal.isSudahDikembalikan(), baris.isSudahDikembalikan());
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> kolom.get(3000));
+    }
+
+    @Test
+    @DisplayName("Agregasi kolom sama dengan perhitungan per objek")
+    void testAgregasiSamaDenganObjek() {
+        double totalDurasi = 0;
+        int terlambat = 0;
+        double totalDenda = 0;
+        KalkulatorDenda kalkulatorDenda = new KalkulatorDenda();
+        int[] pinjamMahasiswa = new int[2];
+        for (Peminjaman peminjaman : daftarPeminjaman) {
+            totalDurasi += peminjaman.getDurasiPeminjaman(ACUAN);
+            terlambat += peminjaman.isTerlambat(ACUAN) ? 1 : 0;
+            long hari = peminjaman.getHariTerlambat(ACUAN);
+            Anggota.TipeAnggota tipe = anggotaById.get(peminjaman.getIdAnggota()).getTipeAnggota();
+            totalDenda += Math.min(hari * kalkulatorDenda.getTarifDendaHarian(tipe), kalkulatorDenda.getDendaMaksimal(tipe));
+            if (tipe == Anggota.TipeAnggota.MAHASISWA) {
+                pinjamMahasiswa[0]++;
+                pinjamMahasiswa[1] += peminjaman.isTerlambat(ACUAN) ? 1 : 0;
+            }
+        }
+
+        assertEquals(totalDurasi / daftarPeminjaman.size(), kolom.rataRataDurasi(ACUAN), 1e-9);
+        assertEquals(terlambat, kolom.jumlahTerlambat(ACUAN));
+        assertEquals(totalDenda, kolom.totalDenda(anggotaById, kalkulatorDenda, ACUAN), 0.001);
+        assertEquals((double) pinjamMahasiswa[1] / pinjamMahasiswa[0],
+                kolom.tingkatKeterlambatanPerTipe(anggotaById, ACUAN).get(Anggota.TipeAnggota.MAHASISWA), 1e-9);
+        assertEquals(30, kolom.jumlahPeminjamanPerIsbn().get(String.format("978%010d", 42)));
+    }
+
+    @Test
+    @DisplayName("Tandai dikembalikan memperbarui kolom dan bitset")
+    void testTandaiDikembalikan() {
+        assertTrue(kolom.tandaiDikembalikan("P1", ACUAN));
+        assertFalse(kolom.tandaiDikembalikan("P1", ACUAN), "Sudah dikembalikan");
+        assertFalse(kolom.tandaiDikembalikan("P0", ACUAN), "Sudah dikembalikan sejak awal");
+        assertFalse(kolom.tandaiDikembalikan("X", ACUAN));
+
+        assertEquals(1001, kolom.jumlahDikembalikan());
+        assertEquals(ACUAN, kolom.get(1).getTanggalKembali());
+    }
+
+    @Test
+    @DisplayName("Data tidak lengkap atau id ganda ditolak")
+    void testTambahDitolak() {
+        assertFalse(kolom.tambah(null));
+        assertFalse(kolom.tambah(daftarPeminjaman.get(0)));
+        assertFalse(kolom.tambah(new Peminjaman("P9999", "M001", "1234567890", null, ACUAN)));
+        assertEquals(3000, kolom.ukuran());
+    }
+
+    @Test
+    @DisplayName("Anggota tidak dikenal pada agregasi per tipe - harus throw exception")
+    void testAnggotaTidakDikenal() {
+        assertThrows(IllegalArgumentException.class,
+                () -> kolom.tingkatKeterlambatanPerTipe(Map.of("M001", anggotaById.get("M001")), ACUAN));
+    }
+}
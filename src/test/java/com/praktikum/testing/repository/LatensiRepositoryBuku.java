@@ -0,0 +1,91 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Dekorator test yang menambahkan jeda tetap ke setiap panggilan, meniru satu round trip
+ * ke penyimpanan jarak jauh. Jeda memblokir thread pemanggil seperti I/O sungguhan.
+ */
+public class LatensiRepositoryBuku implements RepositoryBuku {
+
+    private final RepositoryBuku delegate;
+    private final long latensiNanos;
+
+    public LatensiRepositoryBuku(RepositoryBuku delegate, long latensiNanos) {
+        this.delegate = delegate;
+        this.latensiNanos = latensiNanos;
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        tunggu();
+        return delegate.simpan(buku);
+    }
+
+    @Override
+    public BitSet simpanSemua(List<Buku> daftarBuku) {
+        tunggu();
+        return delegate.simpanSemua(daftarBuku);
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        tunggu();
+        return delegate.cariByIsbn(isbn);
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        tunggu();
+        return delegate.cariByJudul(judul);
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        tunggu();
+        return delegate.cariByPengarang(pengarang);
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        tunggu();
+        return delegate.hapus(isbn);
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        tunggu();
+        return delegate.updateJumlahTersedia(isbn, jumlahTersediaBaru);
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        tunggu();
+        return delegate.cariSemua();
+    }
+
+    @Override
+    public int kurangiJumlahTersedia(String isbn) {
+        tunggu();
+        return delegate.kurangiJumlahTersedia(isbn);
+    }
+
+    @Override
+    public int tambahJumlahTersedia(String isbn) {
+        tunggu();
+        return delegate.tambahJumlahTersedia(isbn);
+    }
+
+    private void tunggu() {
+        long batas = System.nanoTime() + latensiNanos;
+        long sisa;
+        while ((sisa = batas - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(sisa);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Mapped Repository Buku")
+class MappedRepositoryBukuTest {
+
+    @TempDir
+    Path direktori;
+
+    private MappedRepositoryBuku repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = new MappedRepositoryBuku(direktori);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Simpan lalu cari by ISBN")
+    void testSimpanDanCari() {
+        assertTrue(repository.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 180000.0)));
+
+        Optional<Buku> hasil = repository.cariByIsbn("1234567890");
+        assertTrue(hasil.isPresent());
+        assertEquals("Pemrograman Java", hasil.get().getJudul());
+        assertEquals("John Doe", hasil.get().getPengarang());
+        assertEquals(5, hasil.get().getJumlahTotal());
+        assertEquals(5, hasil.get().getJumlahTersedia());
+        assertEquals(180000.0, hasil.get().getHarga());
+        assertFalse(repository.cariByIsbn("9999999999").isPresent());
+        assertFalse(repository.simpan(null));
+    }
+
+    @Test
+    @DisplayName("Data tetap ada setelah file dibuka ulang")
+    void testPersisten() throws IOException {
+        repository.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 180000.0));
+        repository.simpan(new Buku("0987654321", "Sejarah Nusantara", "Siti Rahayu", 3, 95000.0));
+        repository.updateJumlahTersedia("1234567890", 2);
+        repository.hapus("0987654321");
+        repository.close();
+
+        repository = new MappedRepositoryBuku(direktori);
+        assertEquals(1, repository.ukuran());
+        assertEquals(2, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+        assertFalse(repository.cariByIsbn("0987654321").isPresent());
+    }
+
+    @Test
+    @DisplayName("Simpan ulang ISBN yang sama menimpa record")
+    void testSimpanUlang() {
+        repository.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 180000.0));
+        repository.simpan(new Buku("1234567890", "Java Lanjut", "Jane Smith", 7, 200000.0));
+
+        assertEquals(1, repository.ukuran());
+        assertEquals("Java Lanjut", repository.cariByIsbn("1234567890").get().getJudul());
+    }
+
+    @Test
+    @DisplayName("Indeks tumbuh dan tetap konsisten untuk banyak buku")
+    void testIndeksTumbuh() throws IOException {
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(repository.simpan(new Buku(String.format("978%010d", i), "Judul " + i, "Pengarang", 1, 1.0)));
+        }
+        for (int i = 0; i < 5000; i += 2) {
+            assertTrue(repository.hapus(String.format("978%010d", i)));
+        }
+        repository.close();
+
+        repository = new MappedRepositoryBuku(direktori);
+        assertEquals(2500, repository.ukuran());
+        assertFalse(repository.cariByIsbn(String.format("978%010d", 10)).isPresent());
+        assertEquals("Judul 4321", repository.cariByIsbn(String.format("978%010d", 4321)).get().getJudul());
+    }
+
+    @Test
+    @DisplayName("Cari by judul dan pengarang case insensitive, termasuk UTF-8")
+    void testPencarian() {
+        repository.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 180000.0));
+        repository.simpan(new Buku("0987654321", "Caf\u00e9 Jakarta", "Jane Smith", 3, 120000.0));
+        repository.simpan(new Buku("1111111111", "Java Advanced", "John Doe", 4, 180000.0));
+
+        assertEquals(2, repository.cariByJudul("JAVA").size());
+        assertEquals(1, repository.cariByJudul("caf\u00e9").size());
+        assertEquals(2, repository.cariByPengarang("john doe").size());
+        assertTrue(repository.cariByJudul(" ").isEmpty());
+        assertEquals(3, repository.cariSemua().size());
+    }
+
+    @Test
+    @DisplayName("Operasi atomik menulis langsung ke halaman yang dipetakan")
+    void testOperasiAtomik() {
+        repository.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 2, 180000.0));
+
+        assertEquals(1, repository.kurangiJumlahTersedia("1234567890"));
+        assertEquals(0, repository.kurangiJumlahTersedia("1234567890"));
+        assertEquals(-1, repository.kurangiJumlahTersedia("1234567890"));
+        assertEquals(1, repository.tambahJumlahTersedia("1234567890"));
+        assertEquals(2, repository.tambahJumlahTersedia("1234567890"));
+        assertEquals(-1, repository.tambahJumlahTersedia("1234567890"));
+        assertFalse(repository.updateJumlahTersedia("1234567890", 3));
+        assertEquals(-1, repository.kurangiJumlahTersedia("9999999999"));
+    }
+}
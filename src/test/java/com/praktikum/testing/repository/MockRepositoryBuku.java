@@ -3,11 +3,15 @@ package com.praktikum.testing.repository;
 import com.praktikum.testing.model.Buku;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Mock implementation dari RepositoryBuku untuk keperluan testing
- * Menggunakan in-memory storage dengan ConcurrentHashMap
+ * Menggunakan in-memory storage dengan ConcurrentHashMap, ditambah ConcurrentSkipListMap
+ * terurut ISBN untuk halaman. Simpan mengubah keduanya di dalam compute dan hapus hanya
+ * membuang entri urut milik buku yang dihapusnya, jadi kedua peta tetap sepakat.
  *
  * Catatan: Ini hanya untuk demo! Dalam test yang sebenarnya,
  * sebaiknya gunakan mockito untuk mocking repository.
@@ -15,6 +19,7 @@ import java.util.stream.Collectors;
 public class MockRepositoryBuku implements RepositoryBuku {
 
     private final Map<String, Buku> bukuMap = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Buku> bukuUrut = new ConcurrentSkipListMap<>();
 
     @Override
     public boolean simpan(Buku buku) {
@@ -23,7 +28,10 @@ public class MockRepositoryBuku implements RepositoryBuku {
         }
 
         // Simulasi operasi simpan ke database
-        bukuMap.put(buku.getIsbn(), buku);
+        bukuMap.compute(buku.getIsbn(), (isbn, lama) -> {
+            bukuUrut.put(isbn, buku);
+            return buku;
+        });
         return true;
     }
 
@@ -39,26 +47,34 @@ public class MockRepositoryBuku implements RepositoryBuku {
 
     @Override
     public List<Buku> cariByJudul(String judul) {
+        return streamByJudul(judul).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return streamByPengarang(pengarang).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
         if (judul == null || judul.trim().isEmpty()) {
-            return new ArrayList<>();
+            return Stream.empty();
         }
 
+        String dicari = judul.toLowerCase().trim();
         return bukuMap.values().stream()
-                .filter(buku -> buku.getJudul().toLowerCase()
-                        .contains(judul.toLowerCase().trim()))
-                .collect(Collectors.toList());
+                .filter(buku -> buku.getJudul().toLowerCase().contains(dicari));
     }
 
     @Override
-    public List<Buku> cariByPengarang(String pengarang) {
+    public Stream<Buku> streamByPengarang(String pengarang) {
         if (pengarang == null || pengarang.trim().isEmpty()) {
-            return new ArrayList<>();
+            return Stream.empty();
         }
 
+        String dicari = pengarang.toLowerCase().trim();
         return bukuMap.values().stream()
-                .filter(buku -> buku.getPengarang().toLowerCase()
-                        .contains(pengarang.toLowerCase().trim()))
-                .collect(Collectors.toList());
+                .filter(buku -> buku.getPengarang().toLowerCase().contains(dicari));
     }
 
     @Override
@@ -68,7 +84,12 @@ public class MockRepositoryBuku implements RepositoryBuku {
         }
 
         Buku bukuDihapus = bukuMap.remove(isbn);
-        return bukuDihapus != null;
+        if (bukuDihapus == null) {
+            return false;
+        }
+        // Hanya jika belum diganti simpan yang menyalip
+        bukuUrut.remove(isbn, bukuDihapus);
+        return true;
     }
 
     @Override
@@ -88,14 +109,61 @@ public class MockRepositoryBuku implements RepositoryBuku {
         return true;
     }
 
+    @Override
+    public int kurangiJumlahTersedia(String isbn) {
+        Buku buku = isbn == null ? null : bukuMap.get(isbn);
+        return buku == null ? -1 : buku.kurangiTersediaJikaAda();
+    }
+
+    @Override
+    public int tambahJumlahTersedia(String isbn) {
+        Buku buku = isbn == null ? null : bukuMap.get(isbn);
+        return buku == null ? -1 : buku.tambahTersediaJikaDibawahTotal();
+    }
+
     @Override
     public List<Buku> cariSemua() {
         return new ArrayList<>(bukuMap.values());
     }
 
+    @Override
+    public Stream<Buku> streamSemua() {
+        return bukuMap.values().stream();
+    }
+
+    @Override
+    public HalamanBuku cariSemua(String setelahIsbn, int batas) {
+        return HalamanBuku.dariUrut(setelah(setelahIsbn).values(), buku -> buku, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByJudul(String judul, String setelahIsbn, int batas) {
+        if (judul == null || judul.trim().isEmpty()) {
+            return HalamanBuku.kosong();
+        }
+        String dicari = judul.toLowerCase().trim();
+        return HalamanBuku.dariUrut(setelah(setelahIsbn).values(),
+                buku -> buku.getJudul().toLowerCase().contains(dicari) ? buku : null, batas);
+    }
+
+    @Override
+    public HalamanBuku cariByPengarang(String pengarang, String setelahIsbn, int batas) {
+        if (pengarang == null || pengarang.trim().isEmpty()) {
+            return HalamanBuku.kosong();
+        }
+        String dicari = pengarang.toLowerCase().trim();
+        return HalamanBuku.dariUrut(setelah(setelahIsbn).values(),
+                buku -> buku.getPengarang().toLowerCase().contains(dicari) ? buku : null, batas);
+    }
+
+    private NavigableMap<String, Buku> setelah(String setelahIsbn) {
+        return setelahIsbn == null ? bukuUrut : bukuUrut.tailMap(setelahIsbn, false);
+    }
+
     // Utility methods untuk testing
     public void bersihkan() {
         bukuMap.clear();
+        bukuUrut.clear();
     }
 
     public int ukuran() {
@@ -0,0 +1,132 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Primitive Repository Buku")
+class PrimitiveRepositoryBukuTest {
+
+    private PrimitiveRepositoryBuku repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new PrimitiveRepositoryBuku();
+        repository.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 180000.0));
+        repository.simpan(new Buku("978-0-306-40615-7", "Algoritma dan Struktur Data", "Jane Smith", 3, 120000.0));
+    }
+
+    @Test
+    @DisplayName("Cari by ISBN menerima bentuk dengan dan tanpa tanda hubung")
+    void testCariByIsbnBentukSetara() {
+        assertEquals("Pemrograman Java", repository.cariByIsbn("123-456-789-0").get().getJudul());
+        assertEquals("Algoritma dan Struktur Data", repository.cariByIsbn("9780306406157").get().getJudul());
+        assertFalse(repository.cariByIsbn("9999999999").isPresent());
+        assertFalse(repository.cariByIsbn("bukan isbn").isPresent());
+        assertFalse(repository.cariByIsbn(null).isPresent());
+    }
+
+    @Test
+    @DisplayName("Simpan ISBN tidak valid ditolak, simpan ulang menimpa")
+    void testSimpan() {
+        assertFalse(repository.simpan(new Buku("123", "Judul", "Pengarang", 1, 1.0)));
+        assertFalse(repository.simpan(null));
+        assertTrue(repository.simpan(new Buku("1234567890", "Java Lanjut", "John Doe", 2, 1.0)));
+        assertEquals(2, repository.ukuran());
+        assertEquals("Java Lanjut", repository.cariByIsbn("1234567890").get().getJudul());
+    }
+
+    @Test
+    @DisplayName("Simpan semua tidak menimpa ISBN yang sudah ada dalam bentuk apa pun")
+    void testSimpanSemua() {
+        BitSet disimpan = repository.simpanSemua(List.of(
+                new Buku("123 456 789 0", "Pengganti", "X", 1, 1.0),
+                new Buku("1111111111", "Baru", "X", 1, 1.0),
+                new Buku("111-111-111-1", "Baru Ganda", "X", 1, 1.0)));
+        assertEquals(BitSet.valueOf(new long[]{0b010}), disimpan);
+        assertEquals("Pemrograman Java", repository.cariByIsbn("1234567890").get().getJudul());
+        assertEquals(3, repository.ukuran());
+    }
+
+    @Test
+    @DisplayName("Hapus, update dan pencarian teks")
+    void testHapusUpdateDanPencarian() {
+        assertTrue(repository.updateJumlahTersedia("1234567890", 2));
+        assertFalse(repository.updateJumlahTersedia("1234567890", 6));
+        assertEquals(2, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+
+        assertEquals(1, repository.cariByJudul("JAVA").size());
+        assertEquals(1, repository.cariByPengarang(" smith ").size());
+        assertTrue(repository.cariByJudul(" ").isEmpty());
+
+        assertTrue(repository.hapus("978 0 306 40615 7"));
+        assertFalse(repository.hapus("9780306406157"));
+        assertEquals(1, repository.cariSemua().size());
+    }
+
+    @Test
+    @DisplayName("Banyak buku dengan hapus berselang tetap konsisten")
+    void testBanyakBuku() {
+        for (int i = 0; i < 50000; i++) {
+            assertTrue(repository.simpan(new Buku(String.format("978%010d", i), "Judul " + i, "P", 1, 1.0)));
+        }
+        for (int i = 0; i < 50000; i += 3) {
+            assertTrue(repository.hapus(String.format("978%010d", i)));
+        }
+        for (int i = 0; i < 50000; i++) {
+            assertEquals(i % 3 != 0, repository.cariByIsbn(String.format("978%010d", i)).isPresent(), "ISBN ke-" + i);
+        }
+        assertEquals(2 + 50000 - 16667, repository.ukuran());
+    }
+
+    @Test
+    @DisplayName("Peminjam konkuren tidak boleh oversell saat katalog tumbuh")
+    void testTidakOversellKonkuren() throws Exception {
+        int jumlahThread = 4;
+        AtomicInteger berhasil = new AtomicInteger();
+        CountDownLatch mulai = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread + 1);
+        List<Future<?>> tugas = new ArrayList<>();
+        for (int t = 0; t < jumlahThread; t++) {
+            tugas.add(executor.submit(() -> {
+                mulai.await();
+                for (int i = 0; i < 2000; i++) {
+                    if (repository.kurangiJumlahTersedia("1234567890") >= 0) {
+                        berhasil.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        // Penulis memicu resize tabel selama pembaca berjalan
+        tugas.add(executor.submit(() -> {
+            mulai.await();
+            for (int i = 0; i < 20000; i++) {
+                repository.simpan(new Buku(String.format("978%010d", i), "Judul", "P", 1, 1.0));
+            }
+            return null;
+        }));
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(20, TimeUnit.SECONDS));
+        for (Future<?> f : tugas) {
+            f.get();
+        }
+
+        assertEquals(5, berhasil.get());
+        assertEquals(0, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+    }
+}
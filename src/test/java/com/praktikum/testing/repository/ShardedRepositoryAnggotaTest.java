@@ -0,0 +1,153 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Anggota;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Anggota Sharded")
+class ShardedRepositoryAnggotaTest {
+
+    private ShardedRepositoryAnggota repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ShardedRepositoryAnggota(4);
+    }
+
+    @Test
+    @DisplayName("Cari anggota by id, email dan telepon ternormalisasi")
+    void testCari() {
+        Anggota anggota = anggota("A001", "John@Student.ac.id", "0812-3456-7890");
+        assertTrue(repository.simpan(anggota));
+
+        assertSame(anggota, repository.cariById("A001").get());
+        assertSame(anggota, repository.cariByEmail("john@student.ac.id").get());
+        assertSame(anggota, repository.cariByTelepon("081234567890").get());
+        assertSame(anggota, repository.cariByTelepon("+62 812 3456 7890").get());
+        assertFalse(repository.cariById("A999").isPresent());
+        assertFalse(repository.cariByEmail("bukan-email").isPresent());
+        assertFalse(repository.cariByTelepon(null).isPresent());
+    }
+
+    @Test
+    @DisplayName("Email atau telepon yang sudah dipakai anggota lain ditolak")
+    void testKeunikan() {
+        assertTrue(repository.simpan(anggota("A001", "john@student.ac.id", "081234567890")));
+
+        assertFalse(repository.simpan(anggota("A002", "JOHN@student.ac.id", "081111111111")));
+        assertFalse(repository.simpan(anggota("A002", "jane@student.ac.id", "+6281234567890")));
+        assertFalse(repository.cariById("A002").isPresent());
+        // Klaim email A002 yang gagal karena telepon tidak boleh tertinggal
+        assertTrue(repository.simpan(anggota("A003", "jane@student.ac.id", "081111111111")));
+        assertFalse(repository.simpan(anggota("A004", "x@student.ac.id", "invalid")));
+    }
+
+    @Test
+    @DisplayName("Simpan ulang dengan id sama mengganti indeks lama")
+    void testGantiData() {
+        assertTrue(repository.simpan(anggota("A001", "lama@student.ac.id", "081234567890")));
+        assertTrue(repository.simpan(anggota("A001", "baru@student.ac.id", "081234567890")));
+
+        assertFalse(repository.cariByEmail("lama@student.ac.id").isPresent());
+        assertEquals("A001", repository.cariByEmail("baru@student.ac.id").get().getIdAnggota());
+        assertEquals(1, repository.ukuran());
+        assertTrue(repository.simpan(anggota("A002", "lama@student.ac.id", "081111111111")));
+    }
+
+    @Test
+    @DisplayName("Hapus anggota melepas email dan telepon")
+    void testHapus() {
+        repository.simpan(anggota("A001", "john@student.ac.id", "081234567890"));
+
+        assertTrue(repository.hapus("A001"));
+        assertFalse(repository.hapus("A001"));
+        assertFalse(repository.cariByEmail("john@student.ac.id").isPresent());
+        assertTrue(repository.simpan(anggota("A002", "john@student.ac.id", "081234567890")));
+        assertEquals(1, repository.cariSemua().size());
+    }
+
+    @Test
+    @DisplayName("Pendaftaran konkuren dengan email sama hanya satu yang berhasil")
+    void testKlaimKonkuren() throws Exception {
+        int jumlahThread = 8;
+        AtomicInteger berhasil = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+        List<Future<?>> tugas = new ArrayList<>();
+        CountDownLatch mulai = new CountDownLatch(1);
+        for (int t = 0; t < jumlahThread; t++) {
+            String id = "A00" + t;
+            String telepon = "08123456789" + t;
+            tugas.add(executor.submit(() -> {
+                mulai.await();
+                if (repository.simpan(anggota(id, "rebutan@student.ac.id", telepon))) {
+                    berhasil.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        for (Future<?> f : tugas) {
+            f.get();
+        }
+
+        assertEquals(1, berhasil.get());
+        assertEquals(1, repository.ukuran());
+        assertTrue(repository.cariByEmail("rebutan@student.ac.id").isPresent());
+    }
+
+    @Test
+    @DisplayName("Simpan jika belum ada - pendaftaran konkuren dengan id sama hanya satu yang berhasil")
+    void testSimpanJikaBelumAdaKonkuren() throws Exception {
+        int jumlahThread = 8;
+        AtomicInteger berhasil = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+        List<Future<?>> tugas = new ArrayList<>();
+        CountDownLatch mulai = new CountDownLatch(1);
+        for (int t = 0; t < jumlahThread; t++) {
+            String email = "pendaftar" + t + "@student.ac.id";
+            String telepon = "08123456789" + t;
+            tugas.add(executor.submit(() -> {
+                mulai.await();
+                if (repository.simpanJikaBelumAda(anggota("A001", email, telepon))) {
+                    berhasil.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        for (Future<?> f : tugas) {
+            f.get();
+        }
+
+        assertEquals(1, berhasil.get());
+        assertEquals(1, repository.ukuran());
+        // Email pendaftar yang kalah tidak boleh tertinggal di indeks
+        String emailPemenang = repository.cariById("A001").get().getEmail();
+        for (int t = 0; t < jumlahThread; t++) {
+            String email = "pendaftar" + t + "@student.ac.id";
+            assertEquals(email.equals(emailPemenang), repository.cariByEmail(email).isPresent(), email);
+        }
+        assertFalse(repository.simpanJikaBelumAda(anggota("A001", "lain@student.ac.id", "089999999999")));
+        assertTrue(repository.simpan(anggota("A001", "lain@student.ac.id", "089999999999")), "simpan tetap boleh mengganti");
+    }
+
+    private static Anggota anggota(String id, String email, String telepon) {
+        return new Anggota(id, "Nama " + id, email, telepon, Anggota.TipeAnggota.MAHASISWA);
+    }
+}
@@ -0,0 +1,271 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Trigram Repository Buku")
+class TrigramRepositoryBukuTest {
+
+    private TrigramRepositoryBuku repository;
+    private Buku buku1;
+    private Buku buku2;
+    private Buku buku3;
+
+    @BeforeEach
+    void setUp() {
+        repository = new TrigramRepositoryBuku();
+        buku1 = new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 180000.0);
+        buku2 = new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 120000.0);
+        buku3 = new Buku("1111111111", "Java Advanced", "John Doe", 4, 180000.0);
+        repository.simpan(buku1);
+        repository.simpan(buku2);
+        repository.simpan(buku3);
+    }
+
+    @Test
+    @DisplayName("Cari by judul case insensitive")
+    void testCariByJudulCaseInsensitive() {
+        assertEquals(2, repository.cariByJudul("java").size());
+        assertEquals(2, repository.cariByJudul("JAVA").size());
+        assertEquals(1, repository.cariByJudul("  struktur ").size());
+    }
+
+    @Test
+    @DisplayName("Kueri pendek (< 3 karakter) tetap memberi hasil yang benar")
+    void testKueriPendek() {
+        assertEquals(3, repository.cariByJudul("a").size());
+        assertEquals(1, repository.cariByJudul("dv").size());
+        assertEquals(2, repository.cariByPengarang("jo").size());
+    }
+
+    @Test
+    @DisplayName("Trigram cocok tetapi urutan tidak cocok - harus diverifikasi")
+    void testKandidatDiverifikasi() {
+        // "ava" dan "a j" ada di "Pemrograman Java", tetapi "ava j" tidak
+        assertTrue(repository.cariByJudul("ava j").isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " "})
+    @DisplayName("Kueri kosong - harus empty list")
+    void testKueriKosong(String kueri) {
+        assertTrue(repository.cariByJudul(kueri).isEmpty());
+        assertTrue(repository.cariByPengarang(kueri).isEmpty());
+        assertTrue(repository.cariByJudul(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Indeks diperbarui saat hapus dan simpan ulang")
+    void testIndeksInkremental() {
+        assertTrue(repository.hapus("1111111111"));
+        assertEquals(1, repository.cariByJudul("java").size());
+        assertTrue(repository.cariByJudul("advanced").isEmpty());
+
+        repository.simpan(new Buku("1234567890", "Basis Data", "Rina", 2, 90000.0));
+        assertTrue(repository.cariByJudul("java").isEmpty());
+        assertEquals(2, repository.cariByJudul("data").size());
+        assertTrue(repository.cariByPengarang("john").isEmpty());
+        assertEquals(2, repository.ukuran());
+    }
+
+    @Test
+    @DisplayName("Update jumlah tersedia mengikuti aturan repository")
+    void testUpdateJumlahTersedia() {
+        assertTrue(repository.updateJumlahTersedia("1234567890", 3));
+        assertEquals(3, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+        assertFalse(repository.updateJumlahTersedia("1234567890", 10));
+        assertFalse(repository.updateJumlahTersedia("1234567890", -1));
+        assertFalse(repository.updateJumlahTersedia("9999999999", 1));
+    }
+
+    @Test
+    @DisplayName("Kurangi dan tambah jumlah tersedia secara atomik")
+    void testKurangiDanTambahAtomik() {
+        assertEquals(2, repository.kurangiJumlahTersedia("0987654321"));
+        assertEquals(1, repository.kurangiJumlahTersedia("0987654321"));
+        assertEquals(0, repository.kurangiJumlahTersedia("0987654321"));
+        assertEquals(-1, repository.kurangiJumlahTersedia("0987654321"), "Stok habis");
+
+        assertEquals(1, repository.tambahJumlahTersedia("0987654321"));
+        assertEquals(-1, repository.tambahJumlahTersedia("1234567890"), "Tidak boleh melebihi jumlah total");
+        assertEquals(-1, repository.kurangiJumlahTersedia("9999999999"));
+        assertEquals(-1, repository.tambahJumlahTersedia(null));
+    }
+
+    @Test
+    @DisplayName("Peminjam konkuren tidak boleh oversell salinan terakhir")
+    void testTidakOversellKonkuren() throws Exception {
+        int jumlahThread = 8;
+        AtomicInteger berhasil = new AtomicInteger();
+        CountDownLatch mulai = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+        List<Future<?>> tugas = new ArrayList<>();
+        for (int t = 0; t < jumlahThread; t++) {
+            tugas.add(executor.submit(() -> {
+                mulai.await();
+                for (int i = 0; i < 1000; i++) {
+                    if (repository.kurangiJumlahTersedia("1234567890") >= 0) {
+                        berhasil.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        for (Future<?> f : tugas) {
+            f.get();
+        }
+
+        assertEquals(5, berhasil.get(), "Hanya 5 salinan yang boleh dipinjam");
+        assertEquals(0, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Simpan semua tidak menimpa ISBN yang sudah ada")
+    void testSimpanSemua() {
+        List<Buku> batch = List.of(
+                new Buku("2222222222", "Basis Data", "Rina", 2, 90000.0),
+                new Buku("1234567890", "Judul Pengganti", "Rina", 2, 90000.0),
+                new Buku("2222222222", "Basis Data Edisi 2", "Rina", 2, 90000.0),
+                new Buku("3333333333", "Jaringan Komputer", "Budi", 1, 75000.0));
+
+        BitSet disimpan = repository.simpanSemua(batch);
+
+        assertEquals(BitSet.valueOf(new long[]{0b1001}), disimpan);
+        assertEquals("Pemrograman Java", repository.cariByIsbn("1234567890").get().getJudul());
+        assertEquals("Basis Data", repository.cariByIsbn("2222222222").get().getJudul());
+        assertEquals(1, repository.cariByPengarang("rina").size());
+        assertEquals(1, repository.cariByJudul("jaringan").size());
+        assertEquals(5, repository.ukuran());
+
+        MockRepositoryBuku mock = new MockRepositoryBuku();
+        mock.simpan(buku1);
+        assertEquals(disimpan, mock.simpanSemua(batch), "Implementasi default berperilaku sama");
+    }
+
+    @Test
+    @DisplayName("Hasil pencarian sama dengan MockRepositoryBuku")
+    void testHasilSamaDenganMock() {
+        MockRepositoryBuku mock = new MockRepositoryBuku();
+        TrigramRepositoryBuku trigram = new TrigramRepositoryBuku();
+        String[] kata = {"Java", "Data", "Sistem", "Jaringan", "Dasar", "Analisis", "Web"};
+        String[] nama = {"Budi Santoso", "Siti Rahayu", "Andi Wijaya", "Dewi Lestari"};
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            Buku buku = new Buku(String.format("978%010d", i),
+                    kata[random.nextInt(kata.length)] + " " + kata[random.nextInt(kata.length)] + " " + i,
+                    nama[random.nextInt(nama.length)], 1, 1.0);
+            mock.simpan(buku);
+            trigram.simpan(buku);
+        }
+        for (int i = 0; i < 500; i += 3) {
+            mock.hapus(String.format("978%010d", i));
+            trigram.hapus(String.format("978%010d", i));
+        }
+
+        String[] kueri = {"java", "JAVA DATA", "a", "ta s", "sis", "12", "santoso", "wij", "tidak ada", "web 4"};
+        for (String k : kueri) {
+            assertEquals(isbnSet(mock.cariByJudul(k)), isbnSet(trigram.cariByJudul(k)), "judul: " + k);
+            assertEquals(isbnSet(mock.cariByPengarang(k)), isbnSet(trigram.cariByPengarang(k)), "pengarang: " + k);
+        }
+        assertEquals(isbnSet(mock.cariSemua()), isbnSet(trigram.cariSemua()));
+    }
+
+    @Test
+    @DisplayName("Simpan dan hapus berulang - slot dipakai ulang dan hasil tetap benar")
+    void testSlotDipakaiUlang() {
+        TrigramRepositoryBuku trigram = new TrigramRepositoryBuku();
+        MockRepositoryBuku mock = new MockRepositoryBuku();
+        String[] kata = {"Java", "Data", "Sistem", "Jaringan", "Dasar", "Analisis", "Web"};
+        Random random = new Random(7);
+        for (int putaran = 0; putaran < 50; putaran++) {
+            for (int i = 0; i < 200; i++) {
+                String isbn = String.format("978%010d", random.nextInt(400));
+                if (random.nextBoolean()) {
+                    Buku buku = new Buku(isbn, kata[random.nextInt(kata.length)] + " " + kata[random.nextInt(kata.length)],
+                            "Penulis " + random.nextInt(20), 1, 1.0);
+                    trigram.simpan(buku);
+                    mock.simpan(buku);
+                } else {
+                    assertEquals(mock.hapus(isbn), trigram.hapus(isbn));
+                }
+            }
+        }
+
+        assertTrue(trigram.getJumlahSlot() <= 2 * 400, "Slot tidak tumbuh mengikuti jumlah simpan/hapus");
+        for (String k : new String[]{"java", "data sis", "a", "penulis 1", "web"}) {
+            assertEquals(isbnSet(mock.cariByJudul(k)), isbnSet(trigram.cariByJudul(k)), "judul: " + k);
+            assertEquals(isbnSet(mock.cariByPengarang(k)), isbnSet(trigram.cariByPengarang(k)), "pengarang: " + k);
+        }
+        trigram.padatkan();
+        assertEquals(isbnSet(mock.cariByJudul("java")), isbnSet(trigram.cariByJudul("java")));
+        assertEquals(trigram.ukuran(), trigram.cariSemua().size());
+    }
+
+    @Test
+    @DisplayName("Daftar hasil adalah snapshot - simpan ulang dan simpanSemua konkuren tidak membuat buku ganda")
+    void testDaftarSnapshot() throws Exception {
+        TrigramRepositoryBuku trigram = new TrigramRepositoryBuku();
+        int jumlah = 2000;
+        for (int i = 0; i < jumlah; i++) {
+            trigram.simpan(new Buku(String.format("978%010d", i), "Buku Java " + i, "Penulis", 1, 1.0));
+        }
+        List<Buku> batch = new ArrayList<>();
+        for (int i = jumlah; i < jumlah + 500; i++) {
+            batch.add(new Buku(String.format("978%010d", i), "Buku Java " + i, "Penulis", 1, 1.0));
+        }
+
+        // Judul yang berubah memindahkan buku ke nomor dokumen baru di belakang
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> penulis = executor.submit(() -> {
+            for (int putaran = 0; putaran < 20; putaran++) {
+                for (int i = 0; i < jumlah; i += 7) {
+                    trigram.simpan(new Buku(String.format("978%010d", i), "Buku Java " + i + " r" + putaran,
+                            "Penulis", 1, 1.0));
+                }
+            }
+            trigram.simpanSemua(batch);
+        });
+        try {
+            while (!penulis.isDone()) {
+                for (List<Buku> daftar : List.of(trigram.cariSemua(), trigram.cariByJudul("java"),
+                        trigram.cariByJudul("a"))) {
+                    Set<String> isbn = isbnSet(daftar);
+                    assertEquals(daftar.size(), isbn.size(), "Tidak ada buku ganda");
+                    assertTrue(isbn.size() == jumlah || isbn.size() == jumlah + 500,
+                            "Batch terlihat utuh atau tidak sama sekali: " + isbn.size());
+                }
+            }
+            penulis.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(jumlah + 500, trigram.cariByPengarang("penulis").size());
+    }
+
+    private static Set<String> isbnSet(List<Buku> daftar) {
+        return daftar.stream().map(Buku::getIsbn).collect(Collectors.toCollection(HashSet::new));
+    }
+}
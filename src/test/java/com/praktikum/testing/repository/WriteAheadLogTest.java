@@ -0,0 +1,261 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Write-Ahead Log")
+class WriteAheadLogTest {
+
+    @TempDir
+    Path direktori;
+
+    @Test
+    @DisplayName("Jumlah tersedia dipulihkan dari log setelah restart")
+    void testPulihkanJumlahTersedia() throws IOException {
+        MockRepositoryBuku katalog = katalogAwal();
+        try (WriteAheadLog wal = new WriteAheadLog(direktori)) {
+            JournaledRepositoryBuku repository = new JournaledRepositoryBuku(katalog, wal);
+            assertEquals(4, repository.kurangiJumlahTersedia("1234567890"));
+            assertEquals(3, repository.kurangiJumlahTersedia("1234567890"));
+            assertTrue(repository.updateJumlahTersedia("0987654321", 1));
+            assertEquals(-1, repository.kurangiJumlahTersedia("9999999999"), "Gagal tidak dicatat");
+            assertEquals(3, wal.getJumlahEntri());
+        }
+
+        MockRepositoryBuku katalogBaru = katalogAwal();
+        try (WriteAheadLog wal = new WriteAheadLog(direktori)) {
+            new JournaledRepositoryBuku(katalogBaru, wal).pulihkan();
+        }
+        assertEquals(3, katalogBaru.cariByIsbn("1234567890").get().getJumlahTersedia());
+        assertEquals(1, katalogBaru.cariByIsbn("0987654321").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Sirkulasi service dicatat satu entri per transaksi dan dipulihkan ke repository")
+    void testSirkulasiDipulihkan() throws IOException {
+        try (WriteAheadLog wal = new WriteAheadLog(direktori)) {
+            ServicePerpustakaan service = ServicePerpustakaan.builder(
+                    new JournaledRepositoryBuku(katalogAwal(), wal), new KalkulatorDenda()).jurnal(wal).build();
+            Anggota anggota = anggotaBaru();
+            assertTrue(service.pinjamBuku("1234567890", anggota));
+            assertTrue(service.pinjamBuku("0987654321", anggota));
+            assertTrue(service.kembalikanBuku("1234567890", anggota));
+            assertEquals(3, wal.getJumlahEntri(), "Stok dan peminjaman berada di entri yang sama");
+            assertEquals(3, wal.getJumlahFsync());
+        }
+
+        // Setelah crash: katalog dimuat ulang, anggota tanpa pinjaman, riwayat peminjaman kosong
+        MockRepositoryBuku katalog = katalogAwal();
+        ShardedRepositoryAnggota repositoryAnggota = new ShardedRepositoryAnggota();
+        Anggota anggota = anggotaBaru();
+        repositoryAnggota.simpan(anggota);
+        InMemoryRepositoryPeminjaman repositoryPeminjaman = new InMemoryRepositoryPeminjaman();
+        try (WriteAheadLog wal = new WriteAheadLog(direktori)) {
+            JournaledRepositoryBuku repository = new JournaledRepositoryBuku(katalog, wal);
+            repository.pulihkan(repositoryAnggota, repositoryPeminjaman);
+            repository.pulihkan(repositoryAnggota, repositoryPeminjaman);
+        }
+
+        assertEquals(5, katalog.cariByIsbn("1234567890").get().getJumlahTersedia());
+        assertEquals(2, katalog.cariByIsbn("0987654321").get().getJumlahTersedia());
+        assertEquals(List.of("0987654321"), anggota.getIdBukuDipinjam());
+        assertEquals(2, repositoryPeminjaman.cariSemua().size(), "Pemulihan kedua tidak menggandakan peminjaman");
+        assertTrue(repositoryPeminjaman.cariAktif("A001", "1234567890").isEmpty());
+        Peminjaman aktif = repositoryPeminjaman.cariAktif("A001", "0987654321").get();
+        assertEquals(LocalDate.now(), aktif.getTanggalPinjam());
+        assertEquals(LocalDate.now().plusDays(14), aktif.getTanggalJatuhTempo());
+    }
+
+    @Test
+    @DisplayName("Entri gagal ditulis - mutasi stok dibatalkan")
+    void testMutasiDibatalkan() throws IOException {
+        MockRepositoryBuku katalog = katalogAwal();
+        try (WriteAheadLog wal = new WriteAheadLog(direktori)) {
+            String idTerlaluPanjang = "A".repeat(70_000);
+            Peminjaman peminjaman = new Peminjaman("P001", idTerlaluPanjang, "1234567890",
+                    LocalDate.now(), LocalDate.now().plusDays(14));
+            assertThrows(IllegalArgumentException.class, () -> wal.catatPinjam(peminjaman,
+                    () -> katalog.kurangiJumlahTersedia("1234567890"), hasil -> katalog.tambahJumlahTersedia("1234567890")));
+            assertEquals(5, katalog.cariByIsbn("1234567890").get().getJumlahTersedia());
+            assertEquals(0, wal.getJumlahEntri());
+        }
+
+        WriteAheadLog tertutup = new WriteAheadLog(direktori);
+        tertutup.close();
+        JournaledRepositoryBuku repository = new JournaledRepositoryBuku(katalog, tertutup);
+        assertThrows(IllegalStateException.class, () -> repository.kurangiJumlahTersedia("1234567890"));
+        assertEquals(5, katalog.cariByIsbn("1234567890").get().getJumlahTersedia(), "Log tertutup - stok tidak disentuh");
+    }
+
+    @Test
+    @DisplayName("Entri format lama (pinjam/kembali tanpa catatan) tetap bisa diputar ulang")
+    void testEntriFormatLama() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        buffer = WriteAheadLog.tulisEntri(buffer, WriteAheadLog.TIPE_PINJAM, new String[]{"A001", "1234567890"});
+        buffer = WriteAheadLog.tulisEntri(buffer, WriteAheadLog.TIPE_PINJAM, new String[]{"A001", "0987654321"});
+        buffer = WriteAheadLog.tulisEntri(buffer, WriteAheadLog.TIPE_KEMBALI, new String[]{"A001", "1234567890"});
+        Files.write(direktori.resolve("wal.log"), Arrays.copyOf(buffer.array(), buffer.position()));
+
+        assertEquals(Set.of("0987654321"), putarUlangPinjaman().get("A001"));
+        try (WriteAheadLog wal = new WriteAheadLog(direktori)) {
+            wal.snapshot();
+        }
+        assertEquals(Set.of("0987654321"), putarUlangPinjaman().get("A001"));
+    }
+
+    @Test
+    @DisplayName("Ekor log yang terpotong diabaikan dan dibuang")
+    void testEkorTerpotong() throws IOException {
+        try (WriteAheadLog wal = new WriteAheadLog(direktori)) {
+            pinjam(wal, "A001", "1234567890");
+            pinjam(wal, "A002", "0987654321");
+        }
+        // Simulasi crash di tengah penulisan entri
+        Files.write(direktori.resolve("wal.log"), new byte[]{0, 0, 0, 20, 1, 2}, StandardOpenOption.APPEND);
+
+        try (WriteAheadLog wal = new WriteAheadLog(direktori)) {
+            pinjam(wal, "A003", "1111111111");
+        }
+        Map<String, Set<String>> pinjaman = putarUlangPinjaman();
+        assertEquals(3, pinjaman.size(), "Entri setelah ekor rusak harus tetap terbaca");
+    }
+
+    @Test
+    @DisplayName("Snapshot melipat log dan state tetap sama")
+    void testSnapshot() throws IOException {
+        try (WriteAheadLog wal = new WriteAheadLog(direktori)) {
+            wal.catatJumlahTersedia("1234567890", () -> 4);
+            pinjam(wal, "A001", "1234567890");
+            pinjam(wal, "A001", "0987654321");
+            wal.snapshot();
+            wal.catatKembali("P-A001-1234567890", "A001", "1234567890", LocalDate.now(), () -> 4, hasil -> { });
+            wal.catatJumlahTersedia("1234567890", () -> 5);
+        }
+        assertFalse(Files.exists(direktori.resolve("wal.log.1")));
+        assertTrue(Files.exists(direktori.resolve("snapshot.bin")));
+
+        Map<String, Integer> tersedia = new HashMap<>();
+        Map<String, Set<String>> pinjaman = new HashMap<>();
+        try (WriteAheadLog wal = new WriteAheadLog(direktori)) {
+            wal.putarUlang(pemutar(tersedia, pinjaman));
+        }
+        assertEquals(5, tersedia.get("1234567890"));
+        assertEquals(Set.of("0987654321"), pinjaman.get("A001"));
+    }
+
+    @Test
+    @DisplayName("Snapshot otomatis setelah sejumlah entri")
+    void testSnapshotOtomatis() throws IOException {
+        try (WriteAheadLog wal = new WriteAheadLog(direktori, 10)) {
+            for (int i = 0; i < 25; i++) {
+                wal.catatJumlahTersedia("1234567890", () -> 1);
+            }
+        }
+        assertTrue(Files.exists(direktori.resolve("snapshot.bin")));
+    }
+
+    @Test
+    @DisplayName("Penulis konkuren digabung ke lebih sedikit fsync")
+    void testGroupCommit() throws Exception {
+        int jumlahThread = 8;
+        int entriPerThread = 200;
+        try (WriteAheadLog wal = new WriteAheadLog(direktori)) {
+            ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+            CountDownLatch mulai = new CountDownLatch(1);
+            List<Future<Object>> hasil = new ArrayList<>();
+            for (int t = 0; t < jumlahThread; t++) {
+                String idAnggota = "A00" + t;
+                hasil.add(executor.submit(() -> {
+                    mulai.await();
+                    for (int i = 0; i < entriPerThread; i++) {
+                        pinjam(wal, idAnggota, String.format("978%010d", i));
+                    }
+                    return null;
+                }));
+            }
+            mulai.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            for (Future<Object> f : hasil) {
+                f.get();
+            }
+
+            assertEquals(jumlahThread * entriPerThread, wal.getJumlahEntri());
+            assertTrue(wal.getJumlahFsync() < wal.getJumlahEntri(),
+                    "fsync=" + wal.getJumlahFsync() + " harus lebih sedikit dari entri");
+        }
+        assertEquals(jumlahThread, putarUlangPinjaman().size());
+    }
+
+    private static void pinjam(WriteAheadLog wal, String idAnggota, String isbn) {
+        Peminjaman peminjaman = new Peminjaman("P-" + idAnggota + "-" + isbn, idAnggota, isbn,
+                LocalDate.now(), LocalDate.now().plusDays(14));
+        wal.catatPinjam(peminjaman, () -> 0, hasil -> { });
+    }
+
+    private static Anggota anggotaBaru() {
+        return new Anggota("A001", "John Student", "john@student.ac.id",
+                "081234567890", Anggota.TipeAnggota.MAHASISWA);
+    }
+
+    private Map<String, Set<String>> putarUlangPinjaman() throws IOException {
+        Map<String, Set<String>> pinjaman = new HashMap<>();
+        try (WriteAheadLog wal = new WriteAheadLog(direktori)) {
+            wal.putarUlang(pemutar(new HashMap<>(), pinjaman));
+        }
+        return pinjaman;
+    }
+
+    private static WriteAheadLog.PemutarUlang pemutar(Map<String, Integer> tersedia, Map<String, Set<String>> pinjaman) {
+        return new WriteAheadLog.PemutarUlang() {
+            @Override
+            public void jumlahTersedia(String isbn, int jumlah) {
+                tersedia.put(isbn, jumlah);
+            }
+
+            @Override
+            public void dipinjam(Peminjaman peminjaman) {
+                pinjaman.computeIfAbsent(peminjaman.getIdAnggota(), k -> new HashSet<>()).add(peminjaman.getIsbnBuku());
+            }
+
+            @Override
+            public void dikembalikan(String idPeminjaman, String idAnggota, String isbn, LocalDate tanggalKembali) {
+                pinjaman.getOrDefault(idAnggota, new HashSet<>()).remove(isbn);
+            }
+        };
+    }
+
+    private static MockRepositoryBuku katalogAwal() {
+        MockRepositoryBuku katalog = new MockRepositoryBuku();
+        katalog.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 180000.0));
+        katalog.simpan(new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 120000.0));
+        return katalog;
+    }
+}
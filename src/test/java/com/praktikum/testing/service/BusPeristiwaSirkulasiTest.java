@@ -0,0 +1,135 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.TrigramRepositoryBuku;
+import com.praktikum.testing.util.StrategiTunggu;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Bus Peristiwa Sirkulasi")
+class BusPeristiwaSirkulasiTest {
+
+    private static final String ISBN = "9780000000001";
+
+    private BusPeristiwaSirkulasi bus;
+    private List<String> diterima;
+    private ServicePerpustakaan service;
+    private Anggota anggota;
+
+    @BeforeEach
+    void setUp() {
+        bus = new BusPeristiwaSirkulasi(8, StrategiTunggu.blokir());
+        diterima = new ArrayList<>();
+        // Slot dipakai ulang: penangan menyalin isinya, bukan menyimpan objek peristiwa
+        bus.tambahKonsumen("audit", (peristiwa, urutan, akhirBatch) -> diterima.add(peristiwa.toString()));
+        bus.mulai();
+        service = ServicePerpustakaan.builder(new TrigramRepositoryBuku(), new KalkulatorDenda())
+                .busPeristiwa(bus)
+                .build();
+        anggota = new Anggota("A001", "Ani", "ani@kampus.ac.id", "081234567890", Anggota.TipeAnggota.MAHASISWA);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
+    @Test
+    @DisplayName("Operasi yang berhasil diterbitkan sesuai urutan, yang ditolak tidak")
+    void testUrutanPeristiwa() {
+        assertTrue(service.tambahBuku(new Buku(ISBN, "Jaringan Komputer", "Andi Wijaya", 2, 1.0)));
+        assertFalse(service.tambahBuku(new Buku(ISBN, "Jaringan Komputer", "Andi Wijaya", 2, 1.0)));
+        assertTrue(service.pinjamBuku(ISBN, anggota));
+        assertFalse(service.pinjamBuku(ISBN, anggota));
+        assertFalse(service.hapusBuku(ISBN));
+        assertTrue(service.kembalikanBuku(ISBN, anggota));
+        assertTrue(service.hapusBuku(ISBN));
+        bus.close();
+
+        assertEquals(List.of(
+                "BUKU_DITAMBAH " + ISBN + " (tersedia 2)",
+                "DIPINJAM " + ISBN + " oleh A001 (tersedia 1)",
+                "DIKEMBALIKAN " + ISBN + " oleh A001 (tersedia 2)",
+                "BUKU_DIHAPUS " + ISBN + " (tersedia 0)"), diterima);
+    }
+
+    @Test
+    @DisplayName("Lebih banyak peristiwa dari ukuran buffer - penerbit menunggu, tidak ada yang hilang")
+    void testMelebihiUkuranBuffer() {
+        assertTrue(service.tambahBuku(new Buku(ISBN, "Jaringan Komputer", "Andi Wijaya", 1, 1.0)));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(service.pinjamBuku(ISBN, anggota));
+            assertTrue(service.kembalikanBuku(ISBN, anggota));
+        }
+        bus.close();
+        assertEquals(201, diterima.size());
+        assertEquals(0, bus.getJumlahGagal());
+    }
+
+    @Test
+    @DisplayName("Setelah bus ditutup service tetap berjalan dan peristiwa diabaikan")
+    void testSetelahDitutup() {
+        bus.close();
+        assertTrue(service.tambahBuku(new Buku(ISBN, "Jaringan Komputer", "Andi Wijaya", 1, 1.0)));
+        for (int i = 0; i < 20; i++) {
+            assertTrue(service.pinjamBuku(ISBN, anggota));
+            assertTrue(service.kembalikanBuku(ISBN, anggota));
+        }
+        assertTrue(diterima.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Buku dari imporKatalog diterbitkan sebagai BUKU_DITAMBAH, baris yang ditolak tidak")
+    void testImporKatalog(@TempDir Path direktori) throws IOException {
+        Path file = direktori.resolve("katalog.csv");
+        Files.write(file, List.of(
+                "isbn,judul,pengarang,jumlahTotal,harga",
+                ISBN + ",Jaringan Komputer,Andi Wijaya,2,50000",
+                ISBN + ",Jaringan Komputer,Andi Wijaya,2,50000",
+                "9780000000002,Basis Data,Budi Santoso,3,60000"), StandardCharsets.UTF_8);
+
+        HasilImpor hasil = service.imporKatalog(file);
+        bus.close();
+
+        assertEquals(2, hasil.getJumlahDiterima());
+        assertEquals(List.of(
+                "BUKU_DITAMBAH " + ISBN + " (tersedia 2)",
+                "BUKU_DITAMBAH 9780000000002 (tersedia 3)"), diterima);
+    }
+
+    @Test
+    @DisplayName("Popularitas diperbarui konsumen bus, bukan di thread peminjam")
+    void testPopularitasLewatBus() {
+        PelacakPopularitas pelacak = new PelacakPopularitas(Clock.systemUTC());
+        ServicePerpustakaan.Builder builder = ServicePerpustakaan.builder(new TrigramRepositoryBuku(), new KalkulatorDenda())
+                .pelacakPopularitas(pelacak);
+        assertThrows(IllegalStateException.class, () -> builder.busPeristiwa(bus).build(),
+                "Konsumen popularitas tidak bisa didaftarkan ke bus yang sudah dimulai");
+
+        try (BusPeristiwaSirkulasi busBaru = new BusPeristiwaSirkulasi(8, StrategiTunggu.blokir())) {
+            ServicePerpustakaan servicePopularitas = builder.busPeristiwa(busBaru).build();
+            busBaru.mulai();
+            assertTrue(servicePopularitas.tambahBuku(new Buku(ISBN, "Jaringan Komputer", "Andi Wijaya", 1, 1.0)));
+            for (int i = 0; i < 3; i++) {
+                assertTrue(servicePopularitas.pinjamBuku(ISBN, anggota));
+                assertTrue(servicePopularitas.kembalikanBuku(ISBN, anggota));
+            }
+            busBaru.close();
+            assertEquals(3, pelacak.perkiraan(ISBN));
+        }
+    }
+}
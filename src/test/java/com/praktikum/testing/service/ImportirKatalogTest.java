@@ -0,0 +1,96 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.repository.TrigramRepositoryBuku;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Importir Katalog")
+class ImportirKatalogTest {
+
+    @TempDir
+    Path direktori;
+
+    @Test
+    @DisplayName("Baris valid disimpan dan setiap penolakan dilaporkan dengan alasannya")
+    void testImporDenganPenolakan() throws IOException {
+        MockRepositoryBuku repository = new MockRepositoryBuku();
+        repository.simpan(new Buku("1111111111", "Sudah Ada", "Penulis", 1, 1000.0));
+
+        String csv = "isbn,judul,pengarang,jumlahTotal,harga\n"
+                + "1234567890,Pemrograman Java,John Doe,5,180000\n"           // 2 diterima
+                + "0987654321,\"Algoritma, Struktur \"\"Data\"\"\",Jane Smith,3,120000\n" // 3 diterima
+                + "\n"                                                          // 4 dilewati
+                + "123,Judul,Pengarang,5,1000\n"                                // 5 data tidak valid
+                + "2222222222,Judul,Pengarang,lima,1000\n"                      // 6 format
+                + "3333333333,Judul,Pengarang,5\n"                              // 7 format
+                + "1234567890,Judul Lain,Pengarang,1,1000\n"                    // 8 ganda di file
+                + "1111111111,Judul,Pengarang,1,1000\n";                        // 9 sudah ada
+
+        HasilImpor hasil = new ImportirKatalog(repository).impor(new StringReader(csv));
+
+        assertEquals(2, hasil.getJumlahDiterima());
+        assertEquals(5, hasil.getJumlahDitolak());
+        Map<Long, HasilImpor.AlasanPenolakan> alasan = hasil.getPenolakan().stream()
+                .collect(Collectors.toMap(HasilImpor.Penolakan::getNomorBaris, HasilImpor.Penolakan::getAlasan));
+        assertEquals(Map.of(
+                5L, HasilImpor.AlasanPenolakan.DATA_TIDAK_VALID,
+                6L, HasilImpor.AlasanPenolakan.FORMAT_TIDAK_VALID,
+                7L, HasilImpor.AlasanPenolakan.FORMAT_TIDAK_VALID,
+                8L, HasilImpor.AlasanPenolakan.ISBN_GANDA_DALAM_FILE,
+                9L, HasilImpor.AlasanPenolakan.ISBN_SUDAH_ADA), alasan);
+
+        assertEquals("Algoritma, Struktur \"Data\"", repository.cariByIsbn("0987654321").get().getJudul());
+        assertEquals("Pemrograman Java", repository.cariByIsbn("1234567890").get().getJudul());
+        assertEquals("Sudah Ada", repository.cariByIsbn("1111111111").get().getJudul());
+    }
+
+    @Test
+    @DisplayName("Impor file besar melewati banyak potongan lewat service")
+    void testImporBanyakPotongan() throws IOException {
+        Path file = direktori.resolve("katalog.csv");
+        int jumlahBaris = ImportirKatalog.UKURAN_POTONGAN * 3 + 17;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < jumlahBaris; i++) {
+                // Setiap baris ke-1000 mengulang ISBN baris sebelumnya
+                int nomor = i % 1000 == 999 ? i - 1 : i;
+                writer.write(String.format("978%010d,Judul %d,Pengarang %d,2,50000%n", nomor, i, i % 50));
+            }
+        }
+
+        TrigramRepositoryBuku repository = new TrigramRepositoryBuku();
+        ServicePerpustakaan service = new ServicePerpustakaan(repository, new KalkulatorDenda());
+        HasilImpor hasil = service.imporKatalog(file);
+
+        long ganda = jumlahBaris / 1000;
+        assertEquals(jumlahBaris - ganda, hasil.getJumlahDiterima());
+        assertEquals(ganda, hasil.getJumlahDitolak());
+        assertEquals(1000, hasil.getPenolakan().get(0).getNomorBaris());
+        assertEquals(jumlahBaris - ganda, repository.ukuran());
+        assertEquals(jumlahBaris / 50 + 1, repository.cariByPengarang("pengarang 7").size());
+    }
+
+    @Test
+    @DisplayName("Pemisah kolom CSV menangani kutip dan jumlah kolom salah")
+    void testPisahKolom() {
+        assertArrayEquals(new String[]{"a", "b", "c", "d", ""}, ImportirKatalog.pisahKolom("a, b ,c,d,"));
+        assertArrayEquals(new String[]{"a,b", "", "\"", "d", "e"}, ImportirKatalog.pisahKolom("\"a,b\",\"\",\"\"\"\",d,e"));
+        assertNull(ImportirKatalog.pisahKolom("a,b,c,d"));
+        assertNull(ImportirKatalog.pisahKolom("a,b,c,d,e,f"));
+        assertNull(ImportirKatalog.pisahKolom("\"a,b,c,d,e"));
+        assertNull(ImportirKatalog.pisahKolom("\"a\"x,b,c,d,e"));
+    }
+}
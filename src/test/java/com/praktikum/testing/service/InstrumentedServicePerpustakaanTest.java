@@ -0,0 +1,119 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.InMemoryRepositoryPeminjaman;
+import com.praktikum.testing.repository.InstrumentedRepositoryBuku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.util.Instrumentasi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Instrumentasi Service Perpustakaan")
+class InstrumentedServicePerpustakaanTest {
+
+    private Instrumentasi instrumentasi;
+    private InstrumentedServicePerpustakaan service;
+    private Anggota anggota;
+
+    @BeforeEach
+    void setUp() {
+        MockRepositoryBuku katalog = new MockRepositoryBuku();
+        katalog.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 1, 150000.0));
+        for (int i = 0; i < 4; i++) {
+            katalog.simpan(new Buku(String.format("978%010d", i), "Judul " + i, "Pengarang", 1, 50000.0));
+        }
+        instrumentasi = new Instrumentasi("perpustakaan");
+        service = new InstrumentedServicePerpustakaan(new ServicePerpustakaan(
+                new InstrumentedRepositoryBuku(katalog, instrumentasi), new InMemoryRepositoryPeminjaman(),
+                new KalkulatorDenda()), instrumentasi);
+        anggota = new Anggota("A001", "John Student", "john@student.ac.id", "081234567890",
+                Anggota.TipeAnggota.MAHASISWA);
+    }
+
+    @Test
+    @DisplayName("Penolakan pinjam dihitung per alasan")
+    void testAlasanPenolakan() {
+        Anggota lain = new Anggota("A002", "Jane Student", "jane@student.ac.id", "081111111111",
+                Anggota.TipeAnggota.MAHASISWA);
+        assertTrue(service.pinjamBuku("1234567890", lain));
+        assertFalse(service.pinjamBuku("1234567890", anggota));
+        assertFalse(service.pinjamBuku("9999999999", anggota));
+        assertFalse(service.pinjamBuku("1234567890", (Anggota) null));
+        assertFalse(service.pinjamBuku("1234567890", "A999"));
+        assertFalse(service.pinjamBuku("1234567890", lain));
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(service.pinjamBuku(String.format("978%010d", i), anggota));
+        }
+        assertFalse(service.pinjamBuku("9780000000003", anggota));
+        anggota.setAktif(false);
+        assertFalse(service.pinjamBuku("9780000000003", anggota));
+
+        Instrumentasi.Snapshot snapshot = instrumentasi.snapshot();
+        String operasi = "service.pinjamBuku";
+        assertEquals(4, snapshot.getJumlahHasil(operasi, HasilSirkulasi.BERHASIL));
+        assertEquals(1, snapshot.getJumlahHasil(operasi, HasilSirkulasi.STOK_HABIS));
+        assertEquals(1, snapshot.getJumlahHasil(operasi, HasilSirkulasi.BUKU_TIDAK_ADA));
+        assertEquals(1, snapshot.getJumlahHasil(operasi, HasilSirkulasi.ANGGOTA_TIDAK_VALID));
+        assertEquals(1, snapshot.getJumlahHasil(operasi, HasilSirkulasi.ANGGOTA_TIDAK_TERDAFTAR));
+        assertEquals(1, snapshot.getJumlahHasil(operasi, HasilSirkulasi.SUDAH_DIPINJAM));
+        assertEquals(1, snapshot.getJumlahHasil(operasi, HasilSirkulasi.BATAS_PINJAM));
+        assertEquals(1, snapshot.getJumlahHasil(operasi, HasilSirkulasi.ANGGOTA_TIDAK_AKTIF));
+        assertEquals(11, snapshot.getLatensi().get(operasi).getJumlah());
+    }
+
+    @Test
+    @DisplayName("Hasil kembalikan dan latensi repository tercatat")
+    void testKembalikanDanRepository() {
+        assertTrue(service.pinjamBuku("1234567890", anggota));
+        assertTrue(service.kembalikanBuku("1234567890", anggota));
+        assertFalse(service.kembalikanBuku("1234567890", anggota));
+        assertFalse(service.kembalikanBuku("123", anggota));
+        assertEquals(1, (int) service.ukur("getJumlahTersedia", s -> s.getJumlahTersedia("1234567890")));
+
+        Instrumentasi.Snapshot snapshot = instrumentasi.snapshot();
+        assertEquals(1, snapshot.getJumlahHasil("service.kembalikanBuku", HasilSirkulasi.BERHASIL));
+        assertEquals(1, snapshot.getJumlahHasil("service.kembalikanBuku", HasilSirkulasi.TIDAK_DIPINJAM));
+        assertEquals(1, snapshot.getJumlahHasil("service.kembalikanBuku", HasilSirkulasi.ISBN_TIDAK_VALID));
+        assertEquals(1, snapshot.getLatensi().get("repository.kurangiJumlahTersedia").getJumlah());
+        assertEquals(1, snapshot.getLatensi().get("repository.tambahJumlahTersedia").getJumlah());
+        assertEquals(1, snapshot.getLatensi().get("repository.cariByIsbn").getJumlah());
+        assertEquals(1, snapshot.getLatensi().get("service.getJumlahTersedia").getJumlah());
+    }
+
+    @Test
+    @DisplayName("Dengan sampling, hasil tetap dihitung lengkap dan latensi hanya sebagian")
+    void testSampling() {
+        Instrumentasi tersampel = new Instrumentasi("perpustakaan", 64);
+        InstrumentedServicePerpustakaan terukur = new InstrumentedServicePerpustakaan(
+                new ServicePerpustakaan(new MockRepositoryBuku(), new KalkulatorDenda()), tersampel);
+        for (int i = 0; i < 6400; i++) {
+            assertFalse(terukur.pinjamBuku("1234567890", anggota));
+        }
+
+        Instrumentasi.Snapshot snapshot = tersampel.snapshot();
+        assertEquals(6400, snapshot.getJumlahHasil("service.pinjamBuku", HasilSirkulasi.BUKU_TIDAK_ADA));
+        long sampel = snapshot.getLatensi().get("service.pinjamBuku").getJumlahSampel();
+        assertTrue(sampel > 50 && sampel < 150, "sampel " + sampel);
+    }
+
+    @Test
+    @DisplayName("Ekspor teks format Prometheus")
+    void testEksporTeks() {
+        service.pinjamBuku("1234567890", anggota);
+        service.pinjamBuku("1234567890", anggota);
+
+        String teks = instrumentasi.snapshot().eksporTeks();
+        assertTrue(teks.contains("# TYPE perpustakaan_latensi_nanos summary\n"), teks);
+        assertTrue(teks.contains("perpustakaan_latensi_nanos_count{operasi=\"service.pinjamBuku\"} 2\n"), teks);
+        assertTrue(teks.contains("perpustakaan_latensi_nanos{operasi=\"service.pinjamBuku\",quantile=\"0.99\"} "), teks);
+        assertTrue(teks.contains(
+                "perpustakaan_hasil_total{operasi=\"service.pinjamBuku\",hasil=\"SUDAH_DIPINJAM\"} 1\n"), teks);
+        assertTrue(teks.contains(
+                "perpustakaan_hasil_total{operasi=\"service.pinjamBuku\",hasil=\"STOK_HABIS\"} 0\n"), teks);
+    }
+}
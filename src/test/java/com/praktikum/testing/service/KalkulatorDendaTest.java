@@ -7,6 +7,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -152,5 +156,98 @@ public class KalkulatorDendaTest {
         assertEquals("Denda sedang", kalkulatorDenda.getDeskripsiDenda(25000.0));
         assertEquals("Denda berat", kalkulatorDenda.getDeskripsiDenda(75000.0));
     }
-}
 
+    @Test
+    @DisplayName("Denda massal sama dengan perhitungan per peminjaman")
+    void testHitungDendaMassalSamaDenganPerItem() {
+        Map<String, Anggota> anggotaById = Map.of("M001", anggotaMahasiswa, "D001", anggotaDosen, "U001", anggotaUmum);
+        String[] idAnggota = {"M001", "D001", "U001"};
+        LocalDate hariIni = LocalDate.now();
+        List<Peminjaman> daftar = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            // Jatuh tempo antara 40 hari lalu dan 9 hari lagi, sebagian sudah dikembalikan
+            LocalDate jatuhTempo = hariIni.minusDays(i % 50 - 9);
+            Peminjaman p = new Peminjaman("P" + i, idAnggota[i % 3], "1234567890",
+                    jatuhTempo.minusDays(14), jatuhTempo);
+            if (i % 7 == 0) {
+                p.setTanggalKembali(jatuhTempo.plusDays(i % 5));
+                p.setSudahDikembalikan(true);
+            }
+            daftar.add(p);
+        }
+
+        HasilDendaMassal hasil = kalkulatorDenda.hitungDendaMassal(daftar, anggotaById, hariIni, new ForkJoinPool(4));
+
+        assertEquals(daftar.size(), hasil.getJumlahPeminjaman());
+        double total = 0;
+        double totalMahasiswa = 0;
+        for (int i = 0; i < daftar.size(); i++) {
+            Peminjaman p = daftar.get(i);
+            double denda = kalkulatorDenda.hitungDenda(p, anggotaById.get(p.getIdAnggota()));
+            assertEquals(denda, hasil.getDenda(i), "indeks " + i);
+            total += denda;
+            if (p.getIdAnggota().equals("M001")) {
+                totalMahasiswa += denda;
+            }
+        }
+        assertEquals(total, hasil.getTotal(), 0.001);
+        assertEquals(totalMahasiswa, hasil.getTotalDenda("M001"), 0.001);
+    }
+
+    @Test
+    @DisplayName("Denda massal memakai tanggal acuan, bukan tanggal hari ini")
+    void testHitungDendaMassalTanggalAcuan() {
+        LocalDate jatuhTempo = LocalDate.of(2024, 3, 1);
+        Peminjaman peminjaman = new Peminjaman("P001", "M001", "1234567890", jatuhTempo.minusDays(14), jatuhTempo);
+        Map<String, Anggota> anggotaById = Map.of("M001", anggotaMahasiswa);
+
+        HasilDendaMassal hasil = kalkulatorDenda.hitungDendaMassal(List.of(peminjaman), anggotaById,
+                jatuhTempo.plusDays(3));
+        assertEquals(3000.0, hasil.getDenda(0));
+        assertEquals(3000.0, hasil.getTotalDenda("M001"));
+
+        HasilDendaMassal tepatWaktu = kalkulatorDenda.hitungDendaMassal(List.of(peminjaman).stream(), anggotaById,
+                jatuhTempo);
+        assertEquals(0.0, tepatWaktu.getTotal());
+        assertTrue(tepatWaktu.getTotalPerAnggota().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Denda massal dari stream lebih dari satu blok sama dengan versi List")
+    void testHitungDendaMassalStreamBanyakBlok() {
+        Map<String, Anggota> anggotaById = Map.of("M001", anggotaMahasiswa, "D001", anggotaDosen);
+        LocalDate hariAcuan = LocalDate.of(2024, 3, 1);
+        int jumlah = KalkulatorDenda.UKURAN_BLOK_STREAM * 2 + 17;
+        List<Peminjaman> daftar = new ArrayList<>(jumlah);
+        for (int i = 0; i < jumlah; i++) {
+            LocalDate jatuhTempo = hariAcuan.minusDays(i % 40 - 9);
+            daftar.add(new Peminjaman("P" + i, i % 2 == 0 ? "M001" : "D001", "1234567890",
+                    jatuhTempo.minusDays(14), jatuhTempo));
+        }
+
+        HasilDendaMassal dariList = kalkulatorDenda.hitungDendaMassal(daftar, anggotaById, hariAcuan);
+        // filter membuat ukuran stream tidak diketahui, jadi blok dipakai penuh
+        HasilDendaMassal dariStream = kalkulatorDenda.hitungDendaMassal(
+                daftar.stream().filter(p -> true), anggotaById, hariAcuan);
+
+        assertEquals(jumlah, dariStream.getJumlahPeminjaman());
+        for (int i = 0; i < jumlah; i += 997) {
+            assertEquals(dariList.getDenda(i), dariStream.getDenda(i), "indeks " + i);
+        }
+        assertEquals(dariList.getDenda(jumlah - 1), dariStream.getDenda(jumlah - 1));
+        assertEquals(dariList.getTotal(), dariStream.getTotal(), 0.001);
+        assertEquals(dariList.getTotalPerAnggota(), dariStream.getTotalPerAnggota());
+    }
+
+    @Test
+    @DisplayName("Denda massal dengan anggota tidak dikenal - harus throw exception")
+    void testHitungDendaMassalAnggotaTidakDikenal() {
+        LocalDate jatuhTempo = LocalDate.of(2024, 3, 1);
+        Peminjaman peminjaman = new Peminjaman("P001", "X001", "1234567890", jatuhTempo.minusDays(14), jatuhTempo);
+
+        assertThrows(IllegalArgumentException.class, () -> kalkulatorDenda.hitungDendaMassal(
+                List.of(peminjaman), Map.of("M001", anggotaMahasiswa), jatuhTempo.plusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> kalkulatorDenda.hitungDendaMassal(
+                List.of(peminjaman), Map.of(), null));
+    }
+}
@@ -0,0 +1,174 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.TrigramRepositoryBuku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Pelacak Popularitas")
+class PelacakPopularitasTest {
+
+    private PemantauKeterlambatanTest.JamUji jam;
+    private PelacakPopularitas pelacak;
+
+    @BeforeEach
+    void setUp() {
+        jam = new PemantauKeterlambatanTest.JamUji(LocalDate.of(2024, 3, 4));
+        pelacak = new PelacakPopularitas(jam, Duration.ofDays(7), 7, 3, 1 << 12);
+    }
+
+    @Test
+    @DisplayName("K teratas terurut jumlah pinjam, buku yang jarang dipinjam tidak masuk")
+    void testTeratas() {
+        pinjam("A", 50);
+        pinjam("B", 30);
+        pinjam("C", 20);
+        pinjam("D", 10);
+        for (int i = 0; i < 500; i++) {
+            pelacak.catatPinjam("jarang-" + i);
+        }
+        List<PelacakPopularitas.Peringkat> teratas = pelacak.teratas();
+        assertEquals(List.of("A", "B", "C"), isbn(teratas));
+        assertEquals(50, teratas.get(0).getJumlah());
+        assertEquals(30, teratas.get(1).getJumlah());
+        assertEquals(20, teratas.get(2).getJumlah());
+
+        pinjam("D", 25);
+        assertEquals(List.of("A", "D", "B"), isbn(pelacak.teratas()));
+    }
+
+    @Test
+    @DisplayName("Pinjaman yang keluar dari jendela tujuh hari tidak dihitung lagi")
+    void testJendelaBergeser() {
+        pinjam("A", 40);
+        jam.majuHari(3);
+        pinjam("B", 30);
+        pinjam("A", 5);
+        assertEquals(List.of("A", "B"), isbn(pelacak.teratas()));
+        assertEquals(45, pelacak.perkiraan("A"));
+
+        jam.majuHari(4);
+        assertEquals(List.of("B", "A"), isbn(pelacak.teratas()), "Pinjaman hari pertama sudah keluar");
+        assertEquals(5, pelacak.perkiraan("A"));
+
+        jam.majuHari(3);
+        pinjam("C", 1);
+        assertEquals(List.of("C"), isbn(pelacak.teratas()));
+
+        jam.majuHari(30);
+        assertTrue(pelacak.teratas().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Kandidat tetap terbatas meskipun ISBN berbeda sangat banyak")
+    void testMemoriTetap() {
+        pelacak = new PelacakPopularitas(jam, Duration.ofDays(7), 7, 3, 1 << 16);
+        for (int i = 0; i < 20; i++) {
+            pinjam("populer-" + i, 100 + 10 * i);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            pelacak.catatPinjam("sekali-" + i);
+            assertTrue(pelacak.getJumlahKandidat() <= 2 * 64 + 1, "kandidat " + pelacak.getJumlahKandidat());
+        }
+        assertEquals(List.of("populer-19", "populer-18", "populer-17"), isbn(pelacak.teratas()));
+        assertTrue(pelacak.getJumlahKandidat() <= 64);
+    }
+
+    @Test
+    @DisplayName("Pemimpin keluar dari jendela - buku lain yang masih dipinjam di jendela menggantikannya")
+    void testPemimpinKeluarJendela() {
+        pelacak = new PelacakPopularitas(jam, Duration.ofDays(7), 7, 1, 1 << 12);
+        pinjam("A", 100);
+        assertEquals(List.of("A"), isbn(pelacak.teratas()));
+
+        jam.majuHari(3);
+        pinjam("B", 50);
+        pinjam("C", 20);
+        assertEquals(List.of("A"), isbn(pelacak.teratas()));
+
+        jam.majuHari(5);
+        assertEquals(50, pelacak.perkiraan("B"));
+        List<PelacakPopularitas.Peringkat> teratas = pelacak.teratas();
+        assertEquals(List.of("B"), isbn(teratas), "Pinjaman A di hari pertama sudah keluar");
+        assertEquals(50, teratas.get(0).getJumlah());
+    }
+
+    @Test
+    @DisplayName("Ambang turun saat slot berganti - buku yang kalah dari ambang lama tetap tercatat")
+    void testAmbangTurunSaatSlotBerganti() {
+        pelacak = new PelacakPopularitas(jam, Duration.ofDays(7), 7, 1, 1 << 16);
+        // Kandidat penuh dengan buku yang semuanya dipinjam di hari pertama
+        for (int i = 0; i < 200; i++) {
+            pinjam("lama-" + i, 100);
+        }
+        pelacak.teratas();
+
+        jam.majuHari(1);
+        pinjam("baru", 30);
+        jam.majuHari(6);
+        assertEquals(List.of("baru"), isbn(pelacak.teratas()));
+    }
+
+    @Test
+    @DisplayName("Pencatatan dari banyak thread tanpa kunci tidak kehilangan hitungan")
+    void testBanyakThread() throws InterruptedException {
+        List<Thread> thread = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            thread.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    pelacak.catatPinjam(i % 10 < 5 ? "A" : i % 10 < 8 ? "B" : "C");
+                }
+            }));
+        }
+        thread.forEach(Thread::start);
+        for (Thread t : thread) {
+            t.join();
+        }
+        List<PelacakPopularitas.Peringkat> teratas = pelacak.teratas();
+        assertEquals(List.of("A", "B", "C"), isbn(teratas));
+        assertEquals(List.of(20_000L, 12_000L, 8_000L),
+                teratas.stream().map(PelacakPopularitas.Peringkat::getJumlah).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("ServicePerpustakaan mencatat pinjam yang berhasil saja")
+    void testDenganServicePerpustakaan() {
+        TrigramRepositoryBuku repository = new TrigramRepositoryBuku();
+        repository.simpan(new Buku("9780000000001", "Jaringan Komputer", "Andi Wijaya", 1, 1.0));
+        repository.simpan(new Buku("9780000000002", "Basis Data", "Siti Rahayu", 5, 1.0));
+        ServicePerpustakaan service = ServicePerpustakaan.builder(repository, new KalkulatorDenda())
+                .clock(jam)
+                .pelacakPopularitas(pelacak)
+                .build();
+        for (int i = 0; i < 3; i++) {
+            Anggota anggota = new Anggota("A00" + i, "Ani", "ani" + i + "@kampus.ac.id", "08123456789" + i,
+                    Anggota.TipeAnggota.MAHASISWA);
+            service.pinjamBuku("9780000000001", anggota);
+            service.pinjamBuku("9780000000002", anggota);
+        }
+        List<PelacakPopularitas.Peringkat> teratas = service.bukuTerpopuler();
+        assertEquals(List.of("9780000000002", "9780000000001"), isbn(teratas));
+        assertEquals(1, teratas.get(1).getJumlah(), "Stok satu: pinjam kedua dan ketiga ditolak");
+        assertTrue(new ServicePerpustakaan(repository, new KalkulatorDenda()).bukuTerpopuler().isEmpty());
+    }
+
+    private void pinjam(String isbn, int kali) {
+        for (int i = 0; i < kali; i++) {
+            pelacak.catatPinjam(isbn);
+        }
+    }
+
+    private static List<String> isbn(List<PelacakPopularitas.Peringkat> daftar) {
+        return daftar.stream().map(PelacakPopularitas.Peringkat::getIsbn).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,115 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.repository.InMemoryRepositoryPeminjaman;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Pemantau Keterlambatan")
+class PemantauKeterlambatanTest {
+
+    private static final LocalDate AWAL = LocalDate.of(2024, 3, 1);
+
+    private InMemoryRepositoryPeminjaman repository;
+    private JamUji jam;
+    private PemantauKeterlambatan pemantau;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryRepositoryPeminjaman();
+        jam = new JamUji(AWAL);
+        pemantau = new PemantauKeterlambatan(repository, jam);
+
+        repository.simpan(new Peminjaman("P001", "A001", "1234567890", AWAL.minusDays(20), AWAL.minusDays(5)));
+        repository.simpan(new Peminjaman("P002", "A001", "0987654321", AWAL.minusDays(14), AWAL));
+        repository.simpan(new Peminjaman("P003", "A002", "1111111111", AWAL.minusDays(10), AWAL.plusDays(1)));
+        repository.simpan(new Peminjaman("P004", "A003", "2222222222", AWAL.minusDays(3), AWAL.plusDays(10)));
+    }
+
+    @Test
+    @DisplayName("Semua terlambat sama dengan isTerlambat pada tanggal yang sama")
+    void testSamaDenganIsTerlambat() {
+        for (int hari = 0; hari < 15; hari++) {
+            LocalDate tanggal = AWAL.plusDays(hari);
+            Set<String> dariIndeks = id(pemantau.semuaTerlambatPer(tanggal));
+            Set<String> dariScan = repository.cariSemua().stream()
+                    .filter(p -> p.isTerlambat(tanggal))
+                    .map(Peminjaman::getIdPeminjaman)
+                    .collect(Collectors.toSet());
+            assertEquals(dariScan, dariIndeks, "tanggal " + tanggal);
+        }
+    }
+
+    @Test
+    @DisplayName("Baru terlambat adalah delta sejak pemindaian sebelumnya")
+    void testBaruTerlambat() {
+        assertEquals(Set.of("P001"), id(pemantau.baruTerlambat()));
+        assertTrue(pemantau.baruTerlambat().isEmpty(), "Hari yang sama tidak ada delta");
+
+        jam.majuHari(1);
+        assertEquals(Set.of("P002"), id(pemantau.baruTerlambat()));
+
+        jam.majuHari(11);
+        assertEquals(Set.of("P003", "P004"), id(pemantau.baruTerlambat()));
+        assertEquals(4, pemantau.semuaTerlambat().size());
+    }
+
+    @Test
+    @DisplayName("Peminjaman yang sudah kembali tidak muncul")
+    void testSudahKembali() {
+        repository.tandaiDikembalikan("P001", AWAL);
+        assertTrue(pemantau.semuaTerlambat().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Tanggal diambil dari clock yang disuntikkan")
+    void testClockDisuntikkan() {
+        assertEquals(AWAL, pemantau.hariIni());
+        jam.majuHari(2);
+        assertEquals(AWAL.plusDays(2), pemantau.hariIni());
+    }
+
+    private static Set<String> id(List<Peminjaman> daftar) {
+        return daftar.stream().map(Peminjaman::getIdPeminjaman).collect(Collectors.toSet());
+    }
+
+    /** Clock yang bisa dimajukan per hari. */
+    static final class JamUji extends Clock {
+        private Instant sekarang;
+
+        JamUji(LocalDate tanggal) {
+            this.sekarang = tanggal.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        void majuHari(int hari) {
+            sekarang = sekarang.plusSeconds(hari * 86_400L);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return sekarang;
+        }
+    }
+}
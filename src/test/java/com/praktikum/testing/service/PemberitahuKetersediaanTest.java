@@ -0,0 +1,193 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.repository.NotifyingRepositoryBuku;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Pemberitahu Ketersediaan")
+class PemberitahuKetersediaanTest {
+
+    private static final String ISBN = "1234567890";
+    private static final String ISBN_LAIN = "0987654321";
+
+    private ExecutorService executor;
+    private MockRepositoryBuku katalog;
+    private PemberitahuKetersediaan pemberitahu;
+    private ServicePerpustakaan service;
+    private Anggota anggota;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        katalog = new MockRepositoryBuku();
+        katalog.simpan(new Buku(ISBN, "Buku Populer", "Pengarang", 1, 50000.0));
+        pemberitahu = new PemberitahuKetersediaan(executor);
+        service = ServicePerpustakaan.builder(new NotifyingRepositoryBuku(katalog, pemberitahu), new KalkulatorDenda())
+                .pemberitahuKetersediaan(pemberitahu)
+                .build();
+        anggota = new Anggota("A001", "John Student", "john@student.ac.id", "081234567890",
+                Anggota.TipeAnggota.MAHASISWA);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Pelanggan dikabari sekali saat salinan terakhir dikembalikan")
+    void testKabarSaatDikembalikan() throws InterruptedException {
+        assertTrue(service.pinjamBuku(ISBN, anggota));
+        BlockingQueue<String> antrean = new LinkedBlockingQueue<>();
+        PemberitahuKetersediaan.Langganan langganan =
+                service.langganiKetersediaan(ISBN, (isbn, jumlah) -> antrean.offer(isbn + ":" + jumlah));
+
+        Thread.sleep(50);
+        assertTrue(antrean.isEmpty(), "Stok masih habis, belum boleh ada kabar");
+        assertEquals(1, pemberitahu.getJumlahMenunggu());
+
+        assertTrue(service.kembalikanBuku(ISBN, anggota));
+        assertEquals(ISBN + ":1", antrean.poll(5, TimeUnit.SECONDS));
+        assertFalse(langganan.isMenunggu());
+        assertEquals(0, pemberitahu.getJumlahMenunggu());
+        assertEquals(0, pemberitahu.getJumlahIsbnDitunggu());
+
+        // Langganan sekali pakai: siklus pinjam-kembali berikutnya tidak mengabari lagi
+        assertTrue(service.pinjamBuku(ISBN, anggota));
+        assertTrue(service.kembalikanBuku(ISBN, anggota));
+        assertNull(antrean.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Langganan pada buku yang sudah tersedia langsung dikabari")
+    void testLangsungTersedia() throws InterruptedException {
+        BlockingQueue<Integer> antrean = new LinkedBlockingQueue<>();
+        service.langganiKetersediaan(ISBN, (isbn, jumlah) -> antrean.offer(jumlah));
+        assertEquals(1, antrean.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("ISBN tidak valid ditolak")
+    void testIsbnTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> service.langganiKetersediaan("bukan-isbn", (i, j) -> { }));
+    }
+
+    @Test
+    @DisplayName("Langganan yang dibatalkan tidak dikabari")
+    void testBatal() throws InterruptedException {
+        katalog.updateJumlahTersedia(ISBN, 0);
+        BlockingQueue<String> antrean = new LinkedBlockingQueue<>();
+        PemberitahuKetersediaan.Langganan dibatalkan = pemberitahu.langgani(ISBN, (isbn, jumlah) -> antrean.offer("batal"));
+        pemberitahu.langgani(ISBN, (isbn, jumlah) -> antrean.offer("tetap"));
+
+        assertTrue(dibatalkan.batal());
+        assertFalse(dibatalkan.batal());
+        assertEquals(1, pemberitahu.getJumlahMenunggu());
+
+        pemberitahu.kabari(ISBN, 1);
+        assertEquals("tetap", antrean.poll(5, TimeUnit.SECONDS));
+        assertNull(antrean.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(0, pemberitahu.getJumlahMenunggu());
+    }
+
+    @Test
+    @DisplayName("Perubahan stok langsung lewat repository juga mengabari pelanggan")
+    void testUpdateJumlahTersediaRepository() throws InterruptedException {
+        NotifyingRepositoryBuku repository = new NotifyingRepositoryBuku(katalog, pemberitahu);
+        repository.updateJumlahTersedia(ISBN, 0);
+        BlockingQueue<String> antrean = new LinkedBlockingQueue<>();
+        pemberitahu.langgani(ISBN, (isbn, jumlah) -> antrean.offer(isbn));
+        pemberitahu.langgani(ISBN_LAIN, (isbn, jumlah) -> antrean.offer(isbn));
+
+        repository.updateJumlahTersedia(ISBN, 0);
+        assertNull(antrean.poll(100, TimeUnit.MILLISECONDS), "Jumlah nol bukan tersedia");
+
+        repository.updateJumlahTersedia(ISBN, 1);
+        assertEquals(ISBN, antrean.poll(5, TimeUnit.SECONDS));
+
+        repository.simpan(new Buku(ISBN_LAIN, "Buku Baru", "Pengarang", 2, 50000.0));
+        assertEquals(ISBN_LAIN, antrean.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Pendengar yang lambat atau gagal tidak menahan thread pengembali")
+    void testPendengarTidakMemblokir() throws InterruptedException {
+        assertTrue(service.pinjamBuku(ISBN, anggota));
+        CountDownLatch lepas = new CountDownLatch(1);
+        AtomicInteger dikabari = new AtomicInteger();
+        service.langganiKetersediaan(ISBN, (isbn, jumlah) -> {
+            try {
+                lepas.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("pendengar gagal");
+        });
+        service.langganiKetersediaan(ISBN, (isbn, jumlah) -> dikabari.incrementAndGet());
+
+        long mulai = System.nanoTime();
+        assertTrue(service.kembalikanBuku(ISBN, anggota));
+        assertTrue(System.nanoTime() - mulai < TimeUnit.SECONDS.toNanos(1));
+
+        lepas.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(1, dikabari.get(), "Exception pendengar pertama tidak boleh menghentikan yang kedua");
+    }
+
+    @Test
+    @DisplayName("Setiap langganan dikabari atau dibatalkan tepat sekali di bawah beban bersamaan")
+    void testBersamaan() throws InterruptedException {
+        int jumlahThread = 4;
+        int perThread = 25_000;
+        AtomicInteger dikabari = new AtomicInteger();
+        AtomicInteger dibatalkan = new AtomicInteger();
+        List<Thread> daftarThread = new ArrayList<>();
+        for (int t = 0; t < jumlahThread; t++) {
+            int awal = t;
+            daftarThread.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    String isbn = String.format("%010d", (awal * perThread + i) % 1000);
+                    PemberitahuKetersediaan.Langganan langganan =
+                            pemberitahu.langgani(isbn, (x, jumlah) -> dikabari.incrementAndGet());
+                    if (i % 3 == 0 && langganan.batal()) {
+                        dibatalkan.incrementAndGet();
+                    }
+                    if (i % 7 == 0) {
+                        pemberitahu.kabari(isbn, 1);
+                    }
+                }
+            }));
+        }
+        daftarThread.forEach(Thread::start);
+        for (Thread thread : daftarThread) {
+            thread.join();
+        }
+        for (int i = 0; i < 1000; i++) {
+            pemberitahu.kabari(String.format("%010d", i), 1);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(jumlahThread * perThread, dikabari.get() + dibatalkan.get());
+        assertEquals(0, pemberitahu.getJumlahMenunggu());
+        assertEquals(0, pemberitahu.getJumlahIsbnDitunggu());
+    }
+}
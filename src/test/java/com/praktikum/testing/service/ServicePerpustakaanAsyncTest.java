@@ -0,0 +1,223 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.repository.AdapterAsyncRepositoryBuku;
+import com.praktikum.testing.repository.InMemoryRepositoryPeminjaman;
+import com.praktikum.testing.repository.LatensiRepositoryBuku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.repository.RepositoryBuku;
+import com.praktikum.testing.repository.WriteAheadLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Service Perpustakaan Asinkron")
+class ServicePerpustakaanAsyncTest {
+
+    private static final long LATENSI_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private ExecutorService executor;
+    private MockRepositoryBuku katalog;
+    private InMemoryRepositoryPeminjaman repositoryPeminjaman;
+    private ServicePerpustakaanAsync service;
+    private Anggota anggota;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(32);
+        katalog = new MockRepositoryBuku();
+        for (int i = 0; i < 20; i++) {
+            katalog.simpan(new Buku(isbn(i), "Judul " + i, "Pengarang", 1, 50000.0));
+        }
+        repositoryPeminjaman = new InMemoryRepositoryPeminjaman();
+        service = new ServicePerpustakaanAsync(
+                new AdapterAsyncRepositoryBuku(new LatensiRepositoryBuku(katalog, LATENSI_NANOS), executor),
+                repositoryPeminjaman, Clock.systemDefaultZone());
+        anggota = new Anggota("A001", "John Student", "john@student.ac.id", "081234567890",
+                Anggota.TipeAnggota.MAHASISWA);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Pencarian banyak ISBN berjalan bersamaan, bukan berurutan")
+    void testCariBanyakBersamaan() {
+        List<String> daftar = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            daftar.add(isbn(i));
+        }
+        daftar.add("bukan-isbn");
+
+        long mulai = System.nanoTime();
+        List<Optional<Buku>> hasil = service.cariBanyakBukuByIsbn(daftar).join();
+        long durasi = System.nanoTime() - mulai;
+
+        assertEquals(21, hasil.size());
+        assertEquals("Judul 7", hasil.get(7).get().getJudul());
+        assertFalse(hasil.get(20).isPresent());
+        // 21 round trip berurutan butuh >= 420 ms; bersamaan sekitar satu round trip
+        assertTrue(durasi < 21 * LATENSI_NANOS / 2, "durasi " + durasi / 1_000_000 + " ms");
+    }
+
+    @Test
+    @DisplayName("Pinjam bersamaan untuk satu anggota tidak melampaui batas pinjam")
+    void testPinjamBersamaanBatasAnggota() {
+        List<CompletableFuture<Boolean>> semua = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            semua.add(service.pinjamBuku(isbn(i), anggota));
+        }
+        long berhasil = semua.stream().filter(CompletableFuture::join).count();
+
+        assertEquals(anggota.getBatasPinjam(), berhasil);
+        assertEquals(berhasil, anggota.getIdBukuDipinjam().size());
+        int keluar = 0;
+        for (Buku buku : katalog.cariSemua()) {
+            keluar += buku.getJumlahTotal() - buku.getJumlahTersedia();
+        }
+        assertEquals(berhasil, keluar);
+        assertEquals(berhasil, repositoryPeminjaman.ukuran());
+    }
+
+    @Test
+    @DisplayName("Pinjam gagal saat stok habis melepas slot anggota, kembalikan menutup peminjaman")
+    void testPinjamDanKembalikan() {
+        Anggota lain = new Anggota("A002", "Jane Student", "jane@student.ac.id", "081111111111",
+                Anggota.TipeAnggota.MAHASISWA);
+        assertTrue(service.pinjamBuku(isbn(0), lain).join());
+        assertFalse(service.pinjamBuku(isbn(0), anggota).join());
+        assertTrue(anggota.getIdBukuDipinjam().isEmpty());
+
+        assertFalse(service.kembalikanBuku(isbn(0), anggota).join());
+        assertTrue(service.kembalikanBuku(isbn(0), lain).join());
+        assertEquals(1, service.getJumlahTersedia(isbn(0)).join());
+        assertTrue(repositoryPeminjaman.cariByAnggota("A002").get(0).isSudahDikembalikan());
+    }
+
+    @Test
+    @DisplayName("Hapus buku dirangkai setelah pencarian")
+    void testHapusBuku() {
+        assertTrue(service.pinjamBuku(isbn(1), anggota).join());
+        assertFalse(service.hapusBuku(isbn(1)).join(), "Masih dipinjam");
+        assertTrue(service.hapusBuku(isbn(2)).join());
+        assertFalse(service.cariBukuByIsbn(isbn(2)).join().isPresent());
+        assertFalse(service.hapusBuku("123").join());
+    }
+
+    @Test
+    @DisplayName("Kegagalan repository diteruskan dan slot anggota dilepas")
+    void testKegagalanRepository() {
+        RepositoryBuku rusak = new MockRepositoryBuku() {
+            @Override
+            public int kurangiJumlahTersedia(String isbn) {
+                throw new IllegalStateException("penyimpanan tidak tersedia");
+            }
+        };
+        ServicePerpustakaanAsync serviceRusak = new ServicePerpustakaanAsync(
+                new AdapterAsyncRepositoryBuku(rusak, executor), repositoryPeminjaman, Clock.systemDefaultZone());
+
+        CompletionException galat = assertThrows(CompletionException.class,
+                () -> serviceRusak.pinjamBuku(isbn(0), anggota).join());
+        assertTrue(galat.getCause() instanceof IllegalStateException);
+        assertTrue(anggota.getIdBukuDipinjam().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Berbagi jurnal, popularitas, pemberitahu dan bus dengan service sinkron")
+    void testBerbagiDenganServiceSinkron(@TempDir Path direktori) throws Exception {
+        CountDownLatch tersedia = new CountDownLatch(1);
+        List<PeristiwaSirkulasi.Jenis> peristiwa = new ArrayList<>();
+        CountDownLatch duaPeristiwa = new CountDownLatch(2);
+        try (WriteAheadLog jurnal = new WriteAheadLog(direktori);
+             BusPeristiwaSirkulasi bus = new BusPeristiwaSirkulasi()) {
+            bus.tambahKonsumen("uji", (p, urutan, akhirBatch) -> {
+                peristiwa.add(p.getJenis());
+                duaPeristiwa.countDown();
+            });
+            PelacakPopularitas pelacak = new PelacakPopularitas(Clock.systemDefaultZone());
+            ServicePerpustakaan sinkron = ServicePerpustakaan.builder(katalog, new KalkulatorDenda())
+                    .repositoryPeminjaman(repositoryPeminjaman)
+                    .jurnal(jurnal)
+                    .pemberitahuKetersediaan(new PemberitahuKetersediaan(Runnable::run))
+                    .pelacakPopularitas(pelacak)
+                    .busPeristiwa(bus)
+                    .build();
+            bus.mulai();
+            ServicePerpustakaanAsync asinkron = new ServicePerpustakaanAsync(
+                    new AdapterAsyncRepositoryBuku(katalog, executor), sinkron);
+
+            assertTrue(asinkron.pinjamBuku(isbn(3), anggota).join());
+            sinkron.langganiKetersediaan(isbn(3), (isbn, jumlah) -> tersedia.countDown());
+            assertTrue(asinkron.kembalikanBuku(isbn(3), anggota).join());
+            assertTrue(tersedia.await(5, TimeUnit.SECONDS));
+            assertTrue(duaPeristiwa.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(PeristiwaSirkulasi.Jenis.DIPINJAM, PeristiwaSirkulasi.Jenis.DIKEMBALIKAN), peristiwa);
+            // Popularitas diperbarui konsumen bus; close menunggu semua konsumen selesai
+            bus.close();
+            assertEquals(1, pelacak.perkiraan(isbn(3)));
+
+            List<String> diputar = new ArrayList<>();
+            jurnal.putarUlang(new WriteAheadLog.PemutarUlang() {
+                @Override
+                public void jumlahTersedia(String isbn, int jumlah) {
+                    diputar.add("stok " + jumlah);
+                }
+
+                @Override
+                public void dipinjam(Peminjaman peminjaman) {
+                    diputar.add("pinjam " + peminjaman.getIsbnBuku());
+                }
+
+                @Override
+                public void dikembalikan(String idPeminjaman, String idAnggota, String isbn, LocalDate tanggal) {
+                    diputar.add("kembali " + isbn + " " + (idPeminjaman != null));
+                }
+            });
+            assertEquals(List.of("pinjam " + isbn(3), "kembali " + isbn(3) + " true"), diputar,
+                    "Jalur async mencatat peminjaman tanpa jumlah tersedia");
+        }
+    }
+
+    @Test
+    @DisplayName("Gagal mencatat peminjaman - stok dan slot anggota dikembalikan")
+    void testGagalMencatatDibatalkan() {
+        ServicePerpustakaanAsync serviceRusak = new ServicePerpustakaanAsync(
+                new AdapterAsyncRepositoryBuku(katalog, executor), new InMemoryRepositoryPeminjaman() {
+                    @Override
+                    public boolean simpan(Peminjaman peminjaman) {
+                        throw new IllegalStateException("buku besar tidak tersedia");
+                    }
+                }, Clock.systemDefaultZone());
+
+        CompletionException galat = assertThrows(CompletionException.class,
+                () -> serviceRusak.pinjamBuku(isbn(0), anggota).join());
+        assertTrue(galat.getCause() instanceof IllegalStateException);
+        assertTrue(anggota.getIdBukuDipinjam().isEmpty());
+        assertEquals(1, katalog.cariByIsbn(isbn(0)).get().getJumlahTersedia());
+    }
+
+    private static String isbn(int i) {
+        return String.format("978%010d", i);
+    }
+}
@@ -2,7 +2,11 @@ package com.praktikum.testing.service;
 
 import com.praktikum.testing.model.Anggota;
 import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.repository.InMemoryRepositoryPeminjaman;
 import com.praktikum.testing.repository.RepositoryBuku;
+import com.praktikum.testing.repository.TrigramRepositoryBuku;
+import com.praktikum.testing.util.KunciBergaris;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,9 +14,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -137,6 +147,126 @@ public class ServicePerpustakaanTest {
         verify(mockRepositoryBuku).cariByIsbn("9999999999");
     }
 
+    @Test
+    @DisplayName("Pinjam buku memakai pengurangan atomik tanpa cariByIsbn")
+    void testPinjamBukuAtomik() {
+        when(mockRepositoryBuku.kurangiJumlahTersedia("1234567890")).thenReturn(4);
+
+        assertTrue(servicePerpustakaan.pinjamBuku("1234567890", anggotaTest));
+
+        assertTrue(anggotaTest.getIdBukuDipinjam().contains("1234567890"));
+        verify(mockRepositoryBuku).kurangiJumlahTersedia("1234567890");
+        verify(mockRepositoryBuku, never()).cariByIsbn(anyString());
+        verify(mockRepositoryBuku, never()).updateJumlahTersedia(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Mode kunci bergaris tidak melampaui batas pinjam pada permintaan konkuren")
+    void testKunciBergarisBatasPinjam() throws Exception {
+        TrigramRepositoryBuku repository = new TrigramRepositoryBuku();
+        for (int i = 0; i < 20; i++) {
+            repository.simpan(new Buku(String.format("978%010d", i), "Judul " + i, "Pengarang", 2, 1000.0));
+        }
+        ServicePerpustakaan service = ServicePerpustakaan.builder(repository, mockKalkulatorDenda)
+                .kunciSirkulasi(new KunciBergaris(16))
+                .build();
+
+        int jumlahThread = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+        List<Future<?>> tugas = new ArrayList<>();
+        CountDownLatch mulai = new CountDownLatch(1);
+        for (int t = 0; t < jumlahThread; t++) {
+            int awal = t;
+            tugas.add(executor.submit(() -> {
+                mulai.await();
+                for (int putaran = 0; putaran < 500; putaran++) {
+                    String isbn = String.format("978%010d", (awal + putaran) % 20);
+                    if (!service.pinjamBuku(isbn, anggotaTest)) {
+                        service.kembalikanBuku(isbn, anggotaTest);
+                    }
+                    assertTrue(anggotaTest.getIdBukuDipinjam().size() <= anggotaTest.getBatasPinjam());
+                }
+                return null;
+            }));
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(20, TimeUnit.SECONDS));
+        for (Future<?> f : tugas) {
+            f.get();
+        }
+
+        // Setiap buku yang tercatat dipinjam anggota harus tepat satu salinan berkurang di stok
+        List<String> dipinjam = anggotaTest.getIdBukuDipinjam();
+        assertTrue(dipinjam.size() <= anggotaTest.getBatasPinjam());
+        int salinanKeluar = 0;
+        for (Buku buku : repository.cariSemua()) {
+            salinanKeluar += buku.getJumlahTotal() - buku.getJumlahTersedia();
+        }
+        assertEquals(dipinjam.size(), salinanKeluar);
+        assertEquals(dipinjam.size(), service.cariPeminjamanAktifByAnggota(anggotaTest.getIdAnggota()).size());
+    }
+
+    @Test
+    @DisplayName("Pinjam dan kembalikan buku dengan idAnggota terdaftar")
+    void testPinjamKembalikanByIdAnggota() {
+        when(mockRepositoryBuku.kurangiJumlahTersedia("1234567890")).thenReturn(1);
+        when(mockRepositoryBuku.tambahJumlahTersedia("1234567890")).thenReturn(2);
+
+        assertFalse(servicePerpustakaan.pinjamBuku("1234567890", "A001"), "Anggota belum terdaftar");
+        assertTrue(servicePerpustakaan.tambahAnggota(anggotaTest));
+        assertFalse(servicePerpustakaan.tambahAnggota(anggotaTest), "Id sudah terdaftar");
+
+        assertTrue(servicePerpustakaan.pinjamBuku("1234567890", "A001"));
+        assertEquals(List.of("1234567890"),
+                servicePerpustakaan.cariAnggotaById("A001").get().getIdBukuDipinjam());
+        assertTrue(servicePerpustakaan.kembalikanBuku("1234567890", "A001"));
+        assertTrue(anggotaTest.getIdBukuDipinjam().isEmpty());
+        assertFalse(servicePerpustakaan.kembalikanBuku("1234567890", "A999"));
+    }
+
+    @Test
+    @DisplayName("Pinjam buku gagal ketika stok habis")
+    void testPinjamBukuStokHabis() {
+        when(mockRepositoryBuku.kurangiJumlahTersedia("1234567890")).thenReturn(-1);
+
+        assertFalse(servicePerpustakaan.pinjamBuku("1234567890", anggotaTest));
+        assertTrue(anggotaTest.getIdBukuDipinjam().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Kembalikan buku memakai penambahan atomik")
+    void testKembalikanBukuAtomik() {
+        anggotaTest.tambahBukuDipinjam("1234567890");
+        when(mockRepositoryBuku.tambahJumlahTersedia("1234567890")).thenReturn(5);
+
+        assertTrue(servicePerpustakaan.kembalikanBuku("1234567890", anggotaTest));
+
+        assertFalse(anggotaTest.getIdBukuDipinjam().contains("1234567890"));
+        verify(mockRepositoryBuku, never()).cariByIsbn(anyString());
+    }
+
+    @Test
+    @DisplayName("Pinjam dan kembalikan membuat lalu menutup catatan peminjaman")
+    void testCatatanPeminjaman() {
+        InMemoryRepositoryPeminjaman repositoryPeminjaman = new InMemoryRepositoryPeminjaman();
+        ServicePerpustakaan service = new ServicePerpustakaan(mockRepositoryBuku, repositoryPeminjaman, mockKalkulatorDenda);
+        when(mockRepositoryBuku.kurangiJumlahTersedia("1234567890")).thenReturn(4);
+        when(mockRepositoryBuku.tambahJumlahTersedia("1234567890")).thenReturn(5);
+
+        assertTrue(service.pinjamBuku("1234567890", anggotaTest));
+        List<Peminjaman> pemegang = service.cariPeminjamanAktifByIsbn("1234567890");
+        assertEquals(1, pemegang.size());
+        assertEquals("A001", pemegang.get(0).getIdAnggota());
+        assertEquals(pemegang.get(0).getTanggalPinjam().plusDays(ServicePerpustakaan.MASA_PINJAM_HARI),
+                pemegang.get(0).getTanggalJatuhTempo());
+
+        assertTrue(service.kembalikanBuku("1234567890", anggotaTest));
+        assertTrue(service.cariPeminjamanAktifByIsbn("1234567890").isEmpty());
+        assertTrue(service.cariPeminjamanAktifByAnggota("A001").isEmpty());
+        assertTrue(repositoryPeminjaman.cariByAnggota("A001").get(0).isSudahDikembalikan());
+    }
+
     @Test
     @DisplayName("Hitung rating rata-rata buku")
     void testHitungRatingRataRata() {
@@ -0,0 +1,217 @@
+package com.praktikum.testing.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Buffer Cincin")
+class BufferCincinTest {
+
+    /** Slot uji: penerbit dan nomor kirimannya. */
+    static final class Slot {
+        int penerbit;
+        long nomor;
+    }
+
+    private static StrategiTunggu strategi(String nama) {
+        switch (nama) {
+            case "sibuk":
+                return StrategiTunggu.sibuk();
+            case "mengalah":
+                return StrategiTunggu.mengalah();
+            default:
+                return StrategiTunggu.blokir();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"sibuk", "mengalah", "blokir"})
+    @DisplayName("Banyak penerbit dan konsumen - semua peristiwa diterima sekali, urut per penerbit")
+    void testBanyakPenerbit(String namaStrategi) throws Exception {
+        int jumlahPenerbit = 3;
+        int perPenerbit = 20_000;
+        BufferCincin<Slot> cincin = new BufferCincin<>(256, Slot::new, strategi(namaStrategi));
+        List<long[]> terakhirPerKonsumen = new ArrayList<>();
+        List<long[]> jumlahPerKonsumen = new ArrayList<>();
+        List<long[]> salahPerKonsumen = new ArrayList<>();
+        for (int k = 0; k < 2; k++) {
+            long[] terakhir = new long[jumlahPenerbit];
+            Arrays.fill(terakhir, -1);
+            long[] jumlah = new long[1];
+            long[] salah = new long[1];
+            terakhirPerKonsumen.add(terakhir);
+            jumlahPerKonsumen.add(jumlah);
+            salahPerKonsumen.add(salah);
+            // Penangan hanya mencatat; pemeriksaan di thread test supaya kegagalan tidak
+            // tertelan di thread konsumen
+            cincin.tambahKonsumen("konsumen-" + k, (slot, urutan, akhirBatch) -> {
+                if (slot.nomor != terakhir[slot.penerbit] + 1) {
+                    salah[0]++;
+                }
+                terakhir[slot.penerbit] = slot.nomor;
+                jumlah[0]++;
+            });
+        }
+        cincin.mulai();
+
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahPenerbit);
+        List<Future<?>> penerbit = new ArrayList<>();
+        for (int p = 0; p < jumlahPenerbit; p++) {
+            int id = p;
+            penerbit.add(executor.submit(() -> {
+                for (long n = 0; n < perPenerbit; n++) {
+                    long urutan = cincin.klaim();
+                    Slot slot = cincin.dapatkan(urutan);
+                    slot.penerbit = id;
+                    slot.nomor = n;
+                    cincin.terbitkan(urutan);
+                }
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS), "Penerbit macet");
+        for (Future<?> f : penerbit) {
+            f.get();
+        }
+        cincin.close();
+
+        assertEquals(0, cincin.getJumlahGagal());
+        for (int k = 0; k < 2; k++) {
+            assertEquals(0, salahPerKonsumen.get(k)[0], "Peristiwa di luar urutan penerbit");
+            assertEquals((long) jumlahPenerbit * perPenerbit, jumlahPerKonsumen.get(k)[0]);
+            for (long terakhir : terakhirPerKonsumen.get(k)) {
+                assertEquals(perPenerbit - 1, terakhir);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Peristiwa yang terbit sebelum mulai diambil dalam satu batch")
+    void testBatch() throws InterruptedException {
+        BufferCincin<Slot> cincin = new BufferCincin<>(16, Slot::new, StrategiTunggu.blokir());
+        List<Boolean> akhir = new ArrayList<>();
+        CountDownLatch selesai = new CountDownLatch(10);
+        cincin.tambahKonsumen("konsumen", (slot, urutan, akhirBatch) -> {
+            akhir.add(akhirBatch);
+            selesai.countDown();
+        });
+        for (int i = 0; i < 10; i++) {
+            cincin.terbitkan(cincin.klaim());
+        }
+        cincin.mulai();
+        assertTrue(selesai.await(5, TimeUnit.SECONDS));
+        cincin.close();
+        List<Boolean> harapan = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            harapan.add(false);
+        }
+        harapan.add(true);
+        assertEquals(harapan, akhir);
+    }
+
+    @Test
+    @DisplayName("Slot dipakai ulang setiap putaran dan ukuran dibulatkan ke pangkat dua")
+    void testSlotDipakaiUlang() {
+        BufferCincin<Slot> cincin = new BufferCincin<>(100, Slot::new, StrategiTunggu.mengalah());
+        assertEquals(128, cincin.getUkuran());
+        assertSame(cincin.dapatkan(5), cincin.dapatkan(5 + 128));
+        assertNotSame(cincin.dapatkan(5), cincin.dapatkan(6));
+        assertThrows(IllegalArgumentException.class, () -> new BufferCincin<>(0, Slot::new, StrategiTunggu.mengalah()));
+    }
+
+    @Test
+    @DisplayName("Exception dari penangan dihitung dan konsumen tetap berjalan")
+    void testPenanganGagal() {
+        BufferCincin<Slot> cincin = new BufferCincin<>(8, Slot::new, StrategiTunggu.blokir());
+        long[] diterima = new long[1];
+        cincin.tambahKonsumen("konsumen", (slot, urutan, akhirBatch) -> {
+            diterima[0]++;
+            if (urutan % 2 == 0) {
+                throw new IllegalStateException("gagal " + urutan);
+            }
+        });
+        cincin.mulai();
+        for (int i = 0; i < 20; i++) {
+            cincin.terbitkan(cincin.klaim());
+        }
+        cincin.close();
+        assertEquals(20, diterima[0]);
+        assertEquals(10, cincin.getJumlahGagal());
+    }
+
+    @Test
+    @DisplayName("Error dari penangan juga dihitung dan tidak mematikan konsumen")
+    void testPenanganError() {
+        BufferCincin<Slot> cincin = new BufferCincin<>(4, Slot::new, StrategiTunggu.mengalah());
+        long[] diterima = new long[1];
+        cincin.tambahKonsumen("konsumen", (slot, urutan, akhirBatch) -> {
+            diterima[0]++;
+            if (urutan == 1) {
+                throw new AssertionError("gagal " + urutan);
+            }
+        });
+        cincin.mulai();
+        // Lebih dari satu putaran: jika konsumen mati, klaim berikutnya akan menunggu
+        for (int i = 0; i < 12; i++) {
+            cincin.terbitkan(cincin.klaim());
+        }
+        cincin.close();
+        assertEquals(12, diterima[0]);
+        assertEquals(1, cincin.getJumlahGagal());
+    }
+
+    @Test
+    @DisplayName("Klaim gagal setelah batas tunggu jika konsumen macet, tanpa meninggalkan lubang urutan")
+    void testKlaimDibatasi() throws InterruptedException {
+        BufferCincin<Slot> cincin = new BufferCincin<>(4, Slot::new, StrategiTunggu.blokir(),
+                Duration.ofMillis(50));
+        CountDownLatch lepas = new CountDownLatch(1);
+        List<Long> diterima = new ArrayList<>();
+        cincin.tambahKonsumen("konsumen", (slot, urutan, akhirBatch) -> {
+            try {
+                lepas.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            diterima.add(urutan);
+        });
+        for (int i = 0; i < 4; i++) {
+            cincin.terbitkan(cincin.klaim());
+        }
+        cincin.mulai();
+
+        long mulai = System.nanoTime();
+        IllegalStateException e = assertThrows(IllegalStateException.class, cincin::klaim);
+        assertTrue(e.getMessage().contains("penuh"));
+        assertTrue(System.nanoTime() - mulai < TimeUnit.SECONDS.toNanos(5), "Klaim menunggu terlalu lama");
+
+        lepas.countDown();
+        cincin.terbitkan(cincin.klaim());
+        cincin.close();
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), diterima);
+    }
+
+    @Test
+    @DisplayName("Konsumen tidak bisa ditambah setelah mulai")
+    void testTambahKonsumenSetelahMulai() {
+        BufferCincin<Slot> cincin = new BufferCincin<>(8, Slot::new, StrategiTunggu.mengalah());
+        cincin.tambahKonsumen("a", (slot, urutan, akhirBatch) -> { });
+        cincin.mulai();
+        assertThrows(IllegalStateException.class, () -> cincin.tambahKonsumen("b", (slot, urutan, akhirBatch) -> { }));
+        cincin.close();
+        assertTrue(cincin.isDitutup());
+    }
+}
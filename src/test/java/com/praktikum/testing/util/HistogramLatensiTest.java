@@ -0,0 +1,118 @@
+package com.praktikum.testing.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Histogram Latensi")
+class HistogramLatensiTest {
+
+    @Test
+    @DisplayName("Setiap nilai jatuh ke bucket yang batasnya memuat nilai itu")
+    void testIndeksDanBatas() {
+        Random random = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            long nilai = i < 1000 ? i : random.nextLong() >>> (1 + random.nextInt(63));
+            int indeks = HistogramLatensi.indeks(nilai);
+            assertTrue(HistogramLatensi.batasAtas(indeks) >= nilai, "nilai " + nilai);
+            assertTrue(indeks == 0 || HistogramLatensi.batasAtas(indeks - 1) < nilai, "nilai " + nilai);
+        }
+        assertEquals(Long.MAX_VALUE, HistogramLatensi.batasAtas(HistogramLatensi.indeks(Long.MAX_VALUE)));
+    }
+
+    @Test
+    @DisplayName("Persentil mendekati nilai sebenarnya dalam galat bucket")
+    void testPersentil() {
+        HistogramLatensi histogram = new HistogramLatensi();
+        Random random = new Random(9);
+        long[] nilai = new long[50_000];
+        for (int i = 0; i < nilai.length; i++) {
+            // Sebaran miring: kebanyakan mikrodetik, ekor sampai puluhan milidetik
+            nilai[i] = (long) (1000 * Math.exp(random.nextDouble() * 10));
+            histogram.catat(nilai[i]);
+        }
+        Arrays.sort(nilai);
+
+        HistogramLatensi.Snapshot snapshot = histogram.snapshot();
+        assertEquals(nilai.length, snapshot.getJumlah());
+        for (double p : new double[]{0.5, 0.9, 0.99, 0.999}) {
+            long sebenarnya = nilai[(int) Math.ceil(p * nilai.length) - 1];
+            long perkiraan = snapshot.persentil(p);
+            assertTrue(perkiraan >= sebenarnya && perkiraan <= sebenarnya * 1.04,
+                    "p" + p + " sebenarnya " + sebenarnya + " perkiraan " + perkiraan);
+        }
+        assertEquals(Arrays.stream(nilai).sum(), snapshot.getTotalNanos());
+        assertTrue(snapshot.getMaksNanos() >= nilai[nilai.length - 1]);
+    }
+
+    @Test
+    @DisplayName("Histogram kosong dan nilai negatif")
+    void testKosongDanNegatif() {
+        HistogramLatensi histogram = new HistogramLatensi();
+        assertEquals(0, histogram.snapshot().persentil(0.99));
+        assertEquals(0.0, histogram.snapshot().getRataRataNanos());
+
+        histogram.catat(-5);
+        assertEquals(1, histogram.snapshot().getJumlah());
+        assertEquals(0, histogram.snapshot().getMaksNanos());
+    }
+
+    @Test
+    @DisplayName("Sampling mengukur sebagian panggilan dan memperkirakan jumlahnya")
+    void testSampling() {
+        HistogramLatensi histogram = new HistogramLatensi(16);
+        int disampel = 0;
+        for (int i = 0; i < 160_000; i++) {
+            long mulai = histogram.mulai();
+            if (mulai != HistogramLatensi.TIDAK_DISAMPEL) {
+                disampel++;
+            }
+            histogram.selesai(mulai);
+        }
+
+        HistogramLatensi.Snapshot snapshot = histogram.snapshot();
+        assertEquals(disampel, snapshot.getJumlahSampel());
+        assertEquals(16L * disampel, snapshot.getJumlah());
+        assertTrue(disampel > 9_000 && disampel < 11_000, "disampel " + disampel);
+        assertEquals(1, new HistogramLatensi().getPeriodeSampel());
+        assertThrows(IllegalArgumentException.class, () -> new HistogramLatensi(12));
+        assertThrows(IllegalArgumentException.class, () -> new HistogramLatensi(0));
+    }
+
+    @Test
+    @DisplayName("Pencatatan konkuren tidak kehilangan hitungan")
+    void testKonkuren() throws Exception {
+        HistogramLatensi histogram = new HistogramLatensi();
+        int jumlahThread = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+        List<Future<?>> tugas = new ArrayList<>();
+        CountDownLatch mulai = new CountDownLatch(1);
+        for (int t = 0; t < jumlahThread; t++) {
+            tugas.add(executor.submit(() -> {
+                mulai.await();
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.catat(100 + i % 7);
+                }
+                return null;
+            }));
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        for (Future<?> f : tugas) {
+            f.get();
+        }
+        assertEquals(400_000, histogram.snapshot().getJumlah());
+    }
+}
@@ -0,0 +1,53 @@
+package com.praktikum.testing.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Kode ISBN")
+class KodeIsbnTest {
+
+    @Test
+    @DisplayName("Enkode lalu dekode menghasilkan bentuk normal")
+    void testBolakBalik() {
+        assertEquals("9780306406157", KodeIsbn.dekode(KodeIsbn.enkode("978-0-306-40615-7")));
+        assertEquals("0306406152", KodeIsbn.dekode(KodeIsbn.enkode("0 306 40615 2")));
+        assertEquals("0000000000", KodeIsbn.dekode(KodeIsbn.enkode("0000000000")));
+        assertEquals("9999999999999", KodeIsbn.dekode(KodeIsbn.enkode("9999999999999")));
+    }
+
+    @Test
+    @DisplayName("Bentuk dengan tanda hubung dan tanpa tanda hubung punya kode sama")
+    void testBentukSetara() {
+        assertEquals(KodeIsbn.enkode("9780306406157"), KodeIsbn.enkode("978-0-306-40615-7"));
+        assertEquals(KodeIsbn.enkode("1234567890"), KodeIsbn.enkode("123-456-789-0"));
+    }
+
+    @Test
+    @DisplayName("ISBN-10 dan ISBN-13 dengan nilai angka sama tetap berbeda")
+    void testPanjangDibedakan() {
+        long isbn10 = KodeIsbn.enkode("0123456789");
+        long isbn13 = KodeIsbn.enkode("0000123456789");
+        assertNotEquals(isbn10, isbn13);
+        assertFalse(KodeIsbn.isIsbn13(isbn10));
+        assertTrue(KodeIsbn.isIsbn13(isbn13));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " ", "123", "12345678901", "12345678901234", "12345678x0", "+123456789"})
+    @DisplayName("Yang ditolak ValidationUtils.isValidISBN tidak bisa di-enkode")
+    void testTidakValid(String isbn) {
+        assertEquals(KodeIsbn.TIDAK_VALID, KodeIsbn.enkode(isbn));
+        assertFalse(ValidationUtils.isValidISBN(isbn));
+    }
+
+    @Test
+    @DisplayName("Dekode kode negatif - harus throw exception")
+    void testDekodeTidakValid() {
+        assertEquals(KodeIsbn.TIDAK_VALID, KodeIsbn.enkode(null));
+        assertThrows(IllegalArgumentException.class, () -> KodeIsbn.dekode(KodeIsbn.TIDAK_VALID));
+    }
+}
@@ -0,0 +1,185 @@
+package com.praktikum.testing.util;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.model.Peminjaman;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Kodek Biner")
+class KodekBinerTest {
+
+    private static ByteBuffer buffer(boolean direct, int ukuran) {
+        return direct ? ByteBuffer.allocateDirect(ukuran) : ByteBuffer.allocate(ukuran);
+    }
+
+    private static void assertBukuSama(Buku harapan, Buku hasil) {
+        assertEquals(harapan.getIsbn(), hasil.getIsbn());
+        assertEquals(harapan.getJudul(), hasil.getJudul());
+        assertEquals(harapan.getPengarang(), hasil.getPengarang());
+        assertEquals(harapan.getJumlahTotal(), hasil.getJumlahTotal());
+        assertEquals(harapan.getJumlahTersedia(), hasil.getJumlahTersedia());
+        assertEquals(harapan.getHarga(), hasil.getHarga());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Buku bolak-balik sama persis, termasuk UTF-8, null dan ISBN bertanda hubung")
+    void testBukuBolakBalik(boolean direct) {
+        Buku biasa = new Buku("9780306406157", "Pemrograman Java", "Budi Santoso", 5, 150000.0);
+        biasa.setJumlahTersedia(3);
+        Buku unicode = new Buku("0306406152", "Caf\u00e9 \u6570\u636e \ud83d\udcda", "\u00c7elik", 1, 0.5);
+        Buku hubung = new Buku("0-306-40615-2", null, "", -2, -1.25);
+        Buku isbnBebas = new Buku("ISBN 978-0-306-40615-7", "Judul", null, 0, 0);
+
+        ByteBuffer buf = buffer(direct, 1024);
+        for (Buku buku : List.of(biasa, unicode, hubung, isbnBebas)) {
+            KodekBiner.tulisBuku(buf, buku);
+        }
+        buf.flip();
+        for (Buku buku : List.of(biasa, unicode, hubung, isbnBebas)) {
+            assertBukuSama(buku, KodekBiner.bacaBuku(buf));
+        }
+        assertFalse(buf.hasRemaining());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Anggota bolak-balik termasuk daftar buku dipinjam dan status aktif")
+    void testAnggotaBolakBalik(boolean direct) {
+        Anggota anggota = new Anggota("A001", "Siti N\u00fcrhayati", "siti@kampus.ac.id", "081234567890",
+                Anggota.TipeAnggota.DOSEN);
+        anggota.tambahBukuDipinjam("9780306406157");
+        anggota.tambahBukuDipinjam("978-0-306-40615-7");
+        anggota.setAktif(false);
+        Anggota kosong = new Anggota();
+
+        ByteBuffer buf = buffer(direct, 512);
+        KodekBiner.tulisAnggota(buf, anggota);
+        KodekBiner.tulisAnggota(buf, kosong);
+        buf.flip();
+
+        Anggota hasil = KodekBiner.bacaAnggota(buf);
+        assertEquals("A001", hasil.getIdAnggota());
+        assertEquals("Siti N\u00fcrhayati", hasil.getNama());
+        assertEquals("siti@kampus.ac.id", hasil.getEmail());
+        assertEquals("081234567890", hasil.getTelepon());
+        assertEquals(Anggota.TipeAnggota.DOSEN, hasil.getTipeAnggota());
+        assertFalse(hasil.isAktif());
+        assertEquals(List.of("9780306406157", "978-0-306-40615-7"), hasil.getIdBukuDipinjam());
+
+        Anggota hasilKosong = KodekBiner.bacaAnggota(buf);
+        assertNull(hasilKosong.getIdAnggota());
+        assertNull(hasilKosong.getTipeAnggota());
+        assertTrue(hasilKosong.isAktif());
+        assertTrue(hasilKosong.getIdBukuDipinjam().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Peminjaman bolak-balik dengan tanggal kosong, dikembalikan, dan sebelum 1970")
+    void testPeminjamanBolakBalik() {
+        Peminjaman aktif = new Peminjaman("P001", "A001", "9780306406157",
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 15));
+        Peminjaman kembali = new Peminjaman("P002", "A002", "0306406152",
+                LocalDate.of(1965, 12, 31), LocalDate.of(1966, 1, 14));
+        kembali.setTanggalKembali(LocalDate.of(1966, 2, 1));
+        kembali.setSudahDikembalikan(true);
+        Peminjaman kosong = new Peminjaman();
+
+        ByteBuffer buf = ByteBuffer.allocate(256);
+        for (Peminjaman p : List.of(aktif, kembali, kosong)) {
+            KodekBiner.tulisPeminjaman(buf, p);
+        }
+        buf.flip();
+        for (Peminjaman p : List.of(aktif, kembali, kosong)) {
+            Peminjaman hasil = KodekBiner.bacaPeminjaman(buf);
+            assertEquals(p.getIdPeminjaman(), hasil.getIdPeminjaman());
+            assertEquals(p.getIdAnggota(), hasil.getIdAnggota());
+            assertEquals(p.getIsbnBuku(), hasil.getIsbnBuku());
+            assertEquals(p.getTanggalPinjam(), hasil.getTanggalPinjam());
+            assertEquals(p.getTanggalJatuhTempo(), hasil.getTanggalJatuhTempo());
+            assertEquals(p.getTanggalKembali(), hasil.getTanggalKembali());
+            assertEquals(p.isSudahDikembalikan(), hasil.isSudahDikembalikan());
+        }
+    }
+
+    @Test
+    @DisplayName("Ukuran jauh lebih kecil dari ObjectOutputStream")
+    void testUkuran() throws IOException {
+        Buku buku = new Buku("9780306406157", "Pemrograman Java", "Budi Santoso", 5, 150000.0);
+        ByteBuffer buf = ByteBuffer.allocate(256);
+        KodekBiner.tulisBuku(buf, buku);
+        // versi 1 + ISBN 9 + judul 17 + pengarang 13 + jumlah 2 + harga 8
+        assertEquals(50, buf.position());
+
+        Peminjaman peminjaman = new Peminjaman("P001", "A001", "9780306406157",
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 15));
+        buf.clear();
+        KodekBiner.tulisPeminjaman(buf, peminjaman);
+        int ukuranPeminjaman = buf.position();
+
+        ByteArrayOutputStream keluaran = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(keluaran)) {
+            out.writeObject(peminjaman);
+        }
+        assertTrue(ukuranPeminjaman * 5 < keluaran.size(),
+                ukuranPeminjaman + " byte vs ObjectOutputStream " + keluaran.size() + " byte");
+    }
+
+    @Test
+    @DisplayName("Ruang tidak cukup - exception dan posisi kembali ke awal record")
+    void testBufferPenuh() {
+        Buku buku = new Buku("9780306406157", "Pemrograman Java", "Budi Santoso", 5, 150000.0);
+        ByteBuffer buf = ByteBuffer.allocate(60);
+        KodekBiner.tulisBuku(buf, buku);
+        assertThrows(BufferOverflowException.class, () -> KodekBiner.tulisBuku(buf, buku));
+        assertEquals(50, buf.position());
+
+        buf.flip();
+        ByteBuffer potong = buf.duplicate();
+        potong.limit(30);
+        assertThrows(BufferUnderflowException.class, () -> KodekBiner.bacaBuku(potong));
+        assertEquals(0, potong.position());
+        assertBukuSama(buku, KodekBiner.bacaBuku(buf));
+    }
+
+    @Test
+    @DisplayName("Versi skema yang tidak dikenal ditolak")
+    void testVersiTidakDikenal() {
+        ByteBuffer buf = ByteBuffer.allocate(64);
+        KodekBiner.tulisBuku(buf, new Buku("9780306406157", "Judul", "Pengarang", 1, 1.0));
+        buf.put(0, (byte) (KodekBiner.VERSI + 1));
+        buf.flip();
+        assertThrows(IllegalArgumentException.class, () -> KodekBiner.bacaBuku(buf));
+    }
+
+    @Test
+    @DisplayName("Varint bolak-balik untuk nilai batas")
+    void testVarInt() {
+        ByteBuffer buf = ByteBuffer.allocate(64);
+        int[] nilai = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        for (int n : nilai) {
+            KodekBiner.tulisVarInt(buf, n);
+        }
+        KodekBiner.tulisVarLong(buf, Long.MIN_VALUE);
+        buf.flip();
+        assertEquals(0, buf.get(0), "Nol cukup satu byte");
+        for (int n : nilai) {
+            assertEquals(n, KodekBiner.bacaVarInt(buf));
+        }
+        assertEquals(Long.MIN_VALUE, KodekBiner.bacaVarLong(buf));
+    }
+}
@@ -0,0 +1,82 @@
+package com.praktikum.testing.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Kunci Bergaris")
+class KunciBergarisTest {
+
+    @Test
+    @DisplayName("Jumlah garis dibulatkan ke pangkat dua")
+    void testJumlahGaris() {
+        assertEquals(1, new KunciBergaris(1).getJumlahGaris());
+        assertEquals(64, new KunciBergaris(50).getJumlahGaris());
+        assertEquals(64, new KunciBergaris(64).getJumlahGaris());
+        assertThrows(IllegalArgumentException.class, () -> new KunciBergaris(0));
+    }
+
+    @Test
+    @DisplayName("Aksi untuk anggota yang sama tidak berjalan bersamaan")
+    void testSalingEksklusif() throws Exception {
+        KunciBergaris kunci = new KunciBergaris(8);
+        int[] penghitung = new int[1];
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> tugas = new ArrayList<>();
+        CountDownLatch mulai = new CountDownLatch(1);
+        for (int t = 0; t < 4; t++) {
+            int nomor = t;
+            tugas.add(executor.submit(() -> {
+                mulai.await();
+                for (int i = 0; i < 10000; i++) {
+                    // ISBN berbeda, anggota sama: tetap harus serial
+                    kunci.jalankan("A001", "isbn-" + nomor, () -> penghitung[0]++);
+                }
+                return null;
+            }));
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(20, TimeUnit.SECONDS));
+        for (Future<?> f : tugas) {
+            f.get();
+        }
+        assertEquals(40000, penghitung[0]);
+    }
+
+    @Test
+    @DisplayName("Urutan kunci anggota lalu buku tidak menimbulkan deadlock")
+    void testTanpaDeadlock() throws Exception {
+        KunciBergaris kunci = new KunciBergaris(4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> tugas = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int nomor = t;
+            tugas.add(executor.submit(() -> {
+                for (int i = 0; i < 20000; i++) {
+                    String anggota = "A" + ((i + nomor) % 7);
+                    String isbn = "B" + ((i * 3 + nomor) % 11);
+                    if (i % 2 == 0) {
+                        kunci.jalankan(anggota, isbn, () -> null);
+                    } else {
+                        kunci.jalankanBuku(isbn, () -> null);
+                    }
+                }
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(20, TimeUnit.SECONDS));
+        for (Future<?> f : tugas) {
+            f.get();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.praktikum.testing.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Peta Long")
+class PetaLongTest {
+
+    @Test
+    @DisplayName("Put, get dan remove dasar")
+    void testOperasiDasar() {
+        PetaLong<String> peta = new PetaLong<>();
+        assertNull(peta.put(0L, "nol"));
+        assertNull(peta.put(-5L, "minus"));
+        assertEquals("nol", peta.put(0L, "nol lagi"));
+
+        assertEquals("nol lagi", peta.get(0L));
+        assertEquals("minus", peta.get(-5L));
+        assertNull(peta.get(1L));
+        assertEquals(2, peta.size());
+
+        assertEquals("minus", peta.remove(-5L));
+        assertNull(peta.remove(-5L));
+        assertEquals(1, peta.size());
+        assertThrows(IllegalArgumentException.class, () -> peta.put(1L, null));
+    }
+
+    @Test
+    @DisplayName("Hasil sama dengan HashMap untuk operasi acak, termasuk pertumbuhan dan hapus")
+    void testSamaDenganHashMap() {
+        PetaLong<Long> peta = new PetaLong<>();
+        Map<Long, Long> acuan = new HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 200000; i++) {
+            // Rentang kunci kecil agar sering terjadi tabrakan, timpa dan hapus
+            long kunci = random.nextInt(5000);
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(acuan.put(kunci, (long) i), peta.put(kunci, (long) i));
+                    break;
+                case 1:
+                    assertEquals(acuan.remove(kunci), peta.remove(kunci));
+                    break;
+                default:
+                    assertEquals(acuan.get(kunci), peta.get(kunci));
+            }
+        }
+        assertEquals(acuan.size(), peta.size());
+        assertEquals(new HashSet<>(acuan.values()), new HashSet<>(peta.values()));
+        for (Map.Entry<Long, Long> entri : acuan.entrySet()) {
+            assertEquals(entri.getValue(), peta.get(entri.getKey()));
+        }
+    }
+}
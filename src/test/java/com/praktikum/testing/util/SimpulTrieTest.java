@@ -0,0 +1,64 @@
+package com.praktikum.testing.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Simpul Trie")
+class SimpulTrieTest {
+
+    private static final class Simpul extends SimpulTrie<Simpul> {
+        @Override
+        protected Simpul buatAnak() {
+            return new Simpul();
+        }
+    }
+
+    @Test
+    @DisplayName("Anak selalu terurut huruf dan sama dengan TreeMap setelah sisip dan hapus acak")
+    void testSamaDenganTreeMap() {
+        Simpul simpul = new Simpul();
+        TreeMap<Character, Simpul> acuan = new TreeMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 2000; i++) {
+            char c = (char) ('a' + random.nextInt(26));
+            if (random.nextInt(3) > 0) {
+                Simpul anak = simpul.anakAtauBaru(c);
+                assertSame(acuan.computeIfAbsent(c, k -> anak), anak, "Anak yang sudah ada dipakai ulang");
+            } else {
+                simpul.hapusAnak(c);
+                acuan.remove(c);
+            }
+            assertEquals(acuan.size(), simpul.getJumlahAnak());
+        }
+
+        int i = 0;
+        for (char c : acuan.keySet()) {
+            assertEquals(c, simpul.hurufKe(i));
+            assertSame(acuan.get(c), simpul.anakKe(i));
+            assertSame(acuan.get(c), simpul.anak(c));
+            i++;
+        }
+        assertNull(simpul.anak('A'));
+    }
+
+    @Test
+    @DisplayName("Menghapus semua anak membuat simpul kosong lagi")
+    void testTanpaAnak() {
+        Simpul simpul = new Simpul();
+        assertTrue(simpul.tanpaAnak());
+        simpul.anakAtauBaru('b').anakAtauBaru('c');
+        simpul.anakAtauBaru('a');
+        assertFalse(simpul.tanpaAnak());
+        assertEquals(1, simpul.anak('b').getJumlahAnak());
+
+        simpul.hapusAnak('a');
+        simpul.hapusAnak('z');
+        simpul.hapusAnak('b');
+        assertTrue(simpul.tanpaAnak());
+    }
+}
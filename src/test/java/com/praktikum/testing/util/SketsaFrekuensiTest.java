@@ -0,0 +1,40 @@
+package com.praktikum.testing.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Sketsa Frekuensi")
+class SketsaFrekuensiTest {
+
+    @Test
+    @DisplayName("Frekuensi tidak pernah lebih kecil dari jumlah sebenarnya (sampai jenuh)")
+    void testPerkiraanAtas() {
+        SketsaFrekuensi sketsa = new SketsaFrekuensi(1024);
+        for (int i = 0; i < 500; i++) {
+            for (int j = 0; j <= i % 10; j++) {
+                sketsa.tambah("kunci-" + i);
+            }
+        }
+        for (int i = 0; i < 500; i++) {
+            assertTrue(sketsa.frekuensi("kunci-" + i) >= i % 10 + 1, "kunci-" + i);
+        }
+        assertEquals(0, sketsa.frekuensi("tidak-pernah"), "Sketsa cukup lebar, tabrakan semua baris tidak terjadi");
+    }
+
+    @Test
+    @DisplayName("Penghitung jenuh di 15 dan memudar setelah banyak sampel")
+    void testJenuhDanPudar() {
+        SketsaFrekuensi sketsa = new SketsaFrekuensi(16);
+        for (int i = 0; i < 100; i++) {
+            sketsa.tambah("populer");
+        }
+        assertEquals(15, sketsa.frekuensi("populer"));
+
+        for (int i = 0; i < 1000; i++) {
+            sketsa.tambah("lain-" + i);
+        }
+        assertTrue(sketsa.frekuensi("populer") < 15, "Frekuensi lama harus memudar");
+    }
+}
@@ -0,0 +1,60 @@
+package com.praktikum.testing.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Sketsa Hitung Atomik")
+class SketsaHitungAtomikTest {
+
+    @Test
+    @DisplayName("Perkiraan tidak pernah lebih kecil dari jumlah sebenarnya dan tidak jenuh")
+    void testPerkiraanAtas() {
+        SketsaHitungAtomik sketsa = new SketsaHitungAtomik(4000);
+        assertEquals(4096, sketsa.getLebar());
+        for (int i = 0; i < 2000; i++) {
+            for (int j = 0; j <= i % 10; j++) {
+                sketsa.tambah("kunci-" + i);
+            }
+        }
+        int tepat = 0;
+        for (int i = 0; i < 2000; i++) {
+            int perkiraan = sketsa.perkiraan("kunci-" + i);
+            assertTrue(perkiraan >= i % 10 + 1, "kunci-" + i);
+            if (perkiraan == i % 10 + 1) {
+                tepat++;
+            }
+        }
+        assertTrue(tepat > 1000, "Sebagian besar kunci diperkirakan tepat, tepat=" + tepat);
+
+        for (int i = 0; i < 100; i++) {
+            sketsa.tambah("populer");
+        }
+        assertTrue(sketsa.perkiraan("populer") >= 100);
+    }
+
+    @Test
+    @DisplayName("Tambah dari banyak thread tidak kehilangan hitungan")
+    void testBanyakThread() throws InterruptedException {
+        SketsaHitungAtomik sketsa = new SketsaHitungAtomik(1 << 12);
+        List<Thread> thread = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            thread.add(new Thread(() -> {
+                for (int i = 0; i < 25_000; i++) {
+                    sketsa.tambah("buku-" + (i % 5));
+                }
+            }));
+        }
+        thread.forEach(Thread::start);
+        for (Thread t : thread) {
+            t.join();
+        }
+        for (int i = 0; i < 5; i++) {
+            assertEquals(20_000, sketsa.perkiraan("buku-" + i));
+        }
+    }
+}
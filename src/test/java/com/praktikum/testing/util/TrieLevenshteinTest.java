@@ -0,0 +1,97 @@
+package com.praktikum.testing.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Trie Levenshtein")
+class TrieLevenshteinTest {
+
+    @Test
+    @DisplayName("Jarak Levenshtein untuk sisip, hapus, dan ganti")
+    void testJarak() {
+        assertEquals(0, TrieLevenshtein.jarak("rahayu", "rahayu"));
+        assertEquals(1, TrieLevenshtein.jarak("rahayu", "rahyu"));
+        assertEquals(1, TrieLevenshtein.jarak("santoso", "santosa"));
+        assertEquals(2, TrieLevenshtein.jarak("wijaya", "wijayaaa"));
+        assertEquals(3, TrieLevenshtein.jarak("kitten", "sitting"));
+        assertEquals(5, TrieLevenshtein.jarak("", "dewii"));
+    }
+
+    @Test
+    @DisplayName("Hasil sama dengan pemindaian penuh setelah tambah dan hapus acak")
+    void testSamaDenganPemindaianPenuh() {
+        Random random = new Random(22);
+        TrieLevenshtein kamus = new TrieLevenshtein();
+        List<String> kosakata = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            String kata = kataAcak(random, 3 + random.nextInt(5), 4);
+            assertEquals(!kosakata.contains(kata), kamus.tambah(kata));
+            if (!kosakata.contains(kata)) {
+                kosakata.add(kata);
+            }
+        }
+        List<String> dihapus = new ArrayList<>();
+        for (int i = 0, n = kosakata.size() * 2 / 3; i < n; i++) {
+            String kata = kosakata.remove(random.nextInt(kosakata.size()));
+            assertTrue(kamus.hapus(kata));
+            assertFalse(kamus.memuat(kata));
+            dihapus.add(kata);
+        }
+        for (int i = 0; i < dihapus.size(); i += 3) {
+            assertTrue(kamus.tambah(dihapus.get(i)));
+            kosakata.add(dihapus.get(i));
+        }
+        assertFalse(kamus.hapus("tidak-ada"));
+        assertEquals(kosakata.size(), kamus.ukuran());
+
+        for (int i = 0; i < 200; i++) {
+            String kueri = kataAcak(random, 2 + random.nextInt(6), 4);
+            int jarakMaks = random.nextInt(3);
+            Map<String, Integer> dariKamus = new TreeMap<>();
+            kamus.cari(kueri, jarakMaks, dariKamus::put);
+            Map<String, Integer> acuan = new TreeMap<>();
+            for (String kata : kosakata) {
+                int d = TrieLevenshtein.jarak(kueri, kata);
+                if (d <= jarakMaks) {
+                    acuan.put(kata, d);
+                }
+            }
+            assertEquals(acuan, dariKamus, "kueri " + kueri + " jarak " + jarakMaks);
+        }
+    }
+
+    @Test
+    @DisplayName("Jarak 1 hanya mengunjungi sebagian kecil kosakata")
+    void testMemangkasKosakata() {
+        Random random = new Random(7);
+        TrieLevenshtein kamus = new TrieLevenshtein();
+        for (int i = 0; i < 20000; i++) {
+            kamus.tambah(kataAcak(random, 5 + random.nextInt(6), 26));
+        }
+        Map<String, Integer> cocok = new HashMap<>();
+        int dikunjungi = kamus.cari("santoso", 1, cocok::put);
+        assertTrue(dikunjungi < kamus.ukuran() / 5, "dikunjungi " + dikunjungi + " dari " + kamus.ukuran());
+
+        kamus.tambah("santosa");
+        cocok.clear();
+        kamus.cari("santoso", 1, cocok::put);
+        assertEquals(Integer.valueOf(1), cocok.get("santosa"));
+    }
+
+    private static String kataAcak(Random random, int panjang, int jumlahHuruf) {
+        StringBuilder sb = new StringBuilder(panjang);
+        for (int i = 0; i < panjang; i++) {
+            sb.append((char) ('a' + random.nextInt(jumlahHuruf)));
+        }
+        return sb.toString();
+    }
+}
@@ -7,6 +7,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.BitSet;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Test Validasi Utils")
@@ -100,4 +103,93 @@ public class ValidationUtilsTest {
         assertTrue(ValidationUtils.isAngkaNonNegatif(2.0));
         assertFalse(ValidationUtils.isAngkaNonNegatif(-5.0));
     }
+
+    @Test
+    @DisplayName("ISBN mode ketat memeriksa check digit ISBN-10 dan ISBN-13")
+    void testISBNKetat() {
+        assertTrue(ValidationUtils.isValidISBN("0-306-40615-2", true));
+        assertTrue(ValidationUtils.isValidISBN("978-0-306-40615-7", true));
+        assertFalse(ValidationUtils.isValidISBN("0-306-40615-3", true));
+        assertFalse(ValidationUtils.isValidISBN("978-0-306-40615-6", true));
+        assertFalse(ValidationUtils.isValidISBN("080442957X", true), "Hanya digit yang diterima");
+        assertTrue(ValidationUtils.isValidISBN("978-0-306-40615-6"), "Mode biasa tidak memeriksa check digit");
+    }
+
+    @Test
+    @DisplayName("Validator tanpa regex memberi hasil sama dengan regex lama")
+    void testSamaDenganRegex() {
+        String[] contoh = {
+                "a@b.co", "a@b.c", "a@.co", "a@b..co", "a@b.c1", "a.b+c%d_e-f@x-y.z.org", "a@b@c.com",
+                "a b@c.com", " a@b.com", "a@b.com ", "a@b.com\n", "a@-.io", "\u00e9@b.com",
+                "08123456789", "0812345678", "081234567890123", "+6281234567890", "+62812345678901",
+                "+628-1234-5678", "0 8 1 2 3 4 5 6 7 8 9", "08\t12345678", "+ 628123456789", "6281234567890",
+                "0812345678+", "\u0660812345678", "\u000B08123456789", "\u00a008123456789",
+                "1234567890", "123456789", "12345678901", "1234567890123", "12345678901234", "123 456\n789-0",
+                "12345678x0", "", " ", "\u0001", "\u0001a"
+        };
+        for (String s : contoh) {
+            assertRegexSama(s);
+        }
+
+        String alfabet = "08+6-2 @.aZ_%x9\t\u00e9";
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int panjang = random.nextInt(18);
+            for (int j = 0; j < panjang; j++) {
+                sb.append(alfabet.charAt(random.nextInt(alfabet.length())));
+            }
+            assertRegexSama(sb.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Validasi massal mengembalikan bitset hasil")
+    void testValidasiMassal() {
+        Buku[] daftarBuku = {
+                new Buku("978-0-306-40615-7", "Judul", "Pengarang", 5, 100000.0),
+                new Buku("123", "Judul", "Pengarang", 5, 100000.0),
+                null,
+                new Buku("978-0-306-40615-6", "Judul", "Pengarang", 5, 100000.0)
+        };
+        assertEquals(bitSet(0, 3), ValidationUtils.validasiBuku(daftarBuku));
+        assertEquals(bitSet(0), ValidationUtils.validasiBuku(daftarBuku, true));
+
+        Anggota[] daftarAnggota = {
+                new Anggota("A001", "John Doe", "john@univ.ac.id", "081234567890", Anggota.TipeAnggota.MAHASISWA),
+                new Anggota("A002", "Jane Doe", "jane@univ", "081234567890", Anggota.TipeAnggota.MAHASISWA),
+                new Anggota("A003", "Jim Doe", "jim@univ.ac.id", "+62 812 3456 7890", Anggota.TipeAnggota.UMUM)
+        };
+        assertEquals(bitSet(0, 2), ValidationUtils.validasiAnggota(daftarAnggota));
+    }
+
+    @Test
+    @DisplayName("Normalisasi email dan telepon untuk indeks anggota")
+    void testNormalisasi() {
+        assertEquals("john@student.ac.id", ValidationUtils.normalisasiEmail("John@Student.AC.id"));
+        assertNull(ValidationUtils.normalisasiEmail("john@student"));
+        assertEquals("081234567890", ValidationUtils.normalisasiTelepon("0812-3456 7890"));
+        assertEquals("081234567890", ValidationUtils.normalisasiTelepon("+62 812-3456-7890"));
+        assertNull(ValidationUtils.normalisasiTelepon("+1 555 0100"));
+        assertNull(ValidationUtils.normalisasiTelepon(null));
+    }
+
+    private static BitSet bitSet(int... indeks) {
+        BitSet hasil = new BitSet();
+        for (int i : indeks) {
+            hasil.set(i);
+        }
+        return hasil;
+    }
+
+    private static void assertRegexSama(String s) {
+        boolean kosong = s.trim().isEmpty();
+        assertEquals(!kosong && s.matches("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$"),
+                ValidationUtils.isValidEmail(s), "email: " + s);
+        assertEquals(!kosong && s.replaceAll("[\\s-]", "").matches("^(08\\d{8,11}|\\+628\\d{8,11})$"),
+                ValidationUtils.isValidNomorTelepon(s), "telepon: " + s);
+        assertEquals(!kosong && s.replaceAll("[-\\s]", "").matches("\\d{10}|\\d{13}"),
+                ValidationUtils.isValidISBN(s), "isbn: " + s);
+        assertEquals(!kosong, ValidationUtils.isValidString(s), "string: " + s);
+    }
 }